@@ -6,6 +6,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.boot.ApplicationArguments;
 import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.availability.AvailabilityChangeEvent;
+import org.springframework.boot.availability.ReadinessState;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.api.configuration.VersionInformation;
@@ -15,10 +18,16 @@ public class ServiceInitializer implements ApplicationRunner {
 
     private static final Logger LOG = LoggerFactory.getLogger(ServiceInitializer.class);
     private final VersionInformation versionInformation;
+    private final WarmupService warmupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Inject
-    public ServiceInitializer(final VersionInformation versionInformation) {
+    public ServiceInitializer(final VersionInformation versionInformation,
+                              final WarmupService warmupService,
+                              final ApplicationEventPublisher eventPublisher) {
         this.versionInformation = versionInformation;
+        this.warmupService = warmupService;
+        this.eventPublisher = eventPublisher;
     }
 
     @Override
@@ -28,6 +37,8 @@ public class ServiceInitializer implements ApplicationRunner {
 
     private void initialize() {
         printLogo();
+        AvailabilityChangeEvent.publish(eventPublisher, this, ReadinessState.REFUSING_TRAFFIC);
+        warmupService.warmup();
     }
 
     private void printLogo() {
@@ -0,0 +1,231 @@
+package fi.vm.yti.codelist.api;
+
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import javax.inject.Inject;
+
+import org.apache.poi.ss.usermodel.Workbook;
+import org.elasticsearch.action.admin.indices.mapping.get.GetMappingsRequest;
+import org.elasticsearch.action.support.IndicesOptions;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import fi.vm.yti.codelist.api.configuration.CustomObjectMapper;
+import fi.vm.yti.codelist.api.configuration.WarmupProperties;
+import fi.vm.yti.codelist.api.domain.CodeHierarchyService;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.MemberGraphService;
+import fi.vm.yti.codelist.api.export.CodeSchemeExporter;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+
+@Component
+public class WarmupService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(WarmupService.class);
+
+    private final WarmupProperties properties;
+    private final RestHighLevelClient client;
+    private final Domain domain;
+    private final CodeHierarchyService codeHierarchyService;
+    private final MemberGraphService memberGraphService;
+    private final CodeSchemeExporter codeSchemeExporter;
+    private final Environment environment;
+    private final String contextPath;
+
+    @Inject
+    public WarmupService(final WarmupProperties properties,
+                         final RestHighLevelClient elasticSearchRestHighLevelClient,
+                         final Domain domain,
+                         final CodeHierarchyService codeHierarchyService,
+                         final MemberGraphService memberGraphService,
+                         final CodeSchemeExporter codeSchemeExporter,
+                         final Environment environment,
+                         @Value("${application.contextPath:}") final String contextPath) {
+        this.properties = properties;
+        this.client = elasticSearchRestHighLevelClient;
+        this.domain = domain;
+        this.codeHierarchyService = codeHierarchyService;
+        this.memberGraphService = memberGraphService;
+        this.codeSchemeExporter = codeSchemeExporter;
+        this.environment = environment;
+        this.contextPath = contextPath;
+    }
+
+    /**
+     * Runs the warm-up while readiness is held at refusing traffic. The caller waits at most warmup.timeout-seconds,
+     * after which the warm-up thread is interrupted so that a hung step can not keep the instance out of rotation.
+     */
+    public void warmup() {
+        if (!properties.isEnabled()) {
+            LOG.info("Warm-up is disabled.");
+            return;
+        }
+        final ExecutorService executor = Executors.newSingleThreadExecutor(new ThreadFactoryBuilder().setNameFormat("warmup-%d").setDaemon(true).build());
+        final Future<?> warmup = executor.submit(this::runWarmup);
+        try {
+            warmup.get(properties.getTimeoutSeconds(), TimeUnit.SECONDS);
+        } catch (final TimeoutException e) {
+            warmup.cancel(true);
+            LOG.warn(String.format("Warm-up did not finish in %d seconds and was cancelled.", properties.getTimeoutSeconds()));
+        } catch (final InterruptedException e) {
+            warmup.cancel(true);
+            Thread.currentThread().interrupt();
+        } catch (final ExecutionException e) {
+            LOG.warn("Warm-up failed.", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private void runWarmup() {
+        final long start = System.currentTimeMillis();
+        final long deadline = start + properties.getTimeoutSeconds() * 1000;
+        LOG.info("Warm-up started.");
+        if (!warmupElasticsearch()) {
+            LOG.warn("Warm-up skipped, Elasticsearch is not reachable.");
+            return;
+        }
+        final CodeSchemeDTO codeScheme = resolveSampleCodeScheme();
+        if (codeScheme == null) {
+            LOG.info("Warm-up found no sample code scheme, skipping query and export warm-up.");
+            return;
+        }
+        final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        for (int i = 0; i < properties.getIterations() && System.currentTimeMillis() < deadline && !Thread.currentThread().isInterrupted(); i++) {
+            warmupQueries(codeScheme);
+            warmupSerialization(codeScheme);
+            warmupHttp(httpClient, codeScheme, deadline);
+        }
+        LOG.info(String.format("Warm-up finished in %d ms using code scheme %s.", System.currentTimeMillis() - start, codeScheme.getUri()));
+    }
+
+    private boolean warmupElasticsearch() {
+        try {
+            if (!client.ping(RequestOptions.DEFAULT)) {
+                return false;
+            }
+            final GetMappingsRequest request = new GetMappingsRequest();
+            request.indices(ELASTIC_INDEX_CODEREGISTRY, ELASTIC_INDEX_CODESCHEME, ELASTIC_INDEX_CODE, ELASTIC_INDEX_EXTENSION, ELASTIC_INDEX_MEMBER,
+                ELASTIC_INDEX_EXTERNALREFERENCE, ELASTIC_INDEX_PROPERTYTYPE, ELASTIC_INDEX_VALUETYPE, ELASTIC_INDEX_ANNOTATIONE);
+            request.indicesOptions(IndicesOptions.lenientExpandOpen());
+            client.indices().getMapping(request, RequestOptions.DEFAULT);
+            return true;
+        } catch (final Exception e) {
+            LOG.warn("Warm-up Elasticsearch connection failed.", e);
+            return false;
+        }
+    }
+
+    private CodeSchemeDTO resolveSampleCodeScheme() {
+        try {
+            if (properties.getCodeRegistryCodeValue() != null && properties.getCodeSchemeCodeValue() != null) {
+                return domain.getCodeScheme(properties.getCodeRegistryCodeValue(), properties.getCodeSchemeCodeValue());
+            }
+            final Set<CodeRegistryDTO> codeRegistries = domain.getCodeRegistries();
+            if (codeRegistries == null) {
+                return null;
+            }
+            for (final CodeRegistryDTO codeRegistry : codeRegistries) {
+                final Set<CodeSchemeDTO> codeSchemes = domain.getCodeSchemesByCodeRegistryCodeValue(codeRegistry.getCodeValue(), null, null, false, null);
+                if (codeSchemes != null && !codeSchemes.isEmpty()) {
+                    return codeSchemes.iterator().next();
+                }
+            }
+        } catch (final Exception e) {
+            LOG.warn("Warm-up sample code scheme lookup failed.", e);
+        }
+        return null;
+    }
+
+    private void warmupQueries(final CodeSchemeDTO codeScheme) {
+        try {
+            final Set<CodeDTO> codes = domain.getCodesByCodeSchemeId(codeScheme.getId().toString());
+            if (codes != null && !codes.isEmpty()) {
+                domain.getCode(codes.iterator().next().getId().toString());
+            }
+            codeHierarchyService.getCodeHierarchy(codeScheme);
+            final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
+            if (extensions != null) {
+                for (final ExtensionDTO extension : extensions) {
+                    memberGraphService.getMemberGraph(extension);
+                }
+            }
+        } catch (final Exception e) {
+            LOG.warn("Warm-up queries failed.", e);
+        }
+    }
+
+    private void warmupSerialization(final CodeSchemeDTO codeScheme) {
+        try {
+            new CustomObjectMapper().writeValueAsBytes(codeScheme);
+            codeSchemeExporter.createCsv(codeScheme);
+            try (final Workbook workbook = codeSchemeExporter.createExcel(codeScheme, FORMAT_EXCEL_XLSX)) {
+                workbook.write(OutputStream.nullOutputStream());
+            }
+        } catch (final Exception e) {
+            LOG.warn("Warm-up serialization failed.", e);
+        }
+    }
+
+    private void warmupHttp(final HttpClient httpClient,
+                            final CodeSchemeDTO codeScheme,
+                            final long deadline) {
+        final String port = environment.getProperty("local.server.port");
+        if (port == null) {
+            return;
+        }
+        final String codeSchemePath = API_PATH_CODEREGISTRIES + "/" + codeScheme.getCodeRegistry().getCodeValue() + API_PATH_CODESCHEMES + "/" + codeScheme.getCodeValue();
+        final String baseUrl = "http://localhost:" + port + contextPath + API_BASE_PATH + "/" + API_VERSION;
+        final String[] paths = {
+            API_PATH_CODEREGISTRIES + "/",
+            codeSchemePath + "/",
+            codeSchemePath + "/?format=" + FORMAT_CSV,
+            codeSchemePath + "/?format=" + FORMAT_EXCEL_XLSX,
+            codeSchemePath + API_PATH_CODES + "/",
+            codeSchemePath + "/codetree/"
+        };
+        for (final String path : paths) {
+            final long remaining = deadline - System.currentTimeMillis();
+            if (remaining <= 0) {
+                return;
+            }
+            try {
+                final HttpRequest request = HttpRequest.newBuilder(URI.create(baseUrl + path))
+                    .header("Accept-Encoding", "gzip")
+                    .timeout(Duration.ofMillis(remaining))
+                    .GET()
+                    .build();
+                final HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                LOG.debug(String.format("Warm-up request %s returned %d.", path, response.statusCode()));
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (final Exception e) {
+                LOG.warn(String.format("Warm-up request %s failed.", path), e);
+            }
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package fi.vm.yti.codelist.api.actuator;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.filter.ClientUsage;
+import fi.vm.yti.codelist.api.filter.RateLimiter;
+
+@Component
+@Endpoint(id = "ratelimits")
+public class RateLimitEndpoint {
+
+    private final RateLimiter rateLimiter;
+
+    @Inject
+    public RateLimitEndpoint(final RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @ReadOperation
+    public List<ClientUsage> clientUsage() {
+        return rateLimiter.getClientUsage();
+    }
+
+    @DeleteOperation
+    public void clear() {
+        rateLimiter.clear();
+    }
+}
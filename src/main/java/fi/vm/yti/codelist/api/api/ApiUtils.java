@@ -10,6 +10,8 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ApiUtils {
 
+    private static final String API_PATH_EXPORTS = "/exports";
+    private static final String API_PATH_CHANGES = "/changes";
     private final PublicApiServiceProperties publicApiServiceProperties;
 
     @Inject
@@ -42,6 +44,22 @@ public class ApiUtils {
         return builder.toString();
     }
 
+    public String createChangesNextPageUrl(final String cursor,
+                                           final Integer pageSize,
+                                           final String types) {
+        final StringBuilder builder = new StringBuilder();
+        builder.append(createResourceUrl(API_PATH_CHANGES, null));
+        builder.append("?cursor=");
+        builder.append(cursor);
+        builder.append("&pageSize=");
+        builder.append(pageSize);
+        if (types != null && !types.isEmpty()) {
+            builder.append("&type=");
+            builder.append(types);
+        }
+        return builder.toString();
+    }
+
     public String createCodeRegistryUrl(final String codeRegistryCodeValue) {
         return createResourceUrl(API_PATH_CODEREGISTRIES, codeRegistryCodeValue);
     }
@@ -70,6 +88,14 @@ public class ApiUtils {
         return createResourceUrl(API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS + "/" + extensionCodeValue + API_PATH_MEMBERS, memberId);
     }
 
+    public String createExportJobUrl(final String jobId) {
+        return createResourceUrl(API_PATH_EXPORTS, jobId);
+    }
+
+    public String createExportJobDownloadUrl(final String jobId) {
+        return createResourceUrl(API_PATH_EXPORTS, jobId) + "/download";
+    }
+
     public String createCodeRegistryWebUrl(final String codeRegistryCodeValue) {
         return createFrontendBaseUrl() + "/registry;registryCode=" + codeRegistryCodeValue;
     }
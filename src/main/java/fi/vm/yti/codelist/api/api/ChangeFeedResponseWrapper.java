@@ -0,0 +1,23 @@
+package fi.vm.yti.codelist.api.api;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import fi.vm.yti.codelist.api.dto.ChangeDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@Schema(name = "ChangeFeedResponseWrapper", description = "Response wrapper for the change feed, carries a resume token for the next poll.")
+@XmlType(propOrder = { "meta", "resumeToken", "results" })
+public class ChangeFeedResponseWrapper extends ResponseWrapper<ChangeDTO> {
+
+    private String resumeToken;
+
+    public String getResumeToken() {
+        return resumeToken;
+    }
+
+    public void setResumeToken(final String resumeToken) {
+        this.resumeToken = resumeToken;
+    }
+}
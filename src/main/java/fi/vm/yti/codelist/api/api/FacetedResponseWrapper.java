@@ -0,0 +1,24 @@
+package fi.vm.yti.codelist.api.api;
+
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@Schema(name = "FacetedResponseWrapper", description = "Response wrapper for list APIs that also carries facet counts for the requested facets.")
+@XmlType(propOrder = { "meta", "facets", "results" })
+public class FacetedResponseWrapper<T> extends ResponseWrapper<T> {
+
+    private Map<String, Map<String, Long>> facets;
+
+    public Map<String, Map<String, Long>> getFacets() {
+        return facets;
+    }
+
+    public void setFacets(final Map<String, Map<String, Long>> facets) {
+        this.facets = facets;
+    }
+}
@@ -0,0 +1,48 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("changenotification")
+@Component
+@Validated
+public class ChangeNotificationProperties {
+
+    private boolean enabled = true;
+
+    @Min(1)
+    @Max(100000)
+    private int maxSubscribers = 1000;
+
+    @Min(1)
+    @Max(10000)
+    private int batchSize = 1000;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMaxSubscribers() {
+        return maxSubscribers;
+    }
+
+    public void setMaxSubscribers(final int maxSubscribers) {
+        this.maxSubscribers = maxSubscribers;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(final int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
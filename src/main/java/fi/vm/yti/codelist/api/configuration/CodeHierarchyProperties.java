@@ -0,0 +1,35 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("codehierarchy.cache")
+@Component
+@Validated
+public class CodeHierarchyProperties {
+
+    @Min(1)
+    private long maxSize = 200;
+
+    @Min(1)
+    private long expireMinutes = 60;
+
+    public long getMaxSize() {
+        return maxSize;
+    }
+
+    public void setMaxSize(final long maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    public long getExpireMinutes() {
+        return expireMinutes;
+    }
+
+    public void setExpireMinutes(final long expireMinutes) {
+        this.expireMinutes = expireMinutes;
+    }
+}
@@ -0,0 +1,94 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("compression")
+@Component
+@Validated
+public class CompressionProperties {
+
+    private boolean enabled = true;
+
+    @Min(0)
+    private int minSize = 1024;
+
+    @Min(1)
+    @Max(9)
+    private int level = 6;
+
+    @Min(1)
+    @Max(1024)
+    private int deflaterPoolSize = 32;
+
+    private List<String> includedMediaTypes = new ArrayList<>(Arrays.asList(
+        "application/json",
+        "application/xml",
+        "application/yaml",
+        "application/javascript",
+        "text/*"));
+
+    private List<String> excludedMediaTypes = new ArrayList<>(Arrays.asList(
+        "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet",
+        "application/vnd.ms-excel",
+        "application/zip",
+        "application/gzip",
+        "text/event-stream",
+        "image/*"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public int getMinSize() {
+        return minSize;
+    }
+
+    public void setMinSize(final int minSize) {
+        this.minSize = minSize;
+    }
+
+    public int getLevel() {
+        return level;
+    }
+
+    public void setLevel(final int level) {
+        this.level = level;
+    }
+
+    public int getDeflaterPoolSize() {
+        return deflaterPoolSize;
+    }
+
+    public void setDeflaterPoolSize(final int deflaterPoolSize) {
+        this.deflaterPoolSize = deflaterPoolSize;
+    }
+
+    public List<String> getIncludedMediaTypes() {
+        return includedMediaTypes;
+    }
+
+    public void setIncludedMediaTypes(final List<String> includedMediaTypes) {
+        this.includedMediaTypes = includedMediaTypes;
+    }
+
+    public List<String> getExcludedMediaTypes() {
+        return excludedMediaTypes;
+    }
+
+    public void setExcludedMediaTypes(final List<String> excludedMediaTypes) {
+        this.excludedMediaTypes = excludedMediaTypes;
+    }
+}
@@ -0,0 +1,57 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("deepsearch")
+@Component
+@Validated
+public class DeepSearchProperties {
+
+    public static final String STRATEGY_COLLAPSE = "collapse";
+    public static final String STRATEGY_AGGREGATION = "aggregation";
+
+    @NotNull
+    private String strategy = STRATEGY_COLLAPSE;
+
+    @Min(1)
+    @Max(10000)
+    private int maxCodeSchemes = 1000;
+
+    @Min(1)
+    @Max(100)
+    private int hitsPerCodeScheme = 6;
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(final String strategy) {
+        this.strategy = strategy;
+    }
+
+    public boolean isCollapseStrategy() {
+        return !STRATEGY_AGGREGATION.equalsIgnoreCase(strategy);
+    }
+
+    public int getMaxCodeSchemes() {
+        return maxCodeSchemes;
+    }
+
+    public void setMaxCodeSchemes(final int maxCodeSchemes) {
+        this.maxCodeSchemes = maxCodeSchemes;
+    }
+
+    public int getHitsPerCodeScheme() {
+        return hitsPerCodeScheme;
+    }
+
+    public void setHitsPerCodeScheme(final int hitsPerCodeScheme) {
+        this.hitsPerCodeScheme = hitsPerCodeScheme;
+    }
+}
@@ -0,0 +1,44 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("exportcache")
+@Component
+@Validated
+public class ExportCacheProperties {
+
+    private boolean enabled = true;
+
+    private String directory;
+
+    @Min(1)
+    private long maxSizeMegabytes = 1024;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getDirectory() {
+        return directory;
+    }
+
+    public void setDirectory(final String directory) {
+        this.directory = directory;
+    }
+
+    public long getMaxSizeMegabytes() {
+        return maxSizeMegabytes;
+    }
+
+    public void setMaxSizeMegabytes(final long maxSizeMegabytes) {
+        this.maxSizeMegabytes = maxSizeMegabytes;
+    }
+}
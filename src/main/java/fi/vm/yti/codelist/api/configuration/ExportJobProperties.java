@@ -0,0 +1,82 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("exportjob")
+@Component
+@Validated
+public class ExportJobProperties {
+
+    @Min(1)
+    @Max(32)
+    private int workerThreads = 2;
+
+    @Min(1)
+    @Max(1000)
+    private int queueCapacity = 16;
+
+    @Min(1)
+    @Max(10000)
+    private int maxJobs = 200;
+
+    @Min(1)
+    private long ttlMinutes = 60;
+
+    @Min(1)
+    private long cleanupIntervalMinutes = 5;
+
+    private String spoolDirectory;
+
+    public int getWorkerThreads() {
+        return workerThreads;
+    }
+
+    public void setWorkerThreads(final int workerThreads) {
+        this.workerThreads = workerThreads;
+    }
+
+    public int getQueueCapacity() {
+        return queueCapacity;
+    }
+
+    public void setQueueCapacity(final int queueCapacity) {
+        this.queueCapacity = queueCapacity;
+    }
+
+    public int getMaxJobs() {
+        return maxJobs;
+    }
+
+    public void setMaxJobs(final int maxJobs) {
+        this.maxJobs = maxJobs;
+    }
+
+    public long getTtlMinutes() {
+        return ttlMinutes;
+    }
+
+    public void setTtlMinutes(final long ttlMinutes) {
+        this.ttlMinutes = ttlMinutes;
+    }
+
+    public long getCleanupIntervalMinutes() {
+        return cleanupIntervalMinutes;
+    }
+
+    public void setCleanupIntervalMinutes(final long cleanupIntervalMinutes) {
+        this.cleanupIntervalMinutes = cleanupIntervalMinutes;
+    }
+
+    public String getSpoolDirectory() {
+        return spoolDirectory;
+    }
+
+    public void setSpoolDirectory(final String spoolDirectory) {
+        this.spoolDirectory = spoolDirectory;
+    }
+}
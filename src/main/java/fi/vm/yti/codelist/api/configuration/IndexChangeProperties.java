@@ -0,0 +1,24 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("indexchange")
+@Component
+@Validated
+public class IndexChangeProperties {
+
+    @Min(1)
+    private long checkIntervalSeconds = 10;
+
+    public long getCheckIntervalSeconds() {
+        return checkIntervalSeconds;
+    }
+
+    public void setCheckIntervalSeconds(final long checkIntervalSeconds) {
+        this.checkIntervalSeconds = checkIntervalSeconds;
+    }
+}
@@ -3,32 +3,41 @@ package fi.vm.yti.codelist.api.configuration;
 import javax.ws.rs.ApplicationPath;
 
 import org.glassfish.jersey.jackson.internal.jackson.jaxrs.json.JacksonJaxbJsonProvider;
-import org.glassfish.jersey.message.DeflateEncoder;
-import org.glassfish.jersey.message.GZipEncoder;
 import org.glassfish.jersey.server.ResourceConfig;
-import org.glassfish.jersey.server.filter.EncodingFilter;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.api.exception.exceptionmapping.UncaughtExceptionMapper;
 import fi.vm.yti.codelist.api.exception.exceptionmapping.YtiCodeListExceptionMapper;
 import fi.vm.yti.codelist.api.filter.CacheFilter;
 import fi.vm.yti.codelist.api.filter.CharsetResponseFilter;
+import fi.vm.yti.codelist.api.filter.CompressionFilter;
+import fi.vm.yti.codelist.api.filter.ExportPinListener;
+import fi.vm.yti.codelist.api.filter.RateLimitFilter;
 import fi.vm.yti.codelist.api.filter.RequestLoggingFilter;
+import fi.vm.yti.codelist.api.filter.RequestMemoListener;
+import fi.vm.yti.codelist.api.filter.RequestMetricsListener;
+import fi.vm.yti.codelist.api.filter.ResultCountFilter;
 import fi.vm.yti.codelist.api.filter.RobotsFilter;
+import fi.vm.yti.codelist.api.filter.ServerTimingFilter;
 import fi.vm.yti.codelist.api.resource.AnnotationResource;
+import fi.vm.yti.codelist.api.resource.ChangeNotificationResource;
+import fi.vm.yti.codelist.api.resource.ChangeResource;
 import fi.vm.yti.codelist.api.resource.CodeRegistryResource;
 import fi.vm.yti.codelist.api.resource.CodeSchemeResource;
+import fi.vm.yti.codelist.api.resource.ExportJobResource;
 import fi.vm.yti.codelist.api.resource.ExtensionResource;
 import fi.vm.yti.codelist.api.resource.ExternalReferenceResource;
 import fi.vm.yti.codelist.api.resource.IntegrationResource;
 import fi.vm.yti.codelist.api.resource.MemberResource;
+import fi.vm.yti.codelist.api.resource.OpenApiDocumentResource;
 import fi.vm.yti.codelist.api.resource.PingResource;
 import fi.vm.yti.codelist.api.resource.PropertyTypeResource;
+import fi.vm.yti.codelist.api.resource.StatisticsResource;
+import fi.vm.yti.codelist.api.resource.SuggestionResource;
 import fi.vm.yti.codelist.api.resource.UriResolverResource;
 import fi.vm.yti.codelist.api.resource.ValueTypeResource;
 import fi.vm.yti.codelist.api.resource.VersionResource;
 import fi.vm.yti.codelist.common.constants.ApiConstants;
-import io.swagger.v3.jaxrs2.integration.resources.OpenApiResource;
 import io.swagger.v3.oas.annotations.OpenAPIDefinition;
 import io.swagger.v3.oas.annotations.info.Contact;
 import io.swagger.v3.oas.annotations.info.Info;
@@ -67,10 +76,11 @@ public class JerseyConfig extends ResourceConfig {
         register(YtiCodeListExceptionMapper.class);
         register(UncaughtExceptionMapper.class);
 
-        // Gzip
-        register(EncodingFilter.class);
-        register(GZipEncoder.class);
-        register(DeflateEncoder.class);
+        // Per-client rate limiting
+        register(RateLimitFilter.class);
+
+        // Response compression
+        register(CompressionFilter.class);
 
         // Charset filter
         register(CharsetResponseFilter.class);
@@ -81,6 +91,21 @@ public class JerseyConfig extends ResourceConfig {
         // Logging
         register(RequestLoggingFilter.class);
 
+        // Per-route latency histograms
+        register(RequestMetricsListener.class);
+
+        // Server-Timing header and serialization timing
+        register(ServerTimingFilter.class);
+
+        // Total hit count mode for list endpoints
+        register(ResultCountFilter.class);
+
+        // Request scoped memoization of Domain lookups
+        register(RequestMemoListener.class);
+
+        // Releases export cache pins of entities that were never written
+        register(ExportPinListener.class);
+
         // X-Robots-Tag filter
         register(RobotsFilter.class);
 
@@ -91,7 +116,7 @@ public class JerseyConfig extends ResourceConfig {
         register(VersionResource.class);
 
         // OpenAPI
-        register(OpenApiResource.class);
+        register(OpenApiDocumentResource.class);
 
         // API: Generic Register resources
         register(CodeRegistryResource.class);
@@ -106,6 +131,19 @@ public class JerseyConfig extends ResourceConfig {
         // API: Integration API
         register(IntegrationResource.class);
 
+        // API: Change feed and notifications
+        register(ChangeResource.class);
+        register(ChangeNotificationResource.class);
+
+        // API: Statistics
+        register(StatisticsResource.class);
+
+        // API: Type-ahead suggestions
+        register(SuggestionResource.class);
+
+        // API: Export jobs
+        register(ExportJobResource.class);
+
         // API: URI Resolver
         register(UriResolverResource.class);
     }
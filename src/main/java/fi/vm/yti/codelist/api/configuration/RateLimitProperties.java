@@ -0,0 +1,158 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.validation.constraints.DecimalMin;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotBlank;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("ratelimit")
+@Component
+@Validated
+public class RateLimitProperties {
+
+    private boolean enabled = false;
+
+    @NotBlank
+    private String apiKeyHeader = "X-API-Key";
+
+    private List<String> apiKeys = new ArrayList<>();
+
+    @NotBlank
+    private String forwardedForHeader = "X-Forwarded-For";
+
+    private List<String> trustedProxies = new ArrayList<>();
+
+    @Min(1)
+    private int capacity = 200;
+
+    @DecimalMin("0.01")
+    private double refillPerSecond = 20;
+
+    @Min(0)
+    private int lookupCost = 1;
+
+    @Min(0)
+    private int unboundedListCost = 20;
+
+    @Min(0)
+    private int exportCost = 50;
+
+    @Min(1)
+    private int unboundedPageSize = 1000;
+
+    @Min(1)
+    private long maxClients = 10000;
+
+    @Min(1)
+    private long clientIdleMinutes = 10;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getApiKeyHeader() {
+        return apiKeyHeader;
+    }
+
+    public void setApiKeyHeader(final String apiKeyHeader) {
+        this.apiKeyHeader = apiKeyHeader;
+    }
+
+    public List<String> getApiKeys() {
+        return apiKeys;
+    }
+
+    public void setApiKeys(final List<String> apiKeys) {
+        this.apiKeys = apiKeys;
+    }
+
+    public String getForwardedForHeader() {
+        return forwardedForHeader;
+    }
+
+    public void setForwardedForHeader(final String forwardedForHeader) {
+        this.forwardedForHeader = forwardedForHeader;
+    }
+
+    public List<String> getTrustedProxies() {
+        return trustedProxies;
+    }
+
+    public void setTrustedProxies(final List<String> trustedProxies) {
+        this.trustedProxies = trustedProxies;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public void setCapacity(final int capacity) {
+        this.capacity = capacity;
+    }
+
+    public double getRefillPerSecond() {
+        return refillPerSecond;
+    }
+
+    public void setRefillPerSecond(final double refillPerSecond) {
+        this.refillPerSecond = refillPerSecond;
+    }
+
+    public int getLookupCost() {
+        return lookupCost;
+    }
+
+    public void setLookupCost(final int lookupCost) {
+        this.lookupCost = lookupCost;
+    }
+
+    public int getUnboundedListCost() {
+        return unboundedListCost;
+    }
+
+    public void setUnboundedListCost(final int unboundedListCost) {
+        this.unboundedListCost = unboundedListCost;
+    }
+
+    public int getExportCost() {
+        return exportCost;
+    }
+
+    public void setExportCost(final int exportCost) {
+        this.exportCost = exportCost;
+    }
+
+    public int getUnboundedPageSize() {
+        return unboundedPageSize;
+    }
+
+    public void setUnboundedPageSize(final int unboundedPageSize) {
+        this.unboundedPageSize = unboundedPageSize;
+    }
+
+    public long getMaxClients() {
+        return maxClients;
+    }
+
+    public void setMaxClients(final long maxClients) {
+        this.maxClients = maxClients;
+    }
+
+    public long getClientIdleMinutes() {
+        return clientIdleMinutes;
+    }
+
+    public void setClientIdleMinutes(final long clientIdleMinutes) {
+        this.clientIdleMinutes = clientIdleMinutes;
+    }
+}
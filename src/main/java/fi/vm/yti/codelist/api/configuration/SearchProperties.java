@@ -0,0 +1,37 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.NotNull;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+/**
+ * Selects how codeValue and prefLabel search terms are matched. The strategies return different results, not only at
+ * different speed: wildcard matches a term only at the start or the end of an indexed token, trigram also matches it
+ * inside a token, so "koodis" finds "Testikoodisto" only with trigram. Terms shorter than three characters use wildcard
+ * matching under both strategies.
+ */
+@ConfigurationProperties("search")
+@Component
+@Validated
+public class SearchProperties {
+
+    public static final String STRATEGY_WILDCARD = "wildcard";
+    public static final String STRATEGY_TRIGRAM = "trigram";
+
+    @NotNull
+    private String strategy = STRATEGY_WILDCARD;
+
+    public String getStrategy() {
+        return strategy;
+    }
+
+    public void setStrategy(final String strategy) {
+        this.strategy = strategy;
+    }
+
+    public boolean isTrigramStrategy() {
+        return STRATEGY_TRIGRAM.equalsIgnoreCase(strategy);
+    }
+}
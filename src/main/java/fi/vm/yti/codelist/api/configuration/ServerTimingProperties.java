@@ -0,0 +1,31 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("servertiming")
+@Component
+@Validated
+public class ServerTimingProperties {
+
+    private boolean alwaysEnabled = false;
+
+    private String requestHeader = "X-Server-Timing";
+
+    public boolean isAlwaysEnabled() {
+        return alwaysEnabled;
+    }
+
+    public void setAlwaysEnabled(final boolean alwaysEnabled) {
+        this.alwaysEnabled = alwaysEnabled;
+    }
+
+    public String getRequestHeader() {
+        return requestHeader;
+    }
+
+    public void setRequestHeader(final String requestHeader) {
+        this.requestHeader = requestHeader;
+    }
+}
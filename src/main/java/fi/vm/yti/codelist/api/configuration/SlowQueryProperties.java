@@ -0,0 +1,58 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("slowquery")
+@Component
+@Validated
+public class SlowQueryProperties {
+
+    private boolean enabled = true;
+
+    @Min(0)
+    private long thresholdMillis = 500;
+
+    @Min(1)
+    @Max(10000)
+    private int bufferSize = 100;
+
+    @Min(256)
+    private int maxSourceLength = 32768;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public long getThresholdMillis() {
+        return thresholdMillis;
+    }
+
+    public void setThresholdMillis(final long thresholdMillis) {
+        this.thresholdMillis = thresholdMillis;
+    }
+
+    public int getBufferSize() {
+        return bufferSize;
+    }
+
+    public void setBufferSize(final int bufferSize) {
+        this.bufferSize = bufferSize;
+    }
+
+    public int getMaxSourceLength() {
+        return maxSourceLength;
+    }
+
+    public void setMaxSourceLength(final int maxSourceLength) {
+        this.maxSourceLength = maxSourceLength;
+    }
+}
@@ -0,0 +1,67 @@
+package fi.vm.yti.codelist.api.configuration;
+
+import javax.validation.constraints.Max;
+import javax.validation.constraints.Min;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+import org.springframework.validation.annotation.Validated;
+
+@ConfigurationProperties("warmup")
+@Component
+@Validated
+public class WarmupProperties {
+
+    private boolean enabled = true;
+
+    private String codeRegistryCodeValue;
+
+    private String codeSchemeCodeValue;
+
+    @Min(1)
+    @Max(50)
+    private int iterations = 3;
+
+    @Min(1)
+    private long timeoutSeconds = 120;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(final boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public String getCodeRegistryCodeValue() {
+        return codeRegistryCodeValue;
+    }
+
+    public void setCodeRegistryCodeValue(final String codeRegistryCodeValue) {
+        this.codeRegistryCodeValue = codeRegistryCodeValue;
+    }
+
+    public String getCodeSchemeCodeValue() {
+        return codeSchemeCodeValue;
+    }
+
+    public void setCodeSchemeCodeValue(final String codeSchemeCodeValue) {
+        this.codeSchemeCodeValue = codeSchemeCodeValue;
+    }
+
+    public int getIterations() {
+        return iterations;
+    }
+
+    public void setIterations(final int iterations) {
+        this.iterations = iterations;
+    }
+
+    public long getTimeoutSeconds() {
+        return timeoutSeconds;
+    }
+
+    public void setTimeoutSeconds(final long timeoutSeconds) {
+        this.timeoutSeconds = timeoutSeconds;
+    }
+}
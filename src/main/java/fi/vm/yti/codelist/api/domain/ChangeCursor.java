@@ -0,0 +1,45 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+public class ChangeCursor {
+
+    private static final char SEPARATOR = ':';
+
+    private final long modified;
+    private final String id;
+
+    public ChangeCursor(final long modified,
+                        final String id) {
+        this.modified = modified;
+        this.id = id;
+    }
+
+    public static ChangeCursor fromToken(final String token) {
+        try {
+            final String value = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            final int separator = value.indexOf(SEPARATOR);
+            return new ChangeCursor(Long.parseLong(value.substring(0, separator)), value.substring(separator + 1));
+        } catch (final IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Change feed cursor not valid."));
+        }
+    }
+
+    public long getModified() {
+        return modified;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String toToken() {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString((String.valueOf(modified) + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,32 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Set;
+
+import fi.vm.yti.codelist.api.dto.ChangeDTO;
+
+public class ChangeFeed {
+
+    private final Set<ChangeDTO> changes;
+    private final ChangeCursor cursor;
+    private final boolean hasMore;
+
+    public ChangeFeed(final Set<ChangeDTO> changes,
+                      final ChangeCursor cursor,
+                      final boolean hasMore) {
+        this.changes = changes;
+        this.cursor = cursor;
+        this.hasMore = hasMore;
+    }
+
+    public Set<ChangeDTO> getChanges() {
+        return changes;
+    }
+
+    public ChangeCursor getCursor() {
+        return cursor;
+    }
+
+    public boolean hasMore() {
+        return hasMore;
+    }
+}
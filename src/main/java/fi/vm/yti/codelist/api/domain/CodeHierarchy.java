@@ -0,0 +1,192 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import fi.vm.yti.codelist.api.dto.CodeTreeNodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+
+public final class CodeHierarchy {
+
+    private static final Comparator<CodeDTO> CODE_ORDER = Comparator.comparing(CodeDTO::getOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(CodeDTO::getCodeValue, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final long version;
+    private final Map<UUID, CodeDTO> codesById;
+    private final Map<String, CodeDTO> codesByCodeValue;
+    private final Map<UUID, List<CodeDTO>> childrenById;
+    private final List<CodeDTO> roots;
+
+    CodeHierarchy(final long version,
+                  final Collection<CodeDTO> codes) {
+        this.version = version;
+        this.codesById = new HashMap<>(codes.size() * 2);
+        this.codesByCodeValue = new HashMap<>(codes.size() * 2);
+        this.childrenById = new HashMap<>();
+        final List<CodeDTO> rootCodes = new ArrayList<>();
+        for (final CodeDTO code : codes) {
+            codesById.put(code.getId(), code);
+            if (code.getCodeValue() != null) {
+                codesByCodeValue.put(code.getCodeValue().toLowerCase(), code);
+            }
+        }
+        for (final CodeDTO code : codes) {
+            final UUID broaderCodeId = getBroaderCodeId(code);
+            if (broaderCodeId != null && codesById.containsKey(broaderCodeId)) {
+                childrenById.computeIfAbsent(broaderCodeId, id -> new ArrayList<>()).add(code);
+            } else {
+                rootCodes.add(code);
+            }
+        }
+        childrenById.values().forEach(children -> children.sort(CODE_ORDER));
+        addCycleRoots(codes, rootCodes);
+        rootCodes.sort(CODE_ORDER);
+        this.roots = Collections.unmodifiableList(rootCodes);
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return codesById.size();
+    }
+
+    public CodeDTO getCode(final UUID codeId) {
+        return codesById.get(codeId);
+    }
+
+    public CodeDTO getCodeByCodeValue(final String codeValue) {
+        return codeValue != null ? codesByCodeValue.get(codeValue.toLowerCase()) : null;
+    }
+
+    public List<CodeDTO> getRoots() {
+        return roots;
+    }
+
+    public List<CodeDTO> getChildren(final UUID codeId) {
+        final List<CodeDTO> children = childrenById.get(codeId);
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    public List<CodeDTO> getDescendants(final UUID codeId) {
+        final List<CodeDTO> descendants = new ArrayList<>();
+        final Set<UUID> visited = new HashSet<>();
+        visited.add(codeId);
+        final Deque<CodeDTO> stack = new ArrayDeque<>();
+        pushChildrenInReverse(stack, codeId);
+        while (!stack.isEmpty()) {
+            final CodeDTO code = stack.pop();
+            if (visited.add(code.getId())) {
+                descendants.add(code);
+                pushChildrenInReverse(stack, code.getId());
+            }
+        }
+        return descendants;
+    }
+
+    public List<CodeDTO> getAncestors(final UUID codeId) {
+        final List<CodeDTO> ancestors = new ArrayList<>();
+        final Set<UUID> visited = new HashSet<>();
+        visited.add(codeId);
+        final CodeDTO code = codesById.get(codeId);
+        UUID broaderCodeId = code != null ? getBroaderCodeId(code) : null;
+        while (broaderCodeId != null && visited.add(broaderCodeId)) {
+            final CodeDTO broaderCode = codesById.get(broaderCodeId);
+            if (broaderCode == null) {
+                break;
+            }
+            ancestors.add(broaderCode);
+            broaderCodeId = getBroaderCodeId(broaderCode);
+        }
+        return ancestors;
+    }
+
+    public CodeTreeNodeDTO createTreeNode(final CodeDTO code,
+                                          final Integer maxDepth) {
+        return createTreeNode(code, 1, maxDepth, new HashSet<>());
+    }
+
+    private CodeTreeNodeDTO createTreeNode(final CodeDTO code,
+                                           final int depth,
+                                           final Integer maxDepth,
+                                           final Set<UUID> visited) {
+        visited.add(code.getId());
+        final List<CodeTreeNodeDTO> children = new ArrayList<>();
+        if (maxDepth == null || depth < maxDepth) {
+            for (final CodeDTO child : getChildren(code.getId())) {
+                // A broaderCode cycle would otherwise recurse forever, so the branch is cut at the first repeated code.
+                if (!visited.contains(child.getId())) {
+                    children.add(createTreeNode(child, depth + 1, maxDepth, visited));
+                }
+            }
+        }
+        return new CodeTreeNodeDTO(code, children);
+    }
+
+    /**
+     * Codes that can not be reached from any root belong to a broaderCode cycle or hang below one, so the first member
+     * of each such cycle becomes a root to keep the whole cycle in the tree.
+     */
+    private void addCycleRoots(final Collection<CodeDTO> codes,
+                               final List<CodeDTO> rootCodes) {
+        final Set<UUID> reachable = new HashSet<>();
+        rootCodes.forEach(root -> markReachable(root, reachable));
+        final List<CodeDTO> orderedCodes = new ArrayList<>(codes);
+        orderedCodes.sort(CODE_ORDER);
+        for (final CodeDTO code : orderedCodes) {
+            if (!reachable.contains(code.getId())) {
+                final CodeDTO cycleRoot = findCycleRoot(code);
+                rootCodes.add(cycleRoot);
+                markReachable(cycleRoot, reachable);
+            }
+        }
+    }
+
+    private CodeDTO findCycleRoot(final CodeDTO code) {
+        final Set<UUID> visited = new HashSet<>();
+        CodeDTO current = code;
+        while (visited.add(current.getId())) {
+            current = codesById.get(getBroaderCodeId(current));
+        }
+        final CodeDTO cycleStart = current;
+        CodeDTO cycleRoot = cycleStart;
+        do {
+            current = codesById.get(getBroaderCodeId(current));
+            if (CODE_ORDER.compare(current, cycleRoot) < 0) {
+                cycleRoot = current;
+            }
+        } while (current != cycleStart);
+        return cycleRoot;
+    }
+
+    private void markReachable(final CodeDTO root,
+                               final Set<UUID> reachable) {
+        reachable.add(root.getId());
+        getDescendants(root.getId()).forEach(descendant -> reachable.add(descendant.getId()));
+    }
+
+    private void pushChildrenInReverse(final Deque<CodeDTO> stack,
+                                       final UUID codeId) {
+        final List<CodeDTO> children = childrenById.get(codeId);
+        if (children != null) {
+            for (int i = children.size() - 1; i >= 0; i--) {
+                stack.push(children.get(i));
+            }
+        }
+    }
+
+    private static UUID getBroaderCodeId(final CodeDTO code) {
+        return code.getBroaderCode() != null ? code.getBroaderCode().getId() : null;
+    }
+}
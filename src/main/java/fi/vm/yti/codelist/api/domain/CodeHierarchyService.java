@@ -0,0 +1,62 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Date;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import fi.vm.yti.codelist.api.configuration.CodeHierarchyProperties;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+
+@Singleton
+@Service
+public class CodeHierarchyService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(CodeHierarchyService.class);
+
+    private final Domain domain;
+    private final Cache<UUID, CodeHierarchy> hierarchies;
+
+    @Inject
+    public CodeHierarchyService(final Domain domain,
+                                final CodeHierarchyProperties codeHierarchyProperties) {
+        this.domain = domain;
+        this.hierarchies = CacheBuilder.newBuilder()
+            .maximumSize(codeHierarchyProperties.getMaxSize())
+            .expireAfterAccess(codeHierarchyProperties.getExpireMinutes(), TimeUnit.MINUTES)
+            .build();
+    }
+
+    public CodeHierarchy getCodeHierarchy(final CodeSchemeDTO codeScheme) {
+        final long version = resolveVersion(codeScheme);
+        final CodeHierarchy cached = hierarchies.getIfPresent(codeScheme.getId());
+        if (cached != null && cached.getVersion() == version) {
+            return cached;
+        }
+        final Set<CodeDTO> codes = domain.getCodesByCodeSchemeId(codeScheme.getId().toString());
+        final CodeHierarchy hierarchy = new CodeHierarchy(version, codes);
+        hierarchies.put(codeScheme.getId(), hierarchy);
+        LOG.debug(String.format("Built code hierarchy with %d codes for CodeScheme: %s", hierarchy.size(), codeScheme.getId()));
+        return hierarchy;
+    }
+
+    private long resolveVersion(final CodeSchemeDTO codeScheme) {
+        final Date contentModified = codeScheme.getContentModified();
+        if (contentModified != null) {
+            return contentModified.getTime();
+        }
+        final Date modified = codeScheme.getModified();
+        return modified != null ? modified.getTime() : 0L;
+    }
+}
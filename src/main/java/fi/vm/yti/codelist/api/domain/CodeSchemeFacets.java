@@ -0,0 +1,69 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+public final class CodeSchemeFacets {
+
+    public static final String FACET_STATUS = "status";
+    public static final String FACET_INFODOMAIN = "infoDomain";
+    public static final String FACET_ORGANIZATION = "organization";
+    public static final String FACET_CODEREGISTRY = "codeRegistry";
+    public static final String FACET_LANGUAGE = "language";
+
+    private static final List<String> FACETS = Arrays.asList(FACET_STATUS, FACET_INFODOMAIN, FACET_ORGANIZATION, FACET_CODEREGISTRY, FACET_LANGUAGE);
+
+    private final Set<String> requested;
+    private final Map<String, Map<String, Long>> counts = new LinkedHashMap<>();
+
+    private CodeSchemeFacets(final Set<String> requested) {
+        this.requested = requested;
+    }
+
+    public static CodeSchemeFacets fromParameter(final String value) {
+        if (value == null || value.trim().isEmpty()) {
+            return null;
+        }
+        final Set<String> requested = new LinkedHashSet<>();
+        for (final String facet : value.split(",")) {
+            final String name = resolveFacet(facet.trim());
+            if (name == null) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Invalid facets parameter value %s, use one or more of %s.", facet.trim(), String.join(", ", FACETS))));
+            }
+            requested.add(name);
+        }
+        return new CodeSchemeFacets(requested);
+    }
+
+    private static String resolveFacet(final String value) {
+        for (final String facet : FACETS) {
+            if (facet.equalsIgnoreCase(value)) {
+                return facet;
+            }
+        }
+        return null;
+    }
+
+    public boolean isRequested(final String facet) {
+        return requested.contains(facet);
+    }
+
+    public Map<String, Map<String, Long>> getCounts() {
+        return Collections.unmodifiableMap(counts);
+    }
+
+    void setCounts(final String facet,
+                   final Map<String, Long> facetCounts) {
+        counts.put(facet, facetCounts);
+    }
+}
@@ -1,9 +1,12 @@
 package fi.vm.yti.codelist.api.domain;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,7 +15,9 @@ import java.util.regex.Pattern;
 
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.InnerHitBuilder;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.SearchHit;
@@ -22,6 +27,7 @@ import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
@@ -31,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import fi.vm.yti.codelist.api.configuration.DeepSearchProperties;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.DeepSearchCodeHitListDTO;
@@ -40,49 +47,85 @@ import fi.vm.yti.codelist.common.dto.SearchResultWithMetaDataDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.ELASTIC_INDEX_CODE;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.SEARCH_HIT_TYPE_CODE;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termsQuery;
 
 class DeepCodeQueryFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeepCodeQueryFactory.class);
 
+    private static final String COLLAPSE_FIELD = "codeScheme.id";
+    private static final String TOP_CODE_HITS = "top_code_hits";
     private static final FetchSourceContext sourceIncludes = new FetchSourceContext(true, new String[]{ "id", "uri", "status", "codeValue", "prefLabel", "codeScheme.id" }, new String[]{});
     private static final Script topHitScript = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, "_score", Collections.emptyMap());
     private final Domain domain;
     private final ObjectMapper objectMapper;
     private final LuceneQueryFactory luceneQueryFactory;
+    private final DeepSearchProperties deepSearchProperties;
 
     DeepCodeQueryFactory(final ObjectMapper objectMapper,
                          final Domain domain,
-                         final LuceneQueryFactory luceneQueryFactory) {
+                         final LuceneQueryFactory luceneQueryFactory,
+                         final DeepSearchProperties deepSearchProperties) {
         this.objectMapper = objectMapper;
         this.domain = domain;
         this.luceneQueryFactory = luceneQueryFactory;
+        this.deepSearchProperties = deepSearchProperties;
     }
 
     SearchRequest createQuery(final String query) {
-        final BoolQueryBuilder boolQueryBuilder = boolQuery();
-        if (query != null && !query.isEmpty()) {
-            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query).field("prefLabel.*"));
-            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query).field("codeValue"));
-        }
-        boolQueryBuilder.minimumShouldMatch(1);
-
         return new SearchRequest(ELASTIC_INDEX_CODE)
             .source(new SearchSourceBuilder()
-                .query(boolQueryBuilder)
+                .query(createBoolQuery(query))
                 .size(0)
                 .aggregation(AggregationBuilders.terms("group_by_codescheme")
-                    .field("codeScheme.id")
-                    .size(1000)
+                    .field(COLLAPSE_FIELD)
+                    .size(deepSearchProperties.getMaxCodeSchemes())
                     .order(BucketOrder.aggregation("best_code_hit", false))
-                    .subAggregation(AggregationBuilders.topHits("top_code_hits")
+                    .subAggregation(AggregationBuilders.topHits(TOP_CODE_HITS)
                         .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
-                        .size(6)
+                        .size(deepSearchProperties.getHitsPerCodeScheme())
                         .fetchSource(sourceIncludes))
                     .subAggregation(AggregationBuilders.max("best_code_hit")
                         .script(topHitScript))));
     }
 
+    SearchRequest createCodeSchemeIdQuery(final String query,
+                                          final int size) {
+        return new SearchRequest(ELASTIC_INDEX_CODE)
+            .source(new SearchSourceBuilder()
+                .query(createBoolQuery(query))
+                .size(size)
+                .trackTotalHits(false)
+                .fetchSource(false)
+                .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                .collapse(new CollapseBuilder(COLLAPSE_FIELD)));
+    }
+
+    SearchRequest createCollapseQuery(final String query,
+                                      final Collection<String> codeSchemeUuids) {
+        return new SearchRequest(ELASTIC_INDEX_CODE)
+            .source(new SearchSourceBuilder()
+                .query(createBoolQuery(query).filter(termsQuery(COLLAPSE_FIELD, codeSchemeUuids)))
+                .size(codeSchemeUuids.size())
+                .fetchSource(false)
+                .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                .collapse(new CollapseBuilder(COLLAPSE_FIELD)
+                    .setInnerHits(new InnerHitBuilder(TOP_CODE_HITS)
+                        .setSize(deepSearchProperties.getHitsPerCodeScheme())
+                        .addSort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                        .setFetchSourceContext(sourceIncludes))));
+    }
+
+    private BoolQueryBuilder createBoolQuery(final String query) {
+        final BoolQueryBuilder boolQueryBuilder = boolQuery();
+        if (query != null && !query.isEmpty()) {
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefLabelQuery(query));
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query, "codeValue"));
+        }
+        boolQueryBuilder.minimumShouldMatch(1);
+        return boolQueryBuilder;
+    }
+
     Map<String, List<DeepSearchHitListDTO<?>>> parseResponse(final SearchResponse response,
                                                              final SearchResultWithMetaDataDTO result,
                                                              final String searchTerm) {
@@ -90,51 +133,8 @@ class DeepCodeQueryFactory {
         try {
             final Terms groupBy = response.getAggregations().get("group_by_codescheme");
             for (final Terms.Bucket bucket : groupBy.getBuckets()) {
-                final TopHits hitsAggr = bucket.getAggregations().get("top_code_hits");
-                final SearchHits hits = hitsAggr.getHits();
-                long total = hits.getTotalHits();
-                if (total > 0) {
-                    final String codeSchemeUuid = bucket.getKeyAsString();
-                    final List<CodeDTO> topHits = new ArrayList<>();
-                    final DeepSearchCodeHitListDTO hitList = new DeepSearchCodeHitListDTO(total, topHits);
-
-                    for (final SearchHit hit : hits.getHits()) {
-                        final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
-                        final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
-                        final String codeUri = ElasticRequestUtils.getTextValueOrNull(code, "uri");
-                        final String codeStatus = ElasticRequestUtils.getTextValueOrNull(code, "status");
-                        final Map<String, String> prefLabelMap = ElasticRequestUtils.labelFromKeyValueNode(code.get("prefLabel"));
-                        final String codeCodeValue = ElasticRequestUtils.getTextValueOrNull(code, "codeValue");
-
-                        final CodeDTO dto = new CodeDTO();
-                        dto.setId(UUID.fromString(codeId));
-                        dto.setUri(codeUri);
-                        dto.setStatus(codeStatus);
-                        dto.setPrefLabel(prefLabelMap);
-                        dto.setCodeValue(codeCodeValue);
-                        addHighlightTagsToDto(searchTerm, dto);
-                        final CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
-                        final CodeSchemeDTO lean = new CodeSchemeDTO();
-                        lean.setId(fat.getId());
-                        lean.setCodeRegistry(fat.getCodeRegistry());
-                        lean.setCodeValue(fat.getCodeValue());
-                        dto.setCodeScheme(lean);
-                        topHits.add(dto);
-                        ret.put(codeSchemeUuid, Collections.singletonList(hitList));
-
-                        final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
-                        final Set<String> codeSchemeUuids = new HashSet<>();
-                        populateSearchHits(codeSchemeUuids,
-                            result,
-                            dto.getPrefLabel(),
-                            dto.getUri(),
-                            dto.getCodeValue(),
-                            fat.getCodeValue(),
-                            fat.getCodeRegistry().getCodeValue(),
-                            uuidOfTheCodeScheme,
-                            total);
-                    }
-                }
+                final TopHits hitsAggr = bucket.getAggregations().get(TOP_CODE_HITS);
+                parseCodeSchemeHits(bucket.getKeyAsString(), hitsAggr.getHits(), result, searchTerm, ret);
             }
         } catch (final Exception e) {
             LOG.error("Cannot parse deep concept query response", e);
@@ -142,6 +142,87 @@ class DeepCodeQueryFactory {
         return ret;
     }
 
+    Set<String> parseCodeSchemeIds(final SearchResponse response) {
+        final Set<String> codeSchemeUuids = new LinkedHashSet<>();
+        for (final SearchHit collapsedHit : response.getHits().getHits()) {
+            final DocumentField collapseField = collapsedHit.field(COLLAPSE_FIELD);
+            if (collapseField != null && collapseField.getValue() != null) {
+                codeSchemeUuids.add(collapseField.getValue().toString());
+            }
+        }
+        return codeSchemeUuids;
+    }
+
+    Map<String, List<DeepSearchHitListDTO<?>>> parseCollapseResponse(final SearchResponse response,
+                                                                     final SearchResultWithMetaDataDTO result,
+                                                                     final String searchTerm) {
+        final Map<String, List<DeepSearchHitListDTO<?>>> ret = new HashMap<>();
+        try {
+            for (final SearchHit collapsedHit : response.getHits().getHits()) {
+                final DocumentField collapseField = collapsedHit.field(COLLAPSE_FIELD);
+                if (collapseField != null && collapseField.getValue() != null) {
+                    parseCodeSchemeHits(collapseField.getValue().toString(), collapsedHit.getInnerHits().get(TOP_CODE_HITS), result, searchTerm, ret);
+                }
+            }
+        } catch (final Exception e) {
+            LOG.error("Cannot parse deep concept collapse query response", e);
+        }
+        return ret;
+    }
+
+    private void parseCodeSchemeHits(final String codeSchemeUuid,
+                                     final SearchHits hits,
+                                     final SearchResultWithMetaDataDTO result,
+                                     final String searchTerm,
+                                     final Map<String, List<DeepSearchHitListDTO<?>>> ret) throws IOException {
+        final long total = hits.getTotalHits();
+        if (total > 0) {
+            final CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
+            if (fat == null) {
+                LOG.warn("Deep search hit references unknown CodeScheme: " + codeSchemeUuid);
+                return;
+            }
+            final CodeSchemeDTO lean = new CodeSchemeDTO();
+            lean.setId(fat.getId());
+            lean.setCodeRegistry(fat.getCodeRegistry());
+            lean.setCodeValue(fat.getCodeValue());
+            final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
+            final List<CodeDTO> topHits = new ArrayList<>();
+            final DeepSearchCodeHitListDTO hitList = new DeepSearchCodeHitListDTO(total, topHits);
+
+            for (final SearchHit hit : hits.getHits()) {
+                final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
+                final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
+                final String codeUri = ElasticRequestUtils.getTextValueOrNull(code, "uri");
+                final String codeStatus = ElasticRequestUtils.getTextValueOrNull(code, "status");
+                final Map<String, String> prefLabelMap = ElasticRequestUtils.labelFromKeyValueNode(code.get("prefLabel"));
+                final String codeCodeValue = ElasticRequestUtils.getTextValueOrNull(code, "codeValue");
+
+                final CodeDTO dto = new CodeDTO();
+                dto.setId(UUID.fromString(codeId));
+                dto.setUri(codeUri);
+                dto.setStatus(codeStatus);
+                dto.setPrefLabel(prefLabelMap);
+                dto.setCodeValue(codeCodeValue);
+                addHighlightTagsToDto(searchTerm, dto);
+                dto.setCodeScheme(lean);
+                topHits.add(dto);
+
+                final Set<String> codeSchemeUuids = new HashSet<>();
+                populateSearchHits(codeSchemeUuids,
+                    result,
+                    dto.getPrefLabel(),
+                    dto.getUri(),
+                    dto.getCodeValue(),
+                    fat.getCodeValue(),
+                    fat.getCodeRegistry().getCodeValue(),
+                    uuidOfTheCodeScheme,
+                    total);
+            }
+            ret.put(codeSchemeUuid, Collections.singletonList(hitList));
+        }
+    }
+
     private void addHighlightTagsToDto(final String searchTerm,
                                        final CodeDTO codeDto) {
         highlightLabels(searchTerm, codeDto);
@@ -1,9 +1,12 @@
 package fi.vm.yti.codelist.api.domain;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -12,7 +15,9 @@ import java.util.regex.Pattern;
 
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.document.DocumentField;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.InnerHitBuilder;
 import org.elasticsearch.script.Script;
 import org.elasticsearch.script.ScriptType;
 import org.elasticsearch.search.SearchHit;
@@ -22,6 +27,7 @@ import org.elasticsearch.search.aggregations.BucketOrder;
 import org.elasticsearch.search.aggregations.bucket.terms.Terms;
 import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.collapse.CollapseBuilder;
 import org.elasticsearch.search.fetch.subphase.FetchSourceContext;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
@@ -31,6 +37,7 @@ import org.slf4j.LoggerFactory;
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
+import fi.vm.yti.codelist.api.configuration.DeepSearchProperties;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.DeepSearchExtensionHitListDTO;
 import fi.vm.yti.codelist.common.dto.DeepSearchHitListDTO;
@@ -41,54 +48,93 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.ELASTIC_INDEX_EXT
 import static fi.vm.yti.codelist.common.constants.ApiConstants.SEARCH_HIT_TYPE_EXTENSION;
 import static org.elasticsearch.index.query.QueryBuilders.boolQuery;
 import static org.elasticsearch.index.query.QueryBuilders.matchQuery;
+import static org.elasticsearch.index.query.QueryBuilders.termsQuery;
 
 class DeepExtensionQueryFactory {
 
     private static final Logger LOG = LoggerFactory.getLogger(DeepExtensionQueryFactory.class);
 
+    private static final String COLLAPSE_FIELD = "parentCodeScheme.id";
+    private static final String TOP_EXTENSION_HITS = "top_extension_hits";
     private static final FetchSourceContext sourceIncludes = new FetchSourceContext(true, new String[]{ "id", "codeValue", "prefLabel", "parentCodeScheme.id" }, new String[]{});
     private static final Script topHitScript = new Script(ScriptType.INLINE, Script.DEFAULT_SCRIPT_LANG, "_score", Collections.emptyMap());
     private final Domain domain;
     private final ObjectMapper objectMapper;
     private final LuceneQueryFactory luceneQueryFactory;
+    private final DeepSearchProperties deepSearchProperties;
 
     DeepExtensionQueryFactory(final ObjectMapper objectMapper,
                               final Domain domain,
-                              final LuceneQueryFactory luceneQueryFactory) {
+                              final LuceneQueryFactory luceneQueryFactory,
+                              final DeepSearchProperties deepSearchProperties) {
         this.objectMapper = objectMapper;
         this.domain = domain;
         this.luceneQueryFactory = luceneQueryFactory;
+        this.deepSearchProperties = deepSearchProperties;
     }
 
     SearchRequest createQuery(final String query,
                               final String extensionPropertyType) {
-        final BoolQueryBuilder boolQueryBuilder = boolQuery();
-        if (query != null && !query.isEmpty()) {
-            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query).field("prefLabel.*"));
-            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query).field("codeValue"));
-        }
-        boolQueryBuilder.minimumShouldMatch(1);
-
-        if (extensionPropertyType != null) {
-            boolQueryBuilder.must(matchQuery("propertyType.localName", extensionPropertyType));
-        }
-
         return new SearchRequest(ELASTIC_INDEX_EXTENSION)
             .source(new SearchSourceBuilder()
-                .query(boolQueryBuilder)
+                .query(createBoolQuery(query, extensionPropertyType))
                 .size(0)
                 .aggregation(AggregationBuilders.terms("group_by_codescheme")
-                    .field("parentCodeScheme.id")
-                    .size(1000)
+                    .field(COLLAPSE_FIELD)
+                    .size(deepSearchProperties.getMaxCodeSchemes())
                     .order(BucketOrder.aggregation("best_extension_hit", false))
-                    .subAggregation(AggregationBuilders.topHits("top_extension_hits")
+                    .subAggregation(AggregationBuilders.topHits(TOP_EXTENSION_HITS)
                         .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
-                        .size(6)
+                        .size(deepSearchProperties.getHitsPerCodeScheme())
                         .fetchSource(sourceIncludes)
                     ).subAggregation(AggregationBuilders.max("best_extension_hit")
                         .script(topHitScript))));
     }
 
+    SearchRequest createCodeSchemeIdQuery(final String query,
+                                          final String extensionPropertyType,
+                                          final int size) {
+        return new SearchRequest(ELASTIC_INDEX_EXTENSION)
+            .source(new SearchSourceBuilder()
+                .query(createBoolQuery(query, extensionPropertyType))
+                .size(size)
+                .trackTotalHits(false)
+                .fetchSource(false)
+                .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                .collapse(new CollapseBuilder(COLLAPSE_FIELD)));
+    }
+
+    SearchRequest createCollapseQuery(final String query,
+                                      final String extensionPropertyType,
+                                      final Collection<String> codeSchemeUuids) {
+        return new SearchRequest(ELASTIC_INDEX_EXTENSION)
+            .source(new SearchSourceBuilder()
+                .query(createBoolQuery(query, extensionPropertyType).filter(termsQuery(COLLAPSE_FIELD, codeSchemeUuids)))
+                .size(codeSchemeUuids.size())
+                .fetchSource(false)
+                .sort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                .collapse(new CollapseBuilder(COLLAPSE_FIELD)
+                    .setInnerHits(new InnerHitBuilder(TOP_EXTENSION_HITS)
+                        .setSize(deepSearchProperties.getHitsPerCodeScheme())
+                        .addSort(SortBuilders.scoreSort().order(SortOrder.DESC))
+                        .setFetchSourceContext(sourceIncludes))));
+    }
+
+    private BoolQueryBuilder createBoolQuery(final String query,
+                                             final String extensionPropertyType) {
+        final BoolQueryBuilder boolQueryBuilder = boolQuery();
+        if (query != null && !query.isEmpty()) {
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefLabelQuery(query));
+            boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(query, "codeValue"));
+        }
+        boolQueryBuilder.minimumShouldMatch(1);
+
+        if (extensionPropertyType != null) {
+            boolQueryBuilder.must(matchQuery("propertyType.localName", extensionPropertyType));
+        }
+        return boolQueryBuilder;
+    }
+
     Map<String, List<DeepSearchHitListDTO<?>>> parseResponse(final SearchResponse response,
                                                              final SearchResultWithMetaDataDTO result,
                                                              final String searchTerm) {
@@ -96,46 +142,8 @@ class DeepExtensionQueryFactory {
         try {
             final Terms groupBy = response.getAggregations().get("group_by_codescheme");
             for (final Terms.Bucket bucket : groupBy.getBuckets()) {
-                final TopHits hitsAggr = bucket.getAggregations().get("top_extension_hits");
-                final SearchHits hits = hitsAggr.getHits();
-
-                long total = hits.getTotalHits();
-                if (total > 0) {
-                    final String codeSchemeUuid = bucket.getKeyAsString();
-                    final List<ExtensionDTO> topHits = new ArrayList<>();
-                    final DeepSearchExtensionHitListDTO hitList = new DeepSearchExtensionHitListDTO(total, topHits);
-
-                    for (final SearchHit hit : hits.getHits()) {
-                        final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
-                        final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
-                        final Map<String, String> prefLabelMap = ElasticRequestUtils.labelFromKeyValueNode(code.get("prefLabel"));
-                        final String codeCodeValue = ElasticRequestUtils.getTextValueOrNull(code, "codeValue");
-                        final ExtensionDTO dto = new ExtensionDTO();
-                        dto.setId(UUID.fromString(codeId));
-                        dto.setPrefLabel(prefLabelMap);
-                        dto.setCodeValue(codeCodeValue);
-                        addHighlightTagsToDto(searchTerm, dto);
-                        CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
-                        CodeSchemeDTO lean = new CodeSchemeDTO();
-                        lean.setId(fat.getId());
-                        lean.setCodeRegistry(fat.getCodeRegistry());
-                        lean.setCodeValue(fat.getCodeValue());
-                        dto.setParentCodeScheme(lean);
-                        topHits.add(dto);
-                        ret.put(codeSchemeUuid, Collections.singletonList(hitList));
-
-                        final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
-                        final Set<String> codeSchemeUuids = new HashSet<>();
-                        populateSearchHits(codeSchemeUuids,
-                            result,
-                            dto.getPrefLabel(),
-                            dto.getCodeValue(),
-                            fat.getCodeValue(),
-                            fat.getCodeRegistry().getCodeValue(),
-                            uuidOfTheCodeScheme,
-                            total);
-                    }
-                }
+                final TopHits hitsAggr = bucket.getAggregations().get(TOP_EXTENSION_HITS);
+                parseCodeSchemeHits(bucket.getKeyAsString(), hitsAggr.getHits(), result, searchTerm, ret);
             }
         } catch (final Exception e) {
             LOG.error("Cannot parse deep concept query response", e);
@@ -143,6 +151,81 @@ class DeepExtensionQueryFactory {
         return ret;
     }
 
+    Set<String> parseCodeSchemeIds(final SearchResponse response) {
+        final Set<String> codeSchemeUuids = new LinkedHashSet<>();
+        for (final SearchHit collapsedHit : response.getHits().getHits()) {
+            final DocumentField collapseField = collapsedHit.field(COLLAPSE_FIELD);
+            if (collapseField != null && collapseField.getValue() != null) {
+                codeSchemeUuids.add(collapseField.getValue().toString());
+            }
+        }
+        return codeSchemeUuids;
+    }
+
+    Map<String, List<DeepSearchHitListDTO<?>>> parseCollapseResponse(final SearchResponse response,
+                                                                     final SearchResultWithMetaDataDTO result,
+                                                                     final String searchTerm) {
+        final Map<String, List<DeepSearchHitListDTO<?>>> ret = new HashMap<>();
+        try {
+            for (final SearchHit collapsedHit : response.getHits().getHits()) {
+                final DocumentField collapseField = collapsedHit.field(COLLAPSE_FIELD);
+                if (collapseField != null && collapseField.getValue() != null) {
+                    parseCodeSchemeHits(collapseField.getValue().toString(), collapsedHit.getInnerHits().get(TOP_EXTENSION_HITS), result, searchTerm, ret);
+                }
+            }
+        } catch (final Exception e) {
+            LOG.error("Cannot parse deep concept collapse query response", e);
+        }
+        return ret;
+    }
+
+    private void parseCodeSchemeHits(final String codeSchemeUuid,
+                                     final SearchHits hits,
+                                     final SearchResultWithMetaDataDTO result,
+                                     final String searchTerm,
+                                     final Map<String, List<DeepSearchHitListDTO<?>>> ret) throws IOException {
+        final long total = hits.getTotalHits();
+        if (total > 0) {
+            final CodeSchemeDTO fat = domain.getCodeScheme(codeSchemeUuid);
+            if (fat == null) {
+                LOG.warn("Deep search hit references unknown CodeScheme: " + codeSchemeUuid);
+                return;
+            }
+            final CodeSchemeDTO lean = new CodeSchemeDTO();
+            lean.setId(fat.getId());
+            lean.setCodeRegistry(fat.getCodeRegistry());
+            lean.setCodeValue(fat.getCodeValue());
+            final String uuidOfTheCodeScheme = fat.getId().toString().toLowerCase();
+            final List<ExtensionDTO> topHits = new ArrayList<>();
+            final DeepSearchExtensionHitListDTO hitList = new DeepSearchExtensionHitListDTO(total, topHits);
+
+            for (final SearchHit hit : hits.getHits()) {
+                final JsonNode code = objectMapper.readTree(hit.getSourceAsString());
+                final String codeId = ElasticRequestUtils.getTextValueOrNull(code, "id");
+                final Map<String, String> prefLabelMap = ElasticRequestUtils.labelFromKeyValueNode(code.get("prefLabel"));
+                final String codeCodeValue = ElasticRequestUtils.getTextValueOrNull(code, "codeValue");
+                final ExtensionDTO dto = new ExtensionDTO();
+                dto.setId(UUID.fromString(codeId));
+                dto.setPrefLabel(prefLabelMap);
+                dto.setCodeValue(codeCodeValue);
+                addHighlightTagsToDto(searchTerm, dto);
+                dto.setParentCodeScheme(lean);
+                topHits.add(dto);
+
+                final Set<String> codeSchemeUuids = new HashSet<>();
+                populateSearchHits(codeSchemeUuids,
+                    result,
+                    dto.getPrefLabel(),
+                    dto.getCodeValue(),
+                    fat.getCodeValue(),
+                    fat.getCodeRegistry().getCodeValue(),
+                    uuidOfTheCodeScheme,
+                    total);
+            }
+            ret.put(codeSchemeUuid, Collections.singletonList(hitList));
+        }
+    }
+
     private void addHighlightTagsToDto(final String searchTerm,
                                        final ExtensionDTO extensionDto) {
         highlightLabels(searchTerm, extensionDto);
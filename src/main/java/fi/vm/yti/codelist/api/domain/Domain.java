@@ -4,6 +4,8 @@ import java.util.List;
 import java.util.Set;
 
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
+import fi.vm.yti.codelist.api.dto.StatisticsDTO;
+import fi.vm.yti.codelist.api.dto.SuggestionDTO;
 import fi.vm.yti.codelist.common.dto.AnnotationDTO;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
@@ -59,7 +61,8 @@ public interface Domain {
                                       final List<String> statuses,
                                       final List<String> infoDomains,
                                       final String extensionPropertyType,
-                                      final Meta meta);
+                                      final Meta meta,
+                                      final CodeSchemeFacets facets);
 
     CodeDTO getCode(final String codeId);
 
@@ -70,6 +73,8 @@ public interface Domain {
     Set<CodeDTO> getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(final String codeRegistryCodeValue,
                                                                        final String codeSchemeCodeValue);
 
+    Set<CodeDTO> getCodesByCodeSchemeId(final String codeSchemeId);
+
     Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
                           final String codeSchemeCodeValue,
                           final String codeCodeValue,
@@ -117,6 +122,10 @@ public interface Domain {
 
     ExtensionDTO getExtension(final String extensionId);
 
+    Set<MemberDTO> getMembersByExtensionId(final String extensionId);
+
+    String getMembersVersion(final String extensionId);
+
     Set<MemberDTO> getMembers(final Meta meta);
 
     Set<MemberDTO> getMembers(final ExtensionDTO code,
@@ -132,6 +141,21 @@ public interface Domain {
                         final String extensionCodeValue,
                         final String parentCodeSchemeValue);
 
+    ResourcePath resolvePath(final ResourcePath path);
+
+    ChangeFeed getChanges(final ChangeCursor cursor,
+                          final List<String> types,
+                          final int pageSize);
+
+    IndexState getIndexState();
+
+    StatisticsDTO getStatistics();
+
+    Set<SuggestionDTO> getSuggestions(final String term,
+                                      final List<String> types,
+                                      final String language,
+                                      final int size);
+
     Set<ResourceDTO> getContainers(final List<String> includedContainerUris,
                                    final List<String> excludedContainerUris,
                                    final String language,
@@ -5,45 +5,77 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Date;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
 
 import org.apache.lucene.search.join.ScoreMode;
 import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
+import org.elasticsearch.action.search.ClearScrollRequest;
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
 import org.elasticsearch.action.search.SearchRequest;
 import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.action.support.IndicesOptions;
 import org.elasticsearch.client.RequestOptions;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.TimeValue;
 import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.Operator;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.AggregationBuilder;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.filter.Filter;
+import org.elasticsearch.search.aggregations.bucket.nested.Nested;
+import org.elasticsearch.search.aggregations.bucket.nested.ReverseNested;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.aggregations.metrics.max.Max;
+import org.elasticsearch.search.aggregations.metrics.tophits.TopHits;
 import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.sort.FieldSortBuilder;
 import org.elasticsearch.search.sort.SortBuilders;
 import org.elasticsearch.search.sort.SortOrder;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.web.util.HtmlUtils;
 
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.util.StdDateFormat;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
+import fi.vm.yti.codelist.api.configuration.DeepSearchProperties;
+import fi.vm.yti.codelist.api.configuration.SearchProperties;
+import fi.vm.yti.codelist.api.dto.ChangeDTO;
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
+import fi.vm.yti.codelist.api.dto.StatisticsDTO;
+import fi.vm.yti.codelist.api.dto.SuggestionDTO;
 import fi.vm.yti.codelist.api.exception.JsonParsingException;
+import fi.vm.yti.codelist.api.exception.NotFoundException;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.api.timing.RequestTimings;
 import fi.vm.yti.codelist.common.dto.AnnotationDTO;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
-import fi.vm.yti.codelist.common.dto.DeepSearchHitListDTO;
 import fi.vm.yti.codelist.common.dto.ErrorModel;
 import fi.vm.yti.codelist.common.dto.ExtensionDTO;
 import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
@@ -64,43 +96,83 @@ import static org.elasticsearch.index.query.QueryBuilders.*;
 public class DomainImpl implements Domain {
 
     public static final int MAX_ES_PAGESIZE = 10000;
+    public static final String CHANGE_TYPE_CODEREGISTRY = "coderegistry";
+    public static final String CHANGE_TYPE_CODESCHEME = "codescheme";
+    public static final String CHANGE_TYPE_CODE = "code";
+    public static final String CHANGE_TYPE_EXTENSION = "extension";
+    public static final String CHANGE_TYPE_MEMBER = "member";
 
     private static final Logger LOG = LoggerFactory.getLogger(DomainImpl.class);
 
     private static final String TEXT_ANALYZER = "text_analyzer";
     private static final String BOOSTSTATUS = "boostStatus";
     private static final String ELASTIC_QUERY_ERROR = "ElasticSearch index query error!";
+    private static final String INDEX_NOT_FOUND_ERROR = "index_not_found_exception";
+    private static final String[] CHANGE_SOURCE_FIELDS = { "id", "uri", "codeValue", "status" };
+    private static final String[] SUGGESTION_SOURCE_FIELDS = { "id", "uri", "codeValue", "prefLabel", "status", "codeRegistry.codeValue", "codeScheme.codeValue", "codeScheme.codeRegistry.codeValue" };
+    private static final List<String> SUGGESTION_TYPES = Arrays.asList(CHANGE_TYPE_CODESCHEME, CHANGE_TYPE_CODE);
+    private static final Map<String, String> CHANGE_TYPE_INDICES = createChangeTypeIndices();
+    private static final int MAX_ES_RESULT_WINDOW = 2 * MAX_ES_PAGESIZE;
+    private static final int SCROLL_PAGESIZE = 1000;
+    private static final int TERMS_BUCKETS = 1000;
+    private static final int STATUS_BUCKETS = 20;
+    private static final String FACET_VALUES = "values";
+    private static final List<String> CODESCHEME_FACETS = Arrays.asList(CodeSchemeFacets.FACET_STATUS, CodeSchemeFacets.FACET_INFODOMAIN, CodeSchemeFacets.FACET_ORGANIZATION, CodeSchemeFacets.FACET_CODEREGISTRY, CodeSchemeFacets.FACET_LANGUAGE);
+    private static final TimeValue SCROLL_KEEP_ALIVE = TimeValue.timeValueMinutes(1);
     private static final Set<String> sortLanguages = new HashSet<>(Arrays.asList(LANGUAGE_CODE_FI, LANGUAGE_CODE_EN, LANGUAGE_CODE_SV));
     private final RestHighLevelClient client;
     private final DeepCodeQueryFactory deepCodeQueryFactory;
     private final DeepExtensionQueryFactory deepExtensionQueryFactory;
     private final LuceneQueryFactory luceneQueryFactory;
+    private final DeepSearchProperties deepSearchProperties;
+    private final SlowQueryRecorder slowQueryRecorder;
+    private final NegativeLookupCache negativeLookupCache;
+    private final Tracer tracer;
+
+    private static Map<String, String> createChangeTypeIndices() {
+        final Map<String, String> changeTypeIndices = new LinkedHashMap<>();
+        changeTypeIndices.put(CHANGE_TYPE_CODEREGISTRY, ELASTIC_INDEX_CODEREGISTRY);
+        changeTypeIndices.put(CHANGE_TYPE_CODESCHEME, ELASTIC_INDEX_CODESCHEME);
+        changeTypeIndices.put(CHANGE_TYPE_CODE, ELASTIC_INDEX_CODE);
+        changeTypeIndices.put(CHANGE_TYPE_EXTENSION, ELASTIC_INDEX_EXTENSION);
+        changeTypeIndices.put(CHANGE_TYPE_MEMBER, ELASTIC_INDEX_MEMBER);
+        return changeTypeIndices;
+    }
 
     @Inject
-    private DomainImpl(final RestHighLevelClient elasticSearchRestHighLevelClient) {
+    private DomainImpl(final RestHighLevelClient elasticSearchRestHighLevelClient,
+                       final DeepSearchProperties deepSearchProperties,
+                       final SearchProperties searchProperties,
+                       final SlowQueryRecorder slowQueryRecorder,
+                       final NegativeLookupCache negativeLookupCache,
+                       final Tracer tracer) {
         this.client = elasticSearchRestHighLevelClient;
-        this.luceneQueryFactory = new LuceneQueryFactory();
-        this.deepCodeQueryFactory = new DeepCodeQueryFactory(new ObjectMapper(), this, luceneQueryFactory);
-        this.deepExtensionQueryFactory = new DeepExtensionQueryFactory(new ObjectMapper(), this, luceneQueryFactory);
+        this.deepSearchProperties = deepSearchProperties;
+        this.slowQueryRecorder = slowQueryRecorder;
+        this.negativeLookupCache = negativeLookupCache;
+        this.tracer = tracer;
+        this.luceneQueryFactory = new LuceneQueryFactory(searchProperties);
+        this.deepCodeQueryFactory = new DeepCodeQueryFactory(new ObjectMapper(), this, luceneQueryFactory, deepSearchProperties);
+        this.deepExtensionQueryFactory = new DeepExtensionQueryFactory(new ObjectMapper(), this, luceneQueryFactory, deepSearchProperties);
     }
 
     public CodeRegistryDTO getCodeRegistry(final String codeRegistryCodeValue) {
+        return RequestMemo.get(() -> negativeLookupCache.get(() -> loadCodeRegistry(codeRegistryCodeValue), CHANGE_TYPE_CODEREGISTRY, codeRegistryCodeValue), "codeRegistry", codeRegistryCodeValue);
+    }
+
+    private CodeRegistryDTO loadCodeRegistry(final String codeRegistryCodeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODEREGISTRY)) {
             final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODEREGISTRY);
-            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            searchBuilder.sort("codeValue.raw", SortOrder.ASC);
-            final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeRegistryCodeValue.toLowerCase())).should(matchQuery("codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
-            searchBuilder.query(builder);
-            searchRequest.source(searchBuilder);
+            searchRequest.source(createCodeRegistrySource(codeRegistryCodeValue));
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     LOG.debug(String.format("Found %d CodeRegistries", response.getHits().getTotalHits()));
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), CodeRegistryDTO.class);
+                            return readHit(mapper, hit, CodeRegistryDTO.class);
                         }
                     } catch (final IOException e) {
                         LOG.error("getCodeRegistry reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -138,12 +210,12 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     LOG.debug(String.format("Found %d CodeRegistries", response.getHits().getTotalHits()));
                     try {
-                        codeRegistries.add(mapper.readValue(hit.getSourceAsString(), CodeRegistryDTO.class));
+                        codeRegistries.add(readHit(mapper, hit, CodeRegistryDTO.class));
                     } catch (final IOException e) {
                         LOG.error("getCodeRegistries reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
@@ -158,6 +230,10 @@ public class DomainImpl implements Domain {
     }
 
     public CodeSchemeDTO getCodeScheme(final String codeSchemeId) {
+        return RequestMemo.get(() -> loadCodeScheme(codeSchemeId), "codeSchemeById", codeSchemeId);
+    }
+
+    private CodeSchemeDTO loadCodeScheme(final String codeSchemeId) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             searchBuilder.sort("codeValue.raw", SortOrder.ASC);
@@ -170,13 +246,13 @@ public class DomainImpl implements Domain {
 
     public CodeSchemeDTO getCodeScheme(final String codeRegistryCodeValue,
                                        final String codeSchemeCodeValue) {
+        return RequestMemo.get(() -> negativeLookupCache.get(() -> loadCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue), CHANGE_TYPE_CODESCHEME, codeRegistryCodeValue, codeSchemeCodeValue), "codeScheme", codeRegistryCodeValue, codeSchemeCodeValue);
+    }
+
+    private CodeSchemeDTO loadCodeScheme(final String codeRegistryCodeValue,
+                                         final String codeSchemeCodeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODESCHEME)) {
-            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            searchBuilder.sort("codeValue.raw", SortOrder.ASC);
-            final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
-            builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            searchBuilder.query(builder);
-            return doCodeSchemeRequest(searchBuilder);
+            return doCodeSchemeRequest(createCodeSchemeSource(codeRegistryCodeValue, codeSchemeCodeValue));
         }
         return null;
     }
@@ -186,13 +262,13 @@ public class DomainImpl implements Domain {
         final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_CODESCHEME);
         searchRequest.source(searchBuilder);
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse response = search(searchRequest);
             if (response.getHits().getTotalHits() > 0) {
                 LOG.debug(String.format("Found %d CodeSchemes", response.getHits().getTotalHits()));
                 final SearchHit hit = response.getHits().getAt(0);
                 try {
                     if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class);
+                        return readHit(mapper, hit, CodeSchemeDTO.class);
                     }
                 } catch (final IOException e) {
                     LOG.error("getCodeScheme reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -211,11 +287,11 @@ public class DomainImpl implements Domain {
                                                                     final List<String> userOrganizationIds,
                                                                     final boolean includeIncomplete,
                                                                     final String language) {
-        return getCodeSchemes(null, organizations, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, null, null, null, language, null, false, false, null, null, null, null);
+        return getCodeSchemes(null, organizations, userOrganizationIds, includeIncomplete, codeRegistryCodeValue, null, null, null, language, null, false, false, null, null, null, null, null);
     }
 
     public Set<CodeSchemeDTO> getCodeSchemes() {
-        return getCodeSchemes(null, null, null, false, null, null, null, null, null, null, false, false, null, null, null, null);
+        return getCodeSchemes(null, null, null, false, null, null, null, null, null, null, false, false, null, null, null, null, null);
     }
 
     public Set<CodeSchemeDTO> getCodeSchemes(final String sortMode,
@@ -233,7 +309,8 @@ public class DomainImpl implements Domain {
                                              final List<String> statuses,
                                              final List<String> infoDomains,
                                              final String extensionPropertyType,
-                                             final Meta meta) {
+                                             final Meta meta,
+                                             final CodeSchemeFacets facets) {
         validatePageSize(meta);
         final Set<String> codeSchemeUuids = new HashSet<>();
         final Set<String> codeSchemeUuidsWithDeepHitsCodes = new HashSet<>();
@@ -241,18 +318,18 @@ public class DomainImpl implements Domain {
         SearchResultWithMetaDataDTO searchResultWithMetaData = new SearchResultWithMetaDataDTO();
 
         if (searchCodes && searchTerm != null) {
-            final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits = getCodeSchemesMatchingCodes(searchTerm, searchResultWithMetaData);
+            final Set<String> deepSearchHits = getCodeSchemesMatchingCodes(searchTerm, searchResultWithMetaData);
             if (deepSearchHits != null) {
-                codeSchemeUuids.addAll(deepSearchHits.keySet());
-                codeSchemeUuidsWithDeepHitsCodes.addAll(deepSearchHits.keySet());
+                codeSchemeUuids.addAll(deepSearchHits);
+                codeSchemeUuidsWithDeepHitsCodes.addAll(deepSearchHits);
             }
         }
 
         if (searchExtensions && searchTerm != null) {
-            final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits = getCodeSchemesMatchingExtensions(searchTerm, extensionPropertyType, searchResultWithMetaData);
+            final Set<String> deepSearchHits = getCodeSchemesMatchingExtensions(searchTerm, extensionPropertyType, searchResultWithMetaData);
             if (deepSearchHits != null) {
-                codeSchemeUuids.addAll(deepSearchHits.keySet());
-                codeSchemeUuidsWithDeepHitsExtensions.addAll(deepSearchHits.keySet());
+                codeSchemeUuids.addAll(deepSearchHits);
+                codeSchemeUuidsWithDeepHitsExtensions.addAll(deepSearchHits);
             }
         }
 
@@ -264,8 +341,8 @@ public class DomainImpl implements Domain {
             final BoolQueryBuilder builder = constructBoolQueryWithAfterAndBeforeRange(meta);
             if (searchTerm != null && !searchTerm.isEmpty()) {
                 final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("prefLabel.*"));
-                boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("codeValue"));
+                boolQueryBuilder.should(luceneQueryFactory.buildPrefLabelQuery(searchTerm));
+                boolQueryBuilder.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm, "codeValue"));
                 if (!codeSchemeUuids.isEmpty()) {
                     boolQueryBuilder.should(termsQuery("id", codeSchemeUuids));
                 }
@@ -273,25 +350,26 @@ public class DomainImpl implements Domain {
                 builder.must(boolQueryBuilder);
             }
             if (codeSchemeCodeValue != null && !codeSchemeCodeValue.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemeCodeValue).field("codeValue"));
+                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemeCodeValue, "codeValue"));
             }
             if (codeSchemePrefLabel != null && !codeSchemePrefLabel.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeSchemePrefLabel).field("prefLabel.*"));
+                builder.must(luceneQueryFactory.buildPrefLabelQuery(codeSchemePrefLabel));
             }
+            final Map<String, QueryBuilder> facetFilters = new LinkedHashMap<>();
             if (organizationIds != null && !organizationIds.isEmpty()) {
                 BoolQueryBuilder organizationQuery = boolQuery();
                 organizationQuery.should(nestedQuery("organizations", termsQuery("organizations.id.keyword", organizationIds), ScoreMode.None));
                 organizationQuery.should(nestedQuery("organizations", termsQuery("organizations.parent.id.keyword", organizationIds), ScoreMode.None));
-                builder.must(organizationQuery);
+                facetFilters.put(CodeSchemeFacets.FACET_ORGANIZATION, organizationQuery);
             }
             if (codeRegistryCodeValue != null && !codeRegistryCodeValue.isEmpty()) {
-                builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+                facetFilters.put(CodeSchemeFacets.FACET_CODEREGISTRY, matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
             }
             if (codeRegistryPrefLabel != null && !codeRegistryPrefLabel.isEmpty()) {
-                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeRegistryPrefLabel).field("codeRegistry.prefLabel.*"));
+                builder.must(luceneQueryFactory.buildPrefixSuffixQuery(codeRegistryPrefLabel, "codeRegistry.prefLabel.*"));
             }
             if (infoDomains != null && !infoDomains.isEmpty()) {
-                builder.must(nestedQuery("infoDomains", termsQuery("infoDomains.codeValue.keyword", infoDomains), ScoreMode.None));
+                facetFilters.put(CodeSchemeFacets.FACET_INFODOMAIN, nestedQuery("infoDomains", termsQuery("infoDomains.codeValue.keyword", infoDomains), ScoreMode.None));
             }
             if (extensionPropertyType != null) {
                 builder.must(nestedQuery("extensions", matchQuery("extensions.propertyType.localName", extensionPropertyType), ScoreMode.None));
@@ -301,6 +379,7 @@ public class DomainImpl implements Domain {
                 boostStatus(builder);
             }
             addLanguagePrefLabelSort(language, "codeValue.raw", "codeValue.raw", searchBuilder);
+            final BoolQueryBuilder defaultStatusQuery = createDefaultStatusQuery(includeIncomplete, userOrganizationIds);
             if (statuses != null && !statuses.isEmpty()) {
                 final BoolQueryBuilder boolQueryBuilder = boolQuery();
                 if (statuses.contains(Status.INCOMPLETE.toString())) {
@@ -317,33 +396,30 @@ public class DomainImpl implements Domain {
                     }
                 }
                 boolQueryBuilder.should(termsQuery("status.keyword", statuses));
-                builder.must(termsQuery("status.keyword", statuses));
                 boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
+                facetFilters.put(CodeSchemeFacets.FACET_STATUS, boolQuery().must(termsQuery("status.keyword", statuses)).must(boolQueryBuilder));
             } else {
-                final BoolQueryBuilder boolQueryBuilder = boolQuery();
-                boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
-                if (includeIncomplete) {
-                    final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                    incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                    boolQueryBuilder.should(incompleteQueryBuilder);
-                } else if (userOrganizationIds != null && !userOrganizationIds.isEmpty()) {
-                    final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
-                    incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
-                    incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", userOrganizationIds), ScoreMode.None));
-                    boolQueryBuilder.should(incompleteQueryBuilder);
-                }
-                boolQueryBuilder.minimumShouldMatch(1);
-                builder.must(boolQueryBuilder);
+                facetFilters.put(CodeSchemeFacets.FACET_STATUS, defaultStatusQuery);
+            }
+            if (facets != null) {
+                final BoolQueryBuilder postFilter = boolQuery();
+                facetFilters.values().forEach(postFilter::filter);
+                searchBuilder.postFilter(postFilter);
+                addCodeSchemeFacetAggregations(searchBuilder, facets, facetFilters, defaultStatusQuery);
+            } else {
+                facetFilters.values().forEach(builder::must);
             }
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                if (facets != null) {
+                    readCodeSchemeFacets(response.getAggregations(), facets);
+                }
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        codeSchemes.add(mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class));
+                        codeSchemes.add(readHit(mapper, hit, CodeSchemeDTO.class));
                     } catch (final IOException e) {
                         LOG.error("getCodeSchemes reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
@@ -354,6 +430,9 @@ public class DomainImpl implements Domain {
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
         }
+        if (deepSearchProperties.isCollapseStrategy() && !codeSchemeUuids.isEmpty()) {
+            populateDeepSearchHits(searchTerm, extensionPropertyType, codeSchemes, codeSchemeUuidsWithDeepHitsCodes, codeSchemeUuidsWithDeepHitsExtensions, searchResultWithMetaData);
+        }
         for (final CodeSchemeDTO cs : codeSchemes) {
             final ArrayList<SearchHitDTO> searchHits = searchResultWithMetaData.getSearchHitDTOMap().get(cs.getId().toString().toLowerCase());
             if (language != null && searchHits != null) {
@@ -370,39 +449,150 @@ public class DomainImpl implements Domain {
         return codeSchemes;
     }
 
-    private Map<String, List<DeepSearchHitListDTO<?>>> getCodeSchemesMatchingCodes(final String searchTerm,
-                                                                                   final SearchResultWithMetaDataDTO result) {
-        final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits;
+    private BoolQueryBuilder createDefaultStatusQuery(final boolean includeIncomplete,
+                                                      final List<String> userOrganizationIds) {
+        final BoolQueryBuilder boolQueryBuilder = boolQuery();
+        boolQueryBuilder.should(termsQuery("status.keyword", getRegularStatuses()));
+        if (includeIncomplete) {
+            final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+            incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+            boolQueryBuilder.should(incompleteQueryBuilder);
+        } else if (userOrganizationIds != null && !userOrganizationIds.isEmpty()) {
+            final BoolQueryBuilder incompleteQueryBuilder = boolQuery();
+            incompleteQueryBuilder.must(matchQuery("status.keyword", Status.INCOMPLETE.toString()));
+            incompleteQueryBuilder.must(nestedQuery("organizations", termsQuery("organizations.id.keyword", userOrganizationIds), ScoreMode.None));
+            boolQueryBuilder.should(incompleteQueryBuilder);
+        }
+        boolQueryBuilder.minimumShouldMatch(1);
+        return boolQueryBuilder;
+    }
+
+    private void addCodeSchemeFacetAggregations(final SearchSourceBuilder searchBuilder,
+                                                final CodeSchemeFacets facets,
+                                                final Map<String, QueryBuilder> facetFilters,
+                                                final QueryBuilder defaultStatusQuery) {
+        for (final String facet : CODESCHEME_FACETS) {
+            if (facets.isRequested(facet)) {
+                final BoolQueryBuilder facetFilter = boolQuery();
+                facetFilters.forEach((name, query) -> {
+                    if (!name.equals(facet)) {
+                        facetFilter.filter(query);
+                    }
+                });
+                if (CodeSchemeFacets.FACET_STATUS.equals(facet)) {
+                    facetFilter.filter(defaultStatusQuery);
+                }
+                searchBuilder.aggregation(AggregationBuilders.filter(facet, facetFilter).subAggregation(createCodeSchemeFacetAggregation(facet)));
+            }
+        }
+    }
+
+    private AggregationBuilder createCodeSchemeFacetAggregation(final String facet) {
+        switch (facet) {
+            case CodeSchemeFacets.FACET_STATUS:
+                return AggregationBuilders.terms(FACET_VALUES).field("status.keyword").size(STATUS_BUCKETS);
+            case CodeSchemeFacets.FACET_INFODOMAIN:
+                return AggregationBuilders.nested(FACET_VALUES, "infoDomains")
+                    .subAggregation(AggregationBuilders.terms(FACET_VALUES).field("infoDomains.codeValue.keyword").size(TERMS_BUCKETS)
+                        .subAggregation(AggregationBuilders.reverseNested("codeSchemes")));
+            case CodeSchemeFacets.FACET_ORGANIZATION:
+                return AggregationBuilders.nested(FACET_VALUES, "organizations")
+                    .subAggregation(AggregationBuilders.terms(FACET_VALUES).field("organizations.id.keyword").size(TERMS_BUCKETS)
+                        .subAggregation(AggregationBuilders.reverseNested("codeSchemes")));
+            case CodeSchemeFacets.FACET_CODEREGISTRY:
+                return createCodeRegistryAggregation(FACET_VALUES);
+            default:
+                return AggregationBuilders.terms(FACET_VALUES).field("languageCodes.codeValue.keyword").size(TERMS_BUCKETS);
+        }
+    }
+
+    private void readCodeSchemeFacets(final Aggregations aggregations,
+                                      final CodeSchemeFacets facets) {
+        for (final String facet : CODESCHEME_FACETS) {
+            if (facets.isRequested(facet) && aggregations != null && aggregations.get(facet) != null) {
+                final Filter filter = aggregations.get(facet);
+                switch (facet) {
+                    case CodeSchemeFacets.FACET_INFODOMAIN:
+                    case CodeSchemeFacets.FACET_ORGANIZATION:
+                        facets.setCounts(facet, readNestedTermCounts(filter.getAggregations(), FACET_VALUES, FACET_VALUES));
+                        break;
+                    case CodeSchemeFacets.FACET_CODEREGISTRY:
+                        facets.setCounts(facet, readCodeRegistryCounts(filter.getAggregations(), FACET_VALUES));
+                        break;
+                    default:
+                        facets.setCounts(facet, readTermCounts(filter.getAggregations(), FACET_VALUES));
+                }
+            }
+        }
+    }
+
+    private Set<String> getCodeSchemesMatchingCodes(final String searchTerm,
+                                                    final SearchResultWithMetaDataDTO result) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODE) && searchTerm != null) {
             try {
-                final SearchRequest query = deepCodeQueryFactory.createQuery(searchTerm);
-                final SearchResponse response = client.search(query, RequestOptions.DEFAULT);
-                deepSearchHits = deepCodeQueryFactory.parseResponse(response, result, searchTerm);
+                if (deepSearchProperties.isCollapseStrategy()) {
+                    return deepCodeQueryFactory.parseCodeSchemeIds(search(deepCodeQueryFactory.createCodeSchemeIdQuery(searchTerm, deepSearchProperties.getMaxCodeSchemes())));
+                }
+                final SearchResponse response = search(deepCodeQueryFactory.createQuery(searchTerm));
+                try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.ENRICHMENT)) {
+                    return deepCodeQueryFactory.parseResponse(response, result, searchTerm).keySet();
+                }
             } catch (final IOException e) {
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
-        } else {
-            deepSearchHits = null;
         }
-        return deepSearchHits;
+        return null;
     }
 
-    private Map<String, List<DeepSearchHitListDTO<?>>> getCodeSchemesMatchingExtensions(final String searchTerm,
-                                                                                        final String extensionPropertyType,
-                                                                                        final SearchResultWithMetaDataDTO result) {
-        final Map<String, List<DeepSearchHitListDTO<?>>> deepSearchHits;
+    private Set<String> getCodeSchemesMatchingExtensions(final String searchTerm,
+                                                         final String extensionPropertyType,
+                                                         final SearchResultWithMetaDataDTO result) {
         if (checkIfIndexExists(ELASTIC_INDEX_EXTENSION) && searchTerm != null) {
             try {
-                final SearchRequest query = deepExtensionQueryFactory.createQuery(searchTerm, extensionPropertyType);
-                final SearchResponse response = client.search(query, RequestOptions.DEFAULT);
-                deepSearchHits = deepExtensionQueryFactory.parseResponse(response, result, searchTerm);
+                if (deepSearchProperties.isCollapseStrategy()) {
+                    return deepExtensionQueryFactory.parseCodeSchemeIds(search(deepExtensionQueryFactory.createCodeSchemeIdQuery(searchTerm, extensionPropertyType, deepSearchProperties.getMaxCodeSchemes())));
+                }
+                final SearchResponse response = search(deepExtensionQueryFactory.createQuery(searchTerm, extensionPropertyType));
+                try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.ENRICHMENT)) {
+                    return deepExtensionQueryFactory.parseResponse(response, result, searchTerm).keySet();
+                }
             } catch (final IOException e) {
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
             }
-        } else {
-            deepSearchHits = null;
         }
-        return deepSearchHits;
+        return null;
+    }
+
+    private void populateDeepSearchHits(final String searchTerm,
+                                        final String extensionPropertyType,
+                                        final Set<CodeSchemeDTO> codeSchemes,
+                                        final Set<String> codeSchemeUuidsWithDeepHitsCodes,
+                                        final Set<String> codeSchemeUuidsWithDeepHitsExtensions,
+                                        final SearchResultWithMetaDataDTO result) {
+        final Set<String> pageCodeSchemeUuids = new HashSet<>();
+        for (final CodeSchemeDTO codeScheme : codeSchemes) {
+            pageCodeSchemeUuids.add(codeScheme.getId().toString());
+        }
+        final Set<String> codeHitUuids = new HashSet<>(codeSchemeUuidsWithDeepHitsCodes);
+        codeHitUuids.retainAll(pageCodeSchemeUuids);
+        final Set<String> extensionHitUuids = new HashSet<>(codeSchemeUuidsWithDeepHitsExtensions);
+        extensionHitUuids.retainAll(pageCodeSchemeUuids);
+        try {
+            if (!codeHitUuids.isEmpty()) {
+                final SearchResponse response = search(deepCodeQueryFactory.createCollapseQuery(searchTerm, codeHitUuids));
+                try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.ENRICHMENT)) {
+                    deepCodeQueryFactory.parseCollapseResponse(response, result, searchTerm);
+                }
+            }
+            if (!extensionHitUuids.isEmpty()) {
+                final SearchResponse response = search(deepExtensionQueryFactory.createCollapseQuery(searchTerm, extensionPropertyType, extensionHitUuids));
+                try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.ENRICHMENT)) {
+                    deepExtensionQueryFactory.parseCollapseResponse(response, result, searchTerm);
+                }
+            }
+        } catch (final IOException e) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
     }
 
     private List<String> getRegularStatuses() {
@@ -417,6 +607,10 @@ public class DomainImpl implements Domain {
     }
 
     public AnnotationDTO getAnnotation(final String codeValue) {
+        return RequestMemo.get(() -> loadAnnotation(codeValue), "annotation", codeValue);
+    }
+
+    private AnnotationDTO loadAnnotation(final String codeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_ANNOTATIONE)) {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             searchBuilder.sort("codeValue.raw", SortOrder.ASC);
@@ -432,13 +626,13 @@ public class DomainImpl implements Domain {
         searchRequest.source(searchBuilder);
         final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse response = search(searchRequest);
             LOG.debug(String.format("getAnnotation found: %d hits.", response.getHits().getTotalHits()));
             if (response.getHits().getTotalHits() > 0) {
                 final SearchHit hit = response.getHits().getAt(0);
                 try {
                     if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), AnnotationDTO.class);
+                        return readHit(mapper, hit, AnnotationDTO.class);
                     }
                 } catch (final IOException e) {
                     LOG.error("getAnnotation reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -466,14 +660,14 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
                 if (meta.getResultCount() == MAX_ES_PAGESIZE && meta.getPageSize() == null) {
                     fetchMore = true;
                 }
-                response.getHits().forEach(hit -> {
+                pageHits.forEach(hit -> {
                     try {
-                        annotations.add(mapper.readValue(hit.getSourceAsString(), AnnotationDTO.class));
+                        annotations.add(readHit(mapper, hit, AnnotationDTO.class));
                     } catch (final IOException e) {
                         LOG.error("getAnnotations reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
@@ -495,6 +689,10 @@ public class DomainImpl implements Domain {
     }
 
     public CodeDTO getCode(final String codeId) {
+        return RequestMemo.get(() -> loadCode(codeId), "codeById", codeId);
+    }
+
+    private CodeDTO loadCode(final String codeId) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODE)) {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", codeId));
@@ -508,13 +706,14 @@ public class DomainImpl implements Domain {
     public CodeDTO getCode(final String codeRegistryCodeValue,
                            final String codeSchemeCodeValue,
                            final String codeCodeValue) {
+        return RequestMemo.get(() -> negativeLookupCache.get(() -> loadCode(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue), CHANGE_TYPE_CODE, codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue), "code", codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
+    }
+
+    private CodeDTO loadCode(final String codeRegistryCodeValue,
+                             final String codeSchemeCodeValue,
+                             final String codeCodeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_CODE)) {
-            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeCodeValue.toLowerCase())).should(matchQuery("codeValue", codeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
-            builder.must(boolQuery().should(matchQuery("codeScheme.id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1));
-            builder.must(matchQuery("codeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            searchBuilder.query(builder);
-            return doCodeRequest(searchBuilder);
+            return doCodeRequest(createCodeSource(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue));
         } else {
             return null;
         }
@@ -525,13 +724,13 @@ public class DomainImpl implements Domain {
         searchRequest.source(searchBuilder);
         final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse response = search(searchRequest);
             LOG.debug(String.format("getCode found: %d hits.", response.getHits().getTotalHits()));
             if (response.getHits().getTotalHits() > 0) {
                 final SearchHit hit = response.getHits().getAt(0);
                 try {
                     if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), CodeDTO.class);
+                        return readHit(mapper, hit, CodeDTO.class);
                     }
                 } catch (final IOException e) {
                     LOG.error("getCode reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -550,6 +749,15 @@ public class DomainImpl implements Domain {
         return getCodes(codeRegistryCodeValue, codeSchemeCodeValue, null, null, null, null, null, null, new Meta());
     }
 
+    public Set<CodeDTO> getCodesByCodeSchemeId(final String codeSchemeId) {
+        final Set<CodeDTO> codes = new LinkedHashSet<>();
+        if (checkIfIndexExists(ELASTIC_INDEX_CODE)) {
+            final BoolQueryBuilder builder = boolQuery().must(matchQuery("codeScheme.id", codeSchemeId.toLowerCase()));
+            codes.addAll(scrollAll(ELASTIC_INDEX_CODE, builder, CodeDTO.class));
+        }
+        return codes;
+    }
+
     public Set<CodeDTO> getCodes(final String codeRegistryCodeValue,
                                  final String codeSchemeCodeValue,
                                  final String codeCodeValue,
@@ -583,14 +791,14 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
                 if (meta.getResultCount() == MAX_ES_PAGESIZE && meta.getPageSize() == null) {
                     fetchMore = true;
                 }
-                response.getHits().forEach(hit -> {
+                pageHits.forEach(hit -> {
                     try {
-                        codes.add(mapper.readValue(hit.getSourceAsString(), CodeDTO.class));
+                        codes.add(readHit(mapper, hit, CodeDTO.class));
                     } catch (final IOException e) {
                         LOG.error("getCodes reading value from JSON string failed: " + hit.getSourceAsString(), e);
                         throw new JsonParsingException(ERR_MSG_USER_406);
@@ -612,17 +820,21 @@ public class DomainImpl implements Domain {
     }
 
     public PropertyTypeDTO getPropertyType(final String propertyTypeIdentifier) {
+        return RequestMemo.get(() -> loadPropertyType(propertyTypeIdentifier), "propertyType", propertyTypeIdentifier);
+    }
+
+    private PropertyTypeDTO loadPropertyType(final String propertyTypeIdentifier) {
         if (checkIfIndexExists(ELASTIC_INDEX_PROPERTYTYPE)) {
             final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final BoolQueryBuilder builder = new BoolQueryBuilder().should(matchQuery("id", propertyTypeIdentifier.toLowerCase())).should(matchQuery("localName", propertyTypeIdentifier.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_PROPERTYTYPE, builder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), PropertyTypeDTO.class);
+                            return readHit(mapper, hit, PropertyTypeDTO.class);
                         }
                     } catch (final IOException e) {
                         LOG.error("getPropertyType reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -660,11 +872,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final PropertyTypeDTO propertyType = mapper.readValue(hit.getSourceAsString(), PropertyTypeDTO.class);
+                        final PropertyTypeDTO propertyType = readHit(mapper, hit, PropertyTypeDTO.class);
                         propertyTypes.add(propertyType);
                     } catch (final IOException e) {
                         LOG.error("getPropertyTypes reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -680,17 +892,21 @@ public class DomainImpl implements Domain {
     }
 
     public ValueTypeDTO getValueType(final String valueTypeIdentifier) {
+        return RequestMemo.get(() -> loadValueType(valueTypeIdentifier), "valueType", valueTypeIdentifier);
+    }
+
+    private ValueTypeDTO loadValueType(final String valueTypeIdentifier) {
         if (checkIfIndexExists(ELASTIC_INDEX_VALUETYPE)) {
             final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final BoolQueryBuilder builder = new BoolQueryBuilder().should(matchQuery("id", valueTypeIdentifier.toLowerCase())).should(matchQuery("localName", valueTypeIdentifier.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_PROPERTYTYPE, builder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), ValueTypeDTO.class);
+                            return readHit(mapper, hit, ValueTypeDTO.class);
                         }
                     } catch (final IOException e) {
                         LOG.error("getValueType reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -720,11 +936,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final ValueTypeDTO valueType = mapper.readValue(hit.getSourceAsString(), ValueTypeDTO.class);
+                        final ValueTypeDTO valueType = readHit(mapper, hit, ValueTypeDTO.class);
                         valueTypes.add(valueType);
                     } catch (final IOException e) {
                         LOG.error("getValueTypes reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -740,17 +956,21 @@ public class DomainImpl implements Domain {
     }
 
     public ExternalReferenceDTO getExternalReference(final String externalReferenceId) {
+        return RequestMemo.get(() -> loadExternalReference(externalReferenceId), "externalReference", externalReferenceId);
+    }
+
+    private ExternalReferenceDTO loadExternalReference(final String externalReferenceId) {
         if (checkIfIndexExists(ELASTIC_INDEX_EXTERNALREFERENCE)) {
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", externalReferenceId.toLowerCase()));
             final SearchRequest searchRequest = createSearchRequestWithBoolQueryBuilder(ELASTIC_INDEX_EXTERNALREFERENCE, builder);
             final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), ExternalReferenceDTO.class);
+                            return readHit(mapper, hit, ExternalReferenceDTO.class);
                         }
                     } catch (final IOException e) {
                         LOG.error("getExternalReference reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -789,11 +1009,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final ExternalReferenceDTO externalReference = mapper.readValue(hit.getSourceAsString(), ExternalReferenceDTO.class);
+                        final ExternalReferenceDTO externalReference = readHit(mapper, hit, ExternalReferenceDTO.class);
                         externalReferences.add(externalReference);
                     } catch (final IOException e) {
                         LOG.error("getExternalReferences reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -835,11 +1055,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final ExtensionDTO extension = mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
+                        final ExtensionDTO extension = readHit(mapper, hit, ExtensionDTO.class);
                         extensions.add(extension);
                     } catch (final IOException e) {
                         LOG.error("getExtensions reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -857,19 +1077,23 @@ public class DomainImpl implements Domain {
     public ExtensionDTO getExtension(final String codeRegistryCodeValue,
                                      final String codeSchemeCodeValue,
                                      final String extensionCodeValue) {
+        return RequestMemo.get(() -> negativeLookupCache.get(() -> loadExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue), CHANGE_TYPE_EXTENSION, codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue), "extension", codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
+    }
+
+    private ExtensionDTO loadExtension(final String codeRegistryCodeValue,
+                                       final String codeSchemeCodeValue,
+                                       final String extensionCodeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_EXTENSION)) {
-            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            searchBuilder.sort("codeValue.raw", SortOrder.ASC);
-            final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", extensionCodeValue.toLowerCase())).should(matchQuery("codeValue", extensionCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
-            builder.must(matchQuery("parentCodeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            builder.must(matchQuery("parentCodeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
-            searchBuilder.query(builder);
-            return doExtensionRequest(searchBuilder);
+            return doExtensionRequest(createExtensionSource(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue));
         }
         return null;
     }
 
     public ExtensionDTO getExtension(final String extensionId) {
+        return RequestMemo.get(() -> loadExtension(extensionId), "extensionById", extensionId);
+    }
+
+    private ExtensionDTO loadExtension(final String extensionId) {
         if (checkIfIndexExists(ELASTIC_INDEX_EXTENSION)) {
             final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
             final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", extensionId.toLowerCase()));
@@ -884,12 +1108,12 @@ public class DomainImpl implements Domain {
         searchRequest.source(searchBuilder);
         final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+            final SearchResponse response = search(searchRequest);
             if (response.getHits().getTotalHits() > 0) {
                 final SearchHit hit = response.getHits().getAt(0);
                 try {
                     if (hit != null) {
-                        return mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
+                        return readHit(mapper, hit, ExtensionDTO.class);
                     }
                 } catch (final IOException e) {
                     LOG.error("getExtension reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -919,11 +1143,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final MemberDTO member = mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
+                        final MemberDTO member = readHit(mapper, hit, MemberDTO.class);
                         members.add(member);
                     } catch (final IOException e) {
                         LOG.error("getMembers reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -972,6 +1196,35 @@ public class DomainImpl implements Domain {
         return members;
     }
 
+    public Set<MemberDTO> getMembersByExtensionId(final String extensionId) {
+        final Set<MemberDTO> members = new LinkedHashSet<>();
+        if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
+            final BoolQueryBuilder builder = boolQuery().must(matchQuery("extension.id", extensionId.toLowerCase()));
+            members.addAll(scrollAll(ELASTIC_INDEX_MEMBER, builder, MemberDTO.class));
+        }
+        return members;
+    }
+
+    public String getMembersVersion(final String extensionId) {
+        if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
+            final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_MEMBER);
+            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+            searchBuilder.query(boolQuery().must(matchQuery("extension.id", extensionId.toLowerCase())));
+            searchBuilder.size(0);
+            searchBuilder.aggregation(AggregationBuilders.max("max_modified").field("modified"));
+            searchRequest.source(searchBuilder);
+            try {
+                final SearchResponse response = search(searchRequest);
+                final Max maxModified = response.getAggregations().get("max_modified");
+                return response.getHits().getTotalHits() + ":" + maxModified.getValueAsString();
+            } catch (final IOException e) {
+                LOG.error("SearchRequest failed!", e);
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+            }
+        }
+        return null;
+    }
+
     private Set<MemberDTO> doMemberRequest(final SearchSourceBuilder searchBuilder,
                                            final Meta meta) {
         final Set<MemberDTO> members = new LinkedHashSet<>();
@@ -979,11 +1232,11 @@ public class DomainImpl implements Domain {
         searchRequest.source(searchBuilder);
         final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
         try {
-            final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-            setResultCounts(meta, response);
-            response.getHits().forEach(hit -> {
+            final SearchResponse response = search(searchRequest);
+            final List<SearchHit> pageHits = setResultCounts(meta, response);
+            pageHits.forEach(hit -> {
                 try {
-                    final MemberDTO member = mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
+                    final MemberDTO member = readHit(mapper, hit, MemberDTO.class);
                     members.add(member);
                 } catch (final IOException e) {
                     LOG.error("getMembers reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -1003,37 +1256,24 @@ public class DomainImpl implements Domain {
     @SuppressWarnings({ "ResultOfMethodCallIgnored" })
     public MemberDTO getMember(final String memberId,
                                final String extensionCodeValue,
-                               String parentCodeSchemeValue) {
-        boolean memberIdIsUuid = true;
-        try {
-            UUID.fromString(memberId);
-        } catch (final Exception e) {
-            memberIdIsUuid = false;
-        }
+                               final String parentCodeSchemeValue) {
+        return RequestMemo.get(() -> negativeLookupCache.get(() -> loadMember(memberId, extensionCodeValue, parentCodeSchemeValue), CHANGE_TYPE_MEMBER, parentCodeSchemeValue, extensionCodeValue, memberId), "member", memberId, extensionCodeValue, parentCodeSchemeValue);
+    }
+
+    private MemberDTO loadMember(final String memberId,
+                                 final String extensionCodeValue,
+                                 final String parentCodeSchemeValue) {
         if (checkIfIndexExists(ELASTIC_INDEX_MEMBER)) {
             final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
             final SearchRequest searchRequest = createSearchRequest(ELASTIC_INDEX_MEMBER);
-            final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-            if (memberIdIsUuid) {
-                final BoolQueryBuilder builder = boolQuery().must(matchQuery("id", memberId.toLowerCase()));
-                searchBuilder.query(builder);
-                searchRequest.source(searchBuilder);
-            } else {
-                final BoolQueryBuilder builder = boolQuery().must(matchQuery("sequenceId", memberId)).must(matchQuery("extension.codeValue", extensionCodeValue));
-
-                if (parentCodeSchemeValue != null) {
-                    builder.must(matchQuery("extension.parentCodeScheme.codeValue", parentCodeSchemeValue));
-                }
-                searchBuilder.query(builder);
-                searchRequest.source(searchBuilder);
-            }
+            searchRequest.source(createMemberSource(memberId, extensionCodeValue, parentCodeSchemeValue));
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
+                final SearchResponse response = search(searchRequest);
                 if (response.getHits().getTotalHits() > 0) {
                     final SearchHit hit = response.getHits().getAt(0);
                     try {
                         if (hit != null) {
-                            return mapper.readValue(hit.getSourceAsString(), MemberDTO.class);
+                            return readHit(mapper, hit, MemberDTO.class);
                         }
                     } catch (final IOException e) {
                         LOG.error("getMember reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -1047,6 +1287,389 @@ public class DomainImpl implements Domain {
         return null;
     }
 
+    public ResourcePath resolvePath(final ResourcePath path) {
+        checkKnownMissing(path);
+        final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+        multiSearchRequest.add(createSearchRequest(ELASTIC_INDEX_CODEREGISTRY).source(createCodeRegistrySource(path.getCodeRegistryCodeValue())));
+        if (path.getCodeSchemeCodeValue() != null) {
+            multiSearchRequest.add(createSearchRequest(ELASTIC_INDEX_CODESCHEME).source(createCodeSchemeSource(path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue())));
+        }
+        if (path.getCodeCodeValue() != null) {
+            multiSearchRequest.add(createSearchRequest(ELASTIC_INDEX_CODE).source(createCodeSource(path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getCodeCodeValue())));
+        }
+        if (path.getExtensionCodeValue() != null) {
+            multiSearchRequest.add(createSearchRequest(ELASTIC_INDEX_EXTENSION).source(createExtensionSource(path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getExtensionCodeValue())));
+        }
+        if (path.getMemberId() != null) {
+            multiSearchRequest.add(createSearchRequest(ELASTIC_INDEX_MEMBER).source(createMemberSource(path.getMemberId(), path.getExtensionCodeValue(), path.getCodeSchemeCodeValue())));
+        }
+        final MultiSearchResponse.Item[] items;
+        try {
+            items = multiSearch(multiSearchRequest).getResponses();
+        } catch (final IOException e) {
+            LOG.error("MultiSearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
+        int index = 0;
+        path.setCodeRegistry(readPathHit(mapper, items[index++], CodeRegistryDTO.class, "CodeRegistry", CHANGE_TYPE_CODEREGISTRY, path.getCodeRegistryCodeValue()));
+        RequestMemo.put(path.getCodeRegistry(), "codeRegistry", path.getCodeRegistryCodeValue());
+        if (path.getCodeSchemeCodeValue() != null) {
+            path.setCodeScheme(readPathHit(mapper, items[index++], CodeSchemeDTO.class, "CodeScheme", CHANGE_TYPE_CODESCHEME, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue()));
+            RequestMemo.put(path.getCodeScheme(), "codeScheme", path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue());
+        }
+        if (path.getCodeCodeValue() != null) {
+            path.setCode(readPathHit(mapper, items[index++], CodeDTO.class, "Code", CHANGE_TYPE_CODE, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getCodeCodeValue()));
+            RequestMemo.put(path.getCode(), "code", path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getCodeCodeValue());
+        }
+        if (path.getExtensionCodeValue() != null) {
+            path.setExtension(readPathHit(mapper, items[index++], ExtensionDTO.class, "Extension", CHANGE_TYPE_EXTENSION, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getExtensionCodeValue()));
+            RequestMemo.put(path.getExtension(), "extension", path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getExtensionCodeValue());
+        }
+        if (path.getMemberId() != null) {
+            path.setMember(readPathHit(mapper, items[index], MemberDTO.class, "Member", CHANGE_TYPE_MEMBER, path.getCodeSchemeCodeValue(), path.getExtensionCodeValue(), path.getMemberId()));
+            RequestMemo.put(path.getMember(), "member", path.getMemberId(), path.getExtensionCodeValue(), path.getCodeSchemeCodeValue());
+        }
+        return path;
+    }
+
+    private void checkKnownMissing(final ResourcePath path) {
+        if (negativeLookupCache.isKnownMissing(CHANGE_TYPE_CODEREGISTRY, path.getCodeRegistryCodeValue())) {
+            throw createPathNotFoundException("CodeRegistry", path.getCodeRegistryCodeValue());
+        }
+        if (path.getCodeSchemeCodeValue() != null && negativeLookupCache.isKnownMissing(CHANGE_TYPE_CODESCHEME, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue())) {
+            throw createPathNotFoundException("CodeScheme", path.getCodeSchemeCodeValue());
+        }
+        if (path.getCodeCodeValue() != null && negativeLookupCache.isKnownMissing(CHANGE_TYPE_CODE, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getCodeCodeValue())) {
+            throw createPathNotFoundException("Code", path.getCodeCodeValue());
+        }
+        if (path.getExtensionCodeValue() != null && negativeLookupCache.isKnownMissing(CHANGE_TYPE_EXTENSION, path.getCodeRegistryCodeValue(), path.getCodeSchemeCodeValue(), path.getExtensionCodeValue())) {
+            throw createPathNotFoundException("Extension", path.getExtensionCodeValue());
+        }
+        if (path.getMemberId() != null && negativeLookupCache.isKnownMissing(CHANGE_TYPE_MEMBER, path.getCodeSchemeCodeValue(), path.getExtensionCodeValue(), path.getMemberId())) {
+            throw createPathNotFoundException("Member", path.getMemberId());
+        }
+    }
+
+    private NotFoundException createPathNotFoundException(final String typeName,
+                                                          final String codeValue) {
+        return new NotFoundException(String.format("%s not found: %s", typeName, HtmlUtils.htmlEscape(codeValue)));
+    }
+
+    private <T> T readPathHit(final ObjectMapper mapper,
+                              final MultiSearchResponse.Item item,
+                              final Class<T> type,
+                              final String typeName,
+                              final String changeType,
+                              final String... key) {
+        if (item.isFailure()) {
+            if (item.getFailureMessage() == null || !item.getFailureMessage().contains(INDEX_NOT_FOUND_ERROR)) {
+                LOG.error("MultiSearchRequest item failed for " + typeName + ": " + item.getFailureMessage());
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+            }
+        } else if (item.getResponse().getHits().getHits().length > 0) {
+            final SearchHit hit = item.getResponse().getHits().getAt(0);
+            try {
+                return readHit(mapper, hit, type);
+            } catch (final IOException e) {
+                LOG.error("resolvePath reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                throw new JsonParsingException(ERR_MSG_USER_406);
+            }
+        }
+        negativeLookupCache.recordMissing(changeType, key);
+        throw createPathNotFoundException(typeName, key[key.length - 1]);
+    }
+
+    public ChangeFeed getChanges(final ChangeCursor cursor,
+                                 final List<String> types,
+                                 final int pageSize) {
+        final List<String> indices = new ArrayList<>();
+        CHANGE_TYPE_INDICES.forEach((type, index) -> {
+            if (types == null || types.isEmpty() || types.contains(type)) {
+                indices.add(index);
+            }
+        });
+        final Set<ChangeDTO> changes = new LinkedHashSet<>();
+        if (indices.isEmpty()) {
+            return new ChangeFeed(changes, cursor, false);
+        }
+        final SearchRequest searchRequest = new SearchRequest(indices.toArray(new String[0]));
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.size(pageSize + 1);
+        searchBuilder.trackTotalHits(false);
+        searchBuilder.fetchSource(CHANGE_SOURCE_FIELDS, null);
+        searchBuilder.sort(SortBuilders.fieldSort("modified").order(SortOrder.ASC).unmappedType("date"));
+        searchBuilder.sort(SortBuilders.fieldSort("id").order(SortOrder.ASC).unmappedType("keyword"));
+        final BoolQueryBuilder builder = boolQuery();
+        // Code registries and members carry no status, so the status filter only applies to documents that have one.
+        builder.filter(boolQuery()
+            .should(createDefaultStatusQuery(false, null))
+            .should(boolQuery().mustNot(existsQuery("status")))
+            .minimumShouldMatch(1));
+        if (cursor != null) {
+            builder.filter(rangeQuery("modified").gte(cursor.getModified()).format("epoch_millis"));
+            searchBuilder.searchAfter(new Object[]{ cursor.getModified(), cursor.getId() });
+        }
+        searchBuilder.query(builder);
+        searchRequest.source(searchBuilder);
+        try {
+            final SearchResponse response = search(searchRequest);
+            final SearchHit[] hits = response.getHits().getHits();
+            ChangeCursor lastCursor = cursor;
+            for (int i = 0; i < hits.length && i < pageSize; i++) {
+                final SearchHit hit = hits[i];
+                final Map<String, Object> source = hit.getSourceAsMap();
+                final long modified = ((Number) hit.getSortValues()[0]).longValue();
+                final ChangeDTO change = new ChangeDTO();
+                change.setType(resolveChangeType(hit.getIndex()));
+                change.setId(getSourceString(source, "id"));
+                change.setUri(getSourceString(source, "uri"));
+                change.setCodeValue(getSourceString(source, "codeValue"));
+                change.setStatus(getSourceString(source, "status"));
+                change.setModified(new Date(modified));
+                changes.add(change);
+                lastCursor = new ChangeCursor(modified, String.valueOf(hit.getSortValues()[1]));
+            }
+            return new ChangeFeed(changes, lastCursor, hits.length > pageSize);
+        } catch (final IOException e) {
+            LOG.error("SearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+    }
+
+    public IndexState getIndexState() {
+        final Map<String, Long> lastModified = new HashMap<>();
+        final Map<String, Long> documentCounts = new HashMap<>();
+        for (final Terms.Bucket bucket : searchIndexStates().getBuckets()) {
+            final String type = resolveChangeType(bucket.getKeyAsString());
+            final Max maxModified = bucket.getAggregations().get("max_modified");
+            if (Double.isFinite(maxModified.getValue())) {
+                lastModified.put(type, (long) maxModified.getValue());
+            }
+            documentCounts.put(type, bucket.getDocCount());
+        }
+        return new IndexState(lastModified, documentCounts, System.currentTimeMillis());
+    }
+
+    private Terms searchIndexStates() {
+        final SearchRequest searchRequest = new SearchRequest(CHANGE_TYPE_INDICES.values().toArray(new String[0]));
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.size(0);
+        searchBuilder.aggregation(AggregationBuilders.terms("indices").field("_index").size(CHANGE_TYPE_INDICES.size())
+            .subAggregation(AggregationBuilders.max("max_modified").field("modified")));
+        searchRequest.source(searchBuilder);
+        try {
+            final SearchResponse response = search(searchRequest);
+            return response.getAggregations().get("indices");
+        } catch (final IOException e) {
+            LOG.error("SearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+    }
+
+    public StatisticsDTO getStatistics() {
+        final MultiSearchRequest multiSearchRequest = new MultiSearchRequest();
+        multiSearchRequest.add(createStatisticsRequest(ELASTIC_INDEX_CODEREGISTRY, new SearchSourceBuilder().size(0)));
+        multiSearchRequest.add(createStatisticsRequest(ELASTIC_INDEX_CODESCHEME, new SearchSourceBuilder().size(0)
+            .query(createDefaultStatusQuery(false, null))
+            .aggregation(AggregationBuilders.terms("status").field("status.keyword").size(STATUS_BUCKETS))
+            .aggregation(createCodeRegistryAggregation("codeRegistries"))
+            .aggregation(AggregationBuilders.nested("infoDomains", "infoDomains")
+                .subAggregation(AggregationBuilders.terms("codeValues").field("infoDomains.codeValue.keyword").size(TERMS_BUCKETS)
+                    .subAggregation(AggregationBuilders.reverseNested("codeSchemes"))))
+            .aggregation(AggregationBuilders.nested("organizations", "organizations")
+                .subAggregation(AggregationBuilders.terms("ids").field("organizations.id.keyword").size(TERMS_BUCKETS)
+                    .subAggregation(AggregationBuilders.reverseNested("codeSchemes"))))));
+        multiSearchRequest.add(createStatisticsRequest(ELASTIC_INDEX_CODE, new SearchSourceBuilder().size(0)
+            .query(createVisibleCodeSchemeQuery("codeScheme"))
+            .aggregation(AggregationBuilders.terms("status").field("status.keyword").size(STATUS_BUCKETS))
+            .aggregation(AggregationBuilders.terms("codeSchemes").field("codeScheme.id").size(MAX_ES_PAGESIZE))));
+        multiSearchRequest.add(createStatisticsRequest(ELASTIC_INDEX_EXTENSION, new SearchSourceBuilder().size(0)
+            .query(createVisibleCodeSchemeQuery("parentCodeScheme"))
+            .aggregation(AggregationBuilders.terms("status").field("status.keyword").size(STATUS_BUCKETS))));
+        multiSearchRequest.add(createStatisticsRequest(ELASTIC_INDEX_MEMBER, new SearchSourceBuilder().size(0)
+            .query(createVisibleCodeSchemeQuery("extension.parentCodeScheme"))));
+        final MultiSearchResponse.Item[] items;
+        try {
+            items = multiSearch(multiSearchRequest).getResponses();
+        } catch (final IOException e) {
+            LOG.error("MultiSearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+        final SearchResponse codeRegistries = readStatisticsResponse(items[0]);
+        final SearchResponse codeSchemes = readStatisticsResponse(items[1]);
+        final SearchResponse codes = readStatisticsResponse(items[2]);
+        final SearchResponse extensions = readStatisticsResponse(items[3]);
+        final SearchResponse members = readStatisticsResponse(items[4]);
+        final StatisticsDTO statistics = new StatisticsDTO();
+        statistics.setCodeRegistryCount(codeRegistries.getHits().getTotalHits());
+        statistics.setCodeSchemeCount(codeSchemes.getHits().getTotalHits());
+        statistics.setCodeCount(codes.getHits().getTotalHits());
+        statistics.setExtensionCount(extensions.getHits().getTotalHits());
+        statistics.setMemberCount(members.getHits().getTotalHits());
+        statistics.setCodeSchemesByStatus(readTermCounts(codeSchemes.getAggregations(), "status"));
+        statistics.setCodeSchemesByCodeRegistry(readCodeRegistryCounts(codeSchemes.getAggregations(), "codeRegistries"));
+        statistics.setCodeSchemesByInfoDomain(readNestedTermCounts(codeSchemes.getAggregations(), "infoDomains", "codeValues"));
+        statistics.setCodeSchemesByOrganization(readNestedTermCounts(codeSchemes.getAggregations(), "organizations", "ids"));
+        statistics.setCodesByStatus(readTermCounts(codes.getAggregations(), "status"));
+        statistics.setCodesByCodeScheme(readTermCounts(codes.getAggregations(), "codeSchemes"));
+        statistics.setExtensionsByStatus(readTermCounts(extensions.getAggregations(), "status"));
+        return statistics;
+    }
+
+    private QueryBuilder createVisibleCodeSchemeQuery(final String codeSchemeField) {
+        return boolQuery().filter(termsQuery(codeSchemeField + ".status.keyword", getRegularStatuses()));
+    }
+
+    private SearchRequest createStatisticsRequest(final String indexName,
+                                                  final SearchSourceBuilder searchBuilder) {
+        final SearchRequest searchRequest = createSearchRequest(indexName);
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        searchRequest.source(searchBuilder);
+        return searchRequest;
+    }
+
+    private SearchResponse readStatisticsResponse(final MultiSearchResponse.Item item) {
+        if (item.isFailure()) {
+            LOG.error("MultiSearchRequest item failed for statistics: " + item.getFailureMessage());
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+        return item.getResponse();
+    }
+
+    private Map<String, Long> readTermCounts(final Aggregations aggregations,
+                                             final String name) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        if (aggregations != null && aggregations.get(name) != null) {
+            final Terms terms = aggregations.get(name);
+            terms.getBuckets().forEach(bucket -> counts.put(bucket.getKeyAsString(), bucket.getDocCount()));
+        }
+        return counts;
+    }
+
+    private Map<String, Long> readNestedTermCounts(final Aggregations aggregations,
+                                                   final String nestedName,
+                                                   final String termsName) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        if (aggregations != null && aggregations.get(nestedName) != null) {
+            final Nested nested = aggregations.get(nestedName);
+            final Terms terms = nested.getAggregations().get(termsName);
+            for (final Terms.Bucket bucket : terms.getBuckets()) {
+                final ReverseNested codeSchemes = bucket.getAggregations().get("codeSchemes");
+                counts.put(bucket.getKeyAsString(), codeSchemes.getDocCount());
+            }
+        }
+        return counts;
+    }
+
+    private AggregationBuilder createCodeRegistryAggregation(final String name) {
+        return AggregationBuilders.terms(name).field("codeRegistry.id.keyword").size(TERMS_BUCKETS)
+            .subAggregation(AggregationBuilders.topHits("codeRegistry").size(1).fetchSource("codeRegistry.codeValue", null));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Map<String, Long> readCodeRegistryCounts(final Aggregations aggregations,
+                                                     final String name) {
+        final Map<String, Long> counts = new LinkedHashMap<>();
+        if (aggregations != null && aggregations.get(name) != null) {
+            final Terms terms = aggregations.get(name);
+            for (final Terms.Bucket bucket : terms.getBuckets()) {
+                final TopHits topHits = bucket.getAggregations().get("codeRegistry");
+                String codeValue = bucket.getKeyAsString();
+                if (topHits.getHits().getHits().length > 0) {
+                    final Object codeRegistry = topHits.getHits().getAt(0).getSourceAsMap().get("codeRegistry");
+                    if (codeRegistry instanceof Map && ((Map<String, Object>) codeRegistry).get("codeValue") != null) {
+                        codeValue = ((Map<String, Object>) codeRegistry).get("codeValue").toString();
+                    }
+                }
+                counts.put(codeValue, bucket.getDocCount());
+            }
+        }
+        return counts;
+    }
+
+    public Set<SuggestionDTO> getSuggestions(final String term,
+                                             final List<String> types,
+                                             final String language,
+                                             final int size) {
+        final List<String> indices = new ArrayList<>();
+        for (final String type : SUGGESTION_TYPES) {
+            if (types == null || types.isEmpty() || types.contains(type)) {
+                indices.add(CHANGE_TYPE_INDICES.get(type));
+            }
+        }
+        final Set<SuggestionDTO> suggestions = new LinkedHashSet<>();
+        if (indices.isEmpty()) {
+            return suggestions;
+        }
+        final SearchRequest searchRequest = new SearchRequest(indices.toArray(new String[0]));
+        searchRequest.indicesOptions(IndicesOptions.lenientExpandOpen());
+        final BoolQueryBuilder builder = boolQuery();
+        builder.must(multiMatchQuery(term, "codeValue.suggest", "prefLabel_suggest." + (language != null ? language : "*")).operator(Operator.AND));
+        builder.filter(createDefaultStatusQuery(false, null));
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.query(builder);
+        searchBuilder.size(size);
+        searchBuilder.trackTotalHits(false);
+        searchBuilder.fetchSource(SUGGESTION_SOURCE_FIELDS, null);
+        searchBuilder.sort(SortBuilders.scoreSort());
+        searchBuilder.sort(SortBuilders.fieldSort("codeValue.raw").order(SortOrder.ASC).unmappedType("keyword"));
+        searchRequest.source(searchBuilder);
+        try {
+            final SearchResponse response = search(searchRequest);
+            for (final SearchHit hit : response.getHits().getHits()) {
+                suggestions.add(readSuggestion(hit));
+            }
+            return suggestions;
+        } catch (final IOException e) {
+            LOG.error("SearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private SuggestionDTO readSuggestion(final SearchHit hit) {
+        final Map<String, Object> source = hit.getSourceAsMap();
+        final SuggestionDTO suggestion = new SuggestionDTO();
+        suggestion.setType(resolveChangeType(hit.getIndex()));
+        suggestion.setId(getSourceString(source, "id"));
+        suggestion.setUri(getSourceString(source, "uri"));
+        suggestion.setCodeValue(getSourceString(source, "codeValue"));
+        suggestion.setStatus(getSourceString(source, "status"));
+        final Object prefLabel = source.get("prefLabel");
+        if (prefLabel instanceof Map) {
+            final Map<String, String> labels = new LinkedHashMap<>();
+            ((Map<String, Object>) prefLabel).forEach((key, value) -> labels.put(key, value != null ? value.toString() : null));
+            suggestion.setPrefLabel(labels);
+        }
+        final Object codeScheme = source.get("codeScheme");
+        final Object codeRegistry = codeScheme instanceof Map ? ((Map<String, Object>) codeScheme).get("codeRegistry") : source.get("codeRegistry");
+        if (codeScheme instanceof Map) {
+            suggestion.setCodeSchemeCodeValue(getSourceString((Map<String, Object>) codeScheme, "codeValue"));
+        }
+        if (codeRegistry instanceof Map) {
+            suggestion.setCodeRegistryCodeValue(getSourceString((Map<String, Object>) codeRegistry, "codeValue"));
+        }
+        return suggestion;
+    }
+
+    private String resolveChangeType(final String indexName) {
+        for (final Map.Entry<String, String> entry : CHANGE_TYPE_INDICES.entrySet()) {
+            if (entry.getValue().equals(indexName)) {
+                return entry.getKey();
+            }
+        }
+        return indexName;
+    }
+
+    private String getSourceString(final Map<String, Object> source,
+                                   final String field) {
+        final Object value = source.get(field);
+        return value != null ? value.toString() : null;
+    }
+
     public Set<ResourceDTO> getContainers(final List<String> includedContainerUris,
                                           final List<String> excludedContainerUris,
                                           final String language,
@@ -1104,11 +1727,11 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
-                        final CodeSchemeDTO codeSchemeDto = mapper.readValue(hit.getSourceAsString(), CodeSchemeDTO.class);
+                        final CodeSchemeDTO codeSchemeDto = readHit(mapper, hit, CodeSchemeDTO.class);
                         containers.add(new ResourceDTO(codeSchemeDto));
                     } catch (final IOException e) {
                         LOG.error("getContainers reading value from JSON string failed: " + hit.getSourceAsString(), e);
@@ -1205,16 +1828,16 @@ public class DomainImpl implements Domain {
             searchBuilder.query(builder);
             searchRequest.source(searchBuilder);
             try {
-                final SearchResponse response = client.search(searchRequest, RequestOptions.DEFAULT);
-                setResultCounts(meta, response);
-                response.getHits().forEach(hit -> {
+                final SearchResponse response = search(searchRequest);
+                final List<SearchHit> pageHits = setResultCounts(meta, response);
+                pageHits.forEach(hit -> {
                     try {
                         final String objectType = hit.getType();
                         if (ELASTIC_TYPE_CODE.equalsIgnoreCase(objectType)) {
-                            final CodeDTO codeDto = mapper.readValue(hit.getSourceAsString(), CodeDTO.class);
+                            final CodeDTO codeDto = readHit(mapper, hit, CodeDTO.class);
                             resources.add(new ResourceDTO(codeDto));
                         } else if (ELASTIC_TYPE_EXTENSION.equalsIgnoreCase(objectType)) {
-                            final ExtensionDTO extensionDto = mapper.readValue(hit.getSourceAsString(), ExtensionDTO.class);
+                            final ExtensionDTO extensionDto = readHit(mapper, hit, ExtensionDTO.class);
                             resources.add(new ResourceDTO(extensionDto));
                         }
                     } catch (final IOException e) {
@@ -1237,7 +1860,7 @@ public class DomainImpl implements Domain {
             builder.must(prefixQuery("codeValue", codeValue.toLowerCase()));
         }
         if (prefLabel != null && !prefLabel.isEmpty()) {
-            builder.must(luceneQueryFactory.buildPrefixSuffixQuery(prefLabel).field("prefLabel.*"));
+            builder.must(luceneQueryFactory.buildPrefLabelQuery(prefLabel));
         }
         return builder;
     }
@@ -1246,8 +1869,8 @@ public class DomainImpl implements Domain {
         final BoolQueryBuilder builder = boolQuery();
         if (searchTerm != null && !searchTerm.isEmpty()) {
             final BoolQueryBuilder prefLabelOrCodeValueMatcher = boolQuery();
-            prefLabelOrCodeValueMatcher.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("codeValue"));
-            prefLabelOrCodeValueMatcher.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm).field("prefLabel.*"));
+            prefLabelOrCodeValueMatcher.should(luceneQueryFactory.buildPrefixSuffixQuery(searchTerm, "codeValue"));
+            prefLabelOrCodeValueMatcher.should(luceneQueryFactory.buildPrefLabelQuery(searchTerm));
             prefLabelOrCodeValueMatcher.minimumShouldMatch(1);
             builder.must(prefLabelOrCodeValueMatcher);
         }
@@ -1285,15 +1908,34 @@ public class DomainImpl implements Domain {
         }
     }
 
-    private void setResultCounts(final Meta meta,
-                                 final SearchResponse response) {
-        final Integer totalResults = toIntExact(response.getHits().totalHits);
-        final Integer resultCount = toIntExact(response.getHits().getHits().length);
+    private List<SearchHit> setResultCounts(final Meta meta,
+                                            final SearchResponse response) {
+        final List<SearchHit> hits = Arrays.asList(response.getHits().getHits());
+        final ResultCounting.Mode countMode = ResultCounting.getMode();
+        if (countMode == ResultCounting.Mode.EXACT) {
+            final Integer totalResults = toIntExact(response.getHits().totalHits);
+            if (meta != null) {
+                meta.setTotalResults(totalResults);
+                meta.setResultCount(hits.size());
+            }
+            LOG.debug(String.format("Search found: %d total hits.", totalResults));
+            return hits;
+        }
+        final Integer pageSize = meta != null ? meta.getPageSize() : null;
+        final boolean hasMore = pageSize != null && hits.size() > pageSize;
+        final List<SearchHit> pageHits = hasMore ? hits.subList(0, pageSize) : hits;
+        if (pageSize != null) {
+            ResultCounting.setHasMore(hasMore);
+        }
         if (meta != null) {
-            meta.setTotalResults(totalResults);
-            meta.setResultCount(resultCount);
+            meta.setResultCount(pageHits.size());
+            if (countMode == ResultCounting.Mode.APPROXIMATE) {
+                final int from = meta.getFrom() != null ? meta.getFrom() : 0;
+                meta.setTotalResults(from + pageHits.size() + (hasMore ? 1 : 0));
+            }
         }
-        LOG.debug(String.format("Search found: %d total hits.", totalResults));
+        LOG.debug(String.format("Search returned %d hits without total hit count, more results: %b.", pageHits.size(), hasMore));
+        return pageHits;
     }
 
     private void boostStatus(final BoolQueryBuilder builder) {
@@ -1340,20 +1982,207 @@ public class DomainImpl implements Domain {
     }
 
     private boolean checkIfIndexExists(final String indexName) {
+        return RequestMemo.get(() -> indexExists(indexName), "indexExists", indexName);
+    }
+
+    private boolean indexExists(final String indexName) {
         final GetIndexRequest request = new GetIndexRequest();
         request.indices(indexName);
         try {
-            return client.indices().exists(request, RequestOptions.DEFAULT);
+            return executeTraced("index-exists", indexName, () -> client.indices().exists(request, RequestOptions.DEFAULT));
         } catch (final IOException e) {
             LOG.error("Index checking request failed for index: " + indexName, e);
             throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
         }
     }
 
+    private SearchResponse search(final SearchRequest searchRequest) throws IOException {
+        final long start = System.nanoTime();
+        final SearchResponse response = executeTraced(resolveQueryKind(searchRequest), String.join(",", searchRequest.indices()), () -> client.search(searchRequest, RequestOptions.DEFAULT));
+        slowQueryRecorder.record(searchRequest, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private <T> T executeTraced(final String queryKind,
+                                final String indices,
+                                final ElasticCall<T> call) throws IOException {
+        final Span span = tracer.nextSpan().name("es-" + queryKind).tag("es.index", indices).tag("es.query.kind", queryKind).tag("es.match.strategy", luceneQueryFactory.getMatchStrategy()).start();
+        try (final Tracer.SpanInScope ignored = tracer.withSpan(span);
+             final RequestTimings.Split ignoredSplit = RequestTimings.start(RequestTimings.Phase.ELASTICSEARCH)) {
+            final T result = call.execute();
+            if (result instanceof SearchResponse) {
+                final SearchResponse response = (SearchResponse) result;
+                span.tag("es.hits", String.valueOf(response.getHits().getTotalHits()));
+                span.tag("es.took", String.valueOf(response.getTook().millis()));
+            }
+            return result;
+        } catch (final IOException | RuntimeException e) {
+            span.error(e);
+            throw e;
+        } finally {
+            span.end();
+        }
+    }
+
+    private MultiSearchResponse multiSearch(final MultiSearchRequest multiSearchRequest) throws IOException {
+        final long start = System.nanoTime();
+        final String indices = multiSearchRequest.requests().stream().map(request -> String.join(",", request.indices())).collect(Collectors.joining(","));
+        final MultiSearchResponse response = executeTraced("multi-search", indices, () -> client.msearch(multiSearchRequest, RequestOptions.DEFAULT));
+        slowQueryRecorder.recordMultiSearch(multiSearchRequest, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private String resolveQueryKind(final SearchRequest searchRequest) {
+        final SearchSourceBuilder source = searchRequest.source();
+        if (searchRequest.scroll() != null) {
+            return "scroll-search";
+        } else if (source != null && source.collapse() != null) {
+            return "collapse-search";
+        } else if (source != null && source.aggregations() != null && source.aggregations().count() > 0) {
+            return "aggregation-search";
+        }
+        return "search";
+    }
+
+    private <T> T readHit(final ObjectMapper mapper,
+                          final SearchHit hit,
+                          final Class<T> type) throws JsonProcessingException {
+        try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.DECODE)) {
+            return mapper.readValue(hit.getSourceAsString(), type);
+        }
+    }
+
+    private <T> List<T> scrollAll(final String indexName,
+                                  final QueryBuilder query,
+                                  final Class<T> type) {
+        final ObjectMapper mapper = createObjectMapperWithRegisteredModules();
+        final List<T> results = new ArrayList<>();
+        final SearchRequest searchRequest = createSearchRequest(indexName);
+        searchRequest.scroll(SCROLL_KEEP_ALIVE);
+        searchRequest.source(new SearchSourceBuilder().query(query).size(SCROLL_PAGESIZE).sort(FieldSortBuilder.DOC_FIELD_NAME, SortOrder.ASC));
+        String scrollId = null;
+        try {
+            SearchResponse response = search(searchRequest);
+            scrollId = response.getScrollId();
+            while (response.getHits().getHits().length > 0) {
+                for (final SearchHit hit : response.getHits().getHits()) {
+                    try {
+                        results.add(readHit(mapper, hit, type));
+                    } catch (final IOException e) {
+                        LOG.error("scrollAll reading value from JSON string failed: " + hit.getSourceAsString(), e);
+                        throw new JsonParsingException(ERR_MSG_USER_406);
+                    }
+                }
+                final SearchScrollRequest scrollRequest = new SearchScrollRequest(scrollId);
+                scrollRequest.scroll(SCROLL_KEEP_ALIVE);
+                response = scroll(scrollRequest, indexName);
+                scrollId = response.getScrollId();
+            }
+        } catch (final IOException e) {
+            LOG.error("SearchRequest failed!", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
+        } finally {
+            clearScroll(scrollId, indexName);
+        }
+        return results;
+    }
+
+    private SearchResponse scroll(final SearchScrollRequest scrollRequest,
+                                  final String indexName) throws IOException {
+        final long start = System.nanoTime();
+        final SearchResponse response = executeTraced("scroll", indexName, () -> client.scroll(scrollRequest, RequestOptions.DEFAULT));
+        slowQueryRecorder.recordScroll(indexName, scrollRequest, response, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        return response;
+    }
+
+    private void clearScroll(final String scrollId,
+                             final String indexName) {
+        if (scrollId != null) {
+            final ClearScrollRequest clearScrollRequest = new ClearScrollRequest();
+            clearScrollRequest.addScrollId(scrollId);
+            try {
+                final long start = System.nanoTime();
+                executeTraced("clear-scroll", indexName, () -> client.clearScroll(clearScrollRequest, RequestOptions.DEFAULT));
+                slowQueryRecorder.recordClearScroll(indexName, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+            } catch (final IOException e) {
+                LOG.warn("Clearing scroll context failed!", e);
+            }
+        }
+    }
+
+    private SearchSourceBuilder createCodeRegistrySource(final String codeRegistryCodeValue) {
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.sort("codeValue.raw", SortOrder.ASC);
+        searchBuilder.query(boolQuery().should(matchQuery("id", codeRegistryCodeValue.toLowerCase())).should(matchQuery("codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1));
+        return searchBuilder;
+    }
+
+    private SearchSourceBuilder createCodeSchemeSource(final String codeRegistryCodeValue,
+                                                       final String codeSchemeCodeValue) {
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.sort("codeValue.raw", SortOrder.ASC);
+        final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
+        builder.must(matchQuery("codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        searchBuilder.query(builder);
+        return searchBuilder;
+    }
+
+    private SearchSourceBuilder createCodeSource(final String codeRegistryCodeValue,
+                                                 final String codeSchemeCodeValue,
+                                                 final String codeCodeValue) {
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", codeCodeValue.toLowerCase())).should(matchQuery("codeValue", codeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
+        builder.must(boolQuery().should(matchQuery("codeScheme.id", codeSchemeCodeValue.toLowerCase())).should(matchQuery("codeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1));
+        builder.must(matchQuery("codeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        searchBuilder.query(builder);
+        return searchBuilder;
+    }
+
+    private SearchSourceBuilder createExtensionSource(final String codeRegistryCodeValue,
+                                                      final String codeSchemeCodeValue,
+                                                      final String extensionCodeValue) {
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        searchBuilder.sort("codeValue.raw", SortOrder.ASC);
+        final BoolQueryBuilder builder = boolQuery().should(matchQuery("id", extensionCodeValue.toLowerCase())).should(matchQuery("codeValue", extensionCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER)).minimumShouldMatch(1);
+        builder.must(matchQuery("parentCodeScheme.codeRegistry.codeValue", codeRegistryCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        builder.must(matchQuery("parentCodeScheme.codeValue", codeSchemeCodeValue.toLowerCase()).analyzer(TEXT_ANALYZER));
+        searchBuilder.query(builder);
+        return searchBuilder;
+    }
+
+    private SearchSourceBuilder createMemberSource(final String memberId,
+                                                   final String extensionCodeValue,
+                                                   final String parentCodeSchemeValue) {
+        boolean memberIdIsUuid = true;
+        try {
+            UUID.fromString(memberId);
+        } catch (final Exception e) {
+            memberIdIsUuid = false;
+        }
+        final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
+        if (memberIdIsUuid) {
+            searchBuilder.query(boolQuery().must(matchQuery("id", memberId.toLowerCase())));
+        } else {
+            final BoolQueryBuilder builder = boolQuery().must(matchQuery("sequenceId", memberId)).must(matchQuery("extension.codeValue", extensionCodeValue));
+            if (parentCodeSchemeValue != null) {
+                builder.must(matchQuery("extension.parentCodeScheme.codeValue", parentCodeSchemeValue));
+            }
+            searchBuilder.query(builder);
+        }
+        return searchBuilder;
+    }
+
     private SearchSourceBuilder createSearchSourceBuilderWithPagination(final Meta meta) {
         final SearchSourceBuilder searchBuilder = new SearchSourceBuilder();
-        searchBuilder.size(meta != null && meta.getPageSize() != null ? meta.getPageSize() : MAX_ES_PAGESIZE);
+        final Integer pageSize = meta != null ? meta.getPageSize() : null;
+        searchBuilder.size(pageSize != null ? pageSize : MAX_ES_PAGESIZE);
         searchBuilder.from(meta != null && meta.getFrom() != null ? meta.getFrom() : 0);
+        if (ResultCounting.getMode() != ResultCounting.Mode.EXACT) {
+            searchBuilder.trackTotalHits(false);
+            if (pageSize != null && searchBuilder.from() + pageSize < MAX_ES_RESULT_WINDOW) {
+                searchBuilder.size(pageSize + 1);
+            }
+        }
         return searchBuilder;
     }
 
@@ -1399,4 +2228,10 @@ public class DomainImpl implements Domain {
                 throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), ELASTIC_QUERY_ERROR));
         }
     }
+
+    @FunctionalInterface
+    private interface ElasticCall<T> {
+
+        T execute() throws IOException;
+    }
 }
@@ -0,0 +1,81 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import fi.vm.yti.codelist.api.configuration.IndexChangeProperties;
+
+/**
+ * Polls the index state on one thread and hands every result to the registered listeners, so change
+ * notifications, the negative lookup cache and statistics share a single aggregation query per interval.
+ */
+@Singleton
+@Service
+public class IndexChangeDetector {
+
+    private static final Logger LOG = LoggerFactory.getLogger(IndexChangeDetector.class);
+
+    private final Domain domain;
+    private final List<IndexChangeListener> listeners;
+    private final ScheduledExecutorService checker;
+    private volatile IndexState indexState;
+
+    @Inject
+    public IndexChangeDetector(final Domain domain,
+                               final IndexChangeProperties properties,
+                               final List<IndexChangeListener> listeners) {
+        this.domain = domain;
+        this.listeners = listeners;
+        this.checker = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("index-change-detector").setDaemon(true).build());
+        this.checker.scheduleWithFixedDelay(this::check, properties.getCheckIntervalSeconds(), properties.getCheckIntervalSeconds(), TimeUnit.SECONDS);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checker.shutdownNow();
+    }
+
+    /**
+     * Returns the latest index state, reading it again when it is older than maxAgeMillis.
+     */
+    public IndexState getIndexState(final long maxAgeMillis) {
+        final IndexState current = indexState;
+        if (current != null && System.currentTimeMillis() - current.getCheckedAt() < maxAgeMillis) {
+            return current;
+        }
+        return refresh();
+    }
+
+    private synchronized IndexState refresh() {
+        indexState = domain.getIndexState();
+        return indexState;
+    }
+
+    private void check() {
+        try {
+            final IndexState previous = indexState;
+            final IndexState current = refresh();
+            for (final IndexChangeListener listener : listeners) {
+                try {
+                    listener.onIndexChecked(previous, current);
+                } catch (final RuntimeException e) {
+                    LOG.warn(String.format("Index change listener %s failed.", listener.getClass().getSimpleName()), e);
+                }
+            }
+        } catch (final RuntimeException e) {
+            LOG.warn("Checking index changes failed.", e);
+        }
+    }
+}
@@ -0,0 +1,10 @@
+package fi.vm.yti.codelist.api.domain;
+
+public interface IndexChangeListener {
+
+    /**
+     * Called by {@link IndexChangeDetector} after every scheduled check, previous is null on the first check.
+     */
+    void onIndexChecked(final IndexState previous,
+                        final IndexState current);
+}
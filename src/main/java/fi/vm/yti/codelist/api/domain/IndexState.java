@@ -0,0 +1,51 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import com.google.common.hash.Hashing;
+
+/**
+ * Document counts and latest modification times per resource type, read from the indexes in one aggregation.
+ */
+public class IndexState {
+
+    private final Map<String, Long> lastModified;
+    private final Map<String, Long> documentCounts;
+    private final long checkedAt;
+    private final String version;
+
+    public IndexState(final Map<String, Long> lastModified,
+                      final Map<String, Long> documentCounts,
+                      final long checkedAt) {
+        this.lastModified = Collections.unmodifiableMap(new HashMap<>(lastModified));
+        this.documentCounts = Collections.unmodifiableMap(new HashMap<>(documentCounts));
+        this.checkedAt = checkedAt;
+        this.version = resolveVersion();
+    }
+
+    public Map<String, Long> getLastModified() {
+        return lastModified;
+    }
+
+    public Map<String, Long> getDocumentCounts() {
+        return documentCounts;
+    }
+
+    public long getCheckedAt() {
+        return checkedAt;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    private String resolveVersion() {
+        final Map<String, String> versions = new TreeMap<>();
+        documentCounts.forEach((type, count) -> versions.put(type, count + ":" + lastModified.getOrDefault(type, 0L)));
+        return Hashing.sha256().hashString(versions.toString(), StandardCharsets.UTF_8).toString().substring(0, 16);
+    }
+}
@@ -1,6 +1,8 @@
 package fi.vm.yti.codelist.api.domain;
 
 import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
@@ -9,6 +11,9 @@ import javax.ws.rs.BadRequestException;
 
 import org.apache.lucene.queryparser.flexible.core.QueryNodeException;
 import org.apache.lucene.queryparser.flexible.standard.StandardQueryParser;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
 import org.elasticsearch.index.query.QueryBuilders;
 import org.elasticsearch.index.query.QueryStringQueryBuilder;
 import org.slf4j.Logger;
@@ -17,6 +22,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 import org.springframework.web.util.HtmlUtils;
 
+import fi.vm.yti.codelist.api.configuration.SearchProperties;
+
 @Singleton
 @Service
 public class LuceneQueryFactory {
@@ -24,43 +31,102 @@ public class LuceneQueryFactory {
     private static final String REGEX_PLAIN_QUERY_PATTERN_STRING = "^(?:(?!(?:\\s++|^)(?:AND|OR|TO)(?:\\s|$))(?:\\w++|\\s++|(?<=\\w)-++))+$";
     private static final String REGEX_ASTERISK_QUERY_PATTERN_STRING = "^(?:(?!(?:\\s++|^)(?:AND|OR|TO)(?:\\s|$))(?:\\w++|\\s++|(?<=[\\w*])-++|(?<!\\*)\\*(?=[\\w-])|(?<=[\\w-])\\*(?!\\*)))+$";
     private static final Logger LOG = LoggerFactory.getLogger(LuceneQueryFactory.class);
+    private static final String PREFLABEL_FIELD = "prefLabel.*";
+    private static final Map<String, String> TRIGRAM_FIELDS = createTrigramFields();
+    private static final int TRIGRAM_LENGTH = 3;
 
     private final Pattern plainQueryPattern = Pattern.compile(REGEX_PLAIN_QUERY_PATTERN_STRING, Pattern.UNICODE_CHARACTER_CLASS);
     private final Pattern plainSplitter = Pattern.compile("\\s+", Pattern.UNICODE_CHARACTER_CLASS);
     private final Pattern givenQueryPattern;
+    private final SearchProperties searchProperties;
+
+    private static Map<String, String> createTrigramFields() {
+        final Map<String, String> trigramFields = new LinkedHashMap<>();
+        trigramFields.put(PREFLABEL_FIELD, "prefLabel_trigram.*");
+        trigramFields.put("codeValue", "codeValue.trigram");
+        return trigramFields;
+    }
 
     @Autowired
-    public LuceneQueryFactory() {
+    public LuceneQueryFactory(final SearchProperties searchProperties) {
+        this.searchProperties = searchProperties;
         givenQueryPattern = Pattern.compile(REGEX_ASTERISK_QUERY_PATTERN_STRING, Pattern.UNICODE_CHARACTER_CLASS);
     }
 
-    QueryStringQueryBuilder buildPrefixSuffixQuery(final String searchTerm) {
+    /**
+     * Matches labels in every indexed language. The suggest and trigram copies of the labels are indexed under
+     * prefLabel_suggest and prefLabel_trigram, so the prefLabel.* pattern does not expand to them.
+     */
+    QueryBuilder buildPrefLabelQuery(final String searchTerm) {
+        return buildPrefixSuffixQuery(searchTerm, PREFLABEL_FIELD);
+    }
+
+    QueryBuilder buildPrefixSuffixQuery(final String searchTerm,
+                                        final String... fields) {
         if (searchTerm != null) {
             final String trimmed = searchTerm.trim().toLowerCase();
             if (!searchTerm.isEmpty()) {
-                String parsedQuery = null;
                 if (plainQueryPattern.matcher(trimmed).matches()) {
                     final String[] splitQuery = plainSplitter.split(trimmed);
+                    if (searchProperties.isTrigramStrategy() && TRIGRAM_FIELDS.keySet().containsAll(Arrays.asList(fields)) && splitQuery.length > 0) {
+                        return buildTrigramQuery(splitQuery, fields);
+                    }
                     if (splitQuery.length == 1) {
-                        parsedQuery = trimmed + " OR " + trimmed + "* OR *" + trimmed;
+                        return buildQueryStringQuery(createPrefixSuffixQuery(trimmed), fields);
                     } else if (splitQuery.length > 1) {
-                        parsedQuery = Arrays.stream(splitQuery).map(q -> "(" + q + " OR " + q + "* OR *" + q + ")").collect(Collectors.joining(" AND "));
+                        return buildQueryStringQuery(Arrays.stream(splitQuery).map(q -> "(" + createPrefixSuffixQuery(q) + ")").collect(Collectors.joining(" AND ")), fields);
                     }
                 } else if (givenQueryPattern.matcher(trimmed).matches()) {
-                    parsedQuery = trimmed;
-                }
-                if (parsedQuery != null) {
-                    final StandardQueryParser parser = new StandardQueryParser();
-                    try {
-                        parser.setAllowLeadingWildcard(true);
-                        return QueryBuilders.queryStringQuery(parser.parse(parsedQuery, "").toString());
-                    } catch (final QueryNodeException e) {
-                        LOG.error("ElasticSearch prefix / suffix query failed.", e);
-                    }
+                    return buildQueryStringQuery(trimmed, fields);
                 }
             }
         }
         LOG.debug("ElasticSearch prefix / suffix query string disqualified: '" + HtmlUtils.htmlEscape(searchTerm) + "'");
         throw new BadRequestException("Invalid query");
     }
+
+    String getMatchStrategy() {
+        return searchProperties.isTrigramStrategy() ? SearchProperties.STRATEGY_TRIGRAM : SearchProperties.STRATEGY_WILDCARD;
+    }
+
+    private QueryBuilder buildTrigramQuery(final String[] splitQuery,
+                                           final String[] fields) {
+        if (splitQuery.length == 1) {
+            return buildTrigramQuery(splitQuery[0], fields);
+        }
+        final BoolQueryBuilder builder = QueryBuilders.boolQuery();
+        for (final String query : splitQuery) {
+            builder.must(buildTrigramQuery(query, fields));
+        }
+        return builder;
+    }
+
+    private QueryBuilder buildTrigramQuery(final String query,
+                                           final String[] fields) {
+        // Terms shorter than one trigram produce no tokens, so they fall back to wildcard matching.
+        if (query.codePointCount(0, query.length()) < TRIGRAM_LENGTH) {
+            return buildQueryStringQuery(createPrefixSuffixQuery(query), fields);
+        }
+        return QueryBuilders.multiMatchQuery(query, Arrays.stream(fields).map(TRIGRAM_FIELDS::get).toArray(String[]::new)).type(MultiMatchQueryBuilder.Type.PHRASE);
+    }
+
+    private String createPrefixSuffixQuery(final String query) {
+        return query + " OR " + query + "* OR *" + query;
+    }
+
+    private QueryStringQueryBuilder buildQueryStringQuery(final String parsedQuery,
+                                                          final String[] fields) {
+        final StandardQueryParser parser = new StandardQueryParser();
+        try {
+            parser.setAllowLeadingWildcard(true);
+            final QueryStringQueryBuilder builder = QueryBuilders.queryStringQuery(parser.parse(parsedQuery, "").toString());
+            for (final String field : fields) {
+                builder.field(field);
+            }
+            return builder;
+        } catch (final QueryNodeException e) {
+            LOG.error("ElasticSearch prefix / suffix query failed.", e);
+            throw new BadRequestException("Invalid query");
+        }
+    }
 }
@@ -0,0 +1,174 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import fi.vm.yti.codelist.api.dto.MemberTreeNodeDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+
+public final class MemberGraph {
+
+    private static final Comparator<MemberDTO> MEMBER_ORDER = Comparator.comparing(MemberDTO::getOrder, Comparator.nullsLast(Comparator.naturalOrder()))
+        .thenComparing(MemberDTO::getSequenceId, Comparator.nullsLast(Comparator.naturalOrder()));
+
+    private final String version;
+    private final Map<UUID, MemberDTO> membersById;
+    private final Map<Integer, MemberDTO> membersBySequenceId;
+    private final Map<UUID, List<MemberDTO>> childrenById;
+    private final Set<MemberDTO> members;
+    private final List<MemberDTO> roots;
+
+    MemberGraph(final String version,
+                final Collection<MemberDTO> members) {
+        this.version = version;
+        this.membersById = new HashMap<>(members.size() * 2);
+        this.membersBySequenceId = new HashMap<>(members.size() * 2);
+        this.childrenById = new HashMap<>();
+        final List<MemberDTO> orderedMembers = new ArrayList<>(members);
+        orderedMembers.sort(MEMBER_ORDER);
+        final List<MemberDTO> rootMembers = new ArrayList<>();
+        for (final MemberDTO member : orderedMembers) {
+            membersById.put(member.getId(), member);
+            if (member.getSequenceId() != null) {
+                membersBySequenceId.put(member.getSequenceId(), member);
+            }
+        }
+        for (final MemberDTO member : orderedMembers) {
+            final UUID relatedMemberId = getRelatedMemberId(member);
+            if (relatedMemberId != null && membersById.containsKey(relatedMemberId)) {
+                childrenById.computeIfAbsent(relatedMemberId, id -> new ArrayList<>()).add(member);
+            } else {
+                rootMembers.add(member);
+            }
+        }
+        addCycleRoots(orderedMembers, rootMembers);
+        rootMembers.sort(MEMBER_ORDER);
+        this.members = Collections.unmodifiableSet(new LinkedHashSet<>(members));
+        this.roots = Collections.unmodifiableList(rootMembers);
+    }
+
+    public static MemberGraph of(final Collection<MemberDTO> members) {
+        return new MemberGraph(null, members);
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return membersById.size();
+    }
+
+    public Set<MemberDTO> getMembers() {
+        return members;
+    }
+
+    public MemberDTO getMember(final UUID memberId) {
+        return membersById.get(memberId);
+    }
+
+    public MemberDTO getMemberBySequenceId(final Integer sequenceId) {
+        return membersBySequenceId.get(sequenceId);
+    }
+
+    public List<MemberDTO> getRoots() {
+        return roots;
+    }
+
+    public List<MemberDTO> getChildren(final UUID memberId) {
+        final List<MemberDTO> children = childrenById.get(memberId);
+        return children != null ? Collections.unmodifiableList(children) : Collections.emptyList();
+    }
+
+    public MemberTreeNodeDTO createTreeNode(final MemberDTO member,
+                                            final Integer maxDepth) {
+        return createTreeNode(member, 1, maxDepth, new HashSet<>());
+    }
+
+    public MemberDTO getRelatedMember(final MemberDTO member) {
+        final UUID relatedMemberId = getRelatedMemberId(member);
+        if (relatedMemberId == null) {
+            return null;
+        }
+        final MemberDTO relatedMember = membersById.get(relatedMemberId);
+        return relatedMember != null ? relatedMember : member.getRelatedMember();
+    }
+
+    private MemberTreeNodeDTO createTreeNode(final MemberDTO member,
+                                             final int depth,
+                                             final Integer maxDepth,
+                                             final Set<UUID> visited) {
+        visited.add(member.getId());
+        final List<MemberTreeNodeDTO> children = new ArrayList<>();
+        if (maxDepth == null || depth < maxDepth) {
+            for (final MemberDTO child : getChildren(member.getId())) {
+                // Members pointing at each other through relatedMember are only expanded once per tree.
+                if (!visited.contains(child.getId())) {
+                    children.add(createTreeNode(child, depth + 1, maxDepth, visited));
+                }
+            }
+        }
+        return new MemberTreeNodeDTO(member, children);
+    }
+
+    /**
+     * Members that point at each other through relatedMember have no root of their own, so the first member of each
+     * such cycle becomes a root to keep it in the tree.
+     */
+    private void addCycleRoots(final List<MemberDTO> orderedMembers,
+                               final List<MemberDTO> rootMembers) {
+        final Set<UUID> reachable = new HashSet<>();
+        rootMembers.forEach(root -> markReachable(root, reachable));
+        for (final MemberDTO member : orderedMembers) {
+            if (!reachable.contains(member.getId())) {
+                final MemberDTO cycleRoot = findCycleRoot(member);
+                rootMembers.add(cycleRoot);
+                markReachable(cycleRoot, reachable);
+            }
+        }
+    }
+
+    private MemberDTO findCycleRoot(final MemberDTO member) {
+        final Set<UUID> visited = new HashSet<>();
+        MemberDTO current = member;
+        while (visited.add(current.getId())) {
+            current = membersById.get(getRelatedMemberId(current));
+        }
+        final MemberDTO cycleStart = current;
+        MemberDTO cycleRoot = cycleStart;
+        do {
+            current = membersById.get(getRelatedMemberId(current));
+            if (MEMBER_ORDER.compare(current, cycleRoot) < 0) {
+                cycleRoot = current;
+            }
+        } while (current != cycleStart);
+        return cycleRoot;
+    }
+
+    private void markReachable(final MemberDTO root,
+                               final Set<UUID> reachable) {
+        final Deque<MemberDTO> stack = new ArrayDeque<>();
+        stack.push(root);
+        while (!stack.isEmpty()) {
+            final MemberDTO member = stack.pop();
+            if (reachable.add(member.getId())) {
+                getChildren(member.getId()).forEach(stack::push);
+            }
+        }
+    }
+
+    private static UUID getRelatedMemberId(final MemberDTO member) {
+        return member.getRelatedMember() != null ? member.getRelatedMember().getId() : null;
+    }
+}
@@ -0,0 +1,54 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import fi.vm.yti.codelist.api.configuration.MemberGraphProperties;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+
+@Singleton
+@Service
+public class MemberGraphService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(MemberGraphService.class);
+
+    private final Domain domain;
+    private final Cache<UUID, MemberGraph> graphs;
+
+    @Inject
+    public MemberGraphService(final Domain domain,
+                              final MemberGraphProperties memberGraphProperties) {
+        this.domain = domain;
+        this.graphs = CacheBuilder.newBuilder()
+            .maximumSize(memberGraphProperties.getMaxSize())
+            .expireAfterAccess(memberGraphProperties.getExpireMinutes(), TimeUnit.MINUTES)
+            .build();
+    }
+
+    public MemberGraph getMemberGraph(final ExtensionDTO extension) {
+        final String extensionId = extension.getId().toString();
+        final String version = domain.getMembersVersion(extensionId);
+        final MemberGraph cached = graphs.getIfPresent(extension.getId());
+        if (cached != null && Objects.equals(cached.getVersion(), version)) {
+            return cached;
+        }
+        final Set<MemberDTO> members = domain.getMembersByExtensionId(extensionId);
+        final MemberGraph graph = new MemberGraph(version, members);
+        graphs.put(extension.getId(), graph);
+        LOG.debug(String.format("Built member graph with %d members for Extension: %s", graph.size(), extensionId));
+        return graph;
+    }
+}
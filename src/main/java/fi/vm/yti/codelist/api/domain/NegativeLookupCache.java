@@ -0,0 +1,78 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import fi.vm.yti.codelist.api.configuration.NegativeLookupProperties;
+
+@Singleton
+@Service
+public class NegativeLookupCache {
+
+    private final NegativeLookupProperties properties;
+    private final Cache<List<String>, Boolean> missing;
+
+    @Inject
+    public NegativeLookupCache(final NegativeLookupProperties properties) {
+        this.properties = properties;
+        this.missing = CacheBuilder.newBuilder()
+            .maximumSize(properties.getMaxSize())
+            .expireAfterWrite(properties.getTtlSeconds(), TimeUnit.SECONDS)
+            .build();
+    }
+
+    public boolean isKnownMissing(final String type,
+                                  final String... key) {
+        if (!properties.isEnabled()) {
+            return false;
+        }
+        final String value = key[key.length - 1];
+        if (value == null || value.trim().isEmpty()) {
+            return true;
+        }
+        return missing.getIfPresent(createKey(type, key)) != null;
+    }
+
+    public void recordMissing(final String type,
+                              final String... key) {
+        if (properties.isEnabled()) {
+            missing.put(createKey(type, key), Boolean.TRUE);
+        }
+    }
+
+    <T> T get(final Supplier<T> loader,
+              final String type,
+              final String... key) {
+        if (isKnownMissing(type, key)) {
+            return null;
+        }
+        final T loaded = loader.get();
+        if (loaded == null) {
+            recordMissing(type, key);
+        }
+        return loaded;
+    }
+
+    void invalidateAll() {
+        missing.invalidateAll();
+    }
+
+    private List<String> createKey(final String type,
+                                   final String... key) {
+        final List<String> cacheKey = new ArrayList<>(key.length + 1);
+        cacheKey.add(type);
+        cacheKey.addAll(Arrays.asList(key));
+        return cacheKey;
+    }
+}
@@ -0,0 +1,40 @@
+package fi.vm.yti.codelist.api.domain;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import fi.vm.yti.codelist.api.configuration.NegativeLookupProperties;
+
+@Singleton
+@Service
+public class NegativeLookupRefresher implements IndexChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(NegativeLookupRefresher.class);
+
+    private final NegativeLookupCache negativeLookupCache;
+    private final NegativeLookupProperties properties;
+
+    @Inject
+    public NegativeLookupRefresher(final NegativeLookupCache negativeLookupCache,
+                                   final NegativeLookupProperties properties) {
+        this.negativeLookupCache = negativeLookupCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public void onIndexChecked(final IndexState previous,
+                               final IndexState current) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        // The version also covers document counts, so deletes that leave the latest modified date untouched still clear the cache.
+        if (previous != null && !previous.getVersion().equals(current.getVersion())) {
+            LOG.debug("Index changes detected, clearing negative lookup cache.");
+            negativeLookupCache.invalidateAll();
+        }
+    }
+}
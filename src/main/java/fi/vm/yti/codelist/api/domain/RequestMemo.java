@@ -0,0 +1,58 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+public final class RequestMemo {
+
+    private static final ThreadLocal<RequestMemo> CURRENT = new ThreadLocal<>();
+    private static final Object NULL_VALUE = new Object();
+
+    private final Map<List<Object>, Object> values = new HashMap<>();
+    private int hits;
+
+    private RequestMemo() {
+    }
+
+    public static void begin() {
+        CURRENT.set(new RequestMemo());
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static int getHits() {
+        final RequestMemo memo = CURRENT.get();
+        return memo != null ? memo.hits : 0;
+    }
+
+    static void put(final Object value,
+                    final Object... key) {
+        final RequestMemo memo = CURRENT.get();
+        if (memo != null) {
+            memo.values.put(Arrays.asList(key), value != null ? value : NULL_VALUE);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    static <T> T get(final Supplier<T> loader,
+                     final Object... key) {
+        final RequestMemo memo = CURRENT.get();
+        if (memo == null) {
+            return loader.get();
+        }
+        final List<Object> memoKey = Arrays.asList(key);
+        final Object value = memo.values.get(memoKey);
+        if (value != null) {
+            memo.hits++;
+            return value == NULL_VALUE ? null : (T) value;
+        }
+        final T loaded = loader.get();
+        memo.values.put(memoKey, loaded != null ? loaded : NULL_VALUE);
+        return loaded;
+    }
+}
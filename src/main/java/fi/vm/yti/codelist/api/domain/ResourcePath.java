@@ -0,0 +1,121 @@
+package fi.vm.yti.codelist.api.domain;
+
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+
+public class ResourcePath {
+
+    private final String codeRegistryCodeValue;
+    private final String codeSchemeCodeValue;
+    private final String codeCodeValue;
+    private final String extensionCodeValue;
+    private final String memberId;
+    private CodeRegistryDTO codeRegistry;
+    private CodeSchemeDTO codeScheme;
+    private CodeDTO code;
+    private ExtensionDTO extension;
+    private MemberDTO member;
+
+    private ResourcePath(final String codeRegistryCodeValue,
+                         final String codeSchemeCodeValue,
+                         final String codeCodeValue,
+                         final String extensionCodeValue,
+                         final String memberId) {
+        this.codeRegistryCodeValue = codeRegistryCodeValue;
+        this.codeSchemeCodeValue = codeSchemeCodeValue;
+        this.codeCodeValue = codeCodeValue;
+        this.extensionCodeValue = extensionCodeValue;
+        this.memberId = memberId;
+    }
+
+    public static ResourcePath codeRegistry(final String codeRegistryCodeValue) {
+        return new ResourcePath(codeRegistryCodeValue, null, null, null, null);
+    }
+
+    public static ResourcePath codeScheme(final String codeRegistryCodeValue,
+                                          final String codeSchemeCodeValue) {
+        return new ResourcePath(codeRegistryCodeValue, codeSchemeCodeValue, null, null, null);
+    }
+
+    public static ResourcePath code(final String codeRegistryCodeValue,
+                                    final String codeSchemeCodeValue,
+                                    final String codeCodeValue) {
+        return new ResourcePath(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, null, null);
+    }
+
+    public static ResourcePath extension(final String codeRegistryCodeValue,
+                                         final String codeSchemeCodeValue,
+                                         final String extensionCodeValue) {
+        return new ResourcePath(codeRegistryCodeValue, codeSchemeCodeValue, null, extensionCodeValue, null);
+    }
+
+    public static ResourcePath member(final String codeRegistryCodeValue,
+                                      final String codeSchemeCodeValue,
+                                      final String extensionCodeValue,
+                                      final String memberId) {
+        return new ResourcePath(codeRegistryCodeValue, codeSchemeCodeValue, null, extensionCodeValue, memberId);
+    }
+
+    public String getCodeRegistryCodeValue() {
+        return codeRegistryCodeValue;
+    }
+
+    public String getCodeSchemeCodeValue() {
+        return codeSchemeCodeValue;
+    }
+
+    public String getCodeCodeValue() {
+        return codeCodeValue;
+    }
+
+    public String getExtensionCodeValue() {
+        return extensionCodeValue;
+    }
+
+    public String getMemberId() {
+        return memberId;
+    }
+
+    public CodeRegistryDTO getCodeRegistry() {
+        return codeRegistry;
+    }
+
+    void setCodeRegistry(final CodeRegistryDTO codeRegistry) {
+        this.codeRegistry = codeRegistry;
+    }
+
+    public CodeSchemeDTO getCodeScheme() {
+        return codeScheme;
+    }
+
+    void setCodeScheme(final CodeSchemeDTO codeScheme) {
+        this.codeScheme = codeScheme;
+    }
+
+    public CodeDTO getCode() {
+        return code;
+    }
+
+    void setCode(final CodeDTO code) {
+        this.code = code;
+    }
+
+    public ExtensionDTO getExtension() {
+        return extension;
+    }
+
+    void setExtension(final ExtensionDTO extension) {
+        this.extension = extension;
+    }
+
+    public MemberDTO getMember() {
+        return member;
+    }
+
+    void setMember(final MemberDTO member) {
+        this.member = member;
+    }
+}
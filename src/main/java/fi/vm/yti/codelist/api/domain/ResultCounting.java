@@ -0,0 +1,68 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Locale;
+
+import org.springframework.http.HttpStatus;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+public final class ResultCounting {
+
+    public enum Mode {
+        EXACT,
+        APPROXIMATE,
+        NONE;
+
+        public static Mode fromParameter(final String value) {
+            if (value == null || value.isEmpty()) {
+                return EXACT;
+            }
+            try {
+                return valueOf(value.toUpperCase(Locale.ROOT));
+            } catch (final IllegalArgumentException e) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Invalid count parameter value %s, use one of exact, approximate or none.", value)));
+            }
+        }
+    }
+
+    private static final ThreadLocal<ResultCounting> CURRENT = new ThreadLocal<>();
+
+    private final Mode mode;
+    private boolean hasMore;
+    private boolean hasMoreRecorded;
+
+    private ResultCounting(final Mode mode) {
+        this.mode = mode;
+    }
+
+    public static void begin(final Mode mode) {
+        CURRENT.set(new ResultCounting(mode));
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static Mode getMode() {
+        final ResultCounting counting = CURRENT.get();
+        return counting != null ? counting.mode : Mode.EXACT;
+    }
+
+    public static boolean hasMore() {
+        final ResultCounting counting = CURRENT.get();
+        return counting != null && counting.hasMore;
+    }
+
+    /**
+     * Records whether the paged query has more results. Only the first paged query of the request is recorded, so
+     * lookups made while building the response cannot overwrite the value of the primary query.
+     */
+    static void setHasMore(final boolean hasMore) {
+        final ResultCounting counting = CURRENT.get();
+        if (counting != null && !counting.hasMoreRecorded) {
+            counting.hasMore = hasMore;
+            counting.hasMoreRecorded = true;
+        }
+    }
+}
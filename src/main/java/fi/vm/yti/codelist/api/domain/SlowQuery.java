@@ -0,0 +1,72 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Date;
+
+public final class SlowQuery {
+
+    private final Date timestamp;
+    private final String indices;
+    private final String source;
+    private final long elapsedMillis;
+    private final long tookMillis;
+    private final long totalHits;
+    private final String resourceMethod;
+    private final String requestPath;
+    private final String queryString;
+
+    SlowQuery(final Date timestamp,
+              final String indices,
+              final String source,
+              final long elapsedMillis,
+              final long tookMillis,
+              final long totalHits,
+              final String resourceMethod,
+              final String requestPath,
+              final String queryString) {
+        this.timestamp = timestamp;
+        this.indices = indices;
+        this.source = source;
+        this.elapsedMillis = elapsedMillis;
+        this.tookMillis = tookMillis;
+        this.totalHits = totalHits;
+        this.resourceMethod = resourceMethod;
+        this.requestPath = requestPath;
+        this.queryString = queryString;
+    }
+
+    public Date getTimestamp() {
+        return timestamp;
+    }
+
+    public String getIndices() {
+        return indices;
+    }
+
+    public String getSource() {
+        return source;
+    }
+
+    public long getElapsedMillis() {
+        return elapsedMillis;
+    }
+
+    public long getTookMillis() {
+        return tookMillis;
+    }
+
+    public long getTotalHits() {
+        return totalHits;
+    }
+
+    public String getResourceMethod() {
+        return resourceMethod;
+    }
+
+    public String getRequestPath() {
+        return requestPath;
+    }
+
+    public String getQueryString() {
+        return queryString;
+    }
+}
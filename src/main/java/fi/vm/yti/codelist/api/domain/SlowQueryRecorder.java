@@ -0,0 +1,166 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.SearchScrollRequest;
+import org.elasticsearch.common.Strings;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+import org.springframework.stereotype.Service;
+
+import fi.vm.yti.codelist.api.configuration.SlowQueryProperties;
+
+@Singleton
+@Service
+public class SlowQueryRecorder {
+
+    public static final String MDC_RESOURCE_METHOD = "resourceMethod";
+    public static final String MDC_REQUEST_PATH = "requestPath";
+    public static final String MDC_QUERY_STRING = "queryString";
+
+    private static final Logger LOG = LoggerFactory.getLogger(SlowQueryRecorder.class);
+
+    private final SlowQueryProperties properties;
+    private final SlowQuery[] buffer;
+    private int next;
+    private int size;
+
+    @Inject
+    public SlowQueryRecorder(final SlowQueryProperties properties) {
+        this.properties = properties;
+        this.buffer = new SlowQuery[properties.getBufferSize()];
+    }
+
+    public void record(final SearchRequest request,
+                       final SearchResponse response,
+                       final long elapsedMillis) {
+        if (isRecorded(elapsedMillis)) {
+            record(String.join(",", request.indices()), createSource(request), response, elapsedMillis);
+        }
+    }
+
+    public void recordMultiSearch(final MultiSearchRequest request,
+                                  final MultiSearchResponse response,
+                                  final long elapsedMillis) {
+        if (isRecorded(elapsedMillis)) {
+            final List<String> indices = new ArrayList<>();
+            final StringBuilder source = new StringBuilder("[");
+            for (final SearchRequest searchRequest : request.requests()) {
+                indices.add(String.join(",", searchRequest.indices()));
+                if (source.length() > 1) {
+                    source.append(",");
+                }
+                source.append(createSource(searchRequest));
+            }
+            source.append("]");
+            long tookMillis = -1;
+            long totalHits = -1;
+            for (final MultiSearchResponse.Item item : response.getResponses()) {
+                final SearchResponse itemResponse = item.getResponse();
+                if (itemResponse != null) {
+                    tookMillis = Math.max(tookMillis, itemResponse.getTook().millis());
+                    totalHits = Math.max(totalHits, 0) + itemResponse.getHits().getTotalHits();
+                }
+            }
+            record(String.join(",", indices), source.toString(), tookMillis, totalHits, elapsedMillis);
+        }
+    }
+
+    public void recordScroll(final String indices,
+                             final SearchScrollRequest request,
+                             final SearchResponse response,
+                             final long elapsedMillis) {
+        if (isRecorded(elapsedMillis)) {
+            record(indices, String.format("{\"scroll\":\"%s\"}", request.scroll() != null ? request.scroll().keepAlive() : ""), response, elapsedMillis);
+        }
+    }
+
+    public void recordClearScroll(final String indices,
+                                  final long elapsedMillis) {
+        if (isRecorded(elapsedMillis)) {
+            record(indices, "{\"clear_scroll\":true}", null, elapsedMillis);
+        }
+    }
+
+    private boolean isRecorded(final long elapsedMillis) {
+        return properties.isEnabled() && elapsedMillis >= properties.getThresholdMillis();
+    }
+
+    private void record(final String indices,
+                        final String source,
+                        final SearchResponse response,
+                        final long elapsedMillis) {
+        record(indices,
+            source,
+            response != null && response.getTook() != null ? response.getTook().millis() : -1,
+            response != null && response.getHits() != null ? response.getHits().getTotalHits() : -1,
+            elapsedMillis);
+    }
+
+    private void record(final String indices,
+                        final String source,
+                        final long tookMillis,
+                        final long totalHits,
+                        final long elapsedMillis) {
+        final SlowQuery slowQuery = new SlowQuery(new Date(),
+            indices,
+            source,
+            elapsedMillis,
+            tookMillis,
+            totalHits,
+            MDC.get(MDC_RESOURCE_METHOD),
+            MDC.get(MDC_REQUEST_PATH),
+            MDC.get(MDC_QUERY_STRING));
+        LOG.warn(String.format("Slow Elasticsearch query: %d ms (took %d ms, %d hits) on %s from %s /%s?%s: %s",
+            slowQuery.getElapsedMillis(), slowQuery.getTookMillis(), slowQuery.getTotalHits(), slowQuery.getIndices(),
+            slowQuery.getResourceMethod(), slowQuery.getRequestPath(), slowQuery.getQueryString(), slowQuery.getSource()));
+        synchronized (buffer) {
+            buffer[next] = slowQuery;
+            next = (next + 1) % buffer.length;
+            if (size < buffer.length) {
+                size++;
+            }
+        }
+    }
+
+    public List<SlowQuery> getSlowQueries() {
+        synchronized (buffer) {
+            final List<SlowQuery> slowQueries = new ArrayList<>(size);
+            for (int i = 1; i <= size; i++) {
+                slowQueries.add(buffer[(next - i + buffer.length) % buffer.length]);
+            }
+            return slowQueries;
+        }
+    }
+
+    public void clear() {
+        synchronized (buffer) {
+            for (int i = 0; i < buffer.length; i++) {
+                buffer[i] = null;
+            }
+            next = 0;
+            size = 0;
+        }
+    }
+
+    private String createSource(final SearchRequest request) {
+        if (request.source() == null) {
+            return "{}";
+        }
+        final String source = Strings.toString(request.source());
+        if (source.length() > properties.getMaxSourceLength()) {
+            return source.substring(0, properties.getMaxSourceLength()) + "...";
+        }
+        return source;
+    }
+}
@@ -0,0 +1,47 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import fi.vm.yti.codelist.api.configuration.StatisticsProperties;
+import fi.vm.yti.codelist.api.dto.StatisticsDTO;
+
+@Singleton
+@Service
+public class StatisticsService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(StatisticsService.class);
+
+    private final Domain domain;
+    private final IndexChangeDetector indexChangeDetector;
+    private final long checkIntervalMillis;
+    private StatisticsDTO statistics;
+
+    @Inject
+    public StatisticsService(final Domain domain,
+                             final IndexChangeDetector indexChangeDetector,
+                             final StatisticsProperties properties) {
+        this.domain = domain;
+        this.indexChangeDetector = indexChangeDetector;
+        this.checkIntervalMillis = TimeUnit.SECONDS.toMillis(properties.getCheckIntervalSeconds());
+    }
+
+    public synchronized StatisticsDTO getStatistics() {
+        final String version = indexChangeDetector.getIndexState(checkIntervalMillis).getVersion();
+        if (statistics == null || !version.equals(statistics.getVersion())) {
+            final StatisticsDTO computed = domain.getStatistics();
+            computed.setVersion(version);
+            computed.setComputed(new Date());
+            statistics = computed;
+            LOG.debug(String.format("Computed statistics for index version %s.", version));
+        }
+        return statistics;
+    }
+}
@@ -0,0 +1,49 @@
+package fi.vm.yti.codelist.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@XmlType(propOrder = { "code", "children" })
+@Schema(name = "CodeTreeNode", description = "CodeTreeNode DTO that represents one Code and its narrower Codes in a CodeScheme hierarchy.")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class CodeTreeNodeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private CodeDTO code;
+    private List<CodeTreeNodeDTO> children;
+
+    public CodeTreeNodeDTO() {
+    }
+
+    public CodeTreeNodeDTO(final CodeDTO code,
+                           final List<CodeTreeNodeDTO> children) {
+        this.code = code;
+        this.children = children;
+    }
+
+    public CodeDTO getCode() {
+        return code;
+    }
+
+    public void setCode(final CodeDTO code) {
+        this.code = code;
+    }
+
+    public List<CodeTreeNodeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(final List<CodeTreeNodeDTO> children) {
+        this.children = children;
+    }
+}
@@ -0,0 +1,139 @@
+package fi.vm.yti.codelist.api.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.UUID;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@XmlType(propOrder = { "id", "state", "format", "filename", "sheetsDone", "rowsWritten", "size", "created", "started", "finished", "errorMessage", "url", "downloadUrl" })
+@Schema(name = "ExportJob", description = "ExportJob DTO that represents the state of an asynchronous export and the location of its finished file.")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class ExportJobDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private UUID id;
+    private String state;
+    private String format;
+    private String filename;
+    private Integer sheetsDone;
+    private Long rowsWritten;
+    private Long size;
+    private Date created;
+    private Date started;
+    private Date finished;
+    private String errorMessage;
+    private String url;
+    private String downloadUrl;
+
+    public UUID getId() {
+        return id;
+    }
+
+    public void setId(final UUID id) {
+        this.id = id;
+    }
+
+    public String getState() {
+        return state;
+    }
+
+    public void setState(final String state) {
+        this.state = state;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(final String format) {
+        this.format = format;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public void setFilename(final String filename) {
+        this.filename = filename;
+    }
+
+    public Integer getSheetsDone() {
+        return sheetsDone;
+    }
+
+    public void setSheetsDone(final Integer sheetsDone) {
+        this.sheetsDone = sheetsDone;
+    }
+
+    public Long getRowsWritten() {
+        return rowsWritten;
+    }
+
+    public void setRowsWritten(final Long rowsWritten) {
+        this.rowsWritten = rowsWritten;
+    }
+
+    public Long getSize() {
+        return size;
+    }
+
+    public void setSize(final Long size) {
+        this.size = size;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public void setCreated(final Date created) {
+        this.created = created;
+    }
+
+    public Date getStarted() {
+        return started;
+    }
+
+    public void setStarted(final Date started) {
+        this.started = started;
+    }
+
+    public Date getFinished() {
+        return finished;
+    }
+
+    public void setFinished(final Date finished) {
+        this.finished = finished;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public void setErrorMessage(final String errorMessage) {
+        this.errorMessage = errorMessage;
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public void setUrl(final String url) {
+        this.url = url;
+    }
+
+    public String getDownloadUrl() {
+        return downloadUrl;
+    }
+
+    public void setDownloadUrl(final String downloadUrl) {
+        this.downloadUrl = downloadUrl;
+    }
+}
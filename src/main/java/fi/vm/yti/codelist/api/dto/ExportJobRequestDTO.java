@@ -0,0 +1,50 @@
+package fi.vm.yti.codelist.api.dto;
+
+public class ExportJobRequestDTO {
+
+    private String codeRegistryCodeValue;
+    private String codeSchemeCodeValue;
+    private String extensionCodeValue;
+    private String format;
+    private boolean crossReferenceList;
+
+    public String getCodeRegistryCodeValue() {
+        return codeRegistryCodeValue;
+    }
+
+    public void setCodeRegistryCodeValue(final String codeRegistryCodeValue) {
+        this.codeRegistryCodeValue = codeRegistryCodeValue;
+    }
+
+    public String getCodeSchemeCodeValue() {
+        return codeSchemeCodeValue;
+    }
+
+    public void setCodeSchemeCodeValue(final String codeSchemeCodeValue) {
+        this.codeSchemeCodeValue = codeSchemeCodeValue;
+    }
+
+    public String getExtensionCodeValue() {
+        return extensionCodeValue;
+    }
+
+    public void setExtensionCodeValue(final String extensionCodeValue) {
+        this.extensionCodeValue = extensionCodeValue;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public void setFormat(final String format) {
+        this.format = format;
+    }
+
+    public boolean isCrossReferenceList() {
+        return crossReferenceList;
+    }
+
+    public void setCrossReferenceList(final boolean crossReferenceList) {
+        this.crossReferenceList = crossReferenceList;
+    }
+}
@@ -0,0 +1,49 @@
+package fi.vm.yti.codelist.api.dto;
+
+import java.io.Serializable;
+import java.util.List;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@XmlType(propOrder = { "member", "children" })
+@Schema(name = "MemberTreeNode", description = "MemberTreeNode DTO that represents one Member and the Members that refer to it through relatedMember.")
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public class MemberTreeNodeDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private MemberDTO member;
+    private List<MemberTreeNodeDTO> children;
+
+    public MemberTreeNodeDTO() {
+    }
+
+    public MemberTreeNodeDTO(final MemberDTO member,
+                             final List<MemberTreeNodeDTO> children) {
+        this.member = member;
+        this.children = children;
+    }
+
+    public MemberDTO getMember() {
+        return member;
+    }
+
+    public void setMember(final MemberDTO member) {
+        this.member = member;
+    }
+
+    public List<MemberTreeNodeDTO> getChildren() {
+        return children;
+    }
+
+    public void setChildren(final List<MemberTreeNodeDTO> children) {
+        this.children = children;
+    }
+}
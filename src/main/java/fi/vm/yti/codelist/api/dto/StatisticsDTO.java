@@ -0,0 +1,149 @@
+package fi.vm.yti.codelist.api.dto;
+
+import java.io.Serializable;
+import java.util.Date;
+import java.util.Map;
+
+import javax.xml.bind.annotation.XmlRootElement;
+import javax.xml.bind.annotation.XmlType;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+
+@XmlRootElement
+@XmlType(propOrder = { "codeRegistryCount", "codeSchemeCount", "codeCount", "extensionCount", "memberCount", "codeSchemesByStatus", "codeSchemesByCodeRegistry", "codeSchemesByInfoDomain", "codeSchemesByOrganization", "codesByStatus", "codesByCodeScheme", "extensionsByStatus", "version", "computed" })
+@Schema(name = "Statistics", description = "Statistics DTO that represents resource counts computed with Elasticsearch aggregations.")
+public class StatisticsDTO implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private long codeRegistryCount;
+    private long codeSchemeCount;
+    private long codeCount;
+    private long extensionCount;
+    private long memberCount;
+    private Map<String, Long> codeSchemesByStatus;
+    private Map<String, Long> codeSchemesByCodeRegistry;
+    private Map<String, Long> codeSchemesByInfoDomain;
+    private Map<String, Long> codeSchemesByOrganization;
+    private Map<String, Long> codesByStatus;
+    private Map<String, Long> codesByCodeScheme;
+    private Map<String, Long> extensionsByStatus;
+    private String version;
+    private Date computed;
+
+    public long getCodeRegistryCount() {
+        return codeRegistryCount;
+    }
+
+    public void setCodeRegistryCount(final long codeRegistryCount) {
+        this.codeRegistryCount = codeRegistryCount;
+    }
+
+    public long getCodeSchemeCount() {
+        return codeSchemeCount;
+    }
+
+    public void setCodeSchemeCount(final long codeSchemeCount) {
+        this.codeSchemeCount = codeSchemeCount;
+    }
+
+    public long getCodeCount() {
+        return codeCount;
+    }
+
+    public void setCodeCount(final long codeCount) {
+        this.codeCount = codeCount;
+    }
+
+    public long getExtensionCount() {
+        return extensionCount;
+    }
+
+    public void setExtensionCount(final long extensionCount) {
+        this.extensionCount = extensionCount;
+    }
+
+    public long getMemberCount() {
+        return memberCount;
+    }
+
+    public void setMemberCount(final long memberCount) {
+        this.memberCount = memberCount;
+    }
+
+    public Map<String, Long> getCodeSchemesByStatus() {
+        return codeSchemesByStatus;
+    }
+
+    public void setCodeSchemesByStatus(final Map<String, Long> codeSchemesByStatus) {
+        this.codeSchemesByStatus = codeSchemesByStatus;
+    }
+
+    public Map<String, Long> getCodeSchemesByCodeRegistry() {
+        return codeSchemesByCodeRegistry;
+    }
+
+    public void setCodeSchemesByCodeRegistry(final Map<String, Long> codeSchemesByCodeRegistry) {
+        this.codeSchemesByCodeRegistry = codeSchemesByCodeRegistry;
+    }
+
+    public Map<String, Long> getCodeSchemesByInfoDomain() {
+        return codeSchemesByInfoDomain;
+    }
+
+    public void setCodeSchemesByInfoDomain(final Map<String, Long> codeSchemesByInfoDomain) {
+        this.codeSchemesByInfoDomain = codeSchemesByInfoDomain;
+    }
+
+    public Map<String, Long> getCodeSchemesByOrganization() {
+        return codeSchemesByOrganization;
+    }
+
+    public void setCodeSchemesByOrganization(final Map<String, Long> codeSchemesByOrganization) {
+        this.codeSchemesByOrganization = codeSchemesByOrganization;
+    }
+
+    public Map<String, Long> getCodesByStatus() {
+        return codesByStatus;
+    }
+
+    public void setCodesByStatus(final Map<String, Long> codesByStatus) {
+        this.codesByStatus = codesByStatus;
+    }
+
+    public Map<String, Long> getCodesByCodeScheme() {
+        return codesByCodeScheme;
+    }
+
+    public void setCodesByCodeScheme(final Map<String, Long> codesByCodeScheme) {
+        this.codesByCodeScheme = codesByCodeScheme;
+    }
+
+    public Map<String, Long> getExtensionsByStatus() {
+        return extensionsByStatus;
+    }
+
+    public void setExtensionsByStatus(final Map<String, Long> extensionsByStatus) {
+        this.extensionsByStatus = extensionsByStatus;
+    }
+
+    public String getVersion() {
+        return version;
+    }
+
+    public void setVersion(final String version) {
+        this.version = version;
+    }
+
+    @Schema(format = "dateTime")
+    @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSSX")
+    public Date getComputed() {
+        return computed;
+    }
+
+    public void setComputed(final Date computed) {
+        this.computed = computed;
+    }
+}
@@ -12,4 +12,8 @@ public class NotFoundException extends YtiCodeListException {
     public NotFoundException() {
         super(new ErrorModel(HttpStatus.NOT_FOUND.value(), ERR_MSG_USER_404));
     }
+
+    public NotFoundException(final String message) {
+        super(new ErrorModel(HttpStatus.NOT_FOUND.value(), message));
+    }
 }
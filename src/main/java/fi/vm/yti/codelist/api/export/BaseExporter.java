@@ -1,11 +1,10 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.text.DateFormat;
-import java.text.SimpleDateFormat;
+import java.time.Instant;
 import java.time.LocalDate;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
 import java.util.Date;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.hssf.usermodel.HSSFWorkbook;
@@ -26,8 +25,10 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 abstract class BaseExporter {
 
-    private static final String DATEFORMAT_WITH_SECONDS = "yyyy-MM-dd HH:mm:ss";
+    private static final DateTimeFormatter DATEFORMAT_WITH_SECONDS = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss").withZone(ZoneId.systemDefault());
     private static final int MAX_SHEETNAME_SIZE = 31;
+    private static final int MAX_SCRATCH_CAPACITY = 64 * 1024;
+    private static final ThreadLocal<StringBuilder> SCRATCH = ThreadLocal.withInitial(() -> new StringBuilder(256));
 
     String checkEmptyValue(final String value) {
         if (value == null) {
@@ -44,18 +45,70 @@ abstract class BaseExporter {
     void appendValue(final StringBuilder builder,
                      final String value,
                      final boolean isLast) {
-        if (value != null && (value.contains(",") || value.contains("\n"))) {
-            builder.append("\"");
-            builder.append(checkEmptyValue(value));
-            builder.append("\"");
-        } else {
-            builder.append(checkEmptyValue(value));
+        if (value != null && !value.isEmpty()) {
+            appendEscaped(builder, value);
         }
-        if (isLast) {
-            builder.append("\n");
-        } else {
-            builder.append(",");
+        builder.append(isLast ? '\n' : ',');
+    }
+
+    void appendDateWithSeconds(final StringBuilder builder,
+                               final Date date) {
+        appendDateWithSeconds(builder, date, false);
+    }
+
+    void appendDateWithSeconds(final StringBuilder builder,
+                               final Date date,
+                               final boolean isLast) {
+        if (date != null) {
+            DATEFORMAT_WITH_SECONDS.formatTo(Instant.ofEpochMilli(date.getTime()), builder);
         }
+        builder.append(isLast ? '\n' : ',');
+    }
+
+    void appendDateWithISO8601(final StringBuilder builder,
+                               final LocalDate date) {
+        if (date != null) {
+            DateTimeFormatter.ISO_LOCAL_DATE.formatTo(date, builder);
+        }
+        builder.append(',');
+    }
+
+    private void appendEscaped(final StringBuilder builder,
+                               final String value) {
+        final int length = value.length();
+        int i = 0;
+        while (i < length) {
+            final char c = value.charAt(i);
+            if (c == ',' || c == '"' || c == '\n' || c == '\r') {
+                break;
+            }
+            i++;
+        }
+        if (i == length) {
+            builder.append(value);
+            return;
+        }
+        builder.ensureCapacity(builder.length() + length + 8);
+        builder.append('"');
+        builder.append(value, 0, i);
+        for (; i < length; i++) {
+            final char c = value.charAt(i);
+            if (c == '"') {
+                builder.append('"');
+            }
+            builder.append(c);
+        }
+        builder.append('"');
+    }
+
+    StringBuilder scratchBuilder() {
+        StringBuilder scratch = SCRATCH.get();
+        if (scratch.capacity() > MAX_SCRATCH_CAPACITY) {
+            scratch = new StringBuilder(256);
+            SCRATCH.set(scratch);
+        }
+        scratch.setLength(0);
+        return scratch;
     }
 
     Workbook createWorkBook(final String format) {
@@ -100,34 +153,23 @@ abstract class BaseExporter {
     }
 
     String formatDateWithSeconds(final Date date) {
-        final DateFormat dateFormat = new SimpleDateFormat(DATEFORMAT_WITH_SECONDS);
-        return dateFormat.format(date);
+        return DATEFORMAT_WITH_SECONDS.format(Instant.ofEpochMilli(date.getTime()));
     }
 
     String formatExternalReferencesToString(final Set<ExternalReferenceDTO> externalReferences) {
-        final StringBuilder csvExternalReferences = new StringBuilder();
-        if (externalReferences != null && !externalReferences.isEmpty()) {
-            int i = 0;
-            for (final ExternalReferenceDTO externalReference : externalReferences) {
-                i++;
-                csvExternalReferences.append(externalReference.getHref());
-                if (i < externalReferences.size()) {
-                    csvExternalReferences.append("|");
-                }
-            }
+        if (externalReferences == null || externalReferences.isEmpty()) {
+            return "";
         }
-        return csvExternalReferences.toString();
-    }
-
-    Set<String> resolveCodePrefLabelLanguages(final Set<CodeDTO> codes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeDTO code : codes) {
-            final Map<String, String> prefLabel = code.getPrefLabel();
-            if (prefLabel != null) {
-                languages.addAll(prefLabel.keySet());
+        final StringBuilder csvExternalReferences = scratchBuilder();
+        boolean first = true;
+        for (final ExternalReferenceDTO externalReference : externalReferences) {
+            if (!first) {
+                csvExternalReferences.append('|');
             }
+            first = false;
+            csvExternalReferences.append(externalReference.getHref());
         }
-        return languages;
+        return csvExternalReferences.toString();
     }
 
     String getCodeRegistryPrefLabel(final CodeRegistryDTO codeRegistry,
@@ -1,12 +1,11 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -15,20 +14,33 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class CodeExporter extends BaseExporter {
 
+    private final Tracer tracer;
+
+    public CodeExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final Set<CodeDTO> codes) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-codes-csv").tag("export.count", codes.size())) {
+            return buildCsv(codes);
+        }
+    }
+
+    private String buildCsv(final Set<CodeDTO> codes) {
         int flatInt = 1;
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codes);
-        final Set<String> definitionLanguages = resolveCodeDefinitionLanguages(codes);
-        final Set<String> descriptionLanguages = resolveCodeDescriptionLanguages(codes);
+        final ColumnPlan<CodeDTO> columnPlan = createColumnPlan(codes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_ORDER);
         appendValue(csv, CONTENT_HEADER_BROADER);
         appendValue(csv, CONTENT_HEADER_STATUS);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
-        definitionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase()));
-        descriptionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_SHORTNAME);
         appendValue(csv, CONTENT_HEADER_CONCEPTURI);
         appendValue(csv, CONTENT_HEADER_SUBCODESCHEME);
@@ -51,10 +63,10 @@ public class CodeExporter extends BaseExporter {
             appendValue(csv, code.getConceptUriInVocabularies());
             appendValue(csv, code.getSubCodeScheme() != null ? code.getSubCodeScheme().getUri() : null);
             appendValue(csv, code.getHierarchyLevel() != null ? code.getHierarchyLevel().toString() : null);
-            appendValue(csv, code.getStartDate() != null ? formatDateWithISO8601(code.getStartDate()) : "");
-            appendValue(csv, code.getEndDate() != null ? formatDateWithISO8601(code.getEndDate()) : "");
-            appendValue(csv, code.getCreated() != null ? formatDateWithSeconds(code.getCreated()) : "");
-            appendValue(csv, code.getModified() != null ? formatDateWithSeconds(code.getModified()) : "");
+            appendDateWithISO8601(csv, code.getStartDate());
+            appendDateWithISO8601(csv, code.getEndDate());
+            appendDateWithSeconds(csv, code.getCreated());
+            appendDateWithSeconds(csv, code.getModified());
             appendValue(csv, formatExternalReferencesToString(code.getExternalReferences()), true);
             flatInt++;
         }
@@ -63,6 +75,13 @@ public class CodeExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<CodeDTO> codes,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-codes-excel").tag("export.count", codes.size())) {
+            return buildExcel(codes, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<CodeDTO> codes,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addCodeSheet(workbook, EXCEL_SHEET_CODES, codes);
         return workbook;
@@ -71,9 +90,10 @@ public class CodeExporter extends BaseExporter {
     public void addCodeSheet(final Workbook workbook,
                              final String sheetName,
                              final Set<CodeDTO> codes) {
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codes);
-        final Set<String> definitionLanguages = resolveCodeDefinitionLanguages(codes);
-        final Set<String> descriptionLanguages = resolveCodeDescriptionLanguages(codes);
+        final ColumnPlan<CodeDTO> columnPlan = createColumnPlan(codes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final Sheet sheet = workbook.createSheet(sheetName);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -81,14 +101,14 @@ public class CodeExporter extends BaseExporter {
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_URI);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_BROADER);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_STATUS);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : definitionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : descriptionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_SHORTNAME);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CONCEPTURI);
@@ -132,25 +152,11 @@ public class CodeExporter extends BaseExporter {
         }
     }
 
-    private Set<String> resolveCodeDefinitionLanguages(final Set<CodeDTO> codes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeDTO code : codes) {
-            final Map<String, String> definition = code.getDefinition();
-            if (definition != null && !definition.isEmpty()) {
-                languages.addAll(definition.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeDescriptionLanguages(final Set<CodeDTO> codes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeDTO code : codes) {
-            final Map<String, String> description = code.getDescription();
-            if (description != null && !description.isEmpty()) {
-                languages.addAll(description.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<CodeDTO> createColumnPlan(final Set<CodeDTO> codes) {
+        return new ColumnPlan<CodeDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, CodeDTO::getPrefLabel)
+            .withLanguageColumns(CONTENT_HEADER_DEFINITION_PREFIX, CodeDTO::getDefinition)
+            .withLanguageColumns(CONTENT_HEADER_DESCRIPTION_PREFIX, CodeDTO::getDescription)
+            .acceptAll(codes);
     }
 }
@@ -1,12 +1,11 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
@@ -15,14 +14,27 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class CodeRegistryExporter extends BaseExporter {
 
+    private final Tracer tracer;
+
+    public CodeRegistryExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final Set<CodeRegistryDTO> registries) {
-        final Set<String> prefLabelLanguages = resolveCodeRegistryPrefLabelLanguages(registries);
-        final Set<String> descriptionLanguages = resolveCodeRegistryDescriptionLanguages(registries);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-coderegistries-csv").tag("export.count", registries.size())) {
+            return buildCsv(registries);
+        }
+    }
+
+    private String buildCsv(final Set<CodeRegistryDTO> registries) {
+        final ColumnPlan<CodeRegistryDTO> columnPlan = createColumnPlan(registries);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
-        descriptionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_CREATED);
         appendValue(csv, CONTENT_HEADER_MODIFIED, true);
         csv.append("\n");
@@ -31,8 +43,8 @@ public class CodeRegistryExporter extends BaseExporter {
             appendValue(csv, codeRegistry.getUri());
             prefLabelLanguages.forEach(language -> appendValue(csv, getCodeRegistryPrefLabel(codeRegistry, language)));
             descriptionLanguages.forEach(language -> appendValue(csv, getCodeRegistryDescription(codeRegistry, language)));
-            appendValue(csv, codeRegistry.getCreated() != null ? formatDateWithSeconds(codeRegistry.getCreated()) : "");
-            appendValue(csv, codeRegistry.getModified() != null ? formatDateWithSeconds(codeRegistry.getModified()) : "", true);
+            appendDateWithSeconds(csv, codeRegistry.getCreated());
+            appendDateWithSeconds(csv, codeRegistry.getModified(), true);
             csv.append("\n");
         }
         return csv.toString();
@@ -40,19 +52,27 @@ public class CodeRegistryExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<CodeRegistryDTO> registries,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-coderegistries-excel").tag("export.count", registries.size())) {
+            return buildExcel(registries, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<CodeRegistryDTO> registries,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
-        final Set<String> prefLabelLanguages = resolveCodeRegistryPrefLabelLanguages(registries);
-        final Set<String> descriptionLanguages = resolveCodeRegistryDescriptionLanguages(registries);
+        final ColumnPlan<CodeRegistryDTO> columnPlan = createColumnPlan(registries);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final Sheet sheet = workbook.createSheet(EXCEL_SHEET_CODEREGISTRIES);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CODEVALUE);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_URI);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : descriptionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CREATED);
         rowhead.createCell(j).setCellValue(CONTENT_HEADER_MODIFIED);
@@ -74,25 +94,10 @@ public class CodeRegistryExporter extends BaseExporter {
         return workbook;
     }
 
-    private Set<String> resolveCodeRegistryPrefLabelLanguages(final Set<CodeRegistryDTO> registries) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeRegistryDTO registry : registries) {
-            final Map<String, String> prefLabel = registry.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeRegistryDescriptionLanguages(final Set<CodeRegistryDTO> registries) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeRegistryDTO registry : registries) {
-            final Map<String, String> description = registry.getDescription();
-            if (description != null && !description.isEmpty()) {
-                languages.addAll(description.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<CodeRegistryDTO> createColumnPlan(final Set<CodeRegistryDTO> registries) {
+        return new ColumnPlan<CodeRegistryDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, CodeRegistryDTO::getPrefLabel)
+            .withLanguageColumns(CONTENT_HEADER_DESCRIPTION_PREFIX, CodeRegistryDTO::getDescription)
+            .acceptAll(registries);
     }
 }
@@ -1,13 +1,12 @@
 package fi.vm.yti.codelist.api.export;
 
 import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.api.domain.Domain;
@@ -15,6 +14,7 @@ import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.ExtensionDTO;
 import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
 import fi.vm.yti.codelist.common.dto.OrganizationDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 
@@ -26,17 +26,20 @@ public class CodeSchemeExporter extends BaseExporter {
     private final ExtensionExporter extensionExporter;
     private final MemberExporter memberExporter;
     private final ExternalReferenceExporter externalReferenceExporter;
+    private final Tracer tracer;
 
     public CodeSchemeExporter(final Domain domain,
                               final CodeExporter codeExporter,
                               final ExtensionExporter extensionExporter,
                               final MemberExporter memberExporter,
-                              final ExternalReferenceExporter externalReferenceExporter) {
+                              final ExternalReferenceExporter externalReferenceExporter,
+                              final Tracer tracer) {
         this.domain = domain;
         this.codeExporter = codeExporter;
         this.extensionExporter = extensionExporter;
         this.memberExporter = memberExporter;
         this.externalReferenceExporter = externalReferenceExporter;
+        this.tracer = tracer;
     }
 
     public String createCsv(final CodeSchemeDTO codeScheme) {
@@ -46,11 +49,18 @@ public class CodeSchemeExporter extends BaseExporter {
     }
 
     public String createCsv(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> prefLabelLanguages = resolveCodeSchemePrefLabelLanguages(codeSchemes);
-        final Set<String> definitionLanguages = resolveCodeSchemeDefinitionLanguages(codeSchemes);
-        final Set<String> descriptionLanguages = resolveCodeSchemeDescriptionLanguages(codeSchemes);
-        final Set<String> changeNoteLanguages = resolveCodeSchemeChangeNoteLanguages(codeSchemes);
-        final Set<String> feedbackChannelLanguages = resolveCodeSchemeFeedbackChannelLanguages(codeSchemes);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-codeschemes-csv").tag("export.count", codeSchemes.size())) {
+            return buildCsv(codeSchemes);
+        }
+    }
+
+    private String buildCsv(final Set<CodeSchemeDTO> codeSchemes) {
+        final ColumnPlan<CodeSchemeDTO> columnPlan = createColumnPlan(codeSchemes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
+        final Set<String> changeNoteLanguages = columnPlan.getLanguages(CONTENT_HEADER_CHANGENOTE_PREFIX);
+        final Set<String> feedbackChannelLanguages = columnPlan.getLanguages(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
@@ -64,15 +74,15 @@ public class CodeSchemeExporter extends BaseExporter {
         appendValue(csv, CONTENT_HEADER_GOVERNANCEPOLICY);
         appendValue(csv, CONTENT_HEADER_CONCEPTURI);
         appendValue(csv, CONTENT_HEADER_DEFAULTCODE);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
-        definitionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase()));
-        descriptionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase()));
-        changeNoteLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_CHANGENOTE_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_CHANGENOTE_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_STARTDATE);
         appendValue(csv, CONTENT_HEADER_ENDDATE);
         appendValue(csv, CONTENT_HEADER_CREATED);
         appendValue(csv, CONTENT_HEADER_MODIFIED);
-        feedbackChannelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_HREF, true);
         for (final CodeSchemeDTO codeScheme : codeSchemes) {
             appendValue(csv, codeScheme.getCodeValue());
@@ -91,10 +101,10 @@ public class CodeSchemeExporter extends BaseExporter {
             definitionLanguages.forEach(language -> appendValue(csv, getCodeSchemeDefinition(codeScheme, language)));
             descriptionLanguages.forEach(language -> appendValue(csv, getCodeSchemeDescription(codeScheme, language)));
             changeNoteLanguages.forEach(language -> appendValue(csv, getCodeSchemeChangeNote(codeScheme, language)));
-            appendValue(csv, codeScheme.getStartDate() != null ? formatDateWithISO8601(codeScheme.getStartDate()) : "");
-            appendValue(csv, codeScheme.getEndDate() != null ? formatDateWithISO8601(codeScheme.getEndDate()) : "");
-            appendValue(csv, codeScheme.getCreated() != null ? formatDateWithSeconds(codeScheme.getCreated()) : "");
-            appendValue(csv, codeScheme.getModified() != null ? formatDateWithSeconds(codeScheme.getModified()) : "");
+            appendDateWithISO8601(csv, codeScheme.getStartDate());
+            appendDateWithISO8601(csv, codeScheme.getEndDate());
+            appendDateWithSeconds(csv, codeScheme.getCreated());
+            appendDateWithSeconds(csv, codeScheme.getModified());
             feedbackChannelLanguages.forEach(language -> appendValue(csv, getCodeSchemeFeedbackChannel(codeScheme, language)));
             appendValue(csv, formatExternalReferencesToString(codeScheme.getExternalReferences()),true);
         }
@@ -103,23 +113,41 @@ public class CodeSchemeExporter extends BaseExporter {
 
     public Workbook createExcel(final CodeSchemeDTO codeScheme,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-codescheme-excel").tag("codescheme.uri", codeScheme.getUri())) {
+            return buildExcel(codeScheme, format);
+        }
+    }
+
+    private Workbook buildExcel(final CodeSchemeDTO codeScheme,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         final Set<CodeSchemeDTO> codeSchemes = new HashSet<>();
         codeSchemes.add(codeScheme);
         addCodeSchemeSheet(workbook, codeSchemes);
-        final String externalReferenceSheetName = createLinksSheetName(codeScheme);
-        final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(codeScheme);
-        externalReferenceExporter.addExternalReferencesSheet(workbook, externalReferenceSheetName, externalReferences);
-        final String codeSheetName = createCodesSheetName(codeScheme);
-        codeExporter.addCodeSheet(workbook, codeSheetName, domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeScheme.getCodeRegistry().getCodeValue(), codeScheme.getCodeValue()));
+        try (final ExportStage stage = ExportStage.start(tracer, "export-links-sheet")) {
+            final String externalReferenceSheetName = createLinksSheetName(codeScheme);
+            final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(codeScheme);
+            stage.tag("export.count", externalReferences != null ? externalReferences.size() : 0);
+            externalReferenceExporter.addExternalReferencesSheet(workbook, externalReferenceSheetName, externalReferences);
+        }
+        try (final ExportStage stage = ExportStage.start(tracer, "export-codes-sheet")) {
+            final String codeSheetName = createCodesSheetName(codeScheme);
+            final Set<CodeDTO> codes = domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeScheme.getCodeRegistry().getCodeValue(), codeScheme.getCodeValue());
+            stage.tag("export.count", codes != null ? codes.size() : 0);
+            codeExporter.addCodeSheet(workbook, codeSheetName, codes);
+        }
         final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
         final String extensionSheetName = createExtensionsSheetName(codeScheme);
         if (extensions != null && !extensions.isEmpty()) {
             extensionExporter.addExtensionSheet(workbook, extensionSheetName, extensions);
             int i = 0;
             for (final ExtensionDTO extension : extensions) {
-                final String memberSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + codeScheme.getCodeValue() + "_" + extension.getCodeValue(), ++i);
-                memberExporter.addMembersSheet(extension, workbook, memberSheetName, domain.getMembers(extension, null));
+                try (final ExportStage stage = ExportStage.start(tracer, "export-members-sheet").tag("extension.uri", extension.getUri())) {
+                    final String memberSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + codeScheme.getCodeValue() + "_" + extension.getCodeValue(), ++i);
+                    final Set<MemberDTO> members = domain.getMembers(extension, null);
+                    stage.tag("export.count", members != null ? members.size() : 0);
+                    memberExporter.addMembersSheet(extension, workbook, memberSheetName, members);
+                }
             }
         } else {
             extensionExporter.addExtensionSheet(workbook, extensionSheetName, new HashSet<>());
@@ -129,6 +157,13 @@ public class CodeSchemeExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<CodeSchemeDTO> codeSchemes,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-codeschemes-excel").tag("export.count", codeSchemes.size())) {
+            return buildExcel(codeSchemes, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<CodeSchemeDTO> codeSchemes,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addCodeSchemeSheet(workbook, codeSchemes);
         return workbook;
@@ -136,11 +171,12 @@ public class CodeSchemeExporter extends BaseExporter {
 
     private void addCodeSchemeSheet(final Workbook workbook,
                                     final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> prefLabelLanguages = resolveCodeSchemePrefLabelLanguages(codeSchemes);
-        final Set<String> feedbackChannelLanguages = resolveCodeSchemeFeedbackChannelLanguages(codeSchemes);
-        final Set<String> definitionLanguages = resolveCodeSchemeDefinitionLanguages(codeSchemes);
-        final Set<String> descriptionLanguages = resolveCodeSchemeDescriptionLanguages(codeSchemes);
-        final Set<String> changeNoteLanguages = resolveCodeSchemeChangeNoteLanguages(codeSchemes);
+        final ColumnPlan<CodeSchemeDTO> columnPlan = createColumnPlan(codeSchemes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
+        final Set<String> changeNoteLanguages = columnPlan.getLanguages(CONTENT_HEADER_CHANGENOTE_PREFIX);
+        final Set<String> feedbackChannelLanguages = columnPlan.getLanguages(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX);
         final Sheet sheet = workbook.createSheet(EXCEL_SHEET_CODESCHEMES);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -156,24 +192,24 @@ public class CodeSchemeExporter extends BaseExporter {
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_GOVERNANCEPOLICY);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CONCEPTURI);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DEFAULTCODE);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : definitionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : descriptionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : changeNoteLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CHANGENOTE_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_CHANGENOTE_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_STARTDATE);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_ENDDATE);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CREATED);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_MODIFIED);
-        for (final String language : feedbackChannelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_HREF);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CODESSHEET);
@@ -221,87 +257,44 @@ public class CodeSchemeExporter extends BaseExporter {
         }
     }
 
-    private Set<String> resolveCodeSchemePrefLabelLanguages(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeSchemeDTO codeScheme : codeSchemes) {
-            final Map<String, String> prefLabel = codeScheme.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeSchemeFeedbackChannelLanguages(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeSchemeDTO codeScheme : codeSchemes) {
-            final Map<String, String> feedbackChannel = codeScheme.getFeedbackChannel();
-            if (feedbackChannel != null && !feedbackChannel.isEmpty()) {
-                languages.addAll(feedbackChannel.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeSchemeDefinitionLanguages(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeSchemeDTO codeScheme : codeSchemes) {
-            final Map<String, String> definition = codeScheme.getDefinition();
-            if (definition != null && !definition.isEmpty()) {
-                languages.addAll(definition.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeSchemeDescriptionLanguages(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeSchemeDTO codeScheme : codeSchemes) {
-            final Map<String, String> description = codeScheme.getDescription();
-            if (description != null && !description.isEmpty()) {
-                languages.addAll(description.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveCodeSchemeChangeNoteLanguages(final Set<CodeSchemeDTO> codeSchemes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final CodeSchemeDTO codeScheme : codeSchemes) {
-            final Map<String, String> changeNote = codeScheme.getChangeNote();
-            if (changeNote != null && !changeNote.isEmpty()) {
-                languages.addAll(changeNote.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<CodeSchemeDTO> createColumnPlan(final Set<CodeSchemeDTO> codeSchemes) {
+        return new ColumnPlan<CodeSchemeDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, CodeSchemeDTO::getPrefLabel)
+            .withLanguageColumns(CONTENT_HEADER_DEFINITION_PREFIX, CodeSchemeDTO::getDefinition)
+            .withLanguageColumns(CONTENT_HEADER_DESCRIPTION_PREFIX, CodeSchemeDTO::getDescription)
+            .withLanguageColumns(CONTENT_HEADER_CHANGENOTE_PREFIX, CodeSchemeDTO::getChangeNote)
+            .withLanguageColumns(CONTENT_HEADER_FEEDBACK_CHANNEL_PREFIX, CodeSchemeDTO::getFeedbackChannel)
+            .acceptAll(codeSchemes);
     }
 
     private String formatOrganizationsToString(final Set<OrganizationDTO> organizations) {
-        final StringBuilder csvOrganizations = new StringBuilder();
-        if (organizations != null && !organizations.isEmpty()) {
-            int i = 0;
-            for (final OrganizationDTO organization : organizations) {
-                i++;
-                csvOrganizations.append(organization.getId());
-                if (i < organizations.size()) {
-                    csvOrganizations.append(";");
-                }
+        if (organizations == null || organizations.isEmpty()) {
+            return "";
+        }
+        final StringBuilder csvOrganizations = scratchBuilder();
+        boolean first = true;
+        for (final OrganizationDTO organization : organizations) {
+            if (!first) {
+                csvOrganizations.append(';');
             }
+            first = false;
+            csvOrganizations.append(organization.getId());
         }
         return csvOrganizations.toString();
     }
 
     private String formatCodesToString(final Set<CodeDTO> codes) {
-        final StringBuilder csvCodes = new StringBuilder();
-        if (codes != null && !codes.isEmpty()) {
-            int i = 0;
-            for (final CodeDTO code : codes) {
-                i++;
-                csvCodes.append(code.getCodeValue().trim());
-                if (i < codes.size()) {
-                    csvCodes.append(";");
-                }
+        if (codes == null || codes.isEmpty()) {
+            return "";
+        }
+        final StringBuilder csvCodes = scratchBuilder();
+        boolean first = true;
+        for (final CodeDTO code : codes) {
+            if (!first) {
+                csvCodes.append(';');
             }
+            first = false;
+            csvCodes.append(code.getCodeValue().trim());
         }
         return csvCodes.toString();
     }
@@ -0,0 +1,60 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+final class ColumnPlan<T> {
+
+    private final Map<String, Function<T, Map<String, String>>> extractors = new LinkedHashMap<>();
+    private final Map<String, Set<String>> languagesByColumn = new LinkedHashMap<>();
+
+    ColumnPlan<T> withLanguageColumns(final String headerPrefix,
+                                      final Function<T, Map<String, String>> extractor) {
+        extractors.put(headerPrefix, extractor);
+        languagesByColumn.put(headerPrefix, new LinkedHashSet<>());
+        return this;
+    }
+
+    ColumnPlan<T> accept(final T item) {
+        if (item == null) {
+            return this;
+        }
+        for (final Map.Entry<String, Function<T, Map<String, String>>> entry : extractors.entrySet()) {
+            final Map<String, String> localizedValues = entry.getValue().apply(item);
+            if (localizedValues != null && !localizedValues.isEmpty()) {
+                languagesByColumn.get(entry.getKey()).addAll(localizedValues.keySet());
+            }
+        }
+        return this;
+    }
+
+    ColumnPlan<T> acceptAll(final Collection<? extends T> items) {
+        if (items != null) {
+            for (final T item : items) {
+                accept(item);
+            }
+        }
+        return this;
+    }
+
+    Set<String> getLanguages(final String headerPrefix) {
+        final Set<String> languages = languagesByColumn.get(headerPrefix);
+        return languages != null ? Collections.unmodifiableSet(languages) : Collections.emptySet();
+    }
+
+    List<String> getHeaders(final String headerPrefix) {
+        final Set<String> languages = getLanguages(headerPrefix);
+        final List<String> headers = new ArrayList<>(languages.size());
+        for (final String language : languages) {
+            headers.add(headerPrefix + language.toUpperCase());
+        }
+        return headers;
+    }
+}
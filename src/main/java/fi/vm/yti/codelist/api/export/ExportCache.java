@@ -0,0 +1,266 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.Lock;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.google.common.hash.Hashing;
+import com.google.common.util.concurrent.Striped;
+
+import fi.vm.yti.codelist.api.configuration.ExportCacheProperties;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+@Singleton
+@Service
+public class ExportCache {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportCache.class);
+    private static final String CACHE_FILE_PREFIX = "export-cache-";
+    private static final String CACHE_FILE_SUFFIX = ".export";
+    private static final String PARTIAL_FILE_SUFFIX = ".part";
+
+    private final ExportCacheProperties properties;
+    private final Path directory;
+    private final long maxSizeBytes;
+    private final Striped<Lock> keyLocks = Striped.lazyWeakLock(64);
+    private final LinkedHashMap<String, Long> entries = new LinkedHashMap<>(64, 0.75f, true);
+    private final Map<String, Integer> pins = new HashMap<>();
+    private long totalBytes;
+
+    @Inject
+    public ExportCache(final ExportCacheProperties properties) {
+        this.properties = properties;
+        this.maxSizeBytes = properties.getMaxSizeMegabytes() * 1024 * 1024;
+        this.directory = properties.isEnabled() ? initializeDirectory(properties.getDirectory()) : null;
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String createKey(final CodeSchemeDTO codeScheme,
+                            final String format,
+                            final String options) {
+        final StringBuilder key = new StringBuilder();
+        key.append(codeScheme.getId());
+        key.append('|').append(format != null ? format.toLowerCase(Locale.ROOT) : "");
+        key.append('|').append(options != null ? options : "");
+        key.append('|').append(resolveVersion(codeScheme));
+        return Hashing.sha256().hashString(key, StandardCharsets.UTF_8).toString();
+    }
+
+    /**
+     * Returns the cached export for the key, generating it first when needed. The returned entry is pinned so
+     * that eviction leaves its file in place until {@link CachedFile#release()} is called after streaming.
+     */
+    public CachedFile getOrCreate(final String key,
+                                  final ExportArtifactWriter writer) {
+        final Lock lock = keyLocks.get(key);
+        lock.lock();
+        try {
+            final Path file = resolveFile(key);
+            final CachedFile cachedFile = pinIfCached(key, file);
+            if (cachedFile != null) {
+                return cachedFile;
+            }
+            final Path partialFile = directory.resolve(CACHE_FILE_PREFIX + key + "." + UUID.randomUUID() + PARTIAL_FILE_SUFFIX);
+            try {
+                try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(partialFile))) {
+                    writer.write(output);
+                }
+                Files.move(partialFile, file, StandardCopyOption.REPLACE_EXISTING);
+            } finally {
+                Files.deleteIfExists(partialFile);
+            }
+            return register(key, file, Files.size(file));
+        } catch (final IOException e) {
+            LOG.error(String.format("Export cache entry generation failed for key: %s", key), e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "Export generation failed!"));
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private synchronized CachedFile pinIfCached(final String key,
+                                                final Path file) {
+        final Long size = entries.get(key);
+        if (size == null) {
+            return null;
+        }
+        if (!Files.isRegularFile(file)) {
+            entries.remove(key);
+            totalBytes -= size;
+            return null;
+        }
+        return pin(key, file, size);
+    }
+
+    private synchronized CachedFile register(final String key,
+                                             final Path file,
+                                             final long size) {
+        final Long previousSize = entries.put(key, size);
+        if (previousSize != null) {
+            totalBytes -= previousSize;
+        }
+        totalBytes += size;
+        final CachedFile cachedFile = pin(key, file, size);
+        evict();
+        return cachedFile;
+    }
+
+    private CachedFile pin(final String key,
+                           final Path file,
+                           final long size) {
+        pins.merge(key, 1, Integer::sum);
+        return new CachedFile(key, file, size);
+    }
+
+    private synchronized void release(final String key) {
+        if (pins.computeIfPresent(key, (pinnedKey, count) -> count > 1 ? count - 1 : null) == null) {
+            evict();
+        }
+    }
+
+    synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    private void evict() {
+        final Iterator<Map.Entry<String, Long>> iterator = entries.entrySet().iterator();
+        while (totalBytes > maxSizeBytes && iterator.hasNext()) {
+            final Map.Entry<String, Long> entry = iterator.next();
+            if (pins.containsKey(entry.getKey())) {
+                continue;
+            }
+            iterator.remove();
+            totalBytes -= entry.getValue();
+            deleteQuietly(resolveFile(entry.getKey()));
+            LOG.debug(String.format("Evicted export cache entry: %s", entry.getKey()));
+        }
+    }
+
+    private Path initializeDirectory(final String configuredDirectory) {
+        final Path cacheDirectory = configuredDirectory != null && !configuredDirectory.isEmpty() ? Paths.get(configuredDirectory) : Paths.get(System.getProperty("java.io.tmpdir"), "yti-codelist-export-cache");
+        try {
+            Files.createDirectories(cacheDirectory);
+            final List<Path> cachedFiles = new ArrayList<>();
+            // Only files carrying the cache prefix are ours, anything else in a configured directory is left alone.
+            try (final DirectoryStream<Path> files = Files.newDirectoryStream(cacheDirectory, CACHE_FILE_PREFIX + "*")) {
+                for (final Path file : files) {
+                    if (file.getFileName().toString().endsWith(CACHE_FILE_SUFFIX)) {
+                        cachedFiles.add(file);
+                    } else {
+                        deleteQuietly(file);
+                    }
+                }
+            }
+            cachedFiles.sort(Comparator.comparingLong(this::getLastModifiedTime));
+            synchronized (this) {
+                for (final Path file : cachedFiles) {
+                    final String fileName = file.getFileName().toString();
+                    final long size = Files.readAttributes(file, BasicFileAttributes.class).size();
+                    entries.put(fileName.substring(CACHE_FILE_PREFIX.length(), fileName.length() - CACHE_FILE_SUFFIX.length()), size);
+                    totalBytes += size;
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Export cache directory is not usable: " + cacheDirectory, e);
+        }
+        LOG.info(String.format("Export cache in %s holds %d files, %d bytes.", cacheDirectory, entries.size(), totalBytes));
+        return cacheDirectory;
+    }
+
+    private Path resolveFile(final String key) {
+        return directory.resolve(CACHE_FILE_PREFIX + key + CACHE_FILE_SUFFIX);
+    }
+
+    private long getLastModifiedTime(final Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (final IOException e) {
+            return 0L;
+        }
+    }
+
+    private long resolveVersion(final CodeSchemeDTO codeScheme) {
+        final Date contentModified = codeScheme.getContentModified();
+        if (contentModified != null) {
+            return contentModified.getTime();
+        }
+        final Date modified = codeScheme.getModified();
+        return modified != null ? modified.getTime() : 0L;
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn(String.format("Failed to delete export cache file: %s", file), e);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ExportArtifactWriter {
+
+        void write(final OutputStream output) throws IOException;
+    }
+
+    public final class CachedFile {
+
+        private final String key;
+        private final Path file;
+        private final long size;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        private CachedFile(final String key,
+                           final Path file,
+                           final long size) {
+            this.key = key;
+            this.file = file;
+            this.size = size;
+        }
+
+        public Path getFile() {
+            return file;
+        }
+
+        public long getSize() {
+            return size;
+        }
+
+        public void release() {
+            if (released.compareAndSet(false, true)) {
+                ExportCache.this.release(key);
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.nio.file.Path;
+import java.util.Date;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+public final class ExportJob {
+
+    public enum State {
+        QUEUED,
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+
+    private final UUID id;
+    private final String format;
+    private final String filename;
+    private final String contentType;
+    private final Path file;
+    private final Date created;
+    private final AtomicInteger sheetsDone = new AtomicInteger();
+    private final AtomicLong rowsWritten = new AtomicLong();
+    private volatile State state = State.QUEUED;
+    private volatile Date started;
+    private volatile Date finished;
+    private volatile long size;
+    private volatile String errorMessage;
+
+    ExportJob(final UUID id,
+              final String format,
+              final String filename,
+              final String contentType,
+              final Path file) {
+        this.id = id;
+        this.format = format;
+        this.filename = filename;
+        this.contentType = contentType;
+        this.file = file;
+        this.created = new Date();
+    }
+
+    public UUID getId() {
+        return id;
+    }
+
+    public String getFormat() {
+        return format;
+    }
+
+    public String getFilename() {
+        return filename;
+    }
+
+    public String getContentType() {
+        return contentType;
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public Date getCreated() {
+        return created;
+    }
+
+    public Date getStarted() {
+        return started;
+    }
+
+    public Date getFinished() {
+        return finished;
+    }
+
+    public State getState() {
+        return state;
+    }
+
+    public int getSheetsDone() {
+        return sheetsDone.get();
+    }
+
+    public long getRowsWritten() {
+        return rowsWritten.get();
+    }
+
+    public long getSize() {
+        return size;
+    }
+
+    public String getErrorMessage() {
+        return errorMessage;
+    }
+
+    public boolean isCompleted() {
+        return state == State.COMPLETED;
+    }
+
+    public boolean isDone() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void markRunning() {
+        started = new Date();
+        state = State.RUNNING;
+    }
+
+    void addSheet(final long rows) {
+        sheetsDone.incrementAndGet();
+        rowsWritten.addAndGet(rows);
+    }
+
+    void addRows(final long rows) {
+        rowsWritten.addAndGet(rows);
+    }
+
+    void markCompleted(final long size) {
+        this.size = size;
+        finished = new Date();
+        state = State.COMPLETED;
+    }
+
+    void markFailed(final String errorMessage) {
+        this.errorMessage = errorMessage;
+        finished = new Date();
+        state = State.FAILED;
+    }
+}
@@ -0,0 +1,305 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+import org.apache.poi.ss.usermodel.Sheet;
+import org.apache.poi.ss.usermodel.Workbook;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cloud.sleuth.CurrentTraceContext;
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
+import fi.vm.yti.codelist.api.configuration.ExportJobProperties;
+import fi.vm.yti.codelist.api.domain.MemberGraph;
+import fi.vm.yti.codelist.api.domain.MemberGraphService;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+
+@Singleton
+@Service
+public class ExportJobService {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ExportJobService.class);
+    private static final String CONTENT_TYPE_CSV = "text/csv";
+    private static final String CONTENT_TYPE_EXCEL = "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet";
+    private static final String DOWNLOAD_FILENAME_MEMBERS = "members";
+    private static final String DOWNLOAD_FILENAME_CROSS_REFERENCE_LIST = "crossreferencelist";
+    private static final String PARTIAL_FILE_SUFFIX = ".part";
+    private static final String SPOOL_FILE_PREFIX = "export-job-";
+
+    private final CodeSchemeExporter codeSchemeExporter;
+    private final ExtensionExporter extensionExporter;
+    private final MemberExporter memberExporter;
+    private final MemberGraphService memberGraphService;
+    private final ExportJobProperties properties;
+    private final Tracer tracer;
+    private final CurrentTraceContext currentTraceContext;
+    private final Path spoolDirectory;
+    private final ThreadPoolExecutor executor;
+    private final ScheduledExecutorService cleaner;
+    private final Map<UUID, ExportJob> jobs = new ConcurrentHashMap<>();
+
+    @Inject
+    public ExportJobService(final CodeSchemeExporter codeSchemeExporter,
+                            final ExtensionExporter extensionExporter,
+                            final MemberExporter memberExporter,
+                            final MemberGraphService memberGraphService,
+                            final ExportJobProperties properties,
+                            final Tracer tracer,
+                            final CurrentTraceContext currentTraceContext) {
+        this.codeSchemeExporter = codeSchemeExporter;
+        this.extensionExporter = extensionExporter;
+        this.memberExporter = memberExporter;
+        this.memberGraphService = memberGraphService;
+        this.properties = properties;
+        this.tracer = tracer;
+        this.currentTraceContext = currentTraceContext;
+        this.spoolDirectory = resolveSpoolDirectory(properties.getSpoolDirectory());
+        this.executor = new ThreadPoolExecutor(properties.getWorkerThreads(), properties.getWorkerThreads(), 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+            new ThreadFactoryBuilder().setNameFormat("export-job-%d").setDaemon(true).build());
+        this.cleaner = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder().setNameFormat("export-job-cleaner").setDaemon(true).build());
+        this.cleaner.scheduleWithFixedDelay(this::removeExpiredJobs, properties.getCleanupIntervalMinutes(), properties.getCleanupIntervalMinutes(), TimeUnit.MINUTES);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        cleaner.shutdownNow();
+        executor.shutdownNow();
+    }
+
+    public ExportJob startCodeSchemeExport(final CodeSchemeDTO codeScheme,
+                                           final String format) {
+        final String filename = "codelist_" + codeScheme.getCodeValue();
+        if (isExcelFormat(format)) {
+            return submit(filename, format, (job, output) -> writeWorkbook(job, codeSchemeExporter.createExcel(codeScheme, format), output));
+        } else {
+            return submit(filename, FORMAT_CSV, (job, output) -> writeCsv(job, codeSchemeExporter.createCsv(codeScheme), output));
+        }
+    }
+
+    public ExportJob startMembersExport(final ExtensionDTO extension,
+                                        final String format,
+                                        final boolean exportAsSimplifiedCrossReferenceList) {
+        final String filename = exportAsSimplifiedCrossReferenceList ? DOWNLOAD_FILENAME_CROSS_REFERENCE_LIST : DOWNLOAD_FILENAME_MEMBERS;
+        if (isExcelFormat(format)) {
+            return submit(filename, format, (job, output) -> writeWorkbook(job, extensionExporter.createExcel(extension, format, exportAsSimplifiedCrossReferenceList), output));
+        } else {
+            return submit(filename, FORMAT_CSV, (job, output) -> {
+                final MemberGraph memberGraph = memberGraphService.getMemberGraph(extension);
+                if (exportAsSimplifiedCrossReferenceList) {
+                    streamCsv(job, rows -> memberExporter.writeSimplifiedCsvForCrossReferenceList(extension, memberGraph, rows), output);
+                } else {
+                    streamCsv(job, rows -> memberExporter.writeCsv(extension, memberGraph.getMembers(), rows), output);
+                }
+            });
+        }
+    }
+
+    public ExportJob getJob(final UUID jobId) {
+        final ExportJob job = jobs.get(jobId);
+        if (job != null && isExpired(job, System.currentTimeMillis())) {
+            removeJob(job);
+            return null;
+        }
+        return job;
+    }
+
+    public boolean isExcelFormat(final String format) {
+        return FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format);
+    }
+
+    private ExportJob submit(final String filename,
+                             final String format,
+                             final ExportWriter writer) {
+        if (jobs.size() >= properties.getMaxJobs()) {
+            removeExpiredJobs();
+            if (jobs.size() >= properties.getMaxJobs()) {
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Too many export jobs, try again later."));
+            }
+        }
+        final UUID jobId = UUID.randomUUID();
+        final String extension = resolveFileExtension(format);
+        final ExportJob job = new ExportJob(jobId, format, filename + "." + extension, isExcelFormat(format) ? CONTENT_TYPE_EXCEL : CONTENT_TYPE_CSV, spoolDirectory.resolve(SPOOL_FILE_PREFIX + jobId + "." + extension));
+        jobs.put(jobId, job);
+        try {
+            executor.execute(currentTraceContext.wrap(() -> run(job, writer)));
+        } catch (final RejectedExecutionException e) {
+            jobs.remove(jobId);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Export queue is full, try again later."));
+        }
+        return job;
+    }
+
+    private void run(final ExportJob job,
+                     final ExportWriter writer) {
+        job.markRunning();
+        final Path partialFile = job.getFile().resolveSibling(job.getFile().getFileName() + PARTIAL_FILE_SUFFIX);
+        final Span span = tracer.nextSpan().name("export-job").tag("export.job.id", job.getId().toString()).tag("export.format", job.getFormat()).start();
+        try (final Tracer.SpanInScope ignored = tracer.withSpan(span)) {
+            try (final OutputStream output = new BufferedOutputStream(Files.newOutputStream(partialFile))) {
+                writer.write(job, output);
+            }
+            Files.move(partialFile, job.getFile(), StandardCopyOption.REPLACE_EXISTING);
+            job.markCompleted(Files.size(job.getFile()));
+            span.tag("export.sheets", String.valueOf(job.getSheetsDone()));
+            span.tag("export.rows", String.valueOf(job.getRowsWritten()));
+            LOG.info(String.format("Export job %s completed: %d sheets, %d rows, %d bytes.", job.getId(), job.getSheetsDone(), job.getRowsWritten(), job.getSize()));
+        } catch (final Exception e) {
+            LOG.error(String.format("Export job %s failed.", job.getId()), e);
+            span.error(e);
+            deleteQuietly(partialFile);
+            job.markFailed("Export generation failed!");
+        } finally {
+            span.end();
+        }
+    }
+
+    private void writeWorkbook(final ExportJob job,
+                               final Workbook workbook,
+                               final OutputStream output) throws IOException {
+        try (final Workbook closeableWorkbook = workbook) {
+            for (final Sheet sheet : closeableWorkbook) {
+                job.addSheet(sheet.getPhysicalNumberOfRows());
+            }
+            closeableWorkbook.write(output);
+        }
+    }
+
+    private void writeCsv(final ExportJob job,
+                          final String csv,
+                          final OutputStream output) throws IOException {
+        long rows = 0;
+        for (int i = 0; i < csv.length(); i++) {
+            if (csv.charAt(i) == '\n') {
+                rows++;
+            }
+        }
+        job.addSheet(rows);
+        output.write(csv.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void streamCsv(final ExportJob job,
+                           final CsvRowProducer producer,
+                           final OutputStream output) throws IOException {
+        final Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        job.addSheet(0);
+        try {
+            producer.produce(row -> {
+                try {
+                    writer.append(row);
+                } catch (final IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                job.addRows(1);
+            });
+        } catch (final UncheckedIOException e) {
+            throw e.getCause();
+        }
+        writer.flush();
+    }
+
+    void removeExpiredJobs() {
+        final long now = System.currentTimeMillis();
+        final Iterator<ExportJob> iterator = jobs.values().iterator();
+        while (iterator.hasNext()) {
+            final ExportJob job = iterator.next();
+            if (isExpired(job, now)) {
+                iterator.remove();
+                deleteQuietly(job.getFile());
+                LOG.debug(String.format("Removed expired export job %s.", job.getId()));
+            }
+        }
+    }
+
+    private void removeJob(final ExportJob job) {
+        jobs.remove(job.getId());
+        deleteQuietly(job.getFile());
+    }
+
+    private boolean isExpired(final ExportJob job,
+                              final long now) {
+        return job.isDone() && job.getFinished() != null && job.getFinished().getTime() + TimeUnit.MINUTES.toMillis(properties.getTtlMinutes()) < now;
+    }
+
+    private String resolveFileExtension(final String format) {
+        if (FORMAT_EXCEL_XLS.equalsIgnoreCase(format)) {
+            return FORMAT_EXCEL_XLS;
+        } else if (isExcelFormat(format)) {
+            return FORMAT_EXCEL_XLSX;
+        }
+        return FORMAT_CSV;
+    }
+
+    private Path resolveSpoolDirectory(final String configuredDirectory) {
+        final Path directory = configuredDirectory != null && !configuredDirectory.isEmpty() ? Paths.get(configuredDirectory) : Paths.get(System.getProperty("java.io.tmpdir"), "yti-codelist-exports");
+        try {
+            Files.createDirectories(directory);
+            // The directory may be shared, so only files named by this service are treated as leftovers of a previous run.
+            try (final DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, SPOOL_FILE_PREFIX + "*")) {
+                for (final Path leftover : leftovers) {
+                    deleteQuietly(leftover);
+                }
+            }
+        } catch (final IOException e) {
+            throw new IllegalStateException("Export spool directory is not usable: " + directory, e);
+        }
+        LOG.info(String.format("Export jobs are spooled to: %s", directory));
+        return directory;
+    }
+
+    private void deleteQuietly(final Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (final IOException e) {
+            LOG.warn(String.format("Failed to delete export file: %s", file), e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface ExportWriter {
+
+        void write(final ExportJob job,
+                   final OutputStream output) throws IOException;
+    }
+
+    @FunctionalInterface
+    private interface CsvRowProducer {
+
+        void produce(final Consumer<CharSequence> rows);
+    }
+}
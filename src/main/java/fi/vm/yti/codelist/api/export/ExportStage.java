@@ -0,0 +1,48 @@
+package fi.vm.yti.codelist.api.export;
+
+import org.springframework.cloud.sleuth.Span;
+import org.springframework.cloud.sleuth.Tracer;
+
+import fi.vm.yti.codelist.api.timing.RequestTimings;
+
+final class ExportStage implements AutoCloseable {
+
+    private final Span span;
+    private final Tracer.SpanInScope scope;
+    private final RequestTimings.Split split;
+
+    private ExportStage(final Span span,
+                        final Tracer.SpanInScope scope,
+                        final RequestTimings.Split split) {
+        this.span = span;
+        this.scope = scope;
+        this.split = split;
+    }
+
+    static ExportStage start(final Tracer tracer,
+                             final String name) {
+        final Span span = tracer.nextSpan().name(name).start();
+        return new ExportStage(span, tracer.withSpan(span), RequestTimings.start(RequestTimings.Phase.EXPORT));
+    }
+
+    ExportStage tag(final String key,
+                    final String value) {
+        if (value != null) {
+            span.tag(key, value);
+        }
+        return this;
+    }
+
+    ExportStage tag(final String key,
+                    final long value) {
+        span.tag(key, String.valueOf(value));
+        return this;
+    }
+
+    @Override
+    public void close() {
+        split.close();
+        scope.close();
+        span.end();
+    }
+}
@@ -1,16 +1,16 @@
 package fi.vm.yti.codelist.api.export;
 
 import java.util.HashSet;
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
-import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.MemberGraph;
+import fi.vm.yti.codelist.api.domain.MemberGraphService;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.ExtensionDTO;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
@@ -20,24 +20,34 @@ public class ExtensionExporter extends BaseExporter {
 
     private static final String LOCALNAME_CROSS_REFERENCE_LIST = "crossReferenceList";
 
-    private final Domain domain;
     private final MemberExporter memberExporter;
+    private final MemberGraphService memberGraphService;
+    private final Tracer tracer;
 
-    public ExtensionExporter(final Domain domain,
-                             final MemberExporter memberExporter) {
-        this.domain = domain;
+    public ExtensionExporter(final MemberExporter memberExporter,
+                             final MemberGraphService memberGraphService,
+                             final Tracer tracer) {
         this.memberExporter = memberExporter;
+        this.memberGraphService = memberGraphService;
+        this.tracer = tracer;
     }
 
     public String createCsv(final Set<ExtensionDTO> extensions) {
-        final Set<String> prefLabelLanguages = resolveExtensionPrefLabelLanguages(extensions);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-extensions-csv").tag("export.count", extensions.size())) {
+            return buildCsv(extensions);
+        }
+    }
+
+    private String buildCsv(final Set<ExtensionDTO> extensions) {
+        final ColumnPlan<ExtensionDTO> columnPlan = createColumnPlan(extensions);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_CODEVALUE);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_STATUS);
         appendValue(csv, CONTENT_HEADER_PROPERTYTYPE);
         appendValue(csv, CONTENT_HEADER_CODESCHEMES);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_STARTDATE);
         appendValue(csv, CONTENT_HEADER_ENDDATE);
         appendValue(csv, CONTENT_HEADER_CREATED);
@@ -49,16 +59,23 @@ public class ExtensionExporter extends BaseExporter {
             appendValue(csv, extension.getPropertyType().getLocalName());
             appendValue(csv, getCodeSchemeUris(extension.getCodeSchemes()));
             prefLabelLanguages.forEach(language -> appendValue(csv, getExtensionPrefLabel(extension, language)));
-            appendValue(csv, extension.getStartDate() != null ? formatDateWithISO8601(extension.getStartDate()) : "");
-            appendValue(csv, extension.getEndDate() != null ? formatDateWithISO8601(extension.getEndDate()) : "");
-            appendValue(csv, extension.getCreated() != null ? formatDateWithSeconds(extension.getCreated()) : "");
-            appendValue(csv, extension.getModified() != null ? formatDateWithSeconds(extension.getModified()) : "");
+            appendDateWithISO8601(csv, extension.getStartDate());
+            appendDateWithISO8601(csv, extension.getEndDate());
+            appendDateWithSeconds(csv, extension.getCreated());
+            appendDateWithSeconds(csv, extension.getModified());
         }
         return csv.toString();
     }
 
     public Workbook createExcel(final Set<ExtensionDTO> extensions,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-extensions-excel").tag("export.count", extensions.size())) {
+            return buildExcel(extensions, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<ExtensionDTO> extensions,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addExtensionSheet(workbook, EXCEL_SHEET_EXTENSIONS, extensions);
         return workbook;
@@ -67,6 +84,14 @@ public class ExtensionExporter extends BaseExporter {
     public Workbook createExcel(final ExtensionDTO extension,
                                 final String format,
                                 final boolean exportAsSimplifiedCrossReferenceList) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-extension-excel").tag("extension.uri", extension.getUri())) {
+            return buildExcel(extension, format, exportAsSimplifiedCrossReferenceList);
+        }
+    }
+
+    private Workbook buildExcel(final ExtensionDTO extension,
+                                final String format,
+                                final boolean exportAsSimplifiedCrossReferenceList) {
         final Workbook workbook = createWorkBook(format);
         final Set<ExtensionDTO> extensions = new HashSet<>();
         extensions.add(extension);
@@ -74,12 +99,13 @@ public class ExtensionExporter extends BaseExporter {
             addExtensionSheet(workbook, EXCEL_SHEET_EXTENSIONS, extensions);
         }
         final String extensionSheetName = truncateSheetNameWithIndex(EXCEL_SHEET_MEMBERS + "_" + extension.getParentCodeScheme().getCodeValue() + "_" + extension.getCodeValue(), 1);
+        final MemberGraph memberGraph = memberGraphService.getMemberGraph(extension);
         if (exportAsSimplifiedCrossReferenceList) {
-            memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, domain.getMembers(extension, null));
+            memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, memberGraph);
         } else {
-            memberExporter.addMembersSheet(extension, workbook, extensionSheetName, domain.getMembers(extension, null));
+            memberExporter.addMembersSheet(extension, workbook, extensionSheetName, memberGraph.getMembers());
             if (LOCALNAME_CROSS_REFERENCE_LIST.equalsIgnoreCase(extension.getPropertyType().getLocalName())) { //Cross-Reference List containing sheet will always be included as well in the normal Excel
-                memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, domain.getMembers(extension, null));
+                memberExporter.addMembersSheetWithCrossRerefences(extension, workbook, memberGraph);
             }
         }
         return workbook;
@@ -88,7 +114,8 @@ public class ExtensionExporter extends BaseExporter {
     public void addExtensionSheet(final Workbook workbook,
                                   final String sheetName,
                                   final Set<ExtensionDTO> extensions) {
-        final Set<String> prefLabelLanguages = resolveExtensionPrefLabelLanguages(extensions);
+        final ColumnPlan<ExtensionDTO> columnPlan = createColumnPlan(extensions);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
         final Sheet sheet = workbook.createSheet(sheetName);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -97,8 +124,8 @@ public class ExtensionExporter extends BaseExporter {
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_STATUS);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PROPERTYTYPE);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CODESCHEMES);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_STARTDATE);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_ENDDATE);
@@ -126,28 +153,24 @@ public class ExtensionExporter extends BaseExporter {
     }
 
     private String getCodeSchemeUris(final Set<CodeSchemeDTO> codeSchemes) {
-        final StringBuilder codeSchemeUris = new StringBuilder();
-        int i = 0;
-        if (codeSchemes != null) {
-            for (final CodeSchemeDTO codeScheme : codeSchemes) {
-                i++;
-                codeSchemeUris.append(codeScheme.getUri().trim());
-                if (i < codeSchemes.size()) {
-                    codeSchemeUris.append(";");
-                }
+        if (codeSchemes == null || codeSchemes.isEmpty()) {
+            return "";
+        }
+        final StringBuilder codeSchemeUris = scratchBuilder();
+        boolean first = true;
+        for (final CodeSchemeDTO codeScheme : codeSchemes) {
+            if (!first) {
+                codeSchemeUris.append(';');
             }
+            first = false;
+            codeSchemeUris.append(codeScheme.getUri().trim());
         }
         return codeSchemeUris.toString();
     }
 
-    private Set<String> resolveExtensionPrefLabelLanguages(final Set<ExtensionDTO> extensions) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final ExtensionDTO extension : extensions) {
-            final Map<String, String> prefLabel = extension.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<ExtensionDTO> createColumnPlan(final Set<ExtensionDTO> extensions) {
+        return new ColumnPlan<ExtensionDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, ExtensionDTO::getPrefLabel)
+            .acceptAll(extensions);
     }
 }
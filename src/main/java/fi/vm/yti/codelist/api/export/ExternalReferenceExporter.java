@@ -1,12 +1,11 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.ExternalReferenceDTO;
@@ -15,9 +14,22 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ExternalReferenceExporter extends BaseExporter {
 
+    private final Tracer tracer;
+
+    public ExternalReferenceExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final Set<ExternalReferenceDTO> externalReferences) {
-        final Set<String> titleLanguages = resolveExternalReferenceTitleLanguages(externalReferences);
-        final Set<String> descriptionLanguages = resolveExternalReferenceDescriptionLanguages(externalReferences);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-externalreferences-csv").tag("export.count", externalReferences.size())) {
+            return buildCsv(externalReferences);
+        }
+    }
+
+    private String buildCsv(final Set<ExternalReferenceDTO> externalReferences) {
+        final ColumnPlan<ExternalReferenceDTO> columnPlan = createColumnPlan(externalReferences);
+        final Set<String> titleLanguages = columnPlan.getLanguages(CONTENT_HEADER_TITLE_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_HREF);
         appendValue(csv, CONTENT_HEADER_ID);
@@ -33,8 +45,8 @@ public class ExternalReferenceExporter extends BaseExporter {
             appendValue(csv, externalReference.getPropertyType().getLocalName());
             titleLanguages.forEach(language -> appendValue(csv, getExternalReferenceTitle(externalReference, language)));
             descriptionLanguages.forEach(language -> appendValue(csv, getExternalReferenceDescription(externalReference, language)));
-            appendValue(csv, externalReference.getCreated() != null ? formatDateWithSeconds(externalReference.getCreated()) : "");
-            appendValue(csv, externalReference.getModified() != null ? formatDateWithSeconds(externalReference.getModified()) : "", true);
+            appendDateWithSeconds(csv, externalReference.getCreated());
+            appendDateWithSeconds(csv, externalReference.getModified(), true);
             csv.append("\n");
         }
         return csv.toString();
@@ -42,6 +54,13 @@ public class ExternalReferenceExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<ExternalReferenceDTO> externalReferences,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-externalreferences-excel").tag("export.count", externalReferences.size())) {
+            return buildExcel(externalReferences, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<ExternalReferenceDTO> externalReferences,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addExternalReferencesSheet(workbook, EXCEL_SHEET_LINKS, externalReferences);
         return workbook;
@@ -50,19 +69,20 @@ public class ExternalReferenceExporter extends BaseExporter {
     public void addExternalReferencesSheet(final Workbook workbook,
                                            final String sheetName,
                                            final Set<ExternalReferenceDTO> externalReferences) {
-        final Set<String> titleLanguages = resolveExternalReferenceTitleLanguages(externalReferences);
-        final Set<String> descriptionLanguages = resolveExternalReferenceDescriptionLanguages(externalReferences);
+        final ColumnPlan<ExternalReferenceDTO> columnPlan = createColumnPlan(externalReferences);
+        final Set<String> titleLanguages = columnPlan.getLanguages(CONTENT_HEADER_TITLE_PREFIX);
+        final Set<String> descriptionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DESCRIPTION_PREFIX);
         final Sheet sheet = workbook.createSheet(sheetName);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_ID);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_HREF);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PROPERTYTYPE);
-        for (final String language : titleLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_TITLE_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_TITLE_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : descriptionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DESCRIPTION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DESCRIPTION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CREATED);
         rowhead.createCell(j).setCellValue(CONTENT_HEADER_MODIFIED);
@@ -84,25 +104,10 @@ public class ExternalReferenceExporter extends BaseExporter {
         }
     }
 
-    private Set<String> resolveExternalReferenceTitleLanguages(final Set<ExternalReferenceDTO> externalReferences) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final ExternalReferenceDTO externalReference : externalReferences) {
-            final Map<String, String> title = externalReference.getTitle();
-            if (title != null && !title.isEmpty()) {
-                languages.addAll(title.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolveExternalReferenceDescriptionLanguages(final Set<ExternalReferenceDTO> externalReferences) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final ExternalReferenceDTO propertyType : externalReferences) {
-            final Map<String, String> description = propertyType.getDescription();
-            if (description != null && !description.isEmpty()) {
-                languages.addAll(description.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<ExternalReferenceDTO> createColumnPlan(final Set<ExternalReferenceDTO> externalReferences) {
+        return new ColumnPlan<ExternalReferenceDTO>()
+            .withLanguageColumns(CONTENT_HEADER_TITLE_PREFIX, ExternalReferenceDTO::getTitle)
+            .withLanguageColumns(CONTENT_HEADER_DESCRIPTION_PREFIX, ExternalReferenceDTO::getDescription)
+            .acceptAll(externalReferences);
     }
 }
@@ -1,16 +1,16 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Component;
 
+import fi.vm.yti.codelist.api.domain.MemberGraph;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
@@ -27,11 +27,33 @@ public class MemberExporter extends BaseExporter {
 
     private static final String CROSS_REFERENCE_LIST_PRETTY_TYPED = "Cross-Reference List";
 
+    private final Tracer tracer;
+
+    public MemberExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final ExtensionDTO extension,
                             final Set<MemberDTO> members) {
-        final Set<String> prefLabelLanguages = resolveMemberPrefLabelLanguages(members);
-        final Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
-        final Set<String> codePrefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
+        final StringBuilder output = new StringBuilder();
+        writeCsv(extension, members, output::append);
+        return output.toString();
+    }
+
+    public void writeCsv(final ExtensionDTO extension,
+                         final Set<MemberDTO> members,
+                         final Consumer<CharSequence> rows) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-members-csv").tag("extension.uri", extension.getUri())) {
+            buildCsvRows(extension, members, rows);
+        }
+    }
+
+    private void buildCsvRows(final ExtensionDTO extension,
+                              final Set<MemberDTO> members,
+                              final Consumer<CharSequence> rows) {
+        final ColumnPlan<MemberDTO> columnPlan = createColumnPlan(members);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> codePrefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_CODE_PREFLABEL_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_MEMBER_ID);
         appendValue(csv, CONTENT_HEADER_URI);
@@ -39,16 +61,18 @@ public class MemberExporter extends BaseExporter {
         if (valueTypes != null && !valueTypes.isEmpty()) {
             valueTypes.forEach(valueType -> appendValue(csv, valueType.getLocalName().toUpperCase()));
         }
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_CODE);
-        codePrefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_CODE_PREFLABEL_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_CODE_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_RELATION);
         appendValue(csv, CONTENT_HEADER_STARTDATE);
         appendValue(csv, CONTENT_HEADER_ENDDATE);
         appendValue(csv, CONTENT_HEADER_CREATED);
         appendValue(csv, CONTENT_HEADER_MODIFIED);
         appendValue(csv, CONTENT_HEADER_ORDER, true);
+        rows.accept(csv);
         for (final MemberDTO member : members) {
+            csv.setLength(0);
             appendValue(csv, member.getSequenceId() != null ? member.getSequenceId().toString() : "");
             appendValue(csv, member.getUri());
             appendValueTypesToCsv(valueTypes, csv, member);
@@ -60,19 +84,35 @@ public class MemberExporter extends BaseExporter {
             appendValue(csv, resolveMemberCodeIdentifier(extension.getParentCodeScheme(), member.getCode()));
             codePrefLabelLanguages.forEach(language -> appendValue(csv, memberCode != null ? getCodePrefLabel(memberCode, language) : ""));
             appendValue(csv, resolveRelatedMemberIdentifier(member.getRelatedMember()));
-            appendValue(csv, member.getStartDate() != null ? formatDateWithISO8601(member.getStartDate()) : "");
-            appendValue(csv, member.getEndDate() != null ? formatDateWithISO8601(member.getEndDate()) : "");
-            appendValue(csv, member.getCreated() != null ? formatDateWithSeconds(member.getCreated()) : "");
-            appendValue(csv, member.getModified() != null ? formatDateWithSeconds(member.getModified()) : "");
+            appendDateWithISO8601(csv, member.getStartDate());
+            appendDateWithISO8601(csv, member.getEndDate());
+            appendDateWithSeconds(csv, member.getCreated());
+            appendDateWithSeconds(csv, member.getModified());
             appendValue(csv, member.getOrder().toString(), true);
+            rows.accept(csv);
         }
-        return csv.toString();
     }
 
     public String createSimplifiedCsvForCrossReferenceList(final ExtensionDTO extension,
-                                                           final Set<MemberDTO> members) {
-        final Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
+                                                           final MemberGraph memberGraph) {
+        final StringBuilder output = new StringBuilder();
+        writeSimplifiedCsvForCrossReferenceList(extension, memberGraph, output::append);
+        return output.toString();
+    }
+
+    public void writeSimplifiedCsvForCrossReferenceList(final ExtensionDTO extension,
+                                                        final MemberGraph memberGraph,
+                                                        final Consumer<CharSequence> rows) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-crossreferencelist-csv").tag("extension.uri", extension.getUri())) {
+            buildCrossReferenceListRows(extension, memberGraph, rows);
+        }
+    }
+
+    private void buildCrossReferenceListRows(final ExtensionDTO extension,
+                                             final MemberGraph memberGraph,
+                                             final Consumer<CharSequence> rows) {
+        final Set<MemberDTO> members = memberGraph.getMembers();
+        final Set<String> prefLabelLanguages = createColumnPlan(members).getLanguages(CONTENT_HEADER_CODE_PREFLABEL_PREFIX);
         final StringBuilder csv = new StringBuilder();
         final Set<ValueTypeDTO> valueTypes = extension != null ? extension.getPropertyType().getValueTypes() : null;
         if (valueTypes != null && !valueTypes.isEmpty()) {
@@ -84,30 +124,31 @@ public class MemberExporter extends BaseExporter {
         appendValue(csv, CONTENT_HEADER_URI2 + "_" + CONTENT_HEADER_CODEVALUE);
         prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_URI2 + "_" + CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
         appendValue(csv, CONTENT_HEADER_URI2, true);
+        rows.accept(csv);
         for (final MemberDTO member : members) {
-            if (member.getRelatedMember() == null) {
+            final MemberDTO relatedMember = memberGraph.getRelatedMember(member);
+            if (relatedMember == null) {
                 continue;
             }
+            csv.setLength(0);
             appendValueTypesToCsv(valueTypes, csv, member);
             appendValue(csv, member.getCode() != null ? member.getCode().getCodeValue() : "");
             prefLabelLanguages.forEach(language -> appendValue(csv, getCodePrefLabel(member.getCode(), language)));
             appendValue(csv, member.getCode() != null ? member.getCode().getUri() : "");
-            if (member.getRelatedMember() != null) {
-                appendValue(csv, member.getRelatedMember().getCode() != null ? member.getRelatedMember().getCode().getCodeValue() : "");
-                prefLabelLanguages.forEach(language -> appendValue(csv, getCodePrefLabel(member.getRelatedMember().getCode(), language)));
-                appendValue(csv, member.getRelatedMember().getCode().getUri(), true);
-            }
+            appendValue(csv, relatedMember.getCode() != null ? relatedMember.getCode().getCodeValue() : "");
+            prefLabelLanguages.forEach(language -> appendValue(csv, getCodePrefLabel(relatedMember.getCode(), language)));
+            appendValue(csv, relatedMember.getCode().getUri(), true);
+            rows.accept(csv);
         }
-        return csv.toString();
     }
 
     void addMembersSheet(final ExtensionDTO extension,
                          final Workbook workbook,
                          final String sheetName,
                          final Set<MemberDTO> members) {
-        final Set<String> prefLabelLanguages = resolveMemberPrefLabelLanguages(members);
-        final Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
-        final Set<String> codePrefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
+        final ColumnPlan<MemberDTO> columnPlan = createColumnPlan(members);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> codePrefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_CODE_PREFLABEL_PREFIX);
         final Sheet sheet = workbook.createSheet(sheetName);
         final Row rowHead = sheet.createRow((short) 0);
         int j = 0;
@@ -115,12 +156,12 @@ public class MemberExporter extends BaseExporter {
         rowHead.createCell(j++).setCellValue(CONTENT_HEADER_URI);
         final Set<ValueTypeDTO> valueTypes = extension != null ? extension.getPropertyType().getValueTypes() : null;
         j = appendValueTypeHeaders(valueTypes, rowHead, j);
-        for (final String language : prefLabelLanguages) {
-            rowHead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowHead.createCell(j++).setCellValue(header);
         }
         rowHead.createCell(j++).setCellValue(CONTENT_HEADER_CODE);
-        for (final String language : codePrefLabelLanguages) {
-            rowHead.createCell(j++).setCellValue(CONTENT_HEADER_CODE_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_CODE_PREFLABEL_PREFIX)) {
+            rowHead.createCell(j++).setCellValue(header);
         }
         rowHead.createCell(j++).setCellValue(CONTENT_HEADER_RELATION);
         rowHead.createCell(j++).setCellValue(CONTENT_HEADER_STARTDATE);
@@ -157,14 +198,14 @@ public class MemberExporter extends BaseExporter {
 
     void addMembersSheetWithCrossRerefences(final ExtensionDTO extension,
                                             final Workbook workbook,
-                                            final Set<MemberDTO> members) {
-        Set<CodeDTO> codesInMembers = members.stream().map(MemberDTO::getCode).collect(Collectors.toSet());
-        final Set<String> prefLabelLanguages = resolveCodePrefLabelLanguages(codesInMembers);
+                                            final MemberGraph memberGraph) {
+        final Set<MemberDTO> members = memberGraph.getMembers();
+        final Set<String> prefLabelLanguages = createColumnPlan(members).getLanguages(CONTENT_HEADER_CODE_PREFLABEL_PREFIX);
         final Sheet sheet = workbook.createSheet(CROSS_REFERENCE_LIST_PRETTY_TYPED);
         final Row rowHead = sheet.createRow((short) 0);
         int j = 0;
         final Set<ValueTypeDTO> valueTypes = extension != null ? extension.getPropertyType().getValueTypes() : null;
-        appendValueTypeHeaders(valueTypes, rowHead, j);
+        j = appendValueTypeHeaders(valueTypes, rowHead, j);
         rowHead.createCell(j++).setCellValue(CONTENT_HEADER_URI1 + "_" + CONTENT_HEADER_CODEVALUE);
         for (final String language : prefLabelLanguages) {
             rowHead.createCell(j++).setCellValue(CONTENT_HEADER_URI1 + "_" + CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
@@ -177,7 +218,8 @@ public class MemberExporter extends BaseExporter {
         rowHead.createCell(j).setCellValue(CONTENT_HEADER_URI2);
         int i = 1;
         for (final MemberDTO member : members) {
-            if (member.getRelatedMember() == null) {
+            final MemberDTO relatedMember = memberGraph.getRelatedMember(member);
+            if (relatedMember == null) {
                 continue;
             }
             final Row row = sheet.createRow(i++);
@@ -188,13 +230,11 @@ public class MemberExporter extends BaseExporter {
                 row.createCell(k++).setCellValue(getCodePrefLabel(member.getCode(), language));
             }
             row.createCell(k++).setCellValue(member.getCode().getUri());
-            if (member.getRelatedMember() != null) {
-                row.createCell(k++).setCellValue(member.getRelatedMember().getCode().getCodeValue());
-                for (final String language : prefLabelLanguages) {
-                    row.createCell(k++).setCellValue(getCodePrefLabel(member.getRelatedMember().getCode(), language));
-                }
-                row.createCell(k).setCellValue(member.getRelatedMember().getCode().getUri());
+            row.createCell(k++).setCellValue(relatedMember.getCode().getCodeValue());
+            for (final String language : prefLabelLanguages) {
+                row.createCell(k++).setCellValue(getCodePrefLabel(relatedMember.getCode(), language));
             }
+            row.createCell(k).setCellValue(relatedMember.getCode().getUri());
         }
     }
 
@@ -262,20 +302,24 @@ public class MemberExporter extends BaseExporter {
         return relatedMember.getSequenceId().toString();
     }
 
-    private Set<String> resolveMemberPrefLabelLanguages(final Set<MemberDTO> members) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final MemberDTO member : members) {
-            final Map<String, String> prefLabel = member.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<MemberDTO> createColumnPlan(final Set<MemberDTO> members) {
+        return new ColumnPlan<MemberDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, MemberDTO::getPrefLabel)
+            .withLanguageColumns(CONTENT_HEADER_CODE_PREFLABEL_PREFIX, member -> member.getCode() != null ? member.getCode().getPrefLabel() : null)
+            .acceptAll(members);
     }
 
     public Workbook createExcel(final ExtensionDTO extension,
                                 final Set<MemberDTO> members,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-members-excel").tag("extension.uri", extension.getUri())) {
+            return buildExcel(extension, members, format);
+        }
+    }
+
+    private Workbook buildExcel(final ExtensionDTO extension,
+                                final Set<MemberDTO> members,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addMembersSheet(extension, workbook, EXCEL_SHEET_MEMBERS, members);
         return workbook;
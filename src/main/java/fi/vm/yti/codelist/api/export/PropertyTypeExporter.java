@@ -1,12 +1,11 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.PropertyTypeDTO;
@@ -15,16 +14,29 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class PropertyTypeExporter extends BaseExporter {
 
+    private final Tracer tracer;
+
+    public PropertyTypeExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final Set<PropertyTypeDTO> propertyTypes) {
-        final Set<String> prefLabelLanguages = resolvePropertyTypePrefLabelLanguages(propertyTypes);
-        final Set<String> definitionLanguages = resolvePropertyTypeDefinitionLanguages(propertyTypes);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-propertytypes-csv").tag("export.count", propertyTypes.size())) {
+            return buildCsv(propertyTypes);
+        }
+    }
+
+    private String buildCsv(final Set<PropertyTypeDTO> propertyTypes) {
+        final ColumnPlan<PropertyTypeDTO> columnPlan = createColumnPlan(propertyTypes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_LOCALNAME);
         appendValue(csv, CONTENT_HEADER_ID);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_CONTEXT);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
-        definitionLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
+        columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_CREATED);
         appendValue(csv, CONTENT_HEADER_MODIFIED, true);
         csv.append("\n");
@@ -35,8 +47,8 @@ public class PropertyTypeExporter extends BaseExporter {
             appendValue(csv, propertyType.getContext());
             prefLabelLanguages.forEach(language -> appendValue(csv, getPropertyTypePrefLabel(propertyType, language)));
             definitionLanguages.forEach(language -> appendValue(csv, getPropertyTypeDefinition(propertyType, language)));
-            appendValue(csv, propertyType.getCreated() != null ? formatDateWithSeconds(propertyType.getCreated()) : "");
-            appendValue(csv, propertyType.getModified() != null ? formatDateWithSeconds(propertyType.getModified()) : "", true);
+            appendDateWithSeconds(csv, propertyType.getCreated());
+            appendDateWithSeconds(csv, propertyType.getModified(), true);
             csv.append("\n");
         }
         return csv.toString();
@@ -44,9 +56,17 @@ public class PropertyTypeExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<PropertyTypeDTO> propertyTypes,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-propertytypes-excel").tag("export.count", propertyTypes.size())) {
+            return buildExcel(propertyTypes, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<PropertyTypeDTO> propertyTypes,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
-        final Set<String> prefLabelLanguages = resolvePropertyTypePrefLabelLanguages(propertyTypes);
-        final Set<String> definitionLanguages = resolvePropertyTypeDefinitionLanguages(propertyTypes);
+        final ColumnPlan<PropertyTypeDTO> columnPlan = createColumnPlan(propertyTypes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
+        final Set<String> definitionLanguages = columnPlan.getLanguages(CONTENT_HEADER_DEFINITION_PREFIX);
         final Sheet sheet = workbook.createSheet(EXCEL_SHEET_PROPERTYTYPES);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -54,11 +74,11 @@ public class PropertyTypeExporter extends BaseExporter {
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_LOCALNAME);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_URI);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CONTEXT);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
-        for (final String language : definitionLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_DEFINITION_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_DEFINITION_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_CREATED);
         rowhead.createCell(j).setCellValue(CONTENT_HEADER_MODIFIED);
@@ -82,25 +102,10 @@ public class PropertyTypeExporter extends BaseExporter {
         return workbook;
     }
 
-    private Set<String> resolvePropertyTypePrefLabelLanguages(final Set<PropertyTypeDTO> propertyTypes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final PropertyTypeDTO propertyType : propertyTypes) {
-            final Map<String, String> prefLabel = propertyType.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
-    }
-
-    private Set<String> resolvePropertyTypeDefinitionLanguages(final Set<PropertyTypeDTO> propertyTypes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final PropertyTypeDTO propertyType : propertyTypes) {
-            final Map<String, String> definition = propertyType.getDefinition();
-            if (definition != null && !definition.isEmpty()) {
-                languages.addAll(definition.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<PropertyTypeDTO> createColumnPlan(final Set<PropertyTypeDTO> propertyTypes) {
+        return new ColumnPlan<PropertyTypeDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, PropertyTypeDTO::getPrefLabel)
+            .withLanguageColumns(CONTENT_HEADER_DEFINITION_PREFIX, PropertyTypeDTO::getDefinition)
+            .acceptAll(propertyTypes);
     }
 }
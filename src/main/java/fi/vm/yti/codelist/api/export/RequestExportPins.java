@@ -0,0 +1,33 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Export cache pins taken while serving the current request. They are released when the request finishes, so an
+ * entity that is never written, as for HEAD requests or responses replaced by an error, does not keep its pin.
+ */
+public final class RequestExportPins {
+
+    private static final ThreadLocal<List<ExportCache.CachedFile>> CURRENT = new ThreadLocal<>();
+
+    private RequestExportPins() {
+    }
+
+    public static void track(final ExportCache.CachedFile cachedFile) {
+        List<ExportCache.CachedFile> pins = CURRENT.get();
+        if (pins == null) {
+            pins = new ArrayList<>();
+            CURRENT.set(pins);
+        }
+        pins.add(cachedFile);
+    }
+
+    public static void releaseAll() {
+        final List<ExportCache.CachedFile> pins = CURRENT.get();
+        CURRENT.remove();
+        if (pins != null) {
+            pins.forEach(ExportCache.CachedFile::release);
+        }
+    }
+}
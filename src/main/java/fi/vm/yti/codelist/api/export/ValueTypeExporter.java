@@ -1,12 +1,11 @@
 package fi.vm.yti.codelist.api.export;
 
-import java.util.LinkedHashSet;
-import java.util.Map;
 import java.util.Set;
 
 import org.apache.poi.ss.usermodel.Row;
 import org.apache.poi.ss.usermodel.Sheet;
 import org.apache.poi.ss.usermodel.Workbook;
+import org.springframework.cloud.sleuth.Tracer;
 import org.springframework.stereotype.Component;
 
 import fi.vm.yti.codelist.common.dto.ValueTypeDTO;
@@ -15,15 +14,28 @@ import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
 @Component
 public class ValueTypeExporter extends BaseExporter {
 
+    private final Tracer tracer;
+
+    public ValueTypeExporter(final Tracer tracer) {
+        this.tracer = tracer;
+    }
+
     public String createCsv(final Set<ValueTypeDTO> valueTypes) {
-        final Set<String> prefLabelLanguages = resolveValueTypePrefLabelLanguages(valueTypes);
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-valuetypes-csv").tag("export.count", valueTypes.size())) {
+            return buildCsv(valueTypes);
+        }
+    }
+
+    private String buildCsv(final Set<ValueTypeDTO> valueTypes) {
+        final ColumnPlan<ValueTypeDTO> columnPlan = createColumnPlan(valueTypes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
         final StringBuilder csv = new StringBuilder();
         appendValue(csv, CONTENT_HEADER_LOCALNAME);
         appendValue(csv, CONTENT_HEADER_ID);
         appendValue(csv, CONTENT_HEADER_TYPEURI);
         appendValue(csv, CONTENT_HEADER_URI);
         appendValue(csv, CONTENT_HEADER_REGEXP);
-        prefLabelLanguages.forEach(language -> appendValue(csv, CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase()));
+        columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX).forEach(header -> appendValue(csv, header));
         appendValue(csv, CONTENT_HEADER_REQUIRED, true);
         csv.append("\n");
         for (final ValueTypeDTO valueType : valueTypes) {
@@ -41,6 +53,13 @@ public class ValueTypeExporter extends BaseExporter {
 
     public Workbook createExcel(final Set<ValueTypeDTO> valueTypes,
                                 final String format) {
+        try (final ExportStage ignored = ExportStage.start(tracer, "export-valuetypes-excel").tag("export.count", valueTypes.size())) {
+            return buildExcel(valueTypes, format);
+        }
+    }
+
+    private Workbook buildExcel(final Set<ValueTypeDTO> valueTypes,
+                                final String format) {
         final Workbook workbook = createWorkBook(format);
         addValueTypes(workbook, valueTypes);
         return workbook;
@@ -48,7 +67,8 @@ public class ValueTypeExporter extends BaseExporter {
 
     private void addValueTypes(final Workbook workbook,
                           final Set<ValueTypeDTO> valueTypes) {
-        final Set<String> prefLabelLanguages = resolveValueTypePrefLabelLanguages(valueTypes);
+        final ColumnPlan<ValueTypeDTO> columnPlan = createColumnPlan(valueTypes);
+        final Set<String> prefLabelLanguages = columnPlan.getLanguages(CONTENT_HEADER_PREFLABEL_PREFIX);
         final Sheet sheet = workbook.createSheet(EXCEL_SHEET_VALUETYPES);
         final Row rowhead = sheet.createRow((short) 0);
         int j = 0;
@@ -57,8 +77,8 @@ public class ValueTypeExporter extends BaseExporter {
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_TYPEURI);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_URI);
         rowhead.createCell(j++).setCellValue(CONTENT_HEADER_REGEXP);
-        for (final String language : prefLabelLanguages) {
-            rowhead.createCell(j++).setCellValue(CONTENT_HEADER_PREFLABEL_PREFIX + language.toUpperCase());
+        for (final String header : columnPlan.getHeaders(CONTENT_HEADER_PREFLABEL_PREFIX)) {
+            rowhead.createCell(j++).setCellValue(header);
         }
         rowhead.createCell(j).setCellValue(CONTENT_HEADER_REQUIRED);
         int i = 1;
@@ -77,14 +97,9 @@ public class ValueTypeExporter extends BaseExporter {
         }
     }
 
-    private Set<String> resolveValueTypePrefLabelLanguages(final Set<ValueTypeDTO> valueTypes) {
-        final Set<String> languages = new LinkedHashSet<>();
-        for (final ValueTypeDTO valueType : valueTypes) {
-            final Map<String, String> prefLabel = valueType.getPrefLabel();
-            if (prefLabel != null && !prefLabel.isEmpty()) {
-                languages.addAll(prefLabel.keySet());
-            }
-        }
-        return languages;
+    private ColumnPlan<ValueTypeDTO> createColumnPlan(final Set<ValueTypeDTO> valueTypes) {
+        return new ColumnPlan<ValueTypeDTO>()
+            .withLanguageColumns(CONTENT_HEADER_PREFLABEL_PREFIX, ValueTypeDTO::getPrefLabel)
+            .acceptAll(valueTypes);
     }
 }
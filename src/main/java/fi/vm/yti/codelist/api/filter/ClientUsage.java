@@ -0,0 +1,51 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.util.Date;
+
+public final class ClientUsage {
+
+    private final String client;
+    private final long requests;
+    private final long limitedRequests;
+    private final long consumedTokens;
+    private final double availableTokens;
+    private final Date lastRequest;
+
+    ClientUsage(final String client,
+                final long requests,
+                final long limitedRequests,
+                final long consumedTokens,
+                final double availableTokens,
+                final Date lastRequest) {
+        this.client = client;
+        this.requests = requests;
+        this.limitedRequests = limitedRequests;
+        this.consumedTokens = consumedTokens;
+        this.availableTokens = availableTokens;
+        this.lastRequest = lastRequest;
+    }
+
+    public String getClient() {
+        return client;
+    }
+
+    public long getRequests() {
+        return requests;
+    }
+
+    public long getLimitedRequests() {
+        return limitedRequests;
+    }
+
+    public long getConsumedTokens() {
+        return consumedTokens;
+    }
+
+    public double getAvailableTokens() {
+        return availableTokens;
+    }
+
+    public Date getLastRequest() {
+        return lastRequest;
+    }
+}
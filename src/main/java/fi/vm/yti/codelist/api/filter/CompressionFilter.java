@@ -0,0 +1,203 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.springframework.stereotype.Component;
+
+@Component
+@Priority(Priorities.ENTITY_CODER)
+public class CompressionFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String PROPERTY_CONTENT_ENCODING = CompressionFilter.class.getName() + ".contentEncoding";
+    private static final int BUFFER_SIZE = 8192;
+
+    private final CompressionPolicy compressionPolicy;
+
+    @Inject
+    public CompressionFilter(final CompressionPolicy compressionPolicy) {
+        this.compressionPolicy = compressionPolicy;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext,
+                       final ContainerResponseContext responseContext) {
+        if (!compressionPolicy.isEnabled() || !responseContext.hasEntity() || HttpMethod.HEAD.equals(requestContext.getMethod())) {
+            return;
+        }
+        if (responseContext.getHeaders().containsKey(HttpHeaders.CONTENT_ENCODING) || !compressionPolicy.isCompressible(responseContext.getMediaType())) {
+            return;
+        }
+        responseContext.getHeaders().add(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        final int contentLength = responseContext.getLength();
+        if (contentLength >= 0 && contentLength < compressionPolicy.getMinSize()) {
+            return;
+        }
+        final String encoding = compressionPolicy.resolveEncoding(requestContext.getHeaderString(HttpHeaders.ACCEPT_ENCODING));
+        if (encoding != null) {
+            requestContext.setProperty(PROPERTY_CONTENT_ENCODING, encoding);
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        final Object encoding = context.getProperty(PROPERTY_CONTENT_ENCODING);
+        if (encoding == null) {
+            context.proceed();
+            return;
+        }
+        final ThresholdCompressingOutputStream output = new ThresholdCompressingOutputStream(context, (String) encoding);
+        context.setOutputStream(output);
+        try {
+            context.proceed();
+        } finally {
+            output.close();
+        }
+    }
+
+    private final class ThresholdCompressingOutputStream extends OutputStream {
+
+        private final WriterInterceptorContext context;
+        private final OutputStream original;
+        private final String encoding;
+        private final byte[] buffer;
+        private int count;
+        private Deflater deflater;
+        private OutputStream compressed;
+        private boolean closed;
+
+        private ThresholdCompressingOutputStream(final WriterInterceptorContext context,
+                                                 final String encoding) {
+            this.context = context;
+            this.original = context.getOutputStream();
+            this.encoding = encoding;
+            this.buffer = new byte[Math.max(compressionPolicy.getMinSize(), 1)];
+        }
+
+        @Override
+        public void write(final int b) throws IOException {
+            if (compressed != null) {
+                compressed.write(b);
+            } else if (count < buffer.length) {
+                buffer[count++] = (byte) b;
+            } else {
+                startCompression();
+                compressed.write(b);
+            }
+        }
+
+        @Override
+        public void write(final byte[] bytes,
+                          final int offset,
+                          final int length) throws IOException {
+            if (compressed != null) {
+                compressed.write(bytes, offset, length);
+            } else if (count + length <= buffer.length) {
+                System.arraycopy(bytes, offset, buffer, count, length);
+                count += length;
+            } else {
+                startCompression();
+                compressed.write(bytes, offset, length);
+            }
+        }
+
+        @Override
+        public void flush() throws IOException {
+            if (compressed != null) {
+                compressed.flush();
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            try {
+                if (compressed != null) {
+                    compressed.close();
+                } else {
+                    original.write(buffer, 0, count);
+                    original.close();
+                }
+            } finally {
+                if (deflater != null) {
+                    compressionPolicy.releaseDeflater(encoding, deflater);
+                    deflater = null;
+                }
+            }
+        }
+
+        private void startCompression() throws IOException {
+            final MultivaluedMap<String, Object> headers = context.getHeaders();
+            headers.putSingle(HttpHeaders.CONTENT_ENCODING, encoding);
+            headers.remove(HttpHeaders.CONTENT_LENGTH);
+            deflater = compressionPolicy.acquireDeflater(encoding);
+            if (CompressionPolicy.ENCODING_GZIP.equals(encoding)) {
+                compressed = new GzipOutputStream(original, deflater);
+            } else {
+                compressed = new DeflaterOutputStream(original, deflater, BUFFER_SIZE);
+            }
+            compressed.write(buffer, 0, count);
+            count = 0;
+        }
+    }
+
+    private static final class GzipOutputStream extends DeflaterOutputStream {
+
+        private static final byte[] HEADER = { 0x1f, (byte) 0x8b, Deflater.DEFLATED, 0, 0, 0, 0, 0, 0, (byte) 0xff };
+
+        private final CRC32 crc = new CRC32();
+        private long uncompressedSize;
+        private boolean finished;
+
+        private GzipOutputStream(final OutputStream output,
+                                 final Deflater deflater) throws IOException {
+            super(output, deflater, BUFFER_SIZE);
+            output.write(HEADER);
+        }
+
+        @Override
+        public void write(final byte[] bytes,
+                          final int offset,
+                          final int length) throws IOException {
+            super.write(bytes, offset, length);
+            crc.update(bytes, offset, length);
+            uncompressedSize += length;
+        }
+
+        @Override
+        public void finish() throws IOException {
+            if (finished) {
+                return;
+            }
+            finished = true;
+            super.finish();
+            writeInt((int) crc.getValue());
+            writeInt((int) uncompressedSize);
+        }
+
+        private void writeInt(final int value) throws IOException {
+            out.write(value & 0xff);
+            out.write((value >> 8) & 0xff);
+            out.write((value >> 16) & 0xff);
+            out.write((value >> 24) & 0xff);
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.zip.Deflater;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.ws.rs.core.MediaType;
+
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.configuration.CompressionProperties;
+
+@Component
+public class CompressionPolicy {
+
+    public static final String ENCODING_GZIP = "gzip";
+    public static final String ENCODING_DEFLATE = "deflate";
+
+    private final CompressionProperties properties;
+    private final List<MediaType> includedMediaTypes;
+    private final List<MediaType> excludedMediaTypes;
+    private final BlockingQueue<Deflater> gzipDeflaters;
+    private final BlockingQueue<Deflater> zlibDeflaters;
+
+    @Inject
+    public CompressionPolicy(final CompressionProperties properties) {
+        this.properties = properties;
+        this.includedMediaTypes = parseMediaTypes(properties.getIncludedMediaTypes());
+        this.excludedMediaTypes = parseMediaTypes(properties.getExcludedMediaTypes());
+        this.gzipDeflaters = new ArrayBlockingQueue<>(properties.getDeflaterPoolSize());
+        this.zlibDeflaters = new ArrayBlockingQueue<>(properties.getDeflaterPoolSize());
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        endAll(gzipDeflaters);
+        endAll(zlibDeflaters);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public int getMinSize() {
+        return properties.getMinSize();
+    }
+
+    public boolean isCompressible(final MediaType mediaType) {
+        if (mediaType == null) {
+            return false;
+        }
+        for (final MediaType excluded : excludedMediaTypes) {
+            if (matches(excluded, mediaType)) {
+                return false;
+            }
+        }
+        if (includedMediaTypes.isEmpty()) {
+            return true;
+        }
+        for (final MediaType included : includedMediaTypes) {
+            if (matches(included, mediaType)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public String resolveEncoding(final String acceptEncoding) {
+        if (acceptEncoding == null || acceptEncoding.isEmpty()) {
+            return null;
+        }
+        double gzipQuality = -1d;
+        double deflateQuality = -1d;
+        double wildcardQuality = -1d;
+        for (final String token : acceptEncoding.split(",")) {
+            final String[] parts = token.trim().split(";");
+            final String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            final double quality = parseQuality(parts);
+            if (ENCODING_GZIP.equals(coding) || "x-gzip".equals(coding)) {
+                gzipQuality = Math.max(gzipQuality, quality);
+            } else if (ENCODING_DEFLATE.equals(coding)) {
+                deflateQuality = Math.max(deflateQuality, quality);
+            } else if ("*".equals(coding)) {
+                wildcardQuality = Math.max(wildcardQuality, quality);
+            }
+        }
+        // An explicitly listed coding wins over the wildcard, so "gzip;q=0, *" still refuses gzip.
+        final double gzip = gzipQuality >= 0d ? gzipQuality : wildcardQuality;
+        final double deflate = deflateQuality >= 0d ? deflateQuality : wildcardQuality;
+        if (gzip > 0d && gzip >= deflate) {
+            return ENCODING_GZIP;
+        } else if (deflate > 0d) {
+            return ENCODING_DEFLATE;
+        }
+        return null;
+    }
+
+    public Deflater acquireDeflater(final String encoding) {
+        final boolean gzip = ENCODING_GZIP.equals(encoding);
+        final Deflater deflater = (gzip ? gzipDeflaters : zlibDeflaters).poll();
+        if (deflater != null) {
+            return deflater;
+        }
+        return new Deflater(properties.getLevel(), gzip);
+    }
+
+    public void releaseDeflater(final String encoding,
+                                final Deflater deflater) {
+        deflater.reset();
+        if (!(ENCODING_GZIP.equals(encoding) ? gzipDeflaters : zlibDeflaters).offer(deflater)) {
+            deflater.end();
+        }
+    }
+
+    private double parseQuality(final String[] parts) {
+        for (int i = 1; i < parts.length; i++) {
+            final String parameter = parts[i].trim();
+            if (parameter.startsWith("q=")) {
+                try {
+                    return Double.parseDouble(parameter.substring(2));
+                } catch (final NumberFormatException e) {
+                    return 0d;
+                }
+            }
+        }
+        return 1d;
+    }
+
+    private static boolean matches(final MediaType rule,
+                                   final MediaType mediaType) {
+        return (rule.isWildcardType() || rule.getType().equalsIgnoreCase(mediaType.getType())) &&
+            (rule.isWildcardSubtype() || rule.getSubtype().equalsIgnoreCase(mediaType.getSubtype()));
+    }
+
+    private static List<MediaType> parseMediaTypes(final List<String> mediaTypes) {
+        final List<MediaType> parsed = new ArrayList<>();
+        if (mediaTypes != null) {
+            for (final String mediaType : mediaTypes) {
+                parsed.add(MediaType.valueOf(mediaType.trim()));
+            }
+        }
+        return parsed;
+    }
+
+    private static void endAll(final BlockingQueue<Deflater> deflaters) {
+        Deflater deflater;
+        while ((deflater = deflaters.poll()) != null) {
+            deflater.end();
+        }
+    }
+}
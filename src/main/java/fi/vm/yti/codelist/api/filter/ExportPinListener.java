@@ -0,0 +1,27 @@
+package fi.vm.yti.codelist.api.filter;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.export.RequestExportPins;
+
+@Component
+public class ExportPinListener implements ApplicationEventListener {
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        final Thread requestThread = Thread.currentThread();
+        return event -> {
+            if (event.getType() == RequestEvent.Type.FINISHED && Thread.currentThread() == requestThread) {
+                RequestExportPins.releaseAll();
+            }
+        };
+    }
+}
@@ -0,0 +1,154 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.SequenceInputStream;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Method;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.annotation.Priority;
+import javax.inject.Inject;
+import javax.servlet.http.HttpServletRequest;
+import javax.ws.rs.HttpMethod;
+import javax.ws.rs.Priorities;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ResourceInfo;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.MultivaluedMap;
+import javax.ws.rs.core.Response;
+
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+
+import fi.vm.yti.codelist.api.api.ResponseWrapper;
+import fi.vm.yti.codelist.common.dto.Meta;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.FORMAT_JSON;
+
+@Component
+@Priority(Priorities.AUTHENTICATION)
+public class RateLimitFilter implements ContainerRequestFilter {
+
+    private static final int STATUS_TOO_MANY_REQUESTS = 429;
+    private static final String PARAMETER_FORMAT = "format";
+    private static final String PARAMETER_PAGESIZE = "pageSize";
+    private static final String EXPORTS_PATH = "v1/exports";
+    private static final int MAX_INSPECTED_PAYLOAD_LENGTH = 65536;
+
+    private final RateLimiter rateLimiter;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final ConcurrentMap<Method, Boolean> pagedMethods = new ConcurrentHashMap<>();
+
+    @Context
+    private ResourceInfo resourceInfo;
+
+    @Context
+    private HttpServletRequest servletRequest;
+
+    @Inject
+    public RateLimitFilter(final RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) throws IOException {
+        if (!rateLimiter.isEnabled()) {
+            return;
+        }
+        final long retryAfterSeconds = rateLimiter.tryAcquire(resolveClient(requestContext), resolveCost(requestContext));
+        if (retryAfterSeconds > 0) {
+            final ResponseWrapper<?> wrapper = new ResponseWrapper<>();
+            final Meta meta = new Meta();
+            meta.setCode(STATUS_TOO_MANY_REQUESTS);
+            meta.setMessage("Too many requests, retry after " + retryAfterSeconds + " seconds.");
+            wrapper.setMeta(meta);
+            requestContext.abortWith(Response.status(STATUS_TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, retryAfterSeconds)
+                .type(MediaType.APPLICATION_JSON_TYPE)
+                .entity(wrapper)
+                .build());
+        }
+    }
+
+    private String resolveClient(final ContainerRequestContext requestContext) {
+        return rateLimiter.resolveClient(requestContext.getHeaderString(rateLimiter.getApiKeyHeader()),
+            servletRequest.getRemoteAddr(),
+            requestContext.getHeaderString(rateLimiter.getForwardedForHeader()));
+    }
+
+    private RateLimiter.Cost resolveCost(final ContainerRequestContext requestContext) throws IOException {
+        final MultivaluedMap<String, String> queryParameters = requestContext.getUriInfo().getQueryParameters();
+        final String format = queryParameters.getFirst(PARAMETER_FORMAT);
+        if (format != null && !FORMAT_JSON.equalsIgnoreCase(format)) {
+            return RateLimiter.Cost.EXPORT;
+        }
+        if (HttpMethod.POST.equals(requestContext.getMethod()) && requestContext.getUriInfo().getPath().startsWith(EXPORTS_PATH)) {
+            return RateLimiter.Cost.EXPORT;
+        }
+        if (isPaged(resourceInfo.getResourceMethod())) {
+            return isUnbounded(parsePageSize(queryParameters.getFirst(PARAMETER_PAGESIZE))) ? RateLimiter.Cost.UNBOUNDED_LIST : RateLimiter.Cost.LOOKUP;
+        }
+        // Integration POST endpoints carry their paging parameters in the JSON payload.
+        if (HttpMethod.POST.equals(requestContext.getMethod()) && requestContext.hasEntity() && MediaType.APPLICATION_JSON_TYPE.isCompatible(requestContext.getMediaType())) {
+            final JsonNode pageSize = readPayload(requestContext).path(PARAMETER_PAGESIZE);
+            return isUnbounded(pageSize.canConvertToInt() ? pageSize.asInt() : null) ? RateLimiter.Cost.UNBOUNDED_LIST : RateLimiter.Cost.LOOKUP;
+        }
+        return RateLimiter.Cost.LOOKUP;
+    }
+
+    private boolean isPaged(final Method method) {
+        if (method == null) {
+            return false;
+        }
+        return pagedMethods.computeIfAbsent(method, m -> {
+            for (final Annotation[] annotations : m.getParameterAnnotations()) {
+                for (final Annotation annotation : annotations) {
+                    if (annotation instanceof QueryParam && PARAMETER_PAGESIZE.equals(((QueryParam) annotation).value())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        });
+    }
+
+    private boolean isUnbounded(final Integer pageSize) {
+        return pageSize == null || pageSize <= 0 || pageSize > rateLimiter.getUnboundedPageSize();
+    }
+
+    private Integer parsePageSize(final String pageSize) {
+        if (pageSize == null) {
+            return null;
+        }
+        try {
+            return Integer.valueOf(pageSize.trim());
+        } catch (final NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private JsonNode readPayload(final ContainerRequestContext requestContext) throws IOException {
+        final InputStream entityStream = requestContext.getEntityStream();
+        final byte[] payload = entityStream.readNBytes(MAX_INSPECTED_PAYLOAD_LENGTH + 1);
+        if (payload.length > MAX_INSPECTED_PAYLOAD_LENGTH) {
+            requestContext.setEntityStream(new SequenceInputStream(new ByteArrayInputStream(payload), entityStream));
+            return MissingNode.getInstance();
+        }
+        requestContext.setEntityStream(new ByteArrayInputStream(payload));
+        try {
+            final JsonNode node = objectMapper.readTree(payload);
+            return node != null ? node : MissingNode.getInstance();
+        } catch (final IOException e) {
+            return MissingNode.getInstance();
+        }
+    }
+}
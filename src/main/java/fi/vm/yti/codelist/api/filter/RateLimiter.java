@@ -0,0 +1,163 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import javax.inject.Inject;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import fi.vm.yti.codelist.api.configuration.RateLimitProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+@Component
+public class RateLimiter {
+
+    public enum Cost {
+        LOOKUP,
+        UNBOUNDED_LIST,
+        EXPORT
+    }
+
+    private static final Logger LOG = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String METRIC_NAME = "codelist.api.ratelimit.requests";
+
+    private final RateLimitProperties properties;
+    private final Set<String> apiKeys;
+    private final Set<String> trustedProxies;
+    private final Cache<String, TokenBucket> buckets;
+    private final Map<Cost, Counter> allowedCounters = new EnumMap<>(Cost.class);
+    private final Map<Cost, Counter> limitedCounters = new EnumMap<>(Cost.class);
+
+    @Inject
+    public RateLimiter(final RateLimitProperties properties,
+                       final MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.apiKeys = new HashSet<>(properties.getApiKeys());
+        this.trustedProxies = new HashSet<>(properties.getTrustedProxies());
+        if (properties.isEnabled() && trustedProxies.isEmpty()) {
+            LOG.warn("Rate limiting is enabled without ratelimit.trusted-proxies, clients behind a reverse proxy share one bucket.");
+        }
+        this.buckets = CacheBuilder.newBuilder()
+            .maximumSize(properties.getMaxClients())
+            .expireAfterAccess(properties.getClientIdleMinutes(), TimeUnit.MINUTES)
+            .build();
+        for (final Cost cost : Cost.values()) {
+            allowedCounters.put(cost, createCounter(meterRegistry, cost, "allowed"));
+            limitedCounters.put(cost, createCounter(meterRegistry, cost, "limited"));
+        }
+        Gauge.builder("codelist.api.ratelimit.clients", buckets, Cache::size)
+            .description("Clients currently tracked by the rate limiter")
+            .register(meterRegistry);
+    }
+
+    public boolean isEnabled() {
+        return properties.isEnabled();
+    }
+
+    public String getApiKeyHeader() {
+        return properties.getApiKeyHeader();
+    }
+
+    public String getForwardedForHeader() {
+        return properties.getForwardedForHeader();
+    }
+
+    public int getUnboundedPageSize() {
+        return properties.getUnboundedPageSize();
+    }
+
+    /**
+     * Only allow-listed API keys get a bucket of their own, any other key would let a client reset its limit by
+     * inventing a new key. The forwarded for header is only believed when the request arrives from a trusted proxy.
+     */
+    public String resolveClient(final String apiKey,
+                                final String remoteAddress,
+                                final String forwardedFor) {
+        if (apiKey != null && apiKeys.contains(apiKey)) {
+            return "key:" + Hashing.sha256().hashString(apiKey, StandardCharsets.UTF_8).toString().substring(0, 16);
+        }
+        return "ip:" + resolveAddress(remoteAddress, forwardedFor);
+    }
+
+    public long tryAcquire(final String client,
+                           final Cost cost) {
+        final TokenBucket bucket;
+        try {
+            bucket = buckets.get(client, () -> new TokenBucket(client, properties.getCapacity(), properties.getRefillPerSecond()));
+        } catch (final ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+        final long waitNanos = bucket.tryConsume(resolveTokens(cost));
+        if (waitNanos > 0) {
+            limitedCounters.get(cost).increment();
+            return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+        }
+        allowedCounters.get(cost).increment();
+        return 0;
+    }
+
+    public List<ClientUsage> getClientUsage() {
+        return buckets.asMap().values().stream()
+            .map(TokenBucket::toUsage)
+            .sorted(Comparator.comparingLong(ClientUsage::getConsumedTokens).reversed())
+            .collect(Collectors.toList());
+    }
+
+    public void clear() {
+        buckets.invalidateAll();
+    }
+
+    private String resolveAddress(final String remoteAddress,
+                                  final String forwardedFor) {
+        if (forwardedFor == null || !trustedProxies.contains(remoteAddress)) {
+            return remoteAddress;
+        }
+        final String[] addresses = forwardedFor.split(",");
+        for (int i = addresses.length - 1; i >= 0; i--) {
+            final String address = addresses[i].trim();
+            if (!address.isEmpty() && !trustedProxies.contains(address)) {
+                return address;
+            }
+        }
+        return remoteAddress;
+    }
+
+    private int resolveTokens(final Cost cost) {
+        switch (cost) {
+            case EXPORT:
+                return properties.getExportCost();
+            case UNBOUNDED_LIST:
+                return properties.getUnboundedListCost();
+            default:
+                return properties.getLookupCost();
+        }
+    }
+
+    private Counter createCounter(final MeterRegistry meterRegistry,
+                                  final Cost cost,
+                                  final String outcome) {
+        return Counter.builder(METRIC_NAME)
+            .description("Requests checked by the rate limiter per cost class")
+            .tag("cost", cost.name().toLowerCase(Locale.ROOT))
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+}
@@ -0,0 +1,43 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.slf4j.MDC;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import fi.vm.yti.codelist.api.domain.RequestMemo;
+import fi.vm.yti.codelist.api.domain.ResultCounting;
+import fi.vm.yti.codelist.api.export.RequestExportPins;
+import fi.vm.yti.codelist.api.timing.RequestTimings;
+
+/**
+ * Clears request scoped thread state once the container thread leaves the request, including requests that
+ * failed before Jersey finished them and asynchronous requests that complete on another thread.
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+public class RequestContextCleanupFilter extends OncePerRequestFilter {
+
+    @Override
+    protected void doFilterInternal(final HttpServletRequest request,
+                                    final HttpServletResponse response,
+                                    final FilterChain filterChain) throws ServletException, IOException {
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            RequestTimings.end();
+            RequestMemo.end();
+            ResultCounting.end();
+            RequestExportPins.releaseAll();
+            MDC.clear();
+        }
+    }
+}
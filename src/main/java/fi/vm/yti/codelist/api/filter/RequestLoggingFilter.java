@@ -1,21 +1,30 @@
 package fi.vm.yti.codelist.api.filter;
 
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 import javax.ws.rs.container.ContainerRequestContext;
 import javax.ws.rs.container.ContainerRequestFilter;
-import javax.ws.rs.container.ContainerResponseContext;
-import javax.ws.rs.container.ContainerResponseFilter;
 import javax.ws.rs.container.ResourceInfo;
 import javax.ws.rs.core.Context;
+import javax.ws.rs.core.HttpHeaders;
 import javax.ws.rs.ext.Provider;
 
+import org.glassfish.jersey.server.ContainerRequest;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
 
+import fi.vm.yti.codelist.api.domain.SlowQueryRecorder;
+import fi.vm.yti.codelist.api.timing.RequestTimings;
+
 @Provider
-public class RequestLoggingFilter implements ContainerRequestFilter, ContainerResponseFilter {
+public class RequestLoggingFilter implements ContainerRequestFilter, ApplicationEventListener {
 
     private static final Logger LOG = LoggerFactory.getLogger(RequestLoggingFilter.class);
 
@@ -24,14 +33,28 @@ public class RequestLoggingFilter implements ContainerRequestFilter, ContainerRe
 
     @Override
     public void filter(final ContainerRequestContext requestContext) {
-        MDC.put("startTime", String.valueOf(System.currentTimeMillis()));
-
-        LOG.debug("*** Start request logging ***");
-        LOG.debug("Resource: /{}", requestContext.getUriInfo().getPath());
-        LOG.debug("Class: {}", resourceInfo.getResourceClass().getCanonicalName());
-        LOG.debug("Method: {}", resourceInfo.getResourceMethod().getName());
-        logQueryParameters(requestContext);
-        logRequestHeaders(requestContext);
+        RequestTimings.begin();
+        MDC.put(SlowQueryRecorder.MDC_RESOURCE_METHOD, resourceInfo.getResourceClass().getSimpleName() + "." + resourceInfo.getResourceMethod().getName());
+        MDC.put(SlowQueryRecorder.MDC_REQUEST_PATH, requestContext.getUriInfo().getPath());
+        putIfPresent(SlowQueryRecorder.MDC_QUERY_STRING, requestContext.getUriInfo().getRequestUri().getRawQuery());
+        putIfPresent("userAgent", requestContext.getHeaderString(HttpHeaders.USER_AGENT));
+        putIfPresent("host", requestContext.getHeaderString(HttpHeaders.HOST));
+
+        if (LOG.isDebugEnabled()) {
+            LOG.debug("*** Start request logging ***");
+            LOG.debug("Resource: /{}", requestContext.getUriInfo().getPath());
+            LOG.debug("Class: {}", resourceInfo.getResourceClass().getCanonicalName());
+            LOG.debug("Method: {}", resourceInfo.getResourceMethod().getName());
+            logQueryParameters(requestContext);
+            logRequestHeaders(requestContext);
+        }
+    }
+
+    private void putIfPresent(final String key,
+                              final String value) {
+        if (value != null) {
+            MDC.put(key, value);
+        }
     }
 
     private void logQueryParameters(final ContainerRequestContext requestContext) {
@@ -53,47 +76,86 @@ public class RequestLoggingFilter implements ContainerRequestFilter, ContainerRe
             } else {
                 headerValue = requestContext.getHeaderString(headerName);
             }
-            if ("User-Agent".equalsIgnoreCase(headerName)) {
-                MDC.put("userAgent", headerValue);
-            } else if ("Host".equalsIgnoreCase(headerName)) {
-                MDC.put("host", headerValue);
-            }
             LOG.debug("Header: {}, Value: {} ", headerName, headerValue);
         });
         LOG.debug("*** End header section of request ***");
     }
 
     @Override
-    public void filter(final ContainerRequestContext requestContext,
-                       final ContainerResponseContext responseContext) {
-        final Long executionTime = getExecutionTime();
-        if (executionTime == null) {
-            return;
-        }
-        LOG.debug("Request execution time: {} ms", executionTime);
-        LOG.debug("*** End request logging ***");
-        logRequestInfo(requestContext, responseContext, executionTime);
-        MDC.clear();
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        return new RequestLogger();
     }
 
-    private Long getExecutionTime() {
-        final String startTimeString = MDC.get("startTime");
-        if (startTimeString != null && !startTimeString.isEmpty()) {
-            final long startTime = Long.parseLong(startTimeString);
-            return System.currentTimeMillis() - startTime;
+    private final class RequestLogger implements RequestEventListener {
+
+        private RequestTimings timings;
+        private Map<String, String> context;
+
+        @Override
+        public void onEvent(final RequestEvent event) {
+            switch (event.getType()) {
+                case REQUEST_FILTERED:
+                    timings = RequestTimings.current();
+                    context = MDC.getCopyOfContextMap();
+                    break;
+                case FINISHED:
+                    if (timings == null) {
+                        timings = RequestTimings.current();
+                    }
+                    if (timings != null) {
+                        finish(event);
+                    }
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        private void finish(final RequestEvent event) {
+            // Asynchronous responses finish on another thread, so the request context is restored for the log line.
+            final boolean requestThread = RequestTimings.current() == timings;
+            final Map<String, String> previousContext = requestThread ? null : MDC.getCopyOfContextMap();
+            if (!requestThread && context != null) {
+                MDC.setContextMap(context);
+            }
+            try {
+                final long executionTime = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - timings.getStartNanos());
+                if (LOG.isDebugEnabled()) {
+                    LOG.debug("Request execution time: {} ms", executionTime);
+                    LOG.debug("*** End request logging ***");
+                }
+                final int status = event.getContainerResponse() != null ? event.getContainerResponse().getStatus() : 500;
+                logRequestInfo(event.getContainerRequest(), status, executionTime, timings);
+            } finally {
+                if (requestThread) {
+                    RequestTimings.end();
+                    MDC.clear();
+                } else if (previousContext != null) {
+                    MDC.setContextMap(previousContext);
+                } else {
+                    MDC.clear();
+                }
+            }
         }
-        return null;
     }
 
-    private void logRequestInfo(final ContainerRequestContext requestContext,
-                                final ContainerResponseContext responseContext,
-                                final long executionTime) {
+    private void logRequestInfo(final ContainerRequest request,
+                                final int status,
+                                final long executionTime,
+                                final RequestTimings timings) {
+        final String timing = timings.toServerTiming();
+        MDC.put("timing", timing);
         final String log = "Request: /" +
-            requestContext.getMethod() + " " + requestContext.getUriInfo().getPath() + ", " +
-            "Status: " + responseContext.getStatus() + ", " +
+            request.getMethod() + " " + request.getUriInfo().getPath() + ", " +
+            "Status: " + status + ", " +
             "User-Agent: " + MDC.get("userAgent") + ", " +
             "Host: " + MDC.get("host") + ", " +
-            "Time: " + executionTime + " ms";
+            "Time: " + executionTime + " ms, " +
+            "Timing: " + timing;
         LOG.info(log);
     }
 }
@@ -0,0 +1,42 @@
+package fi.vm.yti.codelist.api.filter;
+
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.domain.RequestMemo;
+
+@Component
+public class RequestMemoListener implements ApplicationEventListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(RequestMemoListener.class);
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        RequestMemo.begin();
+        final Thread requestThread = Thread.currentThread();
+        return event -> {
+            switch (event.getType()) {
+                case ON_EXCEPTION:
+                case FINISHED:
+                    if (Thread.currentThread() == requestThread) {
+                        if (event.getType() == RequestEvent.Type.FINISHED && LOG.isDebugEnabled()) {
+                            LOG.debug(String.format("Request memo served %d repeated Domain lookups.", RequestMemo.getHits()));
+                        }
+                        RequestMemo.end();
+                    }
+                    break;
+                default:
+                    break;
+            }
+        };
+    }
+}
@@ -0,0 +1,88 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.lang.reflect.Method;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.glassfish.jersey.server.ExtendedUriInfo;
+import org.glassfish.jersey.server.model.ResourceMethod;
+import org.glassfish.jersey.server.monitoring.ApplicationEvent;
+import org.glassfish.jersey.server.monitoring.ApplicationEventListener;
+import org.glassfish.jersey.server.monitoring.RequestEvent;
+import org.glassfish.jersey.server.monitoring.RequestEventListener;
+import org.glassfish.jersey.uri.UriTemplate;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+@Component
+public class RequestMetricsListener implements ApplicationEventListener {
+
+    private static final String METRIC_NAME = "codelist.api.requests";
+    private static final String UNMATCHED_ROUTE = "UNMATCHED";
+
+    private final MeterRegistry meterRegistry;
+    private final ConcurrentMap<String, Timer> timers = new ConcurrentHashMap<>();
+
+    @Inject
+    public RequestMetricsListener(final MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void onEvent(final ApplicationEvent event) {
+    }
+
+    @Override
+    public RequestEventListener onRequest(final RequestEvent requestEvent) {
+        final long startNanos = System.nanoTime();
+        return event -> {
+            if (event.getType() == RequestEvent.Type.FINISHED) {
+                record(event, System.nanoTime() - startNanos);
+            }
+        };
+    }
+
+    private void record(final RequestEvent event,
+                        final long durationNanos) {
+        final ExtendedUriInfo uriInfo = event.getUriInfo();
+        final ResourceMethod resourceMethod = uriInfo != null ? uriInfo.getMatchedResourceMethod() : null;
+        final String route = resourceMethod != null ? resolveRoute(resourceMethod) : UNMATCHED_ROUTE;
+        final String uri = resourceMethod != null ? resolveUriTemplate(uriInfo.getMatchedTemplates()) : UNMATCHED_ROUTE;
+        final String method = event.getContainerRequest().getMethod();
+        final int status = event.getContainerResponse() != null ? event.getContainerResponse().getStatus() : 500;
+        final String key = method + ' ' + route + ' ' + status;
+        timers.computeIfAbsent(key, k -> Timer.builder(METRIC_NAME)
+            .description("Jersey request latency per resource method")
+            .tag("route", route)
+            .tag("uri", uri)
+            .tag("method", method)
+            .tag("status", String.valueOf(status))
+            .publishPercentiles(0.5, 0.9, 0.99, 0.999)
+            .publishPercentileHistogram()
+            .register(meterRegistry))
+            .record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    private String resolveRoute(final ResourceMethod resourceMethod) {
+        final Method method = resourceMethod.getInvocable().getDefinitionMethod();
+        return method.getDeclaringClass().getSimpleName() + "." + method.getName();
+    }
+
+    private String resolveUriTemplate(final List<UriTemplate> matchedTemplates) {
+        final StringBuilder template = new StringBuilder();
+        for (int i = matchedTemplates.size() - 1; i >= 0; i--) {
+            final String part = matchedTemplates.get(i).getTemplate();
+            if (!part.startsWith("/") && !part.isEmpty()) {
+                template.append('/');
+            }
+            template.append(part);
+        }
+        return template.length() > 0 ? template.toString() : "/";
+    }
+}
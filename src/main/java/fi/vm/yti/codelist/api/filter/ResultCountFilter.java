@@ -0,0 +1,27 @@
+package fi.vm.yti.codelist.api.filter;
+
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerRequestFilter;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.domain.ResultCounting;
+
+@Component
+public class ResultCountFilter implements ContainerRequestFilter, ContainerResponseFilter {
+
+    private static final String PARAMETER_COUNT = "count";
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext) {
+        ResultCounting.begin(ResultCounting.Mode.fromParameter(requestContext.getUriInfo().getQueryParameters().getFirst(PARAMETER_COUNT)));
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext,
+                       final ContainerResponseContext responseContext) {
+        ResultCounting.end();
+    }
+}
@@ -0,0 +1,44 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.io.IOException;
+
+import javax.inject.Inject;
+import javax.ws.rs.container.ContainerRequestContext;
+import javax.ws.rs.container.ContainerResponseContext;
+import javax.ws.rs.container.ContainerResponseFilter;
+import javax.ws.rs.ext.WriterInterceptor;
+import javax.ws.rs.ext.WriterInterceptorContext;
+
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.configuration.ServerTimingProperties;
+import fi.vm.yti.codelist.api.timing.RequestTimings;
+
+@Component
+public class ServerTimingFilter implements ContainerResponseFilter, WriterInterceptor {
+
+    private static final String HEADER_SERVER_TIMING = "Server-Timing";
+
+    private final ServerTimingProperties properties;
+
+    @Inject
+    public ServerTimingFilter(final ServerTimingProperties properties) {
+        this.properties = properties;
+    }
+
+    @Override
+    public void filter(final ContainerRequestContext requestContext,
+                       final ContainerResponseContext responseContext) {
+        final RequestTimings timings = RequestTimings.current();
+        if (timings != null && (properties.isAlwaysEnabled() || requestContext.getHeaderString(properties.getRequestHeader()) != null)) {
+            responseContext.getHeaders().putSingle(HEADER_SERVER_TIMING, timings.toServerTiming());
+        }
+    }
+
+    @Override
+    public void aroundWriteTo(final WriterInterceptorContext context) throws IOException {
+        try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.SERIALIZATION)) {
+            context.proceed();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.util.Date;
+import java.util.concurrent.TimeUnit;
+
+final class TokenBucket {
+
+    private final String client;
+    private final double capacity;
+    private final double refillPerNano;
+    private double tokens;
+    private long refilledAt;
+    private long lastRequestMillis;
+    private long requests;
+    private long limitedRequests;
+    private long consumedTokens;
+
+    TokenBucket(final String client,
+                final double capacity,
+                final double refillPerSecond) {
+        this.client = client;
+        this.capacity = capacity;
+        this.refillPerNano = refillPerSecond / TimeUnit.SECONDS.toNanos(1);
+        this.tokens = capacity;
+        this.refilledAt = System.nanoTime();
+    }
+
+    synchronized long tryConsume(final int cost) {
+        final long now = System.nanoTime();
+        refill(now);
+        lastRequestMillis = System.currentTimeMillis();
+        requests++;
+        final double required = Math.min(cost, capacity);
+        if (tokens >= required) {
+            tokens -= required;
+            consumedTokens += cost;
+            return 0;
+        }
+        limitedRequests++;
+        return (long) Math.ceil((required - tokens) / refillPerNano);
+    }
+
+    synchronized ClientUsage toUsage() {
+        refill(System.nanoTime());
+        return new ClientUsage(client, requests, limitedRequests, consumedTokens, tokens, new Date(lastRequestMillis));
+    }
+
+    private void refill(final long now) {
+        tokens = Math.min(capacity, tokens + (now - refilledAt) * refillPerNano);
+        refilledAt = now;
+    }
+}
@@ -0,0 +1,151 @@
+package fi.vm.yti.codelist.api.notification;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.PreDestroy;
+import javax.inject.Inject;
+import javax.inject.Singleton;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.OutboundSseEvent;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+
+import fi.vm.yti.codelist.api.configuration.ChangeNotificationProperties;
+import fi.vm.yti.codelist.api.domain.ChangeCursor;
+import fi.vm.yti.codelist.api.domain.ChangeFeed;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.IndexChangeListener;
+import fi.vm.yti.codelist.api.domain.IndexState;
+import fi.vm.yti.codelist.api.dto.ChangeDTO;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+
+@Singleton
+@Service
+public class ChangeNotificationService implements IndexChangeListener {
+
+    private static final Logger LOG = LoggerFactory.getLogger(ChangeNotificationService.class);
+    private static final String EVENT_NAME_CHANGE = "change";
+
+    private final Domain domain;
+    private final ChangeNotificationProperties properties;
+    private final Set<ChangeSubscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private Map<String, Long> lastSeen;
+    private ChangeCursor cursor;
+
+    @Inject
+    public ChangeNotificationService(final Domain domain,
+                                     final ChangeNotificationProperties properties) {
+        this.domain = domain;
+        this.properties = properties;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(subscription -> closeQuietly(subscription.getSink()));
+        subscriptions.clear();
+    }
+
+    public void subscribe(final List<String> uris,
+                          final SseEventSink sink,
+                          final Sse sse) {
+        if (!properties.isEnabled()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Change notifications are disabled."));
+        }
+        if (subscriptions.size() >= properties.getMaxSubscribers()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.SERVICE_UNAVAILABLE.value(), "Change notification subscriber limit reached, try again later."));
+        }
+        final ChangeSubscription subscription = new ChangeSubscription(uris, sink, sse);
+        subscriptions.add(subscription);
+        send(subscription, sse.newEventBuilder().comment("subscribed").build());
+    }
+
+    @Override
+    public void onIndexChecked(final IndexState previous,
+                               final IndexState current) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            subscriptions.removeIf(subscription -> subscription.getSink().isClosed());
+            if (subscriptions.isEmpty()) {
+                lastSeen = null;
+                cursor = null;
+                return;
+            }
+            final Map<String, Long> lastModified = current.getLastModified();
+            if (lastSeen == null) {
+                lastSeen = lastModified;
+                cursor = new ChangeCursor(lastModified.isEmpty() ? System.currentTimeMillis() : Collections.max(lastModified.values()) + 1, "");
+                return;
+            }
+            final List<String> changedTypes = new ArrayList<>();
+            lastModified.forEach((type, modified) -> {
+                if (modified > lastSeen.getOrDefault(type, Long.MIN_VALUE)) {
+                    changedTypes.add(type);
+                }
+            });
+            if (changedTypes.isEmpty()) {
+                subscriptions.forEach(subscription -> send(subscription, subscription.getSse().newEventBuilder().comment("heartbeat").build()));
+                return;
+            }
+            // getChanges applies the default status filter, so INCOMPLETE resources are never pushed to subscribers.
+            ChangeFeed changeFeed;
+            do {
+                changeFeed = domain.getChanges(cursor, changedTypes, properties.getBatchSize());
+                changeFeed.getChanges().forEach(this::publish);
+                cursor = changeFeed.getCursor();
+            } while (changeFeed.hasMore());
+            lastSeen = lastModified;
+        } catch (final RuntimeException e) {
+            LOG.warn("Polling for code list changes failed.", e);
+        }
+    }
+
+    private void publish(final ChangeDTO change) {
+        for (final ChangeSubscription subscription : subscriptions) {
+            if (subscription.matches(change.getUri())) {
+                final OutboundSseEvent event = subscription.getSse().newEventBuilder()
+                    .name(EVENT_NAME_CHANGE)
+                    .mediaType(MediaType.APPLICATION_JSON_TYPE)
+                    .data(ChangeDTO.class, change)
+                    .build();
+                send(subscription, event);
+            }
+        }
+    }
+
+    private void send(final ChangeSubscription subscription,
+                      final OutboundSseEvent event) {
+        final SseEventSink sink = subscription.getSink();
+        if (sink.isClosed()) {
+            subscriptions.remove(subscription);
+            return;
+        }
+        sink.send(event).whenComplete((ignored, e) -> {
+            if (e != null) {
+                LOG.debug("Dropping change notification subscriber after failed send.", e);
+                subscriptions.remove(subscription);
+                closeQuietly(sink);
+            }
+        });
+    }
+
+    private void closeQuietly(final SseEventSink sink) {
+        try {
+            sink.close();
+        } catch (final RuntimeException e) {
+            LOG.debug("Closing change notification stream failed.", e);
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package fi.vm.yti.codelist.api.notification;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+class ChangeSubscription {
+
+    private final List<String> uris;
+    private final SseEventSink sink;
+    private final Sse sse;
+
+    ChangeSubscription(final List<String> uris,
+                       final SseEventSink sink,
+                       final Sse sse) {
+        this.uris = uris.stream().map(uri -> uri.toLowerCase(Locale.ROOT)).collect(Collectors.toList());
+        this.sink = sink;
+        this.sse = sse;
+    }
+
+    boolean matches(final String uri) {
+        if (uri == null) {
+            return false;
+        }
+        final String resourceUri = uri.toLowerCase(Locale.ROOT);
+        for (final String watchedUri : uris) {
+            if (resourceUri.equals(watchedUri) || resourceUri.startsWith(watchedUri + "/")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    SseEventSink getSink() {
+        return sink;
+    }
+
+    Sse getSse() {
+        return sse;
+    }
+}
@@ -1,7 +1,14 @@
 package fi.vm.yti.codelist.api.resource;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 import java.text.ParseException;
 import java.util.ArrayList;
 import java.util.Date;
@@ -28,8 +35,12 @@ import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import com.fasterxml.jackson.databind.util.ISO8601DateFormat;
 
 import fi.vm.yti.codelist.api.configuration.UriProperties;
+import fi.vm.yti.codelist.api.domain.ResultCounting;
+import fi.vm.yti.codelist.api.export.ExportCache;
+import fi.vm.yti.codelist.api.export.RequestExportPins;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
 import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.Meta;
 import fi.vm.yti.codelist.common.model.Status;
 import static fi.vm.yti.codelist.api.util.EncodingUtils.urlDecodeString;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
@@ -150,6 +161,18 @@ abstract class AbstractBaseResource {
         return infoDomains;
     }
 
+    boolean hasNextPage(final Meta meta) {
+        final Integer pageSize = meta.getPageSize();
+        if (pageSize == null) {
+            return false;
+        }
+        if (meta.getTotalResults() == null) {
+            return ResultCounting.hasMore();
+        }
+        final int from = meta.getFrom() != null ? meta.getFrom() : 0;
+        return from + pageSize < meta.getTotalResults();
+    }
+
     private String createDownloadFilename(final String format,
                                           final String filename) {
         if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
@@ -269,6 +292,62 @@ abstract class AbstractBaseResource {
         return Response.ok(stream, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet").header(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + createDownloadFilename(FORMAT_EXCEL, filename)).build();
     }
 
+    Response streamCsvFile(final ExportCache.CachedFile cachedFile,
+                           final String filename) {
+        return streamFile(cachedFile, "text/csv", createDownloadFilename(FORMAT_CSV, filename));
+    }
+
+    Response streamExcelFile(final ExportCache.CachedFile cachedFile,
+                             final String filename) {
+        return streamFile(cachedFile, "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", createDownloadFilename(FORMAT_EXCEL, filename));
+    }
+
+    Response streamFile(final ExportCache.CachedFile cachedFile,
+                        final String contentType,
+                        final String downloadFilename) {
+        RequestExportPins.track(cachedFile);
+        return streamFile(cachedFile.getFile(), cachedFile.getSize(), contentType, downloadFilename, cachedFile::release);
+    }
+
+    Response streamFile(final Path file,
+                        final String contentType,
+                        final String downloadFilename) {
+        final long size;
+        try {
+            size = Files.size(file);
+        } catch (final IOException e) {
+            LOG.error("File output opening issue.", e);
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "File output generation failed!"));
+        }
+        return streamFile(file, size, contentType, downloadFilename, () -> {
+        });
+    }
+
+    private Response streamFile(final Path file,
+                                final long size,
+                                final String contentType,
+                                final String downloadFilename,
+                                final Runnable onFinished) {
+        final StreamingOutput stream = output -> {
+            try (final FileChannel source = FileChannel.open(file, StandardOpenOption.READ)) {
+                final WritableByteChannel target = Channels.newChannel(output);
+                long position = 0;
+                while (position < size) {
+                    position += source.transferTo(position, size - position, target);
+                }
+            } catch (final IOException e) {
+                LOG.error("File output streaming issue.", e);
+                throw new YtiCodeListException(new ErrorModel(HttpStatus.INTERNAL_SERVER_ERROR.value(), "File output generation failed!"));
+            } finally {
+                onFinished.run();
+            }
+        };
+        return Response.ok(stream, contentType)
+            .header(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + downloadFilename)
+            .header("Content-Length", size)
+            .build();
+    }
+
     void ensureUriHost(final String host) {
         String scheme = "https?://";
         String uriNoScheme = host.replaceFirst(scheme, "");
@@ -0,0 +1,53 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.ws.rs.Encoded;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.sse.Sse;
+import javax.ws.rs.sse.SseEventSink;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.api.notification.ChangeNotificationService;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Component
+@Path("/v1/notifications")
+@Tag(name = "Change")
+public class ChangeNotificationResource extends AbstractBaseResource {
+
+    private final ChangeNotificationService changeNotificationService;
+
+    @Inject
+    public ChangeNotificationResource(final ChangeNotificationService changeNotificationService) {
+        this.changeNotificationService = changeNotificationService;
+    }
+
+    @GET
+    @Produces(MediaType.SERVER_SENT_EVENTS)
+    @Operation(description = "Server-Sent Events stream of changes to the watched code registries and code schemes.")
+    @ApiResponse(responseCode = "200", description = "Streams change events with the URI, type and modification time of each changed resource under the watched URIs.")
+    public void subscribe(@Parameter(description = "Code registry or code scheme URIs to watch in CSL format.", in = ParameterIn.QUERY, required = true) @Encoded @QueryParam("uri") final String uri,
+                          @Context final SseEventSink sink,
+                          @Context final Sse sse) {
+        final List<String> uris = parseAndDecodeUrisFromCsl(uri);
+        if (uris == null || uris.isEmpty()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "At least one URI to watch is required."));
+        }
+        changeNotificationService.subscribe(uris, sink, sse);
+    }
+}
@@ -0,0 +1,87 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.util.Date;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.validation.constraints.Pattern;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.api.ApiUtils;
+import fi.vm.yti.codelist.api.api.ChangeFeedResponseWrapper;
+import fi.vm.yti.codelist.api.domain.ChangeCursor;
+import fi.vm.yti.codelist.api.domain.ChangeFeed;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.Meta;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import static fi.vm.yti.codelist.api.domain.DomainImpl.MAX_ES_PAGESIZE;
+import static java.util.Arrays.asList;
+
+@Component
+@Path("/v1/changes")
+@Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8" })
+@Tag(name = "Change")
+public class ChangeResource extends AbstractBaseResource {
+
+    private final Domain domain;
+    private final ApiUtils apiUtils;
+
+    @Inject
+    public ChangeResource(final Domain domain,
+                          final ApiUtils apiUtils) {
+        this.domain = domain;
+        this.apiUtils = apiUtils;
+    }
+
+    @GET
+    @Operation(description = "API for fetching code registries, code schemes, codes, extensions and members modified since a cursor, ordered by modification time.")
+    @ApiResponse(responseCode = "200", description = "Returns changed resources with meta element, a resume token for the next poll and a results list.")
+    public Response getChanges(@Parameter(description = "Start from resources modified at or after this ISO 8601 formatted date string, ignored when cursor is given.", in = ParameterIn.QUERY) @QueryParam("since") @Pattern(regexp = "[0-9TZ\\-\\:\\+\\.]+") final String since,
+                               @Parameter(description = "Resume token from a previous change feed response.", in = ParameterIn.QUERY) @QueryParam("cursor") final String cursor,
+                               @Parameter(description = "Resource types in CSL format: coderegistry, codescheme, code, extension, member.", in = ParameterIn.QUERY) @QueryParam("type") final String type,
+                               @Parameter(description = "Pagination parameter for page size.", in = ParameterIn.QUERY) @QueryParam("pageSize") @DefaultValue("1000") final Integer pageSize,
+                               @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        if (pageSize < 1 || pageSize > MAX_ES_PAGESIZE) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Paging pageSize parameter value %d must be between 1 and %d.", pageSize, MAX_ES_PAGESIZE)));
+        }
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+        final Date sinceDate = parseDateFromString(since);
+        final ChangeCursor changeCursor;
+        if (cursor != null && !cursor.isEmpty()) {
+            changeCursor = ChangeCursor.fromToken(cursor);
+        } else if (sinceDate != null) {
+            changeCursor = new ChangeCursor(sinceDate.getTime(), "");
+        } else {
+            changeCursor = null;
+        }
+        final List<String> types = type != null ? asList(type.toLowerCase().split(",")) : null;
+        final ChangeFeed changeFeed = domain.getChanges(changeCursor, types, pageSize);
+        final Meta meta = new Meta(200, pageSize, 0, sinceDate, null);
+        meta.setResultCount(changeFeed.getChanges().size());
+        final String resumeToken = changeFeed.getCursor() != null ? changeFeed.getCursor().toToken() : null;
+        if (changeFeed.hasMore()) {
+            meta.setNextPage(apiUtils.createChangesNextPageUrl(resumeToken, pageSize, type));
+        }
+        final ChangeFeedResponseWrapper wrapper = new ChangeFeedResponseWrapper();
+        wrapper.setMeta(meta);
+        wrapper.setResumeToken(resumeToken);
+        wrapper.setResults(changeFeed.getChanges());
+        return Response.ok(wrapper).build();
+    }
+}
@@ -1,9 +1,14 @@
 package fi.vm.yti.codelist.api.resource;
 
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.UUID;
+import java.util.function.Supplier;
 
 import javax.inject.Inject;
 import javax.ws.rs.DefaultValue;
@@ -26,11 +31,19 @@ import com.fasterxml.jackson.databind.node.ArrayNode;
 
 import fi.vm.yti.codelist.api.api.ApiUtils;
 import fi.vm.yti.codelist.api.api.ResponseWrapper;
+import fi.vm.yti.codelist.api.domain.CodeHierarchy;
+import fi.vm.yti.codelist.api.domain.CodeHierarchyService;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.MemberGraph;
+import fi.vm.yti.codelist.api.domain.MemberGraphService;
+import fi.vm.yti.codelist.api.domain.ResourcePath;
+import fi.vm.yti.codelist.api.dto.CodeTreeNodeDTO;
+import fi.vm.yti.codelist.api.dto.MemberTreeNodeDTO;
 import fi.vm.yti.codelist.api.exception.NotFoundException;
 import fi.vm.yti.codelist.api.export.CodeExporter;
 import fi.vm.yti.codelist.api.export.CodeRegistryExporter;
 import fi.vm.yti.codelist.api.export.CodeSchemeExporter;
+import fi.vm.yti.codelist.api.export.ExportCache;
 import fi.vm.yti.codelist.api.export.ExtensionExporter;
 import fi.vm.yti.codelist.api.export.MemberExporter;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
@@ -56,6 +69,9 @@ import static java.util.Arrays.asList;
 public class CodeRegistryResource extends AbstractBaseResource {
 
     private static final String HEADER_CONTENT_DISPOSITION = "content-disposition";
+    private static final String DOWNLOAD_FILENAME_CODES = "codes";
+    private static final String EXPORT_OPTIONS_CODESCHEME = "codescheme";
+    private static final String EXPORT_OPTIONS_CODES = "codes";
     private final ApiUtils apiUtils;
     private final Domain domain;
     private final CodeExporter codeExporter;
@@ -63,6 +79,9 @@ public class CodeRegistryResource extends AbstractBaseResource {
     private final CodeRegistryExporter codeRegistryExporter;
     private final ExtensionExporter extensionExporter;
     private final MemberExporter memberExporter;
+    private final CodeHierarchyService codeHierarchyService;
+    private final MemberGraphService memberGraphService;
+    private final ExportCache exportCache;
 
     @Inject
     public CodeRegistryResource(final ApiUtils apiUtils,
@@ -71,7 +90,10 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                 final CodeSchemeExporter codeSchemeExporter,
                                 final CodeRegistryExporter codeRegistryExporter,
                                 final ExtensionExporter extensionExporter,
-                                final MemberExporter memberExporter) {
+                                final MemberExporter memberExporter,
+                                final CodeHierarchyService codeHierarchyService,
+                                final MemberGraphService memberGraphService,
+                                final ExportCache exportCache) {
         this.apiUtils = apiUtils;
         this.domain = domain;
         this.codeExporter = codeExporter;
@@ -79,6 +101,9 @@ public class CodeRegistryResource extends AbstractBaseResource {
         this.codeRegistryExporter = codeRegistryExporter;
         this.extensionExporter = extensionExporter;
         this.memberExporter = memberExporter;
+        this.codeHierarchyService = codeHierarchyService;
+        this.memberGraphService = memberGraphService;
+        this.exportCache = exportCache;
     }
 
     @GET
@@ -131,15 +156,11 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                     @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODEREGISTRY, expand), pretty));
         final List<String> userOrganizations = userOrganizationsCsv == null ? null : asList(userOrganizationsCsv.toLowerCase().split(","));
-        final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
-        if (codeRegistry != null) {
-            if (embedCodeSchemes) {
-                codeRegistry.setCodeSchemes(domain.getCodeSchemesByCodeRegistryCodeValue(codeRegistryCodeValue, null, userOrganizations, includeIncomplete, language));
-            }
-            return Response.ok(codeRegistry).build();
-        } else {
-            throw new NotFoundException();
+        final CodeRegistryDTO codeRegistry = domain.resolvePath(ResourcePath.codeRegistry(codeRegistryCodeValue)).getCodeRegistry();
+        if (embedCodeSchemes) {
+            codeRegistry.setCodeSchemes(domain.getCodeSchemesByCodeRegistryCodeValue(codeRegistryCodeValue, null, userOrganizations, includeIncomplete, language));
         }
+        return Response.ok(codeRegistry).build();
     }
 
     @GET
@@ -171,24 +192,20 @@ public class CodeRegistryResource extends AbstractBaseResource {
         final List<String> userOrganizations = userOrganizationsCsv == null ? null : asList(userOrganizationsCsv.toLowerCase().split(","));
         final List<String> infoDomainsList = parseInfoDomainsCls(infoDomain);
         final List<String> statusList = parseStatusCsl(status);
-        final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
-        if (codeRegistry != null) {
-            final Set<CodeSchemeDTO> codeSchemes = domain.getCodeSchemes(sortMode, null, userOrganizations, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, false, false, statusList, infoDomainsList, extensionPropertyType, meta);
-            if (FORMAT_CSV.equalsIgnoreCase(format.toLowerCase())) {
-                final String csv = codeSchemeExporter.createCsv(codeSchemes);
-                return streamCsvCodeSchemesOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = codeSchemeExporter.createExcel(codeSchemes, format);
-                return streamExcelCodeSchemesOutput(workbook);
-            } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-                final ResponseWrapper<CodeSchemeDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setResults(codeSchemes);
-                wrapper.setMeta(meta);
-                return Response.ok(wrapper).build();
-            }
+        final CodeRegistryDTO codeRegistry = domain.resolvePath(ResourcePath.codeRegistry(codeRegistryCodeValue)).getCodeRegistry();
+        final Set<CodeSchemeDTO> codeSchemes = domain.getCodeSchemes(sortMode, null, userOrganizations, includeIncomplete, codeRegistryCodeValue, codeRegistryPrefLabel, codeSchemeCodeValue, codeSchemePrefLabel, language, searchTerm, false, false, statusList, infoDomainsList, extensionPropertyType, meta, null);
+        if (FORMAT_CSV.equalsIgnoreCase(format.toLowerCase())) {
+            final String csv = codeSchemeExporter.createCsv(codeSchemes);
+            return streamCsvCodeSchemesOutput(csv);
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = codeSchemeExporter.createExcel(codeSchemes, format);
+            return streamExcelCodeSchemesOutput(workbook);
         } else {
-            throw new NotFoundException();
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
+            final ResponseWrapper<CodeSchemeDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setResults(codeSchemes);
+            wrapper.setMeta(meta);
+            return Response.ok(wrapper).build();
         }
     }
 
@@ -208,56 +225,47 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                               @Parameter(description = "Boolean that controls whether to embed embedMembers in the payload or not.", in = ParameterIn.QUERY) @QueryParam("embedMembers") @DefaultValue("false") final boolean embedMembers,
                                               @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-        final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
-        if (codeRegistry != null) {
-            if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    final Workbook workbook = codeSchemeExporter.createExcel(codeScheme, format);
-                    return streamExcelCodeSchemeOutput(workbook, "codelist_" + codeScheme.getCodeValue());
-                } else {
-                    throw new NotFoundException();
-                }
-            } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    final String csv = codeSchemeExporter.createCsv(codeScheme);
-                    return streamCsvCodeSchemeOutput(csv, "codelist_" + codeScheme.getCodeValue());
-                } else {
-                    throw new NotFoundException();
-                }
-            } else {
-                final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-                if (codeScheme != null) {
-                    if (embedCodes) {
-                        final Set<CodeDTO> codes = domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
-                        filterCodes(codes);
-                        codeScheme.setCodes(codes);
-                    }
-                    if (embedExtensions) {
-                        Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
-                        filterExtensions(extensions);
-                        if (embedMembers) {
-                            for (ExtensionDTO extension : extensions) {
-                                final Set<MemberDTO> members = domain.getMembers(extension, null);
-                                filterMembers(members);
-                                extension.setMembers(members);
-                            }
-                        }
-                        codeScheme.setExtensions(extensions);
-                    }
-                    Response response = Response.ok(codeScheme).build();
-                    if (downloadFile) {
-                        response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + ".json");
+        final ResourcePath path = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue));
+        final CodeRegistryDTO codeRegistry = path.getCodeRegistry();
+        if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final CodeSchemeDTO codeScheme = path.getCodeScheme();
+            if (exportCache.isEnabled()) {
+                return streamCachedExcel(codeScheme, format, EXPORT_OPTIONS_CODESCHEME, "codelist_" + codeScheme.getCodeValue(), () -> codeSchemeExporter.createExcel(codeScheme, format));
+            }
+            final Workbook workbook = codeSchemeExporter.createExcel(codeScheme, format);
+            return streamExcelCodeSchemeOutput(workbook, "codelist_" + codeScheme.getCodeValue());
+        } else if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            final CodeSchemeDTO codeScheme = path.getCodeScheme();
+            if (exportCache.isEnabled()) {
+                return streamCachedCsv(codeScheme, EXPORT_OPTIONS_CODESCHEME, "codelist_" + codeScheme.getCodeValue(), () -> codeSchemeExporter.createCsv(codeScheme));
+            }
+            final String csv = codeSchemeExporter.createCsv(codeScheme);
+            return streamCsvCodeSchemeOutput(csv, "codelist_" + codeScheme.getCodeValue());
+        } else {
+            final CodeSchemeDTO codeScheme = path.getCodeScheme();
+            if (embedCodes) {
+                final Set<CodeDTO> codes = domain.getCodesByCodeRegistryCodeValueAndCodeSchemeCodeValue(codeRegistryCodeValue, codeSchemeCodeValue);
+                filterCodes(codes);
+                codeScheme.setCodes(codes);
+            }
+            if (embedExtensions) {
+                Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme);
+                filterExtensions(extensions);
+                if (embedMembers) {
+                    for (ExtensionDTO extension : extensions) {
+                        final Set<MemberDTO> members = domain.getMembers(extension, null);
+                        filterMembers(members);
+                        extension.setMembers(members);
                     }
-                    response.getHeaders().putSingle("Content-Type", MediaType.APPLICATION_JSON + ";charset=utf-8");
-                    return response;
-                } else {
-                    throw new NotFoundException();
                 }
+                codeScheme.setExtensions(extensions);
             }
-        } else {
-            throw new NotFoundException();
+            Response response = Response.ok(codeScheme).build();
+            if (downloadFile) {
+                response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + ".json");
+            }
+            response.getHeaders().putSingle("Content-Type", MediaType.APPLICATION_JSON + ";charset=utf-8");
+            return response;
         }
     }
 
@@ -290,40 +298,136 @@ public class CodeRegistryResource extends AbstractBaseResource {
         before = before != null ? HtmlUtils.htmlEscape(before) : null;
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final List<String> statusList = parseStatusCsl(status);
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme != null) {
-            final Set<CodeDTO> codes = domain.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta);
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
+        final boolean unfiltered = pageSize == null && from == 0 && codeCodeValue == null && prefLabel == null && hierarchyLevel == null && broaderCodeId == null && language == null && status == null && after == null && before == null;
+        if (unfiltered && exportCache.isEnabled()) {
+            final String registryCodeValue = codeRegistryCodeValue;
+            final String schemeCodeValue = codeSchemeCodeValue;
             if (FORMAT_CSV.equalsIgnoreCase(format)) {
-                final String csv = codeExporter.createCsv(codes);
-                return streamCsvCodesOutput(csv);
+                return streamCachedCsv(codeScheme, EXPORT_OPTIONS_CODES, DOWNLOAD_FILENAME_CODES, () -> codeExporter.createCsv(domain.getCodes(registryCodeValue, schemeCodeValue, null, null, null, null, null, statusList, meta)));
             } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = codeExporter.createExcel(codes, format);
-                return streamExcelCodesOutput(workbook);
-            } else if (array != null) {
-                final ObjectMapper mapper = new ObjectMapper();
-                final ArrayNode arrayNode = mapper.createArrayNode();
-                codes.forEach(code -> arrayNode.add(code.getCodeValue()));
-                Response response = Response.ok(arrayNode).build();
-                if (downloadArray) {
-                    response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + "_codes.json");
-                }
-                return response;
-            } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
-                if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-                    meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_CODES, after, pageSize, from + pageSize));
-                }
-                final ResponseWrapper<CodeDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setMeta(meta);
-                if (codes == null) {
-                    throw new NotFoundException();
-                }
-                wrapper.setResults(codes);
-                return Response.ok(wrapper).build();
+                return streamCachedExcel(codeScheme, format, EXPORT_OPTIONS_CODES, DOWNLOAD_FILENAME_CODES, () -> codeExporter.createExcel(domain.getCodes(registryCodeValue, schemeCodeValue, null, null, null, null, null, statusList, meta), format));
             }
+        }
+        final Set<CodeDTO> codes = domain.getCodes(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue, prefLabel, hierarchyLevel, broaderCodeId, language, statusList, meta);
+        if (FORMAT_CSV.equalsIgnoreCase(format)) {
+            final String csv = codeExporter.createCsv(codes);
+            return streamCsvCodesOutput(csv);
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = codeExporter.createExcel(codes, format);
+            return streamExcelCodesOutput(workbook);
+        } else if (array != null) {
+            final ObjectMapper mapper = new ObjectMapper();
+            final ArrayNode arrayNode = mapper.createArrayNode();
+            codes.forEach(code -> arrayNode.add(code.getCodeValue()));
+            Response response = Response.ok(arrayNode).build();
+            if (downloadArray) {
+                response.getHeaders().putSingle(HEADER_CONTENT_DISPOSITION, "attachment; filename = " + "codelist_" + codeScheme.getCodeValue() + "_codes.json");
+            }
+            return response;
         } else {
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
+            if (hasNextPage(meta)) {
+                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_CODES, after, pageSize, from + pageSize));
+            }
+            final ResponseWrapper<CodeDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setMeta(meta);
+            if (codes == null) {
+                throw new NotFoundException();
+            }
+            wrapper.setResults(codes);
+            return Response.ok(wrapper).build();
+        }
+    }
+
+    @GET
+    @Path("{codeRegistryCodeValue}/codeschemes/{codeSchemeCodeValue}/codetree/")
+    @Operation(description = "Return the Code hierarchy of a CodeScheme as a tree.")
+    @ApiResponse(responseCode = "200", description = "Returns the Code hierarchy of a CodeScheme, or a subtree of it, in JSON format.")
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    @Tag(name = "Code")
+    public Response getCodeRegistryCodeSchemeCodeTree(@Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
+                                                      @Parameter(description = "CodeScheme CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeSchemeCodeValue") final String codeSchemeCodeValue,
+                                                      @Parameter(description = "Code CodeValue for the root of the returned subtree.", in = ParameterIn.QUERY) @QueryParam("codeValue") final String codeCodeValue,
+                                                      @Parameter(description = "Maximum depth of the returned tree.", in = ParameterIn.QUERY) @QueryParam("maxDepth") final Integer maxDepth,
+                                                      @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                                      @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
+        final CodeHierarchy hierarchy = getCodeHierarchy(codeRegistryCodeValue, codeSchemeCodeValue);
+        final List<CodeDTO> roots;
+        if (codeCodeValue != null && !codeCodeValue.isEmpty()) {
+            final CodeDTO rootCode = hierarchy.getCodeByCodeValue(urlDecodeCodeValue(codeCodeValue));
+            if (rootCode == null) {
+                throw new NotFoundException();
+            }
+            roots = Collections.singletonList(rootCode);
+        } else {
+            roots = hierarchy.getRoots();
+        }
+        final Set<CodeTreeNodeDTO> results = new LinkedHashSet<>();
+        roots.forEach(root -> results.add(hierarchy.createTreeNode(root, maxDepth)));
+        final Meta meta = new Meta(200, null, null, null, null);
+        meta.setResultCount(results.size());
+        meta.setTotalResults(hierarchy.size());
+        final ResponseWrapper<CodeTreeNodeDTO> wrapper = new ResponseWrapper<>();
+        wrapper.setResults(results);
+        wrapper.setMeta(meta);
+        return Response.ok(wrapper).build();
+    }
+
+    @GET
+    @Path("{codeRegistryCodeValue}/codeschemes/{codeSchemeCodeValue}/codes/{codeCodeValue}/descendants/")
+    @Operation(description = "Return all narrower Codes of a Code in depth-first order.")
+    @ApiResponse(responseCode = "200", description = "Returns all narrower Codes of a Code in JSON format.")
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    @Tag(name = "Code")
+    public Response getCodeRegistryCodeSchemeCodeDescendants(@Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
+                                                             @Parameter(description = "CodeScheme CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeSchemeCodeValue") final String codeSchemeCodeValue,
+                                                             @Parameter(description = "Code code.", in = ParameterIn.PATH, required = true) @Encoded @PathParam("codeCodeValue") final String codeCodeValue,
+                                                             @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                                             @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
+        final CodeHierarchy hierarchy = getCodeHierarchy(codeRegistryCodeValue, codeSchemeCodeValue);
+        final CodeDTO code = hierarchy.getCodeByCodeValue(urlDecodeCodeValue(codeCodeValue));
+        if (code == null) {
+            throw new NotFoundException();
+        }
+        return createCodeListResponse(hierarchy.getDescendants(code.getId()));
+    }
+
+    @GET
+    @Path("{codeRegistryCodeValue}/codeschemes/{codeSchemeCodeValue}/codes/{codeCodeValue}/ancestors/")
+    @Operation(description = "Return all broader Codes of a Code, nearest first.")
+    @ApiResponse(responseCode = "200", description = "Returns all broader Codes of a Code in JSON format.")
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    @Tag(name = "Code")
+    public Response getCodeRegistryCodeSchemeCodeAncestors(@Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
+                                                           @Parameter(description = "CodeScheme CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeSchemeCodeValue") final String codeSchemeCodeValue,
+                                                           @Parameter(description = "Code code.", in = ParameterIn.PATH, required = true) @Encoded @PathParam("codeCodeValue") final String codeCodeValue,
+                                                           @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                                           @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
+        final CodeHierarchy hierarchy = getCodeHierarchy(codeRegistryCodeValue, codeSchemeCodeValue);
+        final CodeDTO code = hierarchy.getCodeByCodeValue(urlDecodeCodeValue(codeCodeValue));
+        if (code == null) {
             throw new NotFoundException();
         }
+        return createCodeListResponse(hierarchy.getAncestors(code.getId()));
+    }
+
+    private CodeHierarchy getCodeHierarchy(final String codeRegistryCodeValue,
+                                           final String codeSchemeCodeValue) {
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
+        return codeHierarchyService.getCodeHierarchy(codeScheme);
+    }
+
+    private Response createCodeListResponse(final List<CodeDTO> codes) {
+        final Meta meta = new Meta(200, null, null, null, null);
+        meta.setResultCount(codes.size());
+        final ResponseWrapper<CodeDTO> wrapper = new ResponseWrapper<>();
+        wrapper.setResults(new LinkedHashSet<>(codes));
+        wrapper.setMeta(meta);
+        return Response.ok(wrapper).build();
     }
 
     @GET
@@ -343,30 +447,26 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                         @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                         @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme != null) {
-            final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme, prefLabel, meta);
-            if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                final String csv = extensionExporter.createCsv(extensions);
-                return streamCsvExtensionsOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = extensionExporter.createExcel(extensions, format);
-                return streamExcelExtensionsOutput(workbook);
-            } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
-                if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-                    meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS, after, pageSize, from + pageSize));
-                }
-                final ResponseWrapper<ExtensionDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setMeta(meta);
-                if (extensions == null) {
-                    throw new NotFoundException();
-                }
-                wrapper.setResults(extensions);
-                return Response.ok(wrapper).build();
-            }
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
+        final Set<ExtensionDTO> extensions = domain.getExtensions(codeScheme, prefLabel, meta);
+        if (FORMAT_CSV.startsWith(format.toLowerCase())) {
+            final String csv = extensionExporter.createCsv(extensions);
+            return streamCsvExtensionsOutput(csv);
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = extensionExporter.createExcel(extensions, format);
+            return streamExcelExtensionsOutput(workbook);
         } else {
-            throw new NotFoundException();
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
+            if (hasNextPage(meta)) {
+                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS, after, pageSize, from + pageSize));
+            }
+            final ResponseWrapper<ExtensionDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setMeta(meta);
+            if (extensions == null) {
+                throw new NotFoundException();
+            }
+            wrapper.setResults(extensions);
+            return Response.ok(wrapper).build();
         }
     }
 
@@ -383,26 +483,22 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                        @Parameter(description = "Is this a Cross-Refence List or not.", in = ParameterIn.QUERY) @QueryParam("crossreferencelist") @DefaultValue("false") final boolean exportAsSimplifiedCrossReferenceList,
                                                        @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                        @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
-        final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
-        if (extension != null) {
-            if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                final Set<ExtensionDTO> extensions = new HashSet<>();
-                extensions.add(extension);
-                final String csv = extensionExporter.createCsv(extensions);
-                return streamCsvExtensionsOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = extensionExporter.createExcel(extension, format, exportAsSimplifiedCrossReferenceList);
-                if (exportAsSimplifiedCrossReferenceList) {
-                    return streamExcelCrossReferenceListOutput(workbook);
-                } else {
-                    return streamExcelExtensionsOutput(workbook);
-                }
+        final ExtensionDTO extension = domain.resolvePath(ResourcePath.extension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue)).getExtension();
+        if (FORMAT_CSV.startsWith(format.toLowerCase())) {
+            final Set<ExtensionDTO> extensions = new HashSet<>();
+            extensions.add(extension);
+            final String csv = extensionExporter.createCsv(extensions);
+            return streamCsvExtensionsOutput(csv);
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = extensionExporter.createExcel(extension, format, exportAsSimplifiedCrossReferenceList);
+            if (exportAsSimplifiedCrossReferenceList) {
+                return streamExcelCrossReferenceListOutput(workbook);
             } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
-                return Response.ok(extension).build();
+                return streamExcelExtensionsOutput(workbook);
             }
         } else {
-            throw new NotFoundException();
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTENSION, expand), pretty));
+            return Response.ok(extension).build();
         }
     }
 
@@ -430,33 +526,79 @@ public class CodeRegistryResource extends AbstractBaseResource {
         after = after != null ? HtmlUtils.htmlEscape(after) : null;
         before = before != null ? HtmlUtils.htmlEscape(before) : null;
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
-        if (extension != null) {
-            final Set<MemberDTO> members = domain.getMembers(extension, meta);
-            if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                if (exportAsSimplifiedCrossReferenceList) {
-                    return streamCsvCrossReferenceListOutput(memberExporter.createSimplifiedCsvForCrossReferenceList(extension, members));
-                } else {
-                    return streamCsvMembersOutput(memberExporter.createCsv(extension, members));
-                }
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = memberExporter.createExcel(extension, members, format);
-                return streamExcelMembersOutput(workbook);
+        final ExtensionDTO extension = domain.resolvePath(ResourcePath.extension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue)).getExtension();
+        final Set<MemberDTO> members = domain.getMembers(extension, meta);
+        if (FORMAT_CSV.startsWith(format.toLowerCase())) {
+            if (exportAsSimplifiedCrossReferenceList) {
+                return streamCsvCrossReferenceListOutput(memberExporter.createSimplifiedCsvForCrossReferenceList(extension, MemberGraph.of(members)));
             } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
-                if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-                    meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS + "/" + extensionCodeValue + API_PATH_MEMBERS, after, pageSize, from + pageSize));
-                }
-                final ResponseWrapper<MemberDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setMeta(meta);
-                if (members == null) {
-                    throw new NotFoundException();
-                }
-                wrapper.setResults(members);
-                return Response.ok(wrapper).build();
+                return streamCsvMembersOutput(memberExporter.createCsv(extension, members));
             }
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = memberExporter.createExcel(extension, members, format);
+            return streamExcelMembersOutput(workbook);
         } else {
-            throw new NotFoundException();
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+            if (hasNextPage(meta)) {
+                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTENSIONS + "/" + extensionCodeValue + API_PATH_MEMBERS, after, pageSize, from + pageSize));
+            }
+            final ResponseWrapper<MemberDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setMeta(meta);
+            if (members == null) {
+                throw new NotFoundException();
+            }
+            wrapper.setResults(members);
+            return Response.ok(wrapper).build();
+        }
+    }
+
+    @GET
+    @Path("{codeRegistryCodeValue}/codeschemes/{codeSchemeCodeValue}/extensions/{extensionCodeValue}/members/tree")
+    @Operation(description = "Return the Members of an Extension as a tree built from relatedMember references.")
+    @ApiResponse(responseCode = "200", description = "Returns the Member hierarchy of an Extension, or a subtree of it, in JSON format.")
+    @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
+    @Tag(name = "Member")
+    public Response getCodeRegistryCodeSchemeExtensionMemberTree(@Parameter(description = "CodeRegistry CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeRegistryCodeValue") final String codeRegistryCodeValue,
+                                                                 @Parameter(description = "CodeScheme CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("codeSchemeCodeValue") final String codeSchemeCodeValue,
+                                                                 @Parameter(description = "Extension CodeValue.", in = ParameterIn.PATH, required = true) @PathParam("extensionCodeValue") final String extensionCodeValue,
+                                                                 @Parameter(description = "Member ID or sequence ID for the root of the returned subtree.", in = ParameterIn.QUERY) @QueryParam("memberId") final String memberId,
+                                                                 @Parameter(description = "Maximum depth of the returned tree.", in = ParameterIn.QUERY) @QueryParam("maxDepth") final Integer maxDepth,
+                                                                 @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
+                                                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+        final ExtensionDTO extension = domain.resolvePath(ResourcePath.extension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue)).getExtension();
+        final MemberGraph memberGraph = memberGraphService.getMemberGraph(extension);
+        final List<MemberDTO> roots;
+        if (memberId != null && !memberId.isEmpty()) {
+            final MemberDTO rootMember = findMember(memberGraph, memberId);
+            if (rootMember == null) {
+                throw new NotFoundException();
+            }
+            roots = Collections.singletonList(rootMember);
+        } else {
+            roots = memberGraph.getRoots();
+        }
+        final Set<MemberTreeNodeDTO> results = new LinkedHashSet<>();
+        roots.forEach(root -> results.add(memberGraph.createTreeNode(root, maxDepth)));
+        final Meta meta = new Meta(200, null, null, null, null);
+        meta.setResultCount(results.size());
+        meta.setTotalResults(memberGraph.size());
+        final ResponseWrapper<MemberTreeNodeDTO> wrapper = new ResponseWrapper<>();
+        wrapper.setResults(results);
+        wrapper.setMeta(meta);
+        return Response.ok(wrapper).build();
+    }
+
+    private MemberDTO findMember(final MemberGraph memberGraph,
+                                 final String memberId) {
+        try {
+            return memberGraph.getMember(UUID.fromString(memberId));
+        } catch (final IllegalArgumentException e) {
+            try {
+                return memberGraph.getMemberBySequenceId(Integer.parseInt(memberId));
+            } catch (final NumberFormatException nfe) {
+                return null;
+            }
         }
     }
 
@@ -472,18 +614,9 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                              @Parameter(description = "Member ID.", in = ParameterIn.PATH, required = true) @PathParam("memberId") final String memberId,
                                                              @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                              @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
-        final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
-        if (extension != null) {
-            final MemberDTO member = domain.getMember(memberId, extensionCodeValue, codeSchemeCodeValue);
-            if (member != null) {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
-                return Response.ok(member).build();
-            } else {
-                throw new NotFoundException();
-            }
-        } else {
-            throw new NotFoundException();
-        }
+        final MemberDTO member = domain.resolvePath(ResourcePath.member(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId)).getMember();
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+        return Response.ok(member).build();
     }
 
     @GET
@@ -506,23 +639,19 @@ public class CodeRegistryResource extends AbstractBaseResource {
         after = after != null ? HtmlUtils.htmlEscape(after) : null;
         before = before != null ? HtmlUtils.htmlEscape(before) : null;
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme != null) {
-            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTERNALREFERENCE, expand), pretty));
-            final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(prefLabel, codeScheme, false, meta);
-            if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTERNALREFERENCES, after, pageSize, from + pageSize));
-            }
-            final ResponseWrapper<ExternalReferenceDTO> wrapper = new ResponseWrapper<>();
-            wrapper.setMeta(meta);
-            if (externalReferences == null) {
-                throw new NotFoundException();
-            }
-            wrapper.setResults(externalReferences);
-            return Response.ok(wrapper).build();
-        } else {
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_EXTERNALREFERENCE, expand), pretty));
+        final Set<ExternalReferenceDTO> externalReferences = domain.getExternalReferences(prefLabel, codeScheme, false, meta);
+        if (hasNextPage(meta)) {
+            meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_EXTERNALREFERENCES, after, pageSize, from + pageSize));
+        }
+        final ResponseWrapper<ExternalReferenceDTO> wrapper = new ResponseWrapper<>();
+        wrapper.setMeta(meta);
+        if (externalReferences == null) {
             throw new NotFoundException();
         }
+        wrapper.setResults(externalReferences);
+        return Response.ok(wrapper).build();
     }
 
     @GET
@@ -537,11 +666,8 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                   @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                   @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODE, expand), pretty));
-        final CodeDTO code = domain.getCode(codeRegistryCodeValue, codeSchemeCodeValue, urlDecodeCodeValue(codeCodeValue));
-        if (code != null) {
-            return Response.ok(code).build();
-        }
-        throw new NotFoundException();
+        final CodeDTO code = domain.resolvePath(ResourcePath.code(codeRegistryCodeValue, codeSchemeCodeValue, urlDecodeCodeValue(codeCodeValue))).getCode();
+        return Response.ok(code).build();
     }
 
     @GET
@@ -562,30 +688,26 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                          @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                          @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
-        final CodeDTO code = domain.getCode(codeRegistryCodeValue, codeSchemeCodeValue, urlDecodeCodeValue(codeCodeValue));
-        if (code != null) {
-            final Set<MemberDTO> members = domain.getMembers(code, meta);
-            if (FORMAT_CSV.startsWith(format.toLowerCase())) {
-                final String csv = memberExporter.createCsv(null, members);
-                return streamCsvMembersOutput(csv);
-            } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
-                final Workbook workbook = memberExporter.createExcel(null, members, format);
-                return streamExcelMembersOutput(workbook);
-            } else {
-                ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
-                if (pageSize != null && from + pageSize < meta.getTotalResults()) {
-                    meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_CODES + "/" + codeCodeValue + API_PATH_MEMBERS, after, pageSize, from + pageSize));
-                }
-                final ResponseWrapper<MemberDTO> wrapper = new ResponseWrapper<>();
-                wrapper.setMeta(meta);
-                if (members == null) {
-                    throw new NotFoundException();
-                }
-                wrapper.setResults(members);
-                return Response.ok(wrapper).build();
-            }
+        final CodeDTO code = domain.resolvePath(ResourcePath.code(codeRegistryCodeValue, codeSchemeCodeValue, urlDecodeCodeValue(codeCodeValue))).getCode();
+        final Set<MemberDTO> members = domain.getMembers(code, meta);
+        if (FORMAT_CSV.startsWith(format.toLowerCase())) {
+            final String csv = memberExporter.createCsv(null, members);
+            return streamCsvMembersOutput(csv);
+        } else if (FORMAT_EXCEL.equalsIgnoreCase(format) || FORMAT_EXCEL_XLS.equalsIgnoreCase(format) || FORMAT_EXCEL_XLSX.equalsIgnoreCase(format)) {
+            final Workbook workbook = memberExporter.createExcel(null, members, format);
+            return streamExcelMembersOutput(workbook);
         } else {
-            throw new NotFoundException();
+            ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_MEMBER, expand), pretty));
+            if (hasNextPage(meta)) {
+                meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_CODEREGISTRIES + "/" + codeRegistryCodeValue + API_PATH_CODESCHEMES + "/" + codeSchemeCodeValue + API_PATH_CODES + "/" + codeCodeValue + API_PATH_MEMBERS, after, pageSize, from + pageSize));
+            }
+            final ResponseWrapper<MemberDTO> wrapper = new ResponseWrapper<>();
+            wrapper.setMeta(meta);
+            if (members == null) {
+                throw new NotFoundException();
+            }
+            wrapper.setResults(members);
+            return Response.ok(wrapper).build();
         }
     }
 
@@ -600,10 +722,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                           @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                           @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme == null) {
-            throw new NotFoundException();
-        }
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
         final LinkedHashSet<CodeSchemeListItem> allVersions = codeScheme.getAllVersions();
         final LinkedHashSet<CodeSchemeDTO> results = new LinkedHashSet<>();
         if (allVersions == null || allVersions.isEmpty()) {
@@ -630,10 +749,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                           @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                           @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme == null) {
-            throw new NotFoundException();
-        }
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
         final LinkedHashSet<CodeSchemeDTO> result = new LinkedHashSet<>();
         final LinkedHashSet<CodeSchemeListItem> variants = codeScheme.getVariantsOfThisCodeScheme();
         if (variants != null && !variants.isEmpty()) {
@@ -658,10 +774,7 @@ public class CodeRegistryResource extends AbstractBaseResource {
                                                 @Parameter(description = "Filter string (csl) for expanding specific child resources.", in = ParameterIn.QUERY) @QueryParam("expand") final String expand,
                                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(FILTER_NAME_CODESCHEME, expand), pretty));
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme == null) {
-            throw new NotFoundException();
-        }
+        final CodeSchemeDTO codeScheme = domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue)).getCodeScheme();
         final LinkedHashSet<CodeSchemeListItem> variantMothers = codeScheme.getVariantMothersOfThisCodeScheme();
         final LinkedHashSet<CodeSchemeDTO> result = new LinkedHashSet<>();
 
@@ -690,4 +803,23 @@ public class CodeRegistryResource extends AbstractBaseResource {
             member.setExtension(null);
         });
     }
+
+    private Response streamCachedCsv(final CodeSchemeDTO codeScheme,
+                                     final String options,
+                                     final String filename,
+                                     final Supplier<String> csvSupplier) {
+        return streamCsvFile(exportCache.getOrCreate(exportCache.createKey(codeScheme, FORMAT_CSV, options), output -> output.write(csvSupplier.get().getBytes(StandardCharsets.UTF_8))), filename);
+    }
+
+    private Response streamCachedExcel(final CodeSchemeDTO codeScheme,
+                                       final String format,
+                                       final String options,
+                                       final String filename,
+                                       final Supplier<Workbook> workbookSupplier) {
+        return streamExcelFile(exportCache.getOrCreate(exportCache.createKey(codeScheme, format, options), output -> {
+            try (final Workbook workbook = workbookSupplier.get()) {
+                workbook.write(output);
+            }
+        }), filename);
+    }
 }
@@ -0,0 +1,159 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.UUID;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.POST;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.RequestBody;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import fi.vm.yti.codelist.api.api.ApiUtils;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.dto.ExportJobDTO;
+import fi.vm.yti.codelist.api.dto.ExportJobRequestDTO;
+import fi.vm.yti.codelist.api.exception.NotFoundException;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.api.export.ExportJob;
+import fi.vm.yti.codelist.api.export.ExportJobService;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.ExtensionDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.*;
+
+@Component
+@Path("/v1/exports")
+@Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8" })
+@Tag(name = "Export")
+public class ExportJobResource extends AbstractBaseResource {
+
+    private final ApiUtils apiUtils;
+    private final Domain domain;
+    private final ExportJobService exportJobService;
+
+    @Inject
+    public ExportJobResource(final ApiUtils apiUtils,
+                             final Domain domain,
+                             final ExportJobService exportJobService) {
+        this.apiUtils = apiUtils;
+        this.domain = domain;
+        this.exportJobService = exportJobService;
+    }
+
+    @POST
+    @Operation(description = "Start an asynchronous CodeScheme or Extension Member export.")
+    @ApiResponse(responseCode = "202", description = "Returns the accepted export job with a status URL.")
+    @ApiResponse(responseCode = "503", description = "Returned when the export queue is full.")
+    public Response startExport(@Parameter(description = "Export request parameters as JSON payload.") @RequestBody final String exportRequestData,
+                                @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+        final ExportJobRequestDTO request = parseExportJobRequestDto(exportRequestData);
+        if (request.getCodeRegistryCodeValue() == null || request.getCodeSchemeCodeValue() == null) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "Export request must contain codeRegistryCodeValue and codeSchemeCodeValue."));
+        }
+        final String format = request.getFormat() != null ? request.getFormat() : FORMAT_EXCEL_XLSX;
+        if (!FORMAT_CSV.equalsIgnoreCase(format) && !exportJobService.isExcelFormat(format)) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "Unsupported export format: " + format));
+        }
+        final ExportJob job;
+        if (request.getExtensionCodeValue() != null) {
+            final ExtensionDTO extension = domain.getExtension(request.getCodeRegistryCodeValue(), request.getCodeSchemeCodeValue(), request.getExtensionCodeValue());
+            if (extension == null) {
+                throw new NotFoundException();
+            }
+            job = exportJobService.startMembersExport(extension, format, request.isCrossReferenceList());
+        } else {
+            final CodeSchemeDTO codeScheme = domain.getCodeScheme(request.getCodeRegistryCodeValue(), request.getCodeSchemeCodeValue());
+            if (codeScheme == null) {
+                throw new NotFoundException();
+            }
+            job = exportJobService.startCodeSchemeExport(codeScheme, format);
+        }
+        final ExportJobDTO exportJob = createExportJobDto(job);
+        return Response.accepted(exportJob).location(URI.create(exportJob.getUrl())).build();
+    }
+
+    @GET
+    @Path("{jobId}")
+    @Operation(description = "Return the status and progress of an export job.")
+    @ApiResponse(responseCode = "200", description = "Returns the export job state, sheets done and rows written.")
+    public Response getExportJob(@Parameter(description = "Export job ID.", in = ParameterIn.PATH, required = true) @PathParam("jobId") final UUID jobId,
+                                 @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+        return Response.ok(createExportJobDto(getJob(jobId))).build();
+    }
+
+    @GET
+    @Path("{jobId}/download")
+    @Operation(description = "Download the file of a completed export job.")
+    @ApiResponse(responseCode = "200", description = "Returns the exported file.")
+    @ApiResponse(responseCode = "409", description = "Returned when the export job has not completed.")
+    @Produces({ "application/vnd.openxmlformats-officedocument.spreadsheetml.sheet", "text/csv", MediaType.APPLICATION_JSON + ";charset=UTF-8" })
+    public Response downloadExportJob(@Parameter(description = "Export job ID.", in = ParameterIn.PATH, required = true) @PathParam("jobId") final UUID jobId) {
+        final ExportJob job = getJob(jobId);
+        if (!job.isCompleted()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.CONFLICT.value(), "Export job is not completed, current state: " + job.getState()));
+        }
+        return streamFile(job.getFile(), job.getContentType(), job.getFilename());
+    }
+
+    private ExportJob getJob(final UUID jobId) {
+        final ExportJob job = exportJobService.getJob(jobId);
+        if (job == null) {
+            throw new NotFoundException();
+        }
+        return job;
+    }
+
+    private ExportJobDTO createExportJobDto(final ExportJob job) {
+        final ExportJobDTO exportJob = new ExportJobDTO();
+        exportJob.setId(job.getId());
+        exportJob.setState(job.getState().name());
+        exportJob.setFormat(job.getFormat());
+        exportJob.setFilename(job.getFilename());
+        exportJob.setSheetsDone(job.getSheetsDone());
+        exportJob.setRowsWritten(job.getRowsWritten());
+        exportJob.setCreated(job.getCreated());
+        exportJob.setStarted(job.getStarted());
+        exportJob.setFinished(job.getFinished());
+        exportJob.setErrorMessage(job.getErrorMessage());
+        exportJob.setUrl(apiUtils.createExportJobUrl(job.getId().toString()));
+        if (job.isCompleted()) {
+            exportJob.setSize(job.getSize());
+            exportJob.setDownloadUrl(apiUtils.createExportJobDownloadUrl(job.getId().toString()));
+        }
+        return exportJob;
+    }
+
+    private ExportJobRequestDTO parseExportJobRequestDto(final String exportRequestData) {
+        if (exportRequestData == null || exportRequestData.isEmpty()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.BAD_REQUEST.value(), "Export request body is missing!"));
+        }
+        try {
+            final ObjectMapper mapper = new ObjectMapper();
+            return mapper.readValue(exportRequestData, new TypeReference<ExportJobRequestDTO>() {
+            });
+        } catch (final IOException e) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Malformed export request in request body!"));
+        }
+    }
+}
@@ -28,6 +28,7 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import fi.vm.yti.codelist.api.api.ApiUtils;
 import fi.vm.yti.codelist.api.api.ResponseWrapper;
 import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.domain.ResultCounting;
 import fi.vm.yti.codelist.api.dto.IntegrationResourceRequestDTO;
 import fi.vm.yti.codelist.api.dto.ResourceDTO;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
@@ -81,7 +82,7 @@ public class IntegrationResource extends AbstractBaseResource {
         final List<String> statusList = parseStatusCsl(status);
         final List<String> includeIncompleteFromList = includeIncompleteFrom == null ? null : asList(includeIncompleteFrom.toLowerCase().split(","));
         final Set<ResourceDTO> containers = domain.getContainers(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
+        if (hasNextPage(meta)) {
             meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, after, pageSize, from + pageSize));
         }
         final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
@@ -97,6 +98,7 @@ public class IntegrationResource extends AbstractBaseResource {
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
     public Response getContainersPost(@Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
         final IntegrationResourceRequestDTO request = parseIntegrationRequestDto(integrationRequestData);
+        beginResultCounting(request);
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
         final List<String> statusList = parseStatusList(request.getStatus());
         final List<String> excludedContainerUris = convertListToLowerCase(request.getFilter());
@@ -111,7 +113,7 @@ public class IntegrationResource extends AbstractBaseResource {
         final boolean includeIncomplete = request.getIncludeIncomplete();
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<ResourceDTO> containers = domain.getContainers(includedContainerUris, excludedContainerUris, language, statusList, searchTerm, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
+        if (hasNextPage(meta)) {
             meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_CONTAINERS, after, pageSize, from + pageSize));
         }
         final ResponseWrapper<ResourceDTO> wrapper = new ResponseWrapper<>();
@@ -147,7 +149,7 @@ public class IntegrationResource extends AbstractBaseResource {
         final List<String> statusList = parseStatusCsl(status);
         final Meta meta = new Meta(200, pageSize, from, parseDateFromString(after), parseDateFromString(before));
         final Set<ResourceDTO> resources = domain.getResources(containerUris, includedResourceUris, excludedResourceUris, language, statusList, searchTerm, type, includeIncompleteFromList, includeIncomplete, meta);
-        if (pageSize != null && from + pageSize < meta.getTotalResults()) {
+        if (hasNextPage(meta)) {
             if (container != null) {
                 meta.setNextPage(apiUtils.createNextPageUrl(API_VERSION, API_PATH_INTEGRATION + API_PATH_RESOURCES, after, pageSize, from + pageSize) + "&container=" + container);
             }
@@ -166,6 +168,7 @@ public class IntegrationResource extends AbstractBaseResource {
     @Produces(MediaType.APPLICATION_JSON + ";charset=UTF-8")
     public Response getResourcesPost(@Parameter(description = "Integration resource request parameters as JSON payload.") @RequestBody final String integrationRequestData) {
         final IntegrationResourceRequestDTO request = parseIntegrationRequestDto(integrationRequestData);
+        beginResultCounting(request);
         ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), request.getPretty()));
         final List<String> containerUris = convertListToLowerCase(request.getContainer());
         final List<String> excludedResourceUris = convertListToLowerCase(request.getFilter());
@@ -195,6 +198,12 @@ public class IntegrationResource extends AbstractBaseResource {
         return null;
     }
 
+    private void beginResultCounting(final IntegrationResourceRequestDTO request) {
+        if (request.getCount() != null) {
+            ResultCounting.begin(ResultCounting.Mode.fromParameter(request.getCount()));
+        }
+    }
+
     private IntegrationResourceRequestDTO parseIntegrationRequestDto(final String integrationRequestData) {
         try {
             final ObjectMapper mapper = new ObjectMapper();
@@ -0,0 +1,129 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import javax.ws.rs.GET;
+import javax.ws.rs.HeaderParam;
+import javax.ws.rs.Path;
+import javax.ws.rs.PathParam;
+import javax.ws.rs.Produces;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.HttpHeaders;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import com.google.common.hash.Hashing;
+
+import fi.vm.yti.codelist.api.exception.NotFoundException;
+import io.swagger.v3.oas.annotations.Hidden;
+
+@Component
+@Path("/openapi.{type:json|yaml}")
+@Hidden
+public class OpenApiDocumentResource extends AbstractBaseResource {
+
+    private static final Logger LOG = LoggerFactory.getLogger(OpenApiDocumentResource.class);
+    private static final String DOCUMENT_LOCATION = "/openapi/openapi.";
+    private static final String MEDIA_TYPE_YAML = "application/yaml";
+
+    private final OpenApiDocument jsonDocument;
+    private final OpenApiDocument yamlDocument;
+
+    public OpenApiDocumentResource() {
+        this.jsonDocument = loadDocument("json", MediaType.APPLICATION_JSON);
+        this.yamlDocument = loadDocument("yaml", MEDIA_TYPE_YAML);
+    }
+
+    @GET
+    @Produces({ MediaType.APPLICATION_JSON, MEDIA_TYPE_YAML })
+    public Response getOpenApi(@Context final Request request,
+                               @PathParam("type") final String type,
+                               @HeaderParam(HttpHeaders.ACCEPT_ENCODING) final String acceptEncoding) {
+        final OpenApiDocument document = "yaml".equalsIgnoreCase(type) ? yamlDocument : jsonDocument;
+        if (document == null) {
+            throw new NotFoundException();
+        }
+        final boolean gzip = acceptsGzip(acceptEncoding);
+        final EntityTag entityTag = gzip ? document.gzippedEntityTag : document.entityTag;
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING).build();
+        }
+        final Response.ResponseBuilder builder = Response.ok()
+            .type(document.mediaType)
+            .tag(entityTag)
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return builder.entity(document.gzipped)
+                .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                .header(HttpHeaders.CONTENT_LENGTH, document.gzipped.length)
+                .build();
+        }
+        return builder.entity(document.bytes)
+            .header(HttpHeaders.CONTENT_LENGTH, document.bytes.length)
+            .build();
+    }
+
+    private boolean acceptsGzip(final String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (final String token : acceptEncoding.split(",")) {
+            final String[] parts = token.trim().split(";");
+            if ("gzip".equalsIgnoreCase(parts[0].trim())) {
+                return parts.length < 2 || !parts[1].trim().matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
+    }
+
+    private OpenApiDocument loadDocument(final String type,
+                                         final String mediaType) {
+        try (final InputStream input = OpenApiDocumentResource.class.getResourceAsStream(DOCUMENT_LOCATION + type)) {
+            if (input == null) {
+                LOG.warn(String.format("OpenAPI document %s%s is not available on the classpath.", DOCUMENT_LOCATION, type));
+                return null;
+            }
+            return new OpenApiDocument(input.readAllBytes(), mediaType);
+        } catch (final IOException e) {
+            throw new UncheckedIOException("Failed to load OpenAPI document: " + DOCUMENT_LOCATION + type, e);
+        }
+    }
+
+    private static final class OpenApiDocument {
+
+        private final byte[] bytes;
+        private final byte[] gzipped;
+        private final EntityTag entityTag;
+        private final EntityTag gzippedEntityTag;
+        private final MediaType mediaType;
+
+        private OpenApiDocument(final byte[] bytes,
+                                final String mediaType) throws IOException {
+            this.bytes = bytes;
+            this.gzipped = gzip(bytes);
+            final String hash = Hashing.sha256().hashBytes(bytes).toString();
+            this.entityTag = new EntityTag(hash);
+            this.gzippedEntityTag = new EntityTag(hash + "-gzip");
+            this.mediaType = MediaType.valueOf(mediaType);
+        }
+
+        private static byte[] gzip(final byte[] bytes) throws IOException {
+            final ByteArrayOutputStream output = new ByteArrayOutputStream(bytes.length / 4);
+            try (final GZIPOutputStream gzip = new GZIPOutputStream(output)) {
+                gzip.write(bytes);
+            }
+            return output.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package fi.vm.yti.codelist.api.resource;
+
+import javax.inject.Inject;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.Context;
+import javax.ws.rs.core.EntityTag;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Request;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.domain.StatisticsService;
+import fi.vm.yti.codelist.api.dto.StatisticsDTO;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+
+@Component
+@Path("/v1/statistics")
+@Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8" })
+@Tag(name = "Statistics")
+public class StatisticsResource extends AbstractBaseResource {
+
+    private final StatisticsService statisticsService;
+
+    @Inject
+    public StatisticsResource(final StatisticsService statisticsService) {
+        this.statisticsService = statisticsService;
+    }
+
+    @GET
+    @Operation(description = "API for fetching resource counts per status, code registry, information domain, organization and code scheme.")
+    @ApiResponse(responseCode = "200", description = "Returns statistics computed from the current index contents, versioned with an ETag that changes when the indexes change.")
+    public Response getStatistics(@Context final Request request,
+                                  @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        final StatisticsDTO statistics = statisticsService.getStatistics();
+        final EntityTag entityTag = new EntityTag(statistics.getVersion());
+        final Response.ResponseBuilder notModified = request.evaluatePreconditions(entityTag);
+        if (notModified != null) {
+            return notModified.build();
+        }
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+        return Response.ok(statistics).tag(entityTag).build();
+    }
+}
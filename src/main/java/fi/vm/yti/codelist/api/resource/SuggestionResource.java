@@ -0,0 +1,87 @@
+package fi.vm.yti.codelist.api.resource;
+
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Pattern;
+
+import javax.inject.Inject;
+import javax.ws.rs.DefaultValue;
+import javax.ws.rs.GET;
+import javax.ws.rs.Path;
+import javax.ws.rs.Produces;
+import javax.ws.rs.QueryParam;
+import javax.ws.rs.core.MediaType;
+import javax.ws.rs.core.Response;
+
+import org.glassfish.jersey.jackson.internal.jackson.jaxrs.cfg.ObjectWriterInjector;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+
+import fi.vm.yti.codelist.api.api.ResponseWrapper;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.api.dto.SuggestionDTO;
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import fi.vm.yti.codelist.common.dto.ErrorModel;
+import fi.vm.yti.codelist.common.dto.Meta;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.enums.ParameterIn;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import static fi.vm.yti.codelist.api.domain.DomainImpl.CHANGE_TYPE_CODE;
+import static fi.vm.yti.codelist.api.domain.DomainImpl.CHANGE_TYPE_CODESCHEME;
+import static java.util.Arrays.asList;
+
+@Component
+@Path("/v1/suggest")
+@Produces({ MediaType.APPLICATION_JSON + ";charset=UTF-8" })
+@Tag(name = "Suggestion")
+public class SuggestionResource extends AbstractBaseResource {
+
+    private static final int MAX_SUGGESTION_SIZE = 50;
+    private static final int MAX_TERM_LENGTH = 100;
+    private static final Pattern LANGUAGE_PATTERN = Pattern.compile("^[a-z]{2,3}$");
+
+    private final Domain domain;
+
+    @Inject
+    public SuggestionResource(final Domain domain) {
+        this.domain = domain;
+    }
+
+    @GET
+    @Operation(description = "API for type-ahead suggestions of code schemes and codes matching the beginning of words in codeValue or prefLabel.")
+    @ApiResponse(responseCode = "200", description = "Returns the best matching code schemes and codes with meta element and a results list.")
+    public Response getSuggestions(@Parameter(description = "Search term typed so far.", in = ParameterIn.QUERY, required = true) @QueryParam("term") final String term,
+                                   @Parameter(description = "Resource types in CSL format: codescheme, code.", in = ParameterIn.QUERY) @QueryParam("type") final String type,
+                                   @Parameter(description = "Language code for prefLabel matching, e.g. fi, sv or en. Labels in every language are matched when not given.", in = ParameterIn.QUERY) @QueryParam("language") final String language,
+                                   @Parameter(description = "Maximum number of suggestions.", in = ParameterIn.QUERY) @QueryParam("size") @DefaultValue("10") final Integer size,
+                                   @Parameter(description = "Pretty format JSON output.", in = ParameterIn.QUERY) @QueryParam("pretty") final String pretty) {
+        if (term == null || term.trim().isEmpty() || term.length() > MAX_TERM_LENGTH) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Parameter term must be given and at most %d characters long.", MAX_TERM_LENGTH)));
+        }
+        if (size < 1 || size > MAX_SUGGESTION_SIZE) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Parameter size value %d must be between 1 and %d.", size, MAX_SUGGESTION_SIZE)));
+        }
+        final List<String> types = type != null ? asList(type.toLowerCase().split(",")) : null;
+        if (types != null) {
+            for (final String suggestionType : types) {
+                if (!CHANGE_TYPE_CODESCHEME.equals(suggestionType) && !CHANGE_TYPE_CODE.equals(suggestionType)) {
+                    throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Invalid type parameter value %s, use %s or %s.", suggestionType, CHANGE_TYPE_CODESCHEME, CHANGE_TYPE_CODE)));
+                }
+            }
+        }
+        final String prefLabelLanguage = language != null && !language.isEmpty() ? language.toLowerCase() : null;
+        if (prefLabelLanguage != null && !LANGUAGE_PATTERN.matcher(prefLabelLanguage).matches()) {
+            throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), String.format("Invalid language parameter value %s, use a two or three letter language code.", language)));
+        }
+        ObjectWriterInjector.set(new FilterModifier(createSimpleFilterProvider(), pretty));
+        final Set<SuggestionDTO> suggestions = domain.getSuggestions(term.trim(), types, prefLabelLanguage, size);
+        final Meta meta = new Meta(200, size, 0, null, null);
+        meta.setResultCount(suggestions.size());
+        final ResponseWrapper<SuggestionDTO> wrapper = new ResponseWrapper<>();
+        wrapper.setMeta(meta);
+        wrapper.setResults(suggestions);
+        return Response.ok(wrapper).build();
+    }
+}
@@ -28,14 +28,9 @@ import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import fi.vm.yti.codelist.api.api.ApiUtils;
 import fi.vm.yti.codelist.api.domain.Domain;
-import fi.vm.yti.codelist.api.exception.NotFoundException;
+import fi.vm.yti.codelist.api.domain.ResourcePath;
 import fi.vm.yti.codelist.api.exception.YtiCodeListException;
-import fi.vm.yti.codelist.common.dto.CodeDTO;
-import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
-import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
 import fi.vm.yti.codelist.common.dto.ErrorModel;
-import fi.vm.yti.codelist.common.dto.ExtensionDTO;
-import fi.vm.yti.codelist.common.dto.MemberDTO;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.enums.ParameterIn;
@@ -145,14 +140,14 @@ public class UriResolverResource extends AbstractBaseResource {
         switch (resourceCodeValues.size()) {
             case 1: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
-                checkCodeRegistryExists(codeRegistryCodeValue);
+                domain.resolvePath(ResourcePath.codeRegistry(codeRegistryCodeValue));
                 url = apiUtils.createCodeRegistryUrl(codeRegistryCodeValue);
                 break;
             }
             case 2: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
-                checkCodeSchemeExists(codeRegistryCodeValue, codeSchemeCodeValue);
+                domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue));
                 url = apiUtils.createCodeSchemeUrl(codeRegistryCodeValue, codeSchemeCodeValue);
                 break;
             }
@@ -162,12 +157,12 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
                 if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
                     final String codeCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkCodeExists(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue));
+                    domain.resolvePath(ResourcePath.code(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue)));
                     url = apiUtils.createCodeUrl(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
                     break;
                 } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
                     final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkExtensionExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
+                    domain.resolvePath(ResourcePath.extension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue));
                     url = apiUtils.createExtensionUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     break;
                 } else {
@@ -179,7 +174,7 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
                 final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
                 final String memberId = checkNotEmpty(resourceCodeValues.get(5));
-                checkMemberExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
+                domain.resolvePath(ResourcePath.member(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId));
                 url = apiUtils.createMemberUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 break;
             }
@@ -194,14 +189,14 @@ public class UriResolverResource extends AbstractBaseResource {
         switch (resourceCodeValues.size()) {
             case 1: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
-                checkCodeRegistryExists(codeRegistryCodeValue);
+                domain.resolvePath(ResourcePath.codeRegistry(codeRegistryCodeValue));
                 url = apiUtils.createCodeRegistryWebUrl(codeRegistryCodeValue);
                 break;
             }
             case 2: {
                 final String codeRegistryCodeValue = checkNotEmpty(resourceCodeValues.get(0));
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
-                checkCodeSchemeExists(codeRegistryCodeValue, codeSchemeCodeValue);
+                domain.resolvePath(ResourcePath.codeScheme(codeRegistryCodeValue, codeSchemeCodeValue));
                 url = apiUtils.createCodeSchemeWebUrl(codeRegistryCodeValue, codeSchemeCodeValue);
                 break;
             }
@@ -211,12 +206,12 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String pathIdentifier = checkNotEmpty(resourceCodeValues.get(2));
                 if (PATH_CODE.equalsIgnoreCase(pathIdentifier)) {
                     final String codeCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkCodeExists(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue));
+                    domain.resolvePath(ResourcePath.code(codeRegistryCodeValue, codeSchemeCodeValue, decodeDotCodeValues(codeCodeValue)));
                     url = apiUtils.createCodeWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, urlEncodeCodeValue(codeCodeValue));
                     break;
                 } else if (PATH_EXTENSION.equalsIgnoreCase(pathIdentifier)) {
                     final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
-                    checkExtensionExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
+                    domain.resolvePath(ResourcePath.extension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue));
                     url = apiUtils.createExtensionWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
                     break;
                 } else {
@@ -228,7 +223,7 @@ public class UriResolverResource extends AbstractBaseResource {
                 final String codeSchemeCodeValue = checkNotEmpty(resourceCodeValues.get(1));
                 final String extensionCodeValue = checkNotEmpty(resourceCodeValues.get(3));
                 final String memberId = checkNotEmpty(resourceCodeValues.get(5));
-                checkMemberExists(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
+                domain.resolvePath(ResourcePath.member(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId));
                 url = apiUtils.createMemberWebUrl(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue, memberId);
                 break;
             }
@@ -258,52 +253,4 @@ public class UriResolverResource extends AbstractBaseResource {
             throw new YtiCodeListException(new ErrorModel(HttpStatus.NOT_ACCEPTABLE.value(), "Resource hook not valid due to empty resource ID."));
         }
     }
-
-    private void checkCodeRegistryExists(final String codeRegistryCodeValue) {
-        final CodeRegistryDTO codeRegistry = domain.getCodeRegistry(codeRegistryCodeValue);
-        if (codeRegistry == null) {
-            throw new NotFoundException();
-        }
-    }
-
-    private void checkCodeSchemeExists(final String codeRegistryCodeValue,
-                                       final String codeSchemeCodeValue) {
-        final CodeSchemeDTO codeScheme = domain.getCodeScheme(codeRegistryCodeValue, codeSchemeCodeValue);
-        if (codeScheme == null) {
-            throw new NotFoundException();
-        }
-    }
-
-    private void checkCodeExists(final String codeRegistryCodeValue,
-                                 final String codeSchemeCodeValue,
-                                 final String codeCodeValue) {
-        final CodeDTO code = domain.getCode(codeRegistryCodeValue, codeSchemeCodeValue, codeCodeValue);
-        if (code == null) {
-            throw new NotFoundException();
-        }
-    }
-
-    private void checkExtensionExists(final String codeRegistryCodeValue,
-                                      final String codeSchemeCodeValue,
-                                      final String extensionCodeValue) {
-        final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
-        if (extension == null) {
-            throw new NotFoundException();
-        }
-    }
-
-    private void checkMemberExists(final String codeRegistryCodeValue,
-                                   final String codeSchemeCodeValue,
-                                   final String extensionCodeValue,
-                                   final String memberId) {
-        final ExtensionDTO extension = domain.getExtension(codeRegistryCodeValue, codeSchemeCodeValue, extensionCodeValue);
-        if (extension != null) {
-            final MemberDTO member = domain.getMember(memberId, extensionCodeValue);
-            if (member == null) {
-                throw new NotFoundException();
-            }
-        } else {
-            throw new NotFoundException();
-        }
-    }
 }
@@ -0,0 +1,153 @@
+package fi.vm.yti.codelist.api.timing;
+
+import java.util.Locale;
+
+public final class RequestTimings {
+
+    public enum Phase {
+        ELASTICSEARCH("es", "Elasticsearch"),
+        DECODE("decode", "Hit decoding"),
+        ENRICHMENT("enrich", "Enrichment lookups"),
+        EXPORT("export", "Export building"),
+        SERIALIZATION("serialize", "Serialization");
+
+        private final String metricName;
+        private final String description;
+
+        Phase(final String metricName,
+              final String description) {
+            this.metricName = metricName;
+            this.description = description;
+        }
+
+        public String getMetricName() {
+            return metricName;
+        }
+
+        public String getDescription() {
+            return description;
+        }
+    }
+
+    private static final ThreadLocal<RequestTimings> CURRENT = new ThreadLocal<>();
+    private static final Split NOOP = new Split(null, null, null, 0L);
+
+    private final long startNanos;
+    private final long[] durations = new long[Phase.values().length];
+    private final int[] counts = new int[Phase.values().length];
+    private Split active;
+
+    private RequestTimings(final long startNanos) {
+        this.startNanos = startNanos;
+    }
+
+    public static RequestTimings begin() {
+        final RequestTimings timings = new RequestTimings(System.nanoTime());
+        CURRENT.set(timings);
+        return timings;
+    }
+
+    public static RequestTimings current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static Split start(final Phase phase) {
+        final RequestTimings timings = CURRENT.get();
+        if (timings == null) {
+            return NOOP;
+        }
+        return timings.open(phase);
+    }
+
+    public long getStartNanos() {
+        return startNanos;
+    }
+
+    public long getDurationNanos(final Phase phase) {
+        return durations[phase.ordinal()];
+    }
+
+    public int getCount(final Phase phase) {
+        return counts[phase.ordinal()];
+    }
+
+    public String toServerTiming() {
+        final StringBuilder builder = new StringBuilder();
+        for (final Phase phase : Phase.values()) {
+            if (counts[phase.ordinal()] > 0) {
+                appendMetric(builder, phase.getMetricName(), durations[phase.ordinal()], phase.getDescription());
+            }
+        }
+        appendMetric(builder, "total", System.nanoTime() - startNanos, null);
+        return builder.toString();
+    }
+
+    private static void appendMetric(final StringBuilder builder,
+                                     final String name,
+                                     final long nanos,
+                                     final String description) {
+        if (builder.length() > 0) {
+            builder.append(", ");
+        }
+        builder.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.1f", nanos / 1_000_000d));
+        if (description != null) {
+            builder.append(";desc=\"").append(description).append('"');
+        }
+    }
+
+    private Split open(final Phase phase) {
+        final long now = System.nanoTime();
+        if (active != null) {
+            active.pause(now);
+        }
+        active = new Split(this, phase, active, now);
+        return active;
+    }
+
+    private void close(final Split split,
+                       final long now) {
+        final int index = split.phase.ordinal();
+        durations[index] += now - split.resumedAt;
+        counts[index]++;
+        active = split.parent;
+        if (active != null) {
+            active.resumedAt = now;
+        }
+    }
+
+    public static final class Split implements AutoCloseable {
+
+        private final RequestTimings timings;
+        private final Phase phase;
+        private final Split parent;
+        private long resumedAt;
+        private boolean closed;
+
+        private Split(final RequestTimings timings,
+                      final Phase phase,
+                      final Split parent,
+                      final long resumedAt) {
+            this.timings = timings;
+            this.phase = phase;
+            this.parent = parent;
+            this.resumedAt = resumedAt;
+        }
+
+        private void pause(final long now) {
+            timings.durations[phase.ordinal()] += now - resumedAt;
+        }
+
+        @Override
+        public void close() {
+            if (timings == null || closed) {
+                return;
+            }
+            closed = true;
+            timings.close(this, System.nanoTime());
+        }
+    }
+}
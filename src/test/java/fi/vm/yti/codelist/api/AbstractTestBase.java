@@ -2,6 +2,7 @@ package fi.vm.yti.codelist.api;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.Collections;
 import java.util.Date;
 import java.util.HashSet;
 import java.util.Set;
@@ -15,6 +16,7 @@ import org.elasticsearch.action.admin.indices.flush.FlushRequest;
 import org.elasticsearch.action.admin.indices.get.GetIndexRequest;
 import org.elasticsearch.action.bulk.BulkRequest;
 import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.delete.DeleteRequest;
 import org.elasticsearch.action.index.IndexRequest;
 import org.elasticsearch.action.support.WriteRequest;
 import org.elasticsearch.client.RequestOptions;
@@ -56,7 +58,7 @@ abstract public class AbstractTestBase {
     private RestHighLevelClient client;
 
     @Inject
-    private Domain domain;
+    protected Domain domain;
 
     protected boolean createAndIndexMockData() {
         createAndIndexMockCodeRegistries();
@@ -68,6 +70,24 @@ abstract public class AbstractTestBase {
         return true;
     }
 
+    protected CodeSchemeDTO indexCodeScheme(final String codeValue,
+                                            final Status status) {
+        final CodeSchemeDTO codeScheme = createCodeScheme(domain.getCodeRegistry(TEST_CODEREGISTRY_CODEVALUE), codeValue);
+        codeScheme.setStatus(status.toString());
+        indexData(Collections.singleton(codeScheme), ELASTIC_INDEX_CODESCHEME, ELASTIC_TYPE_CODESCHEME);
+        return codeScheme;
+    }
+
+    protected void deleteCodeScheme(final CodeSchemeDTO codeScheme) {
+        final DeleteRequest request = new DeleteRequest(ELASTIC_INDEX_CODESCHEME, ELASTIC_TYPE_CODESCHEME, codeScheme.getId().toString());
+        request.setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+        try {
+            client.delete(request, RequestOptions.DEFAULT);
+        } catch (final IOException e) {
+            LOG.error("Delete request failed for CodeScheme: " + codeScheme.getCodeValue(), e);
+        }
+    }
+
     private void createAndIndexMockCodeRegistries() {
         createIndexWithNestedPrefLabel(ELASTIC_INDEX_CODEREGISTRY, ELASTIC_TYPE_CODEREGISTRY);
         final Set<CodeRegistryDTO> codeRegistries = new HashSet<>();
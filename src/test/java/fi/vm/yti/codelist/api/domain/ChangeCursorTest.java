@@ -0,0 +1,43 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.UUID;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.fail;
+
+public class ChangeCursorTest {
+
+    @Test
+    public void testTokenRoundTrip() {
+        final String id = UUID.randomUUID().toString();
+        final ChangeCursor cursor = ChangeCursor.fromToken(new ChangeCursor(1546300800000L, id).toToken());
+        assertEquals(1546300800000L, cursor.getModified());
+        assertEquals(id, cursor.getId());
+    }
+
+    @Test
+    public void testTokenRoundTripWithEmptyId() {
+        final ChangeCursor cursor = ChangeCursor.fromToken(new ChangeCursor(0L, "").toToken());
+        assertEquals(0L, cursor.getModified());
+        assertEquals("", cursor.getId());
+    }
+
+    @Test
+    public void testInvalidTokensAreNotAcceptable() {
+        assertNotAcceptable("not base64!");
+        assertNotAcceptable("bm9zZXBhcmF0b3I");
+        assertNotAcceptable("YWJjOmlk");
+    }
+
+    private static void assertNotAcceptable(final String token) {
+        try {
+            ChangeCursor.fromToken(token);
+            fail("Expected token to be rejected: " + token);
+        } catch (final YtiCodeListException e) {
+            assertEquals(406, e.getErrorModel().getHttpStatusCode());
+        }
+    }
+}
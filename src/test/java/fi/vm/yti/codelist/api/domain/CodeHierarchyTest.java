@@ -0,0 +1,91 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.dto.CodeTreeNodeDTO;
+import fi.vm.yti.codelist.common.dto.CodeDTO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CodeHierarchyTest {
+
+    @Test
+    public void testTreeFollowsBroaderCodes() {
+        final CodeDTO root = createCode("root", 1, null);
+        final CodeDTO second = createCode("second", 2, root);
+        final CodeDTO first = createCode("first", 1, root);
+        final CodeDTO leaf = createCode("leaf", 1, first);
+        final CodeHierarchy hierarchy = new CodeHierarchy(1L, Arrays.asList(leaf, second, root, first));
+        assertEquals(Arrays.asList(root), hierarchy.getRoots());
+        final CodeTreeNodeDTO tree = hierarchy.createTreeNode(root, null);
+        assertEquals(Arrays.asList("first", "second"), codeValues(tree.getChildren()));
+        assertEquals(Arrays.asList("leaf"), codeValues(tree.getChildren().get(0).getChildren()));
+        assertEquals(Arrays.asList("first", "leaf", "second"), hierarchy.getDescendants(root.getId()).stream().map(CodeDTO::getCodeValue).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("first", "root"), hierarchy.getAncestors(leaf.getId()).stream().map(CodeDTO::getCodeValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testTreeRespectsMaxDepth() {
+        final CodeDTO root = createCode("root", 1, null);
+        final CodeDTO child = createCode("child", 1, root);
+        createCode("grandchild", 1, child);
+        final CodeHierarchy hierarchy = new CodeHierarchy(1L, Arrays.asList(root, child));
+        final CodeTreeNodeDTO tree = hierarchy.createTreeNode(root, 2);
+        assertEquals(1, tree.getChildren().size());
+        assertTrue(tree.getChildren().get(0).getChildren().isEmpty());
+    }
+
+    @Test
+    public void testBroaderCodeCycleIsCut() {
+        final CodeDTO a = createCode("a", 1, null);
+        final CodeDTO b = createCode("b", 1, a);
+        final CodeDTO c = createCode("c", 1, b);
+        a.setBroaderCode(c);
+        final CodeHierarchy hierarchy = new CodeHierarchy(1L, Arrays.asList(a, b, c));
+        assertEquals(Arrays.asList(a), hierarchy.getRoots());
+        final CodeTreeNodeDTO tree = hierarchy.createTreeNode(a, null);
+        assertEquals(Arrays.asList("b"), codeValues(tree.getChildren()));
+        assertEquals(Arrays.asList("c"), codeValues(tree.getChildren().get(0).getChildren()));
+        assertTrue(tree.getChildren().get(0).getChildren().get(0).getChildren().isEmpty());
+        assertEquals(Arrays.asList("b", "c"), hierarchy.getDescendants(a.getId()).stream().map(CodeDTO::getCodeValue).collect(Collectors.toList()));
+        assertEquals(Arrays.asList("b", "a"), hierarchy.getAncestors(c.getId()).stream().map(CodeDTO::getCodeValue).collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testCyclicSchemeKeepsEveryCode() {
+        final CodeDTO root = createCode("root", 1, null);
+        final CodeDTO first = createCode("first", 2, null);
+        final CodeDTO second = createCode("second", 1, first);
+        final CodeDTO leaf = createCode("leaf", 1, second);
+        first.setBroaderCode(second);
+        final CodeDTO otherFirst = createCode("x", 1, null);
+        final CodeDTO otherSecond = createCode("y", 1, otherFirst);
+        otherFirst.setBroaderCode(otherSecond);
+        final CodeHierarchy hierarchy = new CodeHierarchy(1L, Arrays.asList(leaf, otherSecond, root, first, second, otherFirst));
+        assertEquals(Arrays.asList("root", "second", "x"), hierarchy.getRoots().stream().map(CodeDTO::getCodeValue).collect(Collectors.toList()));
+        final CodeTreeNodeDTO tree = hierarchy.createTreeNode(second, null);
+        assertEquals(Arrays.asList("leaf", "first"), codeValues(tree.getChildren()));
+        assertTrue(tree.getChildren().get(1).getChildren().isEmpty());
+        assertEquals(Arrays.asList("y"), codeValues(hierarchy.createTreeNode(otherFirst, null).getChildren()));
+    }
+
+    private static CodeDTO createCode(final String codeValue,
+                                      final int order,
+                                      final CodeDTO broaderCode) {
+        final CodeDTO code = new CodeDTO();
+        code.setId(UUID.randomUUID());
+        code.setCodeValue(codeValue);
+        code.setOrder(order);
+        code.setBroaderCode(broaderCode);
+        return code;
+    }
+
+    private static List<String> codeValues(final List<CodeTreeNodeDTO> nodes) {
+        return nodes.stream().map(node -> node.getCode().getCodeValue()).collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,53 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import static fi.vm.yti.codelist.api.domain.CodeSchemeFacets.FACET_CODEREGISTRY;
+import static fi.vm.yti.codelist.api.domain.CodeSchemeFacets.FACET_INFODOMAIN;
+import static fi.vm.yti.codelist.api.domain.CodeSchemeFacets.FACET_LANGUAGE;
+import static fi.vm.yti.codelist.api.domain.CodeSchemeFacets.FACET_STATUS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CodeSchemeFacetsTest {
+
+    @Test
+    public void testMissingParameterRequestsNoFacets() {
+        assertNull(CodeSchemeFacets.fromParameter(null));
+        assertNull(CodeSchemeFacets.fromParameter(" "));
+    }
+
+    @Test
+    public void testParameterIsCaseInsensitive() {
+        final CodeSchemeFacets facets = CodeSchemeFacets.fromParameter("STATUS, inFoDomain");
+        assertTrue(facets.isRequested(FACET_STATUS));
+        assertTrue(facets.isRequested(FACET_INFODOMAIN));
+        assertFalse(facets.isRequested(FACET_CODEREGISTRY));
+        assertFalse(facets.isRequested(FACET_LANGUAGE));
+    }
+
+    @Test(expected = YtiCodeListException.class)
+    public void testUnknownFacetIsRejected() {
+        CodeSchemeFacets.fromParameter("status,unknown");
+    }
+
+    @Test
+    public void testCountsKeepInsertionOrder() {
+        final CodeSchemeFacets facets = CodeSchemeFacets.fromParameter("status,language");
+        facets.setCounts(FACET_STATUS, Collections.singletonMap("VALID", 3L));
+        facets.setCounts(FACET_LANGUAGE, Collections.singletonMap("fi", 2L));
+        assertEquals(Arrays.asList(FACET_STATUS, FACET_LANGUAGE), Arrays.asList(facets.getCounts().keySet().toArray()));
+        assertEquals(Long.valueOf(3L), facets.getCounts().get(FACET_STATUS).get("VALID"));
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void testCountsAreReadOnly() {
+        CodeSchemeFacets.fromParameter("status").getCounts().clear();
+    }
+}
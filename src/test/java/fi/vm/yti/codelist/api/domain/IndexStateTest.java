@@ -0,0 +1,38 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+public class IndexStateTest {
+
+    @Test
+    public void testVersionIgnoresCheckTimeAndMapOrder() {
+        final IndexState first = new IndexState(map("code", 10L, "codescheme", 20L), map("code", 5L, "codescheme", 2L), 1L);
+        final IndexState second = new IndexState(map("codescheme", 20L, "code", 10L), map("codescheme", 2L, "code", 5L), 2L);
+        assertEquals(first.getVersion(), second.getVersion());
+    }
+
+    @Test
+    public void testVersionChangesWithContent() {
+        final IndexState state = new IndexState(map("code", 10L, "codescheme", 20L), map("code", 5L, "codescheme", 2L), 1L);
+        final IndexState modified = new IndexState(map("code", 11L, "codescheme", 20L), map("code", 5L, "codescheme", 2L), 1L);
+        final IndexState deleted = new IndexState(map("code", 10L, "codescheme", 20L), map("code", 4L, "codescheme", 2L), 1L);
+        assertNotEquals(state.getVersion(), modified.getVersion());
+        assertNotEquals(state.getVersion(), deleted.getVersion());
+    }
+
+    private static Map<String, Long> map(final String firstKey,
+                                         final Long firstValue,
+                                         final String secondKey,
+                                         final Long secondValue) {
+        final Map<String, Long> map = new HashMap<>();
+        map.put(firstKey, firstValue);
+        map.put(secondKey, secondValue);
+        return map;
+    }
+}
@@ -0,0 +1,85 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Collections;
+
+import javax.ws.rs.BadRequestException;
+
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.MultiMatchQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilder;
+import org.elasticsearch.index.query.QueryStringQueryBuilder;
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.SearchProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class LuceneQueryFactoryTest {
+
+    @Test
+    public void testWildcardQueryMatchesPrefixAndSuffixInEveryLanguage() {
+        final QueryBuilder query = createFactory(SearchProperties.STRATEGY_WILDCARD).buildPrefLabelQuery("Koodis");
+        assertTrue(query instanceof QueryStringQueryBuilder);
+        final QueryStringQueryBuilder queryString = (QueryStringQueryBuilder) query;
+        assertEquals(Collections.singleton("prefLabel.*"), queryString.fields().keySet());
+        assertTrue(queryString.queryString().contains("koodis*"));
+        assertTrue(queryString.queryString().contains("*koodis"));
+    }
+
+    @Test
+    public void testWildcardQueryRequiresEveryWord() {
+        final QueryStringQueryBuilder query = (QueryStringQueryBuilder) createFactory(SearchProperties.STRATEGY_WILDCARD).buildPrefixSuffixQuery("test koodi", "codeValue");
+        assertTrue(query.queryString().contains("+(test test* *test)"));
+        assertTrue(query.queryString().contains("+(koodi koodi* *koodi)"));
+    }
+
+    @Test
+    public void testGivenWildcardIsKept() {
+        final QueryStringQueryBuilder query = (QueryStringQueryBuilder) createFactory(SearchProperties.STRATEGY_TRIGRAM).buildPrefixSuffixQuery("koo*", "codeValue");
+        assertEquals("koo*", query.queryString());
+    }
+
+    @Test
+    public void testTrigramQueryIsPhraseOverTrigramFields() {
+        final QueryBuilder query = createFactory(SearchProperties.STRATEGY_TRIGRAM).buildPrefLabelQuery("koodis");
+        assertTrue(query instanceof MultiMatchQueryBuilder);
+        final MultiMatchQueryBuilder multiMatch = (MultiMatchQueryBuilder) query;
+        assertEquals(MultiMatchQueryBuilder.Type.PHRASE, multiMatch.type());
+        assertEquals("koodis", multiMatch.value());
+        assertEquals(Collections.singleton("prefLabel_trigram.*"), multiMatch.fields().keySet());
+        final MultiMatchQueryBuilder codeValueMatch = (MultiMatchQueryBuilder) createFactory(SearchProperties.STRATEGY_TRIGRAM).buildPrefixSuffixQuery("koodis", "codeValue");
+        assertEquals(Collections.singleton("codeValue.trigram"), codeValueMatch.fields().keySet());
+    }
+
+    @Test
+    public void testTrigramQueryRequiresEveryWord() {
+        final QueryBuilder query = createFactory(SearchProperties.STRATEGY_TRIGRAM).buildPrefixSuffixQuery("test koodi", "codeValue");
+        assertTrue(query instanceof BoolQueryBuilder);
+        assertEquals(2, ((BoolQueryBuilder) query).must().size());
+        assertTrue(((BoolQueryBuilder) query).must().stream().allMatch(must -> must instanceof MultiMatchQueryBuilder));
+    }
+
+    @Test
+    public void testTrigramFallsBackToWildcardForShortTermsAndOtherFields() {
+        final LuceneQueryFactory factory = createFactory(SearchProperties.STRATEGY_TRIGRAM);
+        assertTrue(factory.buildPrefLabelQuery("ko") instanceof QueryStringQueryBuilder);
+        assertTrue(factory.buildPrefixSuffixQuery("koodis", "codeRegistry.prefLabel.*") instanceof QueryStringQueryBuilder);
+    }
+
+    @Test
+    public void testMatchStrategy() {
+        assertEquals(SearchProperties.STRATEGY_WILDCARD, createFactory(null).getMatchStrategy());
+        assertEquals(SearchProperties.STRATEGY_TRIGRAM, createFactory("TRIGRAM").getMatchStrategy());
+    }
+
+    @Test(expected = BadRequestException.class)
+    public void testFieldQueryIsRejected() {
+        createFactory(SearchProperties.STRATEGY_WILDCARD).buildPrefLabelQuery("status:VALID");
+    }
+
+    private static LuceneQueryFactory createFactory(final String strategy) {
+        final SearchProperties searchProperties = new SearchProperties();
+        searchProperties.setStrategy(strategy);
+        return new LuceneQueryFactory(searchProperties);
+    }
+}
@@ -0,0 +1,95 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.Collectors;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.dto.MemberTreeNodeDTO;
+import fi.vm.yti.codelist.common.dto.MemberDTO;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class MemberGraphTest {
+
+    @Test
+    public void testMembersKeepGivenOrder() {
+        final MemberDTO root = createMember(1, 1, null);
+        final MemberDTO second = createMember(2, 3, root);
+        final MemberDTO first = createMember(3, 2, root);
+        final MemberGraph memberGraph = MemberGraph.of(Arrays.asList(second, root, first));
+        assertEquals(Arrays.asList(second, root, first), Arrays.asList(memberGraph.getMembers().toArray()));
+        assertEquals(Arrays.asList(root), memberGraph.getRoots());
+        assertEquals(Arrays.asList(first, second), memberGraph.getChildren(root.getId()));
+        assertSame(root, memberGraph.getRelatedMember(first));
+        assertSame(first, memberGraph.getMemberBySequenceId(3));
+    }
+
+    @Test
+    public void testRelatedMemberOutsideGraphIsKept() {
+        final MemberDTO outside = createMember(1, 1, null);
+        final MemberDTO member = createMember(2, 2, outside);
+        final MemberGraph memberGraph = MemberGraph.of(Arrays.asList(member));
+        assertEquals(Arrays.asList(member), memberGraph.getRoots());
+        assertSame(outside, memberGraph.getRelatedMember(member));
+        assertNull(memberGraph.getRelatedMember(outside));
+    }
+
+    @Test
+    public void testTreeRespectsMaxDepth() {
+        final MemberDTO root = createMember(1, 1, null);
+        final MemberDTO child = createMember(2, 1, root);
+        final MemberDTO grandchild = createMember(3, 1, child);
+        final MemberGraph memberGraph = MemberGraph.of(Arrays.asList(root, child, grandchild));
+        final MemberTreeNodeDTO tree = memberGraph.createTreeNode(root, 2);
+        assertEquals(Arrays.asList(2), sequenceIds(tree.getChildren()));
+        assertTrue(tree.getChildren().get(0).getChildren().isEmpty());
+    }
+
+    @Test
+    public void testRelatedMemberCycleIsCut() {
+        final MemberDTO a = createMember(1, 1, null);
+        final MemberDTO b = createMember(2, 1, a);
+        final MemberDTO c = createMember(3, 1, b);
+        a.setRelatedMember(c);
+        final MemberGraph memberGraph = MemberGraph.of(Arrays.asList(a, b, c));
+        assertEquals(Arrays.asList(a), memberGraph.getRoots());
+        final MemberTreeNodeDTO tree = memberGraph.createTreeNode(a, null);
+        assertEquals(Arrays.asList(2), sequenceIds(tree.getChildren()));
+        assertEquals(Arrays.asList(3), sequenceIds(tree.getChildren().get(0).getChildren()));
+        assertTrue(tree.getChildren().get(0).getChildren().get(0).getChildren().isEmpty());
+    }
+
+    @Test
+    public void testCyclicMembersKeepEveryMember() {
+        final MemberDTO root = createMember(1, 1, null);
+        final MemberDTO first = createMember(2, 3, null);
+        final MemberDTO second = createMember(3, 2, first);
+        final MemberDTO leaf = createMember(4, 1, second);
+        first.setRelatedMember(second);
+        final MemberGraph memberGraph = MemberGraph.of(Arrays.asList(leaf, first, second, root));
+        assertEquals(Arrays.asList(root, second), memberGraph.getRoots());
+        final MemberTreeNodeDTO tree = memberGraph.createTreeNode(second, null);
+        assertEquals(Arrays.asList(4, 2), sequenceIds(tree.getChildren()));
+        assertTrue(tree.getChildren().get(1).getChildren().isEmpty());
+    }
+
+    private static MemberDTO createMember(final int sequenceId,
+                                          final int order,
+                                          final MemberDTO relatedMember) {
+        final MemberDTO member = new MemberDTO();
+        member.setId(UUID.randomUUID());
+        member.setSequenceId(sequenceId);
+        member.setOrder(order);
+        member.setRelatedMember(relatedMember);
+        return member;
+    }
+
+    private static List<Integer> sequenceIds(final List<MemberTreeNodeDTO> nodes) {
+        return nodes.stream().map(node -> node.getMember().getSequenceId()).collect(Collectors.toList());
+    }
+}
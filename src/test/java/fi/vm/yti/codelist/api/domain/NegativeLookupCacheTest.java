@@ -0,0 +1,70 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.NegativeLookupProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class NegativeLookupCacheTest {
+
+    @Test
+    public void testMissIsCachedPerKey() {
+        final NegativeLookupCache cache = new NegativeLookupCache(new NegativeLookupProperties());
+        final AtomicInteger loads = new AtomicInteger();
+        assertNull(cache.get(() -> load(loads, null), "code", "registry", "scheme", "missing"));
+        assertNull(cache.get(() -> load(loads, null), "code", "registry", "scheme", "missing"));
+        assertEquals(1, loads.get());
+        assertTrue(cache.isKnownMissing("code", "registry", "scheme", "missing"));
+        assertFalse(cache.isKnownMissing("code", "registry", "other", "missing"));
+        assertFalse(cache.isKnownMissing("codescheme", "registry", "missing"));
+    }
+
+    @Test
+    public void testFoundValueIsNotCached() {
+        final NegativeLookupCache cache = new NegativeLookupCache(new NegativeLookupProperties());
+        final AtomicInteger loads = new AtomicInteger();
+        assertEquals("found", cache.get(() -> load(loads, "found"), "code", "registry", "scheme", "code"));
+        assertEquals("found", cache.get(() -> load(loads, "found"), "code", "registry", "scheme", "code"));
+        assertEquals(2, loads.get());
+        assertFalse(cache.isKnownMissing("code", "registry", "scheme", "code"));
+    }
+
+    @Test
+    public void testBlankValueIsMissingWithoutLookup() {
+        final NegativeLookupCache cache = new NegativeLookupCache(new NegativeLookupProperties());
+        final AtomicInteger loads = new AtomicInteger();
+        assertNull(cache.get(() -> load(loads, "found"), "codeRegistry", " "));
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    public void testInvalidateAllForgetsMisses() {
+        final NegativeLookupCache cache = new NegativeLookupCache(new NegativeLookupProperties());
+        cache.recordMissing("coderegistry", "missing");
+        cache.invalidateAll();
+        assertFalse(cache.isKnownMissing("coderegistry", "missing"));
+    }
+
+    @Test
+    public void testDisabledCacheAlwaysLoads() {
+        final NegativeLookupProperties properties = new NegativeLookupProperties();
+        properties.setEnabled(false);
+        final NegativeLookupCache cache = new NegativeLookupCache(properties);
+        final AtomicInteger loads = new AtomicInteger();
+        cache.get(() -> load(loads, null), "coderegistry", "missing");
+        cache.get(() -> load(loads, null), "coderegistry", "missing");
+        assertEquals(2, loads.get());
+        assertFalse(cache.isKnownMissing("coderegistry", "missing"));
+    }
+
+    private static String load(final AtomicInteger loads,
+                               final String value) {
+        loads.incrementAndGet();
+        return value;
+    }
+}
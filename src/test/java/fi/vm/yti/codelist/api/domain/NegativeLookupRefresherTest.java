@@ -0,0 +1,49 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.Collections;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.NegativeLookupProperties;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class NegativeLookupRefresherTest {
+
+    @Test
+    public void testUnchangedIndexKeepsCache() {
+        final NegativeLookupCache cache = createCacheWithMiss();
+        final NegativeLookupRefresher refresher = new NegativeLookupRefresher(cache, new NegativeLookupProperties());
+        refresher.onIndexChecked(null, state(10L, 5L, 1L));
+        refresher.onIndexChecked(state(10L, 5L, 1L), state(10L, 5L, 2L));
+        assertTrue(cache.isKnownMissing("code", "registry", "scheme", "missing"));
+    }
+
+    @Test
+    public void testDeleteClearsCache() {
+        final NegativeLookupCache cache = createCacheWithMiss();
+        final NegativeLookupRefresher refresher = new NegativeLookupRefresher(cache, new NegativeLookupProperties());
+        refresher.onIndexChecked(state(10L, 5L, 1L), state(10L, 4L, 2L));
+        assertFalse(cache.isKnownMissing("code", "registry", "scheme", "missing"));
+    }
+
+    @Test
+    public void testModificationClearsCache() {
+        final NegativeLookupCache cache = createCacheWithMiss();
+        final NegativeLookupRefresher refresher = new NegativeLookupRefresher(cache, new NegativeLookupProperties());
+        refresher.onIndexChecked(state(10L, 5L, 1L), state(11L, 5L, 2L));
+        assertFalse(cache.isKnownMissing("code", "registry", "scheme", "missing"));
+    }
+
+    private static NegativeLookupCache createCacheWithMiss() {
+        final NegativeLookupCache cache = new NegativeLookupCache(new NegativeLookupProperties());
+        cache.recordMissing("code", "registry", "scheme", "missing");
+        return cache;
+    }
+
+    private static IndexState state(final long lastModified,
+                                    final long documentCount,
+                                    final long checkedAt) {
+        return new IndexState(Collections.singletonMap("code", lastModified), Collections.singletonMap("code", documentCount), checkedAt);
+    }
+}
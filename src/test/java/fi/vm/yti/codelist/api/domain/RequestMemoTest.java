@@ -0,0 +1,69 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+public class RequestMemoTest {
+
+    @After
+    public void tearDown() {
+        RequestMemo.end();
+    }
+
+    @Test
+    public void testLookupsAreNotMemoizedOutsideRequest() {
+        final AtomicInteger loads = new AtomicInteger();
+        RequestMemo.get(loads::incrementAndGet, "code", "a");
+        RequestMemo.get(loads::incrementAndGet, "code", "a");
+        assertEquals(2, loads.get());
+        assertEquals(0, RequestMemo.getHits());
+    }
+
+    @Test
+    public void testRepeatedLookupIsServedFromMemo() {
+        RequestMemo.begin();
+        final AtomicInteger loads = new AtomicInteger();
+        assertEquals(Integer.valueOf(1), RequestMemo.get(loads::incrementAndGet, "code", "a"));
+        assertEquals(Integer.valueOf(1), RequestMemo.get(loads::incrementAndGet, "code", "a"));
+        assertEquals(Integer.valueOf(2), RequestMemo.get(loads::incrementAndGet, "code", "b"));
+        assertEquals(2, loads.get());
+        assertEquals(1, RequestMemo.getHits());
+    }
+
+    @Test
+    public void testMissingValueIsMemoized() {
+        RequestMemo.begin();
+        final AtomicInteger loads = new AtomicInteger();
+        assertNull(RequestMemo.get(() -> {
+            loads.incrementAndGet();
+            return null;
+        }, "code", "missing"));
+        assertNull(RequestMemo.get(() -> {
+            loads.incrementAndGet();
+            return null;
+        }, "code", "missing"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    public void testPutPrimesLookup() {
+        RequestMemo.begin();
+        RequestMemo.put("primed", "code", "a");
+        assertEquals("primed", RequestMemo.get(() -> "loaded", "code", "a"));
+        assertEquals(1, RequestMemo.getHits());
+    }
+
+    @Test
+    public void testEndDropsMemo() {
+        RequestMemo.begin();
+        RequestMemo.put("primed", "code", "a");
+        RequestMemo.end();
+        assertEquals("loaded", RequestMemo.get(() -> "loaded", "code", "a"));
+        assertEquals(0, RequestMemo.getHits());
+    }
+}
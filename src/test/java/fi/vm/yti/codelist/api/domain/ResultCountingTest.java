@@ -0,0 +1,55 @@
+package fi.vm.yti.codelist.api.domain;
+
+import org.junit.After;
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.exception.YtiCodeListException;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ResultCountingTest {
+
+    @After
+    public void tearDown() {
+        ResultCounting.end();
+    }
+
+    @Test
+    public void testModeFromParameter() {
+        assertEquals(ResultCounting.Mode.EXACT, ResultCounting.Mode.fromParameter(null));
+        assertEquals(ResultCounting.Mode.EXACT, ResultCounting.Mode.fromParameter(""));
+        assertEquals(ResultCounting.Mode.APPROXIMATE, ResultCounting.Mode.fromParameter("approximate"));
+        assertEquals(ResultCounting.Mode.NONE, ResultCounting.Mode.fromParameter("None"));
+    }
+
+    @Test(expected = YtiCodeListException.class)
+    public void testInvalidModeIsRejected() {
+        ResultCounting.Mode.fromParameter("some");
+    }
+
+    @Test
+    public void testDefaultsWithoutRequest() {
+        ResultCounting.setHasMore(true);
+        assertEquals(ResultCounting.Mode.EXACT, ResultCounting.getMode());
+        assertFalse(ResultCounting.hasMore());
+    }
+
+    @Test
+    public void testFirstPagedQueryWins() {
+        ResultCounting.begin(ResultCounting.Mode.NONE);
+        ResultCounting.setHasMore(true);
+        ResultCounting.setHasMore(false);
+        assertEquals(ResultCounting.Mode.NONE, ResultCounting.getMode());
+        assertTrue(ResultCounting.hasMore());
+    }
+
+    @Test
+    public void testEndClearsState() {
+        ResultCounting.begin(ResultCounting.Mode.APPROXIMATE);
+        ResultCounting.setHasMore(true);
+        ResultCounting.end();
+        assertEquals(ResultCounting.Mode.EXACT, ResultCounting.getMode());
+        assertFalse(ResultCounting.hasMore());
+    }
+}
@@ -0,0 +1,70 @@
+package fi.vm.yti.codelist.api.domain;
+
+import java.util.List;
+
+import org.elasticsearch.action.search.MultiSearchRequest;
+import org.elasticsearch.action.search.MultiSearchResponse;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.search.ShardSearchFailure;
+import org.elasticsearch.search.builder.SearchSourceBuilder;
+import org.elasticsearch.search.internal.InternalSearchResponse;
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.SlowQueryProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class SlowQueryRecorderTest {
+
+    @Test
+    public void testMultiSearchIsRecordedOnce() {
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(createProperties(10));
+        final MultiSearchRequest request = new MultiSearchRequest();
+        request.add(new SearchRequest("coderegistry").source(new SearchSourceBuilder().size(1)));
+        request.add(new SearchRequest("codescheme").source(new SearchSourceBuilder().size(2)));
+        final MultiSearchResponse response = new MultiSearchResponse(new MultiSearchResponse.Item[]{
+            new MultiSearchResponse.Item(createResponse(5), null),
+            new MultiSearchResponse.Item(createResponse(7), null) });
+        recorder.recordMultiSearch(request, response, 20);
+        final List<SlowQuery> slowQueries = recorder.getSlowQueries();
+        assertEquals(1, slowQueries.size());
+        final SlowQuery slowQuery = slowQueries.get(0);
+        assertEquals("coderegistry,codescheme", slowQuery.getIndices());
+        assertEquals(20, slowQuery.getElapsedMillis());
+        assertEquals(7, slowQuery.getTookMillis());
+        assertTrue(slowQuery.getSource().startsWith("[{"));
+    }
+
+    @Test
+    public void testFastQueryIsNotRecorded() {
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(createProperties(100));
+        recorder.record(new SearchRequest("code"), createResponse(5), 20);
+        recorder.recordClearScroll("code", 20);
+        assertTrue(recorder.getSlowQueries().isEmpty());
+    }
+
+    @Test
+    public void testBufferKeepsNewestFirst() {
+        final SlowQueryProperties properties = createProperties(0);
+        properties.setBufferSize(2);
+        final SlowQueryRecorder recorder = new SlowQueryRecorder(properties);
+        recorder.recordClearScroll("a", 1);
+        recorder.recordClearScroll("b", 1);
+        recorder.recordClearScroll("c", 1);
+        final List<SlowQuery> slowQueries = recorder.getSlowQueries();
+        assertEquals(2, slowQueries.size());
+        assertEquals("c", slowQueries.get(0).getIndices());
+        assertEquals("b", slowQueries.get(1).getIndices());
+    }
+
+    private static SlowQueryProperties createProperties(final long thresholdMillis) {
+        final SlowQueryProperties properties = new SlowQueryProperties();
+        properties.setThresholdMillis(thresholdMillis);
+        return properties;
+    }
+
+    private static SearchResponse createResponse(final long tookMillis) {
+        return new SearchResponse(InternalSearchResponse.empty(), null, 1, 1, 0, tookMillis, ShardSearchFailure.EMPTY_ARRAY, SearchResponse.Clusters.EMPTY);
+    }
+}
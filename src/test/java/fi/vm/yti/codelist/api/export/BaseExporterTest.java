@@ -0,0 +1,46 @@
+package fi.vm.yti.codelist.api.export;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+
+public class BaseExporterTest {
+
+    private final BaseExporter exporter = new BaseExporter() {
+    };
+
+    @Test
+    public void testPlainValueIsNotQuoted() {
+        assertEquals("plain value,", append("plain value"));
+    }
+
+    @Test
+    public void testNullAndEmptyValuesLeaveEmptyColumn() {
+        assertEquals(",", append(null));
+        assertEquals(",", append(""));
+    }
+
+    @Test
+    public void testSeparatorsAreQuoted() {
+        assertEquals("\"a,b\",", append("a,b"));
+        assertEquals("\"line\nbreak\",", append("line\nbreak"));
+        assertEquals("\"carriage\rreturn\",", append("carriage\rreturn"));
+    }
+
+    @Test
+    public void testQuotesAreDoubled() {
+        assertEquals("\"say \"\"hi\"\"\",", append("say \"hi\""));
+        assertEquals("\"\"\"\"\n", append("\"", true));
+    }
+
+    private String append(final String value) {
+        return append(value, false);
+    }
+
+    private String append(final String value,
+                          final boolean isLast) {
+        final StringBuilder builder = new StringBuilder();
+        exporter.appendValue(builder, value, isLast);
+        return builder.toString();
+    }
+}
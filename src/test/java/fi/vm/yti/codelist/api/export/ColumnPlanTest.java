@@ -0,0 +1,52 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class ColumnPlanTest {
+
+    @Test
+    public void testLanguagesAreCollectedPerColumnInEncounterOrder() {
+        final ColumnPlan<Map<String, Map<String, String>>> columnPlan = new ColumnPlan<Map<String, Map<String, String>>>()
+            .withLanguageColumns("PREFLABEL_", item -> item.get("prefLabel"))
+            .withLanguageColumns("DEFINITION_", item -> item.get("definition"));
+        columnPlan.acceptAll(Arrays.asList(
+            createItem(localized("fi", "sv"), null),
+            createItem(localized("en", "fi"), localized("sv")),
+            null));
+        assertEquals(Arrays.asList("fi", "sv", "en"), Arrays.asList(columnPlan.getLanguages("PREFLABEL_").toArray()));
+        assertEquals(Arrays.asList("PREFLABEL_FI", "PREFLABEL_SV", "PREFLABEL_EN"), columnPlan.getHeaders("PREFLABEL_"));
+        assertEquals(Collections.singletonList("DEFINITION_SV"), columnPlan.getHeaders("DEFINITION_"));
+    }
+
+    @Test
+    public void testUnknownColumnHasNoLanguages() {
+        final ColumnPlan<Map<String, Map<String, String>>> columnPlan = new ColumnPlan<>();
+        columnPlan.acceptAll(null);
+        assertTrue(columnPlan.getLanguages("PREFLABEL_").isEmpty());
+        assertTrue(columnPlan.getHeaders("PREFLABEL_").isEmpty());
+    }
+
+    private static Map<String, Map<String, String>> createItem(final Map<String, String> prefLabel,
+                                                               final Map<String, String> definition) {
+        final Map<String, Map<String, String>> item = new LinkedHashMap<>();
+        item.put("prefLabel", prefLabel);
+        item.put("definition", definition);
+        return item;
+    }
+
+    private static Map<String, String> localized(final String... languages) {
+        final Map<String, String> values = new LinkedHashMap<>();
+        for (final String language : languages) {
+            values.put(language, "value " + language);
+        }
+        return values;
+    }
+}
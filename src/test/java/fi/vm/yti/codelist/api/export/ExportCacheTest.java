@@ -0,0 +1,97 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fi.vm.yti.codelist.api.configuration.ExportCacheProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class ExportCacheTest {
+
+    private static final int ENTRY_SIZE = 600 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    private ExportCacheProperties properties;
+
+    @Before
+    public void setUp() {
+        properties = new ExportCacheProperties();
+        properties.setDirectory(temporaryFolder.getRoot().getAbsolutePath());
+        properties.setMaxSizeMegabytes(1);
+    }
+
+    @Test
+    public void testCachedEntryIsServedWithoutRegeneration() {
+        final ExportCache exportCache = new ExportCache(properties);
+        final AtomicInteger generations = new AtomicInteger();
+        final ExportCache.CachedFile first = exportCache.getOrCreate("a", output -> {
+            generations.incrementAndGet();
+            output.write(new byte[10]);
+        });
+        first.release();
+        final ExportCache.CachedFile second = exportCache.getOrCreate("a", output -> generations.incrementAndGet());
+        second.release();
+        assertEquals(1, generations.get());
+        assertEquals(first.getFile(), second.getFile());
+        assertEquals(10, second.getSize());
+    }
+
+    @Test
+    public void testLeastRecentlyUsedEntryIsEvicted() {
+        final ExportCache exportCache = new ExportCache(properties);
+        final ExportCache.CachedFile a = create(exportCache, "a");
+        a.release();
+        final ExportCache.CachedFile b = create(exportCache, "b");
+        b.release();
+        assertFalse(Files.exists(a.getFile()));
+        assertTrue(Files.exists(b.getFile()));
+        assertEquals(ENTRY_SIZE, exportCache.getTotalBytes());
+    }
+
+    @Test
+    public void testPinnedEntryIsNotEvicted() {
+        final ExportCache exportCache = new ExportCache(properties);
+        final ExportCache.CachedFile a = create(exportCache, "a");
+        final ExportCache.CachedFile b = create(exportCache, "b");
+        assertTrue(Files.exists(a.getFile()));
+        assertTrue(Files.exists(b.getFile()));
+        b.release();
+        assertTrue(Files.exists(a.getFile()));
+        assertFalse(Files.exists(b.getFile()));
+        a.release();
+        a.release();
+        assertTrue(Files.exists(a.getFile()));
+        assertEquals(ENTRY_SIZE, exportCache.getTotalBytes());
+    }
+
+    @Test
+    public void testStartupKeepsForeignFiles() throws IOException {
+        final Path foreignFile = temporaryFolder.newFile("notes.txt").toPath();
+        final Path partialFile = temporaryFolder.newFile("export-cache-a.1234.part").toPath();
+        Files.write(temporaryFolder.getRoot().toPath().resolve("export-cache-a.export"), new byte[42]);
+        final ExportCache exportCache = new ExportCache(properties);
+        assertTrue(Files.exists(foreignFile));
+        assertFalse(Files.exists(partialFile));
+        final ExportCache.CachedFile cachedFile = exportCache.getOrCreate("a", output -> {
+            throw new IOException("Cached file should have been reused.");
+        });
+        cachedFile.release();
+        assertEquals(42, cachedFile.getSize());
+    }
+
+    private static ExportCache.CachedFile create(final ExportCache exportCache,
+                                                 final String key) {
+        return exportCache.getOrCreate(key, output -> output.write(new byte[ENTRY_SIZE]));
+    }
+}
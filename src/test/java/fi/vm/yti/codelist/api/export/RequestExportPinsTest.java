@@ -0,0 +1,47 @@
+package fi.vm.yti.codelist.api.export;
+
+import java.nio.file.Files;
+
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import fi.vm.yti.codelist.api.configuration.ExportCacheProperties;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+public class RequestExportPinsTest {
+
+    private static final int ENTRY_SIZE = 600 * 1024;
+
+    @Rule
+    public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @After
+    public void tearDown() {
+        RequestExportPins.releaseAll();
+    }
+
+    @Test
+    public void testUnwrittenEntryIsReleasedWhenRequestFinishes() {
+        final ExportCacheProperties properties = new ExportCacheProperties();
+        properties.setDirectory(temporaryFolder.getRoot().getAbsolutePath());
+        properties.setMaxSizeMegabytes(1);
+        final ExportCache exportCache = new ExportCache(properties);
+        final ExportCache.CachedFile a = exportCache.getOrCreate("a", output -> output.write(new byte[ENTRY_SIZE]));
+        RequestExportPins.track(a);
+        RequestExportPins.releaseAll();
+        final ExportCache.CachedFile b = exportCache.getOrCreate("b", output -> output.write(new byte[ENTRY_SIZE]));
+        RequestExportPins.track(b);
+        assertFalse(Files.exists(a.getFile()));
+        assertTrue(Files.exists(b.getFile()));
+        b.release();
+        RequestExportPins.releaseAll();
+        assertEquals(ENTRY_SIZE, exportCache.getTotalBytes());
+        final ExportCache.CachedFile c = exportCache.getOrCreate("c", output -> output.write(new byte[ENTRY_SIZE]));
+        c.release();
+        assertFalse(Files.exists(b.getFile()));
+    }
+}
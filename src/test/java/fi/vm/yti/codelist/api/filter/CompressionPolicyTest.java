@@ -0,0 +1,55 @@
+package fi.vm.yti.codelist.api.filter;
+
+import javax.ws.rs.core.MediaType;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.CompressionProperties;
+import static fi.vm.yti.codelist.api.filter.CompressionPolicy.ENCODING_DEFLATE;
+import static fi.vm.yti.codelist.api.filter.CompressionPolicy.ENCODING_GZIP;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CompressionPolicyTest {
+
+    private final CompressionPolicy compressionPolicy = new CompressionPolicy(new CompressionProperties());
+
+    @Test
+    public void testMissingHeaderDisablesCompression() {
+        assertNull(compressionPolicy.resolveEncoding(null));
+        assertNull(compressionPolicy.resolveEncoding(""));
+        assertNull(compressionPolicy.resolveEncoding("identity"));
+        assertNull(compressionPolicy.resolveEncoding("br"));
+    }
+
+    @Test
+    public void testGzipIsPreferred() {
+        assertEquals(ENCODING_GZIP, compressionPolicy.resolveEncoding("gzip"));
+        assertEquals(ENCODING_GZIP, compressionPolicy.resolveEncoding("deflate, gzip"));
+        assertEquals(ENCODING_GZIP, compressionPolicy.resolveEncoding("x-gzip"));
+        assertEquals(ENCODING_GZIP, compressionPolicy.resolveEncoding("GZIP;q=0.5, DEFLATE;q=0.5"));
+        assertEquals(ENCODING_GZIP, compressionPolicy.resolveEncoding("*"));
+    }
+
+    @Test
+    public void testQualityValuesAreHonoured() {
+        assertEquals(ENCODING_DEFLATE, compressionPolicy.resolveEncoding("gzip;q=0, deflate"));
+        assertEquals(ENCODING_DEFLATE, compressionPolicy.resolveEncoding("gzip;q=0.2, deflate;q=0.8"));
+        assertEquals(ENCODING_DEFLATE, compressionPolicy.resolveEncoding("gzip;q=0, *"));
+        assertNull(compressionPolicy.resolveEncoding("gzip;q=0, deflate;q=0"));
+        assertNull(compressionPolicy.resolveEncoding("*;q=0"));
+        assertNull(compressionPolicy.resolveEncoding("gzip;q=abc"));
+    }
+
+    @Test
+    public void testMediaTypeRules() {
+        assertTrue(compressionPolicy.isCompressible(MediaType.APPLICATION_JSON_TYPE));
+        assertTrue(compressionPolicy.isCompressible(MediaType.valueOf("text/csv")));
+        assertFalse(compressionPolicy.isCompressible(MediaType.valueOf("text/event-stream")));
+        assertFalse(compressionPolicy.isCompressible(MediaType.valueOf("application/vnd.openxmlformats-officedocument.spreadsheetml.sheet")));
+        assertFalse(compressionPolicy.isCompressible(MediaType.valueOf("image/png")));
+        assertFalse(compressionPolicy.isCompressible(null));
+    }
+}
@@ -0,0 +1,68 @@
+package fi.vm.yti.codelist.api.filter;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import fi.vm.yti.codelist.api.configuration.RateLimitProperties;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    private static final String PROXY = "10.0.0.1";
+
+    @Test
+    public void testLimitsAndCountsPerCost() {
+        final RateLimitProperties properties = createProperties();
+        properties.setCapacity(60);
+        final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+        final RateLimiter rateLimiter = new RateLimiter(properties, meterRegistry);
+        assertEquals(0, rateLimiter.tryAcquire("ip:1.2.3.4", RateLimiter.Cost.EXPORT));
+        assertEquals(0, rateLimiter.tryAcquire("ip:1.2.3.4", RateLimiter.Cost.LOOKUP));
+        assertTrue(rateLimiter.tryAcquire("ip:1.2.3.4", RateLimiter.Cost.EXPORT) > 0);
+        assertEquals(0, rateLimiter.tryAcquire("ip:5.6.7.8", RateLimiter.Cost.EXPORT));
+        assertEquals(2.0, meterRegistry.get("codelist.api.ratelimit.requests").tag("cost", "export").tag("outcome", "allowed").counter().count(), 0.0);
+        assertEquals(1.0, meterRegistry.get("codelist.api.ratelimit.requests").tag("cost", "export").tag("outcome", "limited").counter().count(), 0.0);
+        assertEquals(2, rateLimiter.getClientUsage().size());
+        rateLimiter.clear();
+        assertTrue(rateLimiter.getClientUsage().isEmpty());
+    }
+
+    @Test
+    public void testOnlyAllowListedKeysGetOwnBucket() {
+        final RateLimitProperties properties = createProperties();
+        properties.setApiKeys(Collections.singletonList("known"));
+        final RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        assertTrue(rateLimiter.resolveClient("known", "1.2.3.4", null).startsWith("key:"));
+        assertEquals("ip:1.2.3.4", rateLimiter.resolveClient("invented", "1.2.3.4", null));
+        assertEquals("ip:1.2.3.4", rateLimiter.resolveClient(null, "1.2.3.4", null));
+    }
+
+    @Test
+    public void testForwardedForIsIgnoredFromUntrustedAddress() {
+        final RateLimiter rateLimiter = new RateLimiter(createProperties(), new SimpleMeterRegistry());
+        assertEquals("ip:1.2.3.4", rateLimiter.resolveClient(null, "1.2.3.4", "5.6.7.8"));
+    }
+
+    @Test
+    public void testForwardedForResolvesRightmostUntrustedAddress() {
+        final RateLimitProperties properties = createProperties();
+        properties.setTrustedProxies(Arrays.asList(PROXY, "10.0.0.2"));
+        final RateLimiter rateLimiter = new RateLimiter(properties, new SimpleMeterRegistry());
+        assertEquals("ip:5.6.7.8", rateLimiter.resolveClient(null, PROXY, "9.9.9.9, 5.6.7.8, 10.0.0.2"));
+        assertEquals("ip:" + PROXY, rateLimiter.resolveClient(null, PROXY, "10.0.0.2"));
+        assertEquals("ip:" + PROXY, rateLimiter.resolveClient(null, PROXY, null));
+        assertNotEquals(rateLimiter.resolveClient(null, PROXY, "1.1.1.1"), rateLimiter.resolveClient(null, PROXY, "2.2.2.2"));
+    }
+
+    private static RateLimitProperties createProperties() {
+        final RateLimitProperties properties = new RateLimitProperties();
+        properties.setRefillPerSecond(0.001);
+        return properties;
+    }
+}
@@ -0,0 +1,48 @@
+package fi.vm.yti.codelist.api.filter;
+
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class TokenBucketTest {
+
+    @Test
+    public void testConsumesUntilEmpty() {
+        final TokenBucket bucket = new TokenBucket("client", 3, 0.001);
+        assertEquals(0, bucket.tryConsume(1));
+        assertEquals(0, bucket.tryConsume(2));
+        assertTrue(bucket.tryConsume(1) > 0);
+        final ClientUsage usage = bucket.toUsage();
+        assertEquals("client", usage.getClient());
+        assertEquals(3, usage.getRequests());
+        assertEquals(1, usage.getLimitedRequests());
+        assertEquals(3, usage.getConsumedTokens());
+    }
+
+    @Test
+    public void testWaitCoversMissingTokens() {
+        final TokenBucket bucket = new TokenBucket("client", 2, 1);
+        assertEquals(0, bucket.tryConsume(2));
+        final long waitNanos = bucket.tryConsume(2);
+        assertTrue(waitNanos > 1_000_000_000L);
+        assertTrue(waitNanos <= 2_000_000_000L);
+    }
+
+    @Test
+    public void testCostAboveCapacityNeedsFullBucket() {
+        final TokenBucket bucket = new TokenBucket("client", 5, 0.001);
+        assertEquals(0, bucket.tryConsume(50));
+        assertEquals(50, bucket.toUsage().getConsumedTokens());
+        assertTrue(bucket.tryConsume(1) > 0);
+    }
+
+    @Test
+    public void testRefillsOverTime() throws InterruptedException {
+        final TokenBucket bucket = new TokenBucket("client", 1, 1000);
+        assertEquals(0, bucket.tryConsume(1));
+        Thread.sleep(20);
+        assertEquals(0, bucket.tryConsume(1));
+        assertEquals(0, bucket.toUsage().getLimitedRequests());
+    }
+}
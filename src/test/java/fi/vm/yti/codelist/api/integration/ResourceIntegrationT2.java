@@ -1,6 +1,8 @@
 package fi.vm.yti.codelist.api.integration;
 
 import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
 
 import org.junit.Assert;
 import org.junit.Test;
@@ -9,6 +11,7 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.web.client.TestRestTemplate;
 import org.springframework.boot.web.server.LocalServerPort;
 import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpMethod;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -17,18 +20,25 @@ import org.springframework.test.context.TestPropertySource;
 import org.springframework.test.context.junit4.SpringRunner;
 import org.springframework.util.LinkedMultiValueMap;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ArrayNode;
 import com.fasterxml.jackson.databind.node.ObjectNode;
 
 import fi.vm.yti.codelist.api.AbstractTestBase;
 import fi.vm.yti.codelist.api.PublicApiServiceApplication;
+import fi.vm.yti.codelist.api.dto.StatisticsDTO;
 import fi.vm.yti.codelist.common.dto.CodeDTO;
 import fi.vm.yti.codelist.common.dto.CodeRegistryDTO;
 import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.model.Status;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_CODES;
 import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_CODESCHEMES;
+import static fi.vm.yti.codelist.common.constants.ApiConstants.API_PATH_VERSION_V1;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(SpringRunner.class)
 @SpringBootTest(classes = { PublicApiServiceApplication.class }, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
@@ -138,4 +148,168 @@ public class ResourceIntegrationT2 extends AbstractTestBase {
             Assert.fail("Exception " + e);
         }
     }
+
+    @Test
+    public void getChangesTest() {
+        final Set<String> ids = new HashSet<>();
+        String resumeToken = null;
+        boolean hasMore = true;
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            while (hasMore) {
+                final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/changes") + "?type=coderegistry&pageSize=3" + (resumeToken != null ? "&cursor=" + resumeToken : "");
+                final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+                final ArrayNode changesArray = (ArrayNode) jsonObject.get("results");
+                assertTrue(changesArray.size() <= 3);
+                for (final JsonNode change : changesArray) {
+                    assertEquals("coderegistry", change.get("type").asText());
+                    assertTrue("Change returned twice: " + change.get("id").asText(), ids.add(change.get("id").asText()));
+                }
+                resumeToken = jsonObject.get("resumeToken").asText();
+                hasMore = jsonObject.get("meta").has("nextPage");
+                assertFalse(ids.size() > 8);
+            }
+            assertEquals(8, ids.size());
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
+
+    @Test
+    public void getChangesWithoutIncompleteCodeSchemesTest() {
+        final CodeSchemeDTO incompleteCodeScheme = indexCodeScheme("incompletescheme", Status.INCOMPLETE);
+        final Set<String> ids = new HashSet<>();
+        String resumeToken = null;
+        boolean hasMore = true;
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            while (hasMore) {
+                final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/changes") + "?type=codescheme&pageSize=50" + (resumeToken != null ? "&cursor=" + resumeToken : "");
+                final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+                assertEquals(HttpStatus.OK, response.getStatusCode());
+                final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+                for (final JsonNode change : jsonObject.get("results")) {
+                    ids.add(change.get("id").asText());
+                }
+                resumeToken = jsonObject.get("resumeToken").asText();
+                hasMore = jsonObject.get("meta").has("nextPage");
+            }
+            assertEquals(64, ids.size());
+            assertFalse(ids.contains(incompleteCodeScheme.getId().toString()));
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        } finally {
+            deleteCodeScheme(incompleteCodeScheme);
+        }
+    }
+
+    @Test
+    public void getChangesWithInvalidCursorTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/changes") + "?cursor=invalid";
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+
+    @Test
+    public void getStatisticsTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/statistics");
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final String entityTag = response.getHeaders().getETag();
+        assertNotNull(entityTag);
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            assertEquals(8, jsonObject.get("codeRegistryCount").asLong());
+            assertEquals(64, jsonObject.get("codeSchemeCount").asLong());
+            assertEquals(512, jsonObject.get("codeCount").asLong());
+            assertEquals(64, jsonObject.get("codeSchemesByStatus").get("VALID").asLong());
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+        final HttpHeaders headers = new HttpHeaders();
+        headers.setIfNoneMatch(entityTag);
+        final ResponseEntity<String> notModified = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(headers), String.class, "");
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    }
+
+    @Test
+    public void getStatisticsWithoutIncompleteCodeSchemesTest() {
+        final CodeSchemeDTO incompleteCodeScheme = indexCodeScheme("incompletescheme", Status.INCOMPLETE);
+        try {
+            final StatisticsDTO statistics = domain.getStatistics();
+            assertEquals(64, statistics.getCodeSchemeCount());
+            assertFalse(statistics.getCodeSchemesByStatus().containsKey(Status.INCOMPLETE.toString()));
+            assertEquals(512, statistics.getCodeCount());
+        } finally {
+            deleteCodeScheme(incompleteCodeScheme);
+        }
+    }
+
+    @Test
+    public void getCodeSchemesWithFacetsTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/codeschemes") + "?codeRegistryCodeValue=" + TEST_CODEREGISTRY_CODEVALUE + "&facets=status,codeRegistry";
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            assertEquals(8, jsonObject.get("results").size());
+            final JsonNode facets = jsonObject.get("facets");
+            assertEquals(8, facets.get("status").get("VALID").asLong());
+            final JsonNode codeRegistryFacet = facets.get("codeRegistry");
+            assertEquals(8, codeRegistryFacet.size());
+            assertEquals(8, codeRegistryFacet.get(TEST_CODEREGISTRY_CODEVALUE).asLong());
+            assertFalse(facets.has("infoDomain"));
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+    }
+
+    @Test
+    public void getCodeSchemesWithInvalidFacetTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/codeschemes") + "?facets=status,unknown";
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
+
+    @Test
+    public void getSuggestionsTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/suggest") + "?term=testikoodis&type=codescheme&language=fi&size=5";
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        final ObjectMapper mapper = new ObjectMapper();
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(response.getBody());
+            final ArrayNode suggestionsArray = (ArrayNode) jsonObject.get("results");
+            assertEquals(5, suggestionsArray.size());
+            for (final JsonNode suggestion : suggestionsArray) {
+                assertEquals("codescheme", suggestion.get("type").asText());
+                assertEquals("Testikoodisto", suggestion.get("prefLabel").get("fi").asText());
+            }
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+        final String englishUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/suggest") + "?term=testikoodis&type=codescheme&language=en";
+        final ResponseEntity<String> englishResponse = restTemplate.exchange(englishUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.OK, englishResponse.getStatusCode());
+        try {
+            final ObjectNode jsonObject = (ObjectNode) mapper.readTree(englishResponse.getBody());
+            assertTrue(jsonObject.get("results") == null || jsonObject.get("results").size() == 0);
+        } catch (final IOException e) {
+            Assert.fail("Exception " + e);
+        }
+        final String northernSamiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/suggest") + "?term=testikoodis&type=codescheme&language=se";
+        final ResponseEntity<String> northernSamiResponse = restTemplate.exchange(northernSamiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.OK, northernSamiResponse.getStatusCode());
+    }
+
+    @Test
+    public void getSuggestionsWithInvalidLanguageTest() {
+        final String apiUrl = createApiUrlWithoutVersion(randomServerPort, API_PATH_VERSION_V1 + "/suggest") + "?term=test&language=fi.suggest";
+        final ResponseEntity<String> response = restTemplate.exchange(apiUrl, HttpMethod.GET, new HttpEntity<>(new LinkedMultiValueMap<String, Object>(), null), String.class, "");
+        assertEquals(HttpStatus.NOT_ACCEPTABLE, response.getStatusCode());
+    }
 }
@@ -4,7 +4,7 @@ import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
-@Suite.SuiteClasses({PopulateElasticTestDataT1.class, ResourceIntegrationT2.class})
+@Suite.SuiteClasses({PopulateElasticTestDataT1.class, ResourceIntegrationT2.class, SearchStrategyIntegrationT3.class})
 public class ResourceIntegrationTestSuiteIT {
 
 }
@@ -0,0 +1,103 @@
+package fi.vm.yti.codelist.api.integration;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+
+import org.junit.After;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.junit4.SpringRunner;
+
+import fi.vm.yti.codelist.api.AbstractTestBase;
+import fi.vm.yti.codelist.api.PublicApiServiceApplication;
+import fi.vm.yti.codelist.api.configuration.SearchProperties;
+import fi.vm.yti.codelist.api.domain.Domain;
+import fi.vm.yti.codelist.common.dto.CodeSchemeDTO;
+import fi.vm.yti.codelist.common.dto.Meta;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares the wildcard and trigram search strategies over the seeded test data. The benchmark iteration count can be
+ * raised with -Dsearch.benchmark.iterations, results are logged per strategy and search term.
+ */
+@RunWith(SpringRunner.class)
+@SpringBootTest(classes = { PublicApiServiceApplication.class })
+@ActiveProfiles({ "automatedtest" })
+@TestPropertySource(locations = "classpath:test-port.properties")
+public class SearchStrategyIntegrationT3 extends AbstractTestBase {
+
+    private static final Logger LOG = LoggerFactory.getLogger(SearchStrategyIntegrationT3.class);
+    private static final List<String> BENCHMARK_TERMS = Arrays.asList("testikoo", "koodisto", "koodis", "test scheme");
+    private static final int WARMUP_ITERATIONS = 5;
+
+    @Inject
+    private Domain domain;
+
+    @Inject
+    private SearchProperties searchProperties;
+
+    @After
+    public void resetStrategy() {
+        searchProperties.setStrategy(SearchProperties.STRATEGY_WILDCARD);
+    }
+
+    @Test
+    public void prefixAndSuffixMatchWithBothStrategiesTest() {
+        for (final String strategy : Arrays.asList(SearchProperties.STRATEGY_WILDCARD, SearchProperties.STRATEGY_TRIGRAM)) {
+            searchProperties.setStrategy(strategy);
+            assertEquals(strategy, 64, searchCodeSchemes("testikoo", false).size());
+            assertEquals(strategy, 64, searchCodeSchemes("koodisto", false).size());
+        }
+    }
+
+    @Test
+    public void infixMatchesOnlyWithTrigramStrategyTest() {
+        searchProperties.setStrategy(SearchProperties.STRATEGY_WILDCARD);
+        assertEquals(0, searchCodeSchemes("koodis", false).size());
+        searchProperties.setStrategy(SearchProperties.STRATEGY_TRIGRAM);
+        assertEquals(64, searchCodeSchemes("koodis", false).size());
+    }
+
+    @Test
+    public void compareSearchStrategiesTest() {
+        final int iterations = Integer.getInteger("search.benchmark.iterations", 20);
+        for (final String term : BENCHMARK_TERMS) {
+            for (final boolean searchCodes : Arrays.asList(false, true)) {
+                for (final String strategy : Arrays.asList(SearchProperties.STRATEGY_WILDCARD, SearchProperties.STRATEGY_TRIGRAM)) {
+                    searchProperties.setStrategy(strategy);
+                    for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+                        searchCodeSchemes(term, searchCodes);
+                    }
+                    final long[] elapsed = new long[iterations];
+                    int hits = 0;
+                    for (int i = 0; i < iterations; i++) {
+                        final long start = System.nanoTime();
+                        hits = searchCodeSchemes(term, searchCodes).size();
+                        elapsed[i] = System.nanoTime() - start;
+                    }
+                    Arrays.sort(elapsed);
+                    LOG.info(String.format("Search benchmark strategy=%s term='%s' searchCodes=%s iterations=%d hits=%d median=%.2fms p95=%.2fms", strategy, term, searchCodes, iterations, hits, toMillis(elapsed[iterations / 2]), toMillis(elapsed[(int) Math.ceil(iterations * 0.95) - 1])));
+                }
+            }
+        }
+    }
+
+    private Set<CodeSchemeDTO> searchCodeSchemes(final String searchTerm,
+                                                 final boolean searchCodes) {
+        final Meta meta = new Meta(200, null, null, null, null);
+        return domain.getCodeSchemes("default", null, null, false, null, null, null, null, "fi", searchTerm, searchCodes, false, null, null, null, meta, null);
+    }
+
+    private static double toMillis(final long nanos) {
+        return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+    }
+}
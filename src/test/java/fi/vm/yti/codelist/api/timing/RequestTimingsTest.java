@@ -0,0 +1,73 @@
+package fi.vm.yti.codelist.api.timing;
+
+import org.junit.After;
+import org.junit.Test;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+public class RequestTimingsTest {
+
+    @After
+    public void tearDown() {
+        RequestTimings.end();
+    }
+
+    @Test
+    public void testSplitWithoutRequestIsNoop() {
+        assertNull(RequestTimings.current());
+        try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.EXPORT)) {
+            assertNull(RequestTimings.current());
+        }
+    }
+
+    @Test
+    public void testEndClearsCurrentThread() {
+        final RequestTimings timings = RequestTimings.begin();
+        assertSame(timings, RequestTimings.current());
+        RequestTimings.end();
+        assertNull(RequestTimings.current());
+    }
+
+    @Test
+    public void testNestedPhasesAreExclusive() throws InterruptedException {
+        final RequestTimings timings = RequestTimings.begin();
+        try (final RequestTimings.Split ignored = RequestTimings.start(RequestTimings.Phase.EXPORT)) {
+            Thread.sleep(5);
+            try (final RequestTimings.Split nested = RequestTimings.start(RequestTimings.Phase.ELASTICSEARCH)) {
+                Thread.sleep(20);
+            }
+        }
+        final long export = timings.getDurationNanos(RequestTimings.Phase.EXPORT);
+        final long elasticsearch = timings.getDurationNanos(RequestTimings.Phase.ELASTICSEARCH);
+        assertTrue(elasticsearch >= 20_000_000L);
+        assertTrue(export >= 5_000_000L);
+        assertTrue(export < elasticsearch);
+        assertEquals(1, timings.getCount(RequestTimings.Phase.EXPORT));
+        assertEquals(1, timings.getCount(RequestTimings.Phase.ELASTICSEARCH));
+        assertEquals(0, timings.getCount(RequestTimings.Phase.DECODE));
+    }
+
+    @Test
+    public void testSplitClosesOnlyOnce() {
+        final RequestTimings timings = RequestTimings.begin();
+        final RequestTimings.Split split = RequestTimings.start(RequestTimings.Phase.DECODE);
+        split.close();
+        split.close();
+        assertEquals(1, timings.getCount(RequestTimings.Phase.DECODE));
+    }
+
+    @Test
+    public void testServerTimingListsUsedPhasesAndTotal() {
+        final RequestTimings timings = RequestTimings.begin();
+        RequestTimings.start(RequestTimings.Phase.SERIALIZATION).close();
+        final String serverTiming = timings.toServerTiming();
+        assertTrue(serverTiming, serverTiming.startsWith("serialize;dur="));
+        assertTrue(serverTiming, serverTiming.contains(";desc=\"Serialization\""));
+        assertTrue(serverTiming, serverTiming.contains(", total;dur="));
+        assertFalse(serverTiming, serverTiming.contains("es;dur="));
+    }
+}